@@ -1,5 +1,7 @@
 package jadx.cli;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.function.Consumer;
 
 import org.jetbrains.annotations.Nullable;
@@ -11,16 +13,21 @@
 import jadx.api.impl.AnnotatedCodeWriter;
 import jadx.api.impl.NoOpCodeCache;
 import jadx.api.impl.SimpleCodeWriter;
+import jadx.api.profiling.ProfileReport;
 import jadx.api.usage.impl.EmptyUsageInfoCache;
 import jadx.cli.LogHelper.LogLevelEnum;
 import jadx.cli.config.JadxConfigAdapter;
 import jadx.cli.plugins.JadxFilesGetter;
+import jadx.cli.shards.ShardsCoordinator;
 import jadx.core.utils.exceptions.JadxArgsValidateException;
+import jadx.core.utils.profiling.PassesProfiler;
 import jadx.plugins.tools.JadxExternalPluginsLoader;
 
 public class JadxCLI {
 	private static final Logger LOG = LoggerFactory.getLogger(JadxCLI.class);
 
+	private static final int PROFILE_TOP_METHODS_COUNT = 20;
+
 	public static void main(String[] args) {
 		int result = 1;
 		try {
@@ -42,6 +49,9 @@ public static int execute(String[] args, @Nullable Consumer<JadxArgs> argsMod) {
 			if (cliArgs == null) {
 				return 0;
 			}
+			if (useWorkers(cliArgs, argsMod)) {
+				return new ShardsCoordinator(args, cliArgs).run();
+			}
 			JadxArgs jadxArgs = buildArgs(cliArgs);
 			if (argsMod != null) {
 				argsMod.accept(jadxArgs);
@@ -56,7 +66,19 @@ public static int execute(String[] args, @Nullable Consumer<JadxArgs> argsMod) {
 		}
 	}
 
-	private static JadxArgs buildArgs(JadxCLIArgs cliArgs) {
+	private static boolean useWorkers(JadxCLIArgs cliArgs, @Nullable Consumer<JadxArgs> argsMod) {
+		if (cliArgs.getWorkersCount() <= 1 || cliArgs.getShard() != null) {
+			return false;
+		}
+		if (argsMod != null || cliArgs.getSingleClass() != null || cliArgs.getSingleClassOutput() != null
+				|| cliArgs.getOutArchive() != null) {
+			LOG.warn("Workers not supported in current mode, continue in single process");
+			return false;
+		}
+		return true;
+	}
+
+	public static JadxArgs buildArgs(JadxCLIArgs cliArgs) {
 		JadxArgs jadxArgs = cliArgs.toJadxArgs();
 		jadxArgs.setCodeCache(new NoOpCodeCache());
 		jadxArgs.setUsageInfoCache(new EmptyUsageInfoCache());
@@ -76,6 +98,7 @@ private static int runSave(JadxArgs jadxArgs, JadxCLIArgs cliArgs) {
 			if (!SingleClassMode.process(jadx, cliArgs)) {
 				save(jadx);
 			}
+			reportProfile(jadx, cliArgs);
 			int errorsCount = jadx.getErrorsCount();
 			if (errorsCount != 0) {
 				jadx.printErrorsReport();
@@ -87,6 +110,20 @@ private static int runSave(JadxArgs jadxArgs, JadxCLIArgs cliArgs) {
 		}
 	}
 
+	private static void reportProfile(JadxDecompiler jadx, JadxCLIArgs cliArgs) {
+		ProfileReport report = jadx.getProfileReport(PROFILE_TOP_METHODS_COUNT);
+		if (report == null) {
+			return;
+		}
+		PassesProfiler.printReport(report);
+		String profileOutput = cliArgs.getProfileOutput();
+		if (profileOutput != null) {
+			Path outFile = Paths.get(profileOutput);
+			PassesProfiler.saveJson(report, outFile);
+			LOG.info("Profile saved to: {}", outFile.toAbsolutePath());
+		}
+	}
+
 	private static void initCodeWriterProvider(JadxArgs jadxArgs) {
 		switch (jadxArgs.getOutputFormat()) {
 			case JAVA:
@@ -99,7 +136,7 @@ private static void initCodeWriterProvider(JadxArgs jadxArgs) {
 		}
 	}
 
-	private static boolean checkForErrors(JadxDecompiler jadx) {
+	public static boolean checkForErrors(JadxDecompiler jadx) {
 		if (jadx.getRoot().getClasses().isEmpty()) {
 			if (jadx.getArgs().isSkipResources()) {
 				LOG.error("Load failed! No classes for decompile!");
@@ -119,7 +156,8 @@ private static boolean checkForErrors(JadxDecompiler jadx) {
 	}
 
 	private static void save(JadxDecompiler jadx) {
-		if (LogHelper.getLogLevel() == LogLevelEnum.QUIET) {
+		if (LogHelper.getLogLevel() == LogLevelEnum.QUIET || jadx.getArgs().getShardsCount() > 1) {
+			// don't mix progress output from several worker processes
 			jadx.save();
 		} else {
 			LOG.info("processing ...");
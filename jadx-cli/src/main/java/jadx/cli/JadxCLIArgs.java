@@ -63,6 +63,28 @@ public class JadxCLIArgs implements IJadxConfig {
 	@Parameter(names = { "-dr", "--output-dir-res" }, description = "output directory for resources")
 	protected String outDirRes;
 
+	@JadxConfigExclude
+	@Parameter(
+			names = { "--output-archive" },
+			description = "save sources and resources into zip archive, entries paths relative to output directory"
+	)
+	protected String outArchive;
+
+	@Parameter(names = { "--output-archive-store" }, description = "store files in output archive without compression")
+	protected boolean outArchiveStore = false;
+
+	@Parameter(
+			names = { "--incremental-output" },
+			description = "don't rewrite unchanged files in output directory, content hashes saved in manifest file"
+	)
+	protected boolean incrementalOutput = false;
+
+	@Parameter(
+			names = { "--delete-stale-output" },
+			description = "with '--incremental-output' delete files saved by previous run but not produced by current one"
+	)
+	protected boolean deleteStaleOutput = false;
+
 	@Parameter(names = { "-r", "--no-res" }, description = "do not decode resources")
 	protected boolean skipResources = false;
 
@@ -72,6 +94,22 @@ public class JadxCLIArgs implements IJadxConfig {
 	@Parameter(names = { "-j", "--threads-count" }, description = "processing threads count")
 	protected int threadsCount = JadxArgs.DEFAULT_THREADS_COUNT;
 
+	@JadxConfigExclude
+	@Parameter(
+			names = { "--workers" },
+			description = "split decompilation between several processes (experimental), 0 or 1 - use single process,"
+					+ " threads count and max heap size split between processes"
+	)
+	protected int workersCount = 0;
+
+	@JadxConfigExclude
+	@Parameter(names = { "--worker-retries" }, description = "number of restarts for failed worker process")
+	protected int workerRetries = 1;
+
+	@JadxConfigExclude
+	@Parameter(names = { "--shard" }, description = "process only one part of classes, format: <index>/<count>", hidden = true)
+	protected String shard = null;
+
 	@JadxConfigExclude
 	@Parameter(names = { "--single-class" }, description = "decompile a single class, full name, raw or alias")
 	protected String singleClass = null;
@@ -274,6 +312,18 @@ public class JadxCLIArgs implements IJadxConfig {
 	@Parameter(names = { "--type-update-limit" }, description = "type update limit count (per one instruction)")
 	protected int typeUpdatesLimitCount = 10;
 
+	@Parameter(
+			names = { "--method-timeout" },
+			description = "method processing time limit in milliseconds, fallback code used if reached, 0 - no limit"
+	)
+	protected int methodProcessTimeout = 0;
+
+	@Parameter(
+			names = { "--class-timeout" },
+			description = "class processing time limit in milliseconds, fallback code used for not processed methods, 0 - no limit"
+	)
+	protected int classProcessTimeout = 0;
+
 	@Parameter(names = { "--fs-case-sensitive" }, description = "treat filesystem as case sensitive, false by default")
 	protected boolean fsCaseSensitive = false;
 
@@ -283,6 +333,17 @@ public class JadxCLIArgs implements IJadxConfig {
 	@Parameter(names = { "--raw-cfg" }, description = "save methods control flow graph (use raw instructions)")
 	protected boolean rawCfgOutput = false;
 
+	@JadxConfigExclude
+	@Parameter(
+			names = { "--profile" },
+			description = "collect time and allocations for decompilation passes, print slowest passes and methods"
+	)
+	protected boolean passesProfiling = false;
+
+	@JadxConfigExclude
+	@Parameter(names = { "--profile-output" }, description = "save passes profile into JSON file, enables '--profile'")
+	protected String profileOutput = null;
+
 	@Parameter(names = { "-f", "--fallback" }, description = "set '--decompilation-mode' to 'fallback' (deprecated)")
 	protected boolean fallbackMode = false;
 
@@ -442,6 +503,18 @@ public void verify() {
 		if (threadsCount <= 0) {
 			throw new JadxArgsValidateException("Threads count must be positive, got: " + threadsCount);
 		}
+		if (workersCount < 0) {
+			throw new JadxArgsValidateException("Workers count can't be negative, got: " + workersCount);
+		}
+		if (workerRetries < 0) {
+			throw new JadxArgsValidateException("Worker retries count can't be negative, got: " + workerRetries);
+		}
+		if (shard != null) {
+			parseShard(shard);
+		}
+		if (deleteStaleOutput && !incrementalOutput) {
+			throw new JadxArgsValidateException("Option '--delete-stale-output' can be used only with '--incremental-output'");
+		}
 	}
 
 	private static <T extends JadxCLIArgs> void saveConfig(T argsObj, @Nullable JadxConfigAdapter<T> configAdapter) {
@@ -459,8 +532,16 @@ public JadxArgs toJadxArgs() {
 		args.setOutDir(FileUtils.toFile(outDir));
 		args.setOutDirSrc(FileUtils.toFile(outDirSrc));
 		args.setOutDirRes(FileUtils.toFile(outDirRes));
+		args.setOutArchive(FileUtils.toFile(outArchive));
+		args.setOutArchiveCompress(!outArchiveStore);
+		args.setIncrementalOutput(incrementalOutput);
+		args.setDeleteStaleOutput(deleteStaleOutput);
 		args.setOutputFormat(JadxArgs.OutputFormatEnum.valueOf(outputFormat.toUpperCase()));
 		args.setThreadsCount(threadsCount);
+		if (shard != null) {
+			int[] shardPair = parseShard(shard);
+			args.setShard(shardPair[0], shardPair[1]);
+		}
 		args.setSkipSources(skipSources);
 		args.setSkipResources(skipResources);
 		if (fallbackMode) {
@@ -508,12 +589,34 @@ public JadxArgs toJadxArgs() {
 		args.setCommentsLevel(commentsLevel);
 		args.setIntegerFormat(integerFormat);
 		args.setTypeUpdatesLimitCount(typeUpdatesLimitCount);
+		args.setMethodProcessTimeout(methodProcessTimeout);
+		args.setClassProcessTimeout(classProcessTimeout);
+		args.setPassesProfiling(passesProfiling || profileOutput != null);
 		args.setUseDxInput(useDx);
 		args.setPluginOptions(pluginOptions);
 		args.setDisabledPlugins(Arrays.stream(disablePlugins.split(",")).map(String::trim).collect(Collectors.toSet()));
 		return args;
 	}
 
+	/**
+	 * @return pair of shard index and shards count
+	 */
+	private static int[] parseShard(String shardStr) {
+		int sep = shardStr.indexOf('/');
+		try {
+			if (sep != -1) {
+				int index = Integer.parseInt(shardStr.substring(0, sep));
+				int count = Integer.parseInt(shardStr.substring(sep + 1));
+				if (count > 0 && index >= 0 && index < count) {
+					return new int[] { index, count };
+				}
+			}
+		} catch (NumberFormatException e) {
+			// throw exception below
+		}
+		throw new JadxArgsValidateException("Incorrect shard: '" + shardStr + "', expected format: <index>/<count>");
+	}
+
 	private EnumSet<RenameEnum> buildEnumSetForRenameFlags() {
 		EnumSet<RenameEnum> set = EnumSet.noneOf(RenameEnum.class);
 		set.addAll(renameFlags);
@@ -540,6 +643,42 @@ public String getOutDirRes() {
 		return outDirRes;
 	}
 
+	public int getWorkersCount() {
+		return workersCount;
+	}
+
+	public void setWorkersCount(int workersCount) {
+		this.workersCount = workersCount;
+	}
+
+	public int getWorkerRetries() {
+		return workerRetries;
+	}
+
+	public void setWorkerRetries(int workerRetries) {
+		this.workerRetries = workerRetries;
+	}
+
+	public @Nullable String getShard() {
+		return shard;
+	}
+
+	public String getOutArchive() {
+		return outArchive;
+	}
+
+	public boolean isOutArchiveStore() {
+		return outArchiveStore;
+	}
+
+	public boolean isIncrementalOutput() {
+		return incrementalOutput;
+	}
+
+	public boolean isDeleteStaleOutput() {
+		return deleteStaleOutput;
+	}
+
 	public String getSingleClass() {
 		return singleClass;
 	}
@@ -803,6 +942,38 @@ public void setTypeUpdatesLimitCount(int typeUpdatesLimitCount) {
 		this.typeUpdatesLimitCount = typeUpdatesLimitCount;
 	}
 
+	public int getMethodProcessTimeout() {
+		return methodProcessTimeout;
+	}
+
+	public void setMethodProcessTimeout(int methodProcessTimeout) {
+		this.methodProcessTimeout = methodProcessTimeout;
+	}
+
+	public int getClassProcessTimeout() {
+		return classProcessTimeout;
+	}
+
+	public void setClassProcessTimeout(int classProcessTimeout) {
+		this.classProcessTimeout = classProcessTimeout;
+	}
+
+	public boolean isPassesProfiling() {
+		return passesProfiling;
+	}
+
+	public void setPassesProfiling(boolean passesProfiling) {
+		this.passesProfiling = passesProfiling;
+	}
+
+	public String getProfileOutput() {
+		return profileOutput;
+	}
+
+	public void setProfileOutput(String profileOutput) {
+		this.profileOutput = profileOutput;
+	}
+
 	public boolean isEscapeUnicode() {
 		return escapeUnicode;
 	}
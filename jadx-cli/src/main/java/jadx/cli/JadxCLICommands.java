@@ -2,9 +2,11 @@
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import com.beust.jcommander.JCommander;
 
+import jadx.cli.commands.CommandDaemon;
 import jadx.cli.commands.CommandPlugins;
 import jadx.cli.commands.ICommand;
 import jadx.core.utils.exceptions.JadxArgsValidateException;
@@ -14,12 +16,17 @@ public class JadxCLICommands {
 
 	static {
 		JadxCLICommands.register(new CommandPlugins());
+		JadxCLICommands.register(new CommandDaemon());
 	}
 
 	public static void register(ICommand command) {
 		COMMANDS_MAP.put(command.name(), command);
 	}
 
+	public static Set<String> getNames() {
+		return COMMANDS_MAP.keySet();
+	}
+
 	public static void append(JCommander.Builder builder) {
 		COMMANDS_MAP.forEach(builder::addCommand);
 	}
@@ -0,0 +1,67 @@
+package jadx.cli.commands;
+
+import java.nio.file.Paths;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+
+import jadx.cli.JCommanderWrapper;
+import jadx.cli.LogHelper;
+import jadx.cli.daemon.DaemonConfig;
+import jadx.cli.daemon.JadxDaemon;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+@Parameters(commandDescription = "run as daemon, accept decompilation jobs over HTTP on localhost (client: jadx.cli.daemon.DaemonClient)")
+public class CommandDaemon implements ICommand {
+
+	@Parameter(names = { "-p", "--port" }, description = "port to listen on loopback interface")
+	protected int port = DaemonConfig.DEFAULT_PORT;
+
+	@Parameter(names = { "--job-timeout" }, description = "job time limit in seconds, 0 - no limit")
+	protected int jobTimeout = 0;
+
+	@Parameter(
+			names = { "--min-free-memory" },
+			description = "cancel job if free heap memory becomes less than this value (in MB), 0 - disable check"
+	)
+	protected int minFreeMemory = 0;
+
+	@Parameter(
+			names = { "--token-file" },
+			description = "file to save access token, default: 'daemon-<port>.token' in jadx config directory"
+	)
+	protected String tokenFile = null;
+
+	@Parameter(names = { "-h", "--help" }, description = "print this help", help = true)
+	protected boolean printHelp = false;
+
+	@Override
+	public String name() {
+		return "daemon";
+	}
+
+	@Override
+	public void process(JCommanderWrapper jcw, JCommander subCommander) {
+		if (printHelp) {
+			jcw.printUsage(subCommander);
+			return;
+		}
+		LogHelper.setLogLevel(LogHelper.LogLevelEnum.PROGRESS);
+
+		DaemonConfig config = new DaemonConfig();
+		config.setPort(port);
+		config.setJobTimeLimit(jobTimeout);
+		config.setMinFreeMemory(minFreeMemory);
+		if (tokenFile != null) {
+			config.setTokenFile(Paths.get(tokenFile));
+		}
+		try {
+			new JadxDaemon(config).run();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Daemon failed", e);
+		}
+	}
+}
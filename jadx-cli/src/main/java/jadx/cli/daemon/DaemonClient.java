@@ -0,0 +1,94 @@
+package jadx.cli.daemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.Gson;
+
+/**
+ * Thin client for {@link JadxDaemon}, don't load decompiler classes.
+ * <br>
+ * Usage: {@code DaemonClient [--port <port>] [--token-file <file>] [--status | --shutdown | <jadx-cli args>]}
+ * <br>
+ * Exit code same as for jadx-cli.
+ * Any HTTP client can be used instead, for example:
+ * {@code curl -H "Authorization: Bearer $(cat <token-file>)" -H 'Content-Type: application/json'
+ * -d '{"args": ["-d", "/tmp/out", "/tmp/app.apk"]}' http://127.0.0.1:13370/decompile}
+ */
+public class DaemonClient {
+	private static final Gson GSON = new Gson();
+
+	public static void main(String[] args) {
+		int port = DaemonConfig.DEFAULT_PORT;
+		Path tokenFile = null;
+		String command = "decompile";
+		List<String> jadxArgs = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (arg.equals("--port") && i + 1 < args.length) {
+				port = Integer.parseInt(args[++i]);
+			} else if (arg.equals("--token-file") && i + 1 < args.length) {
+				tokenFile = Paths.get(args[++i]);
+			} else if (arg.equals("--status")) {
+				command = "status";
+			} else if (arg.equals("--shutdown")) {
+				command = "shutdown";
+			} else {
+				jadxArgs.add(arg);
+			}
+		}
+		int exitCode;
+		try {
+			String token = DaemonToken.load(tokenFile != null ? tokenFile : DaemonConfig.getDefaultTokenFile(port));
+			exitCode = send(port, token, command, jadxArgs);
+		} catch (Exception e) {
+			System.err.println("Daemon request failed: " + e.getMessage());
+			exitCode = 1;
+		}
+		System.exit(exitCode);
+	}
+
+	private static int send(int port, String token, String command, List<String> jadxArgs) throws IOException {
+		URL url = new URL("http://127.0.0.1:" + port + '/' + command);
+		HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+		try {
+			conn.setRequestProperty(DaemonToken.AUTH_HEADER, DaemonToken.toHeaderValue(token));
+			if (command.equals("status")) {
+				conn.setRequestMethod("GET");
+			} else {
+				conn.setRequestMethod("POST");
+				conn.setDoOutput(true);
+				conn.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+				DaemonRequest request = new DaemonRequest();
+				request.setArgs(jadxArgs);
+				request.setCwd(Paths.get("").toAbsolutePath().toString());
+				try (OutputStream out = conn.getOutputStream()) {
+					out.write(GSON.toJson(request).getBytes(StandardCharsets.UTF_8));
+				}
+			}
+			int code = conn.getResponseCode();
+			String response;
+			try (InputStream in = code < 400 ? conn.getInputStream() : conn.getErrorStream()) {
+				response = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			}
+			System.out.println(response);
+			if (code != 200) {
+				return 1;
+			}
+			if (command.equals("decompile")) {
+				return GSON.fromJson(response, DaemonJobResult.class).getExitCode();
+			}
+			return 0;
+		} finally {
+			conn.disconnect();
+		}
+	}
+}
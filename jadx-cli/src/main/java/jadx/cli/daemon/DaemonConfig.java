@@ -0,0 +1,67 @@
+package jadx.cli.daemon;
+
+import java.nio.file.Path;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.commons.app.JadxCommonFiles;
+
+public class DaemonConfig {
+	public static final int DEFAULT_PORT = 13370;
+
+	private int port = DEFAULT_PORT;
+	private int jobTimeLimit;
+	private int minFreeMemory;
+	private @Nullable Path tokenFile;
+
+	/**
+	 * Token file used by default for daemon on this port, located in jadx config directory
+	 */
+	public static Path getDefaultTokenFile(int port) {
+		return JadxCommonFiles.getConfigDir().resolve("daemon-" + port + ".token");
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public void setPort(int port) {
+		this.port = port;
+	}
+
+	/**
+	 * Job time limit in seconds, 0 - no limit
+	 */
+	public int getJobTimeLimit() {
+		return jobTimeLimit;
+	}
+
+	public void setJobTimeLimit(int jobTimeLimit) {
+		this.jobTimeLimit = jobTimeLimit;
+	}
+
+	/**
+	 * Min free heap memory in MB required for job execution, 0 - no check
+	 */
+	public int getMinFreeMemory() {
+		return minFreeMemory;
+	}
+
+	public void setMinFreeMemory(int minFreeMemory) {
+		this.minFreeMemory = minFreeMemory;
+	}
+
+	/**
+	 * File to store access token, readable only by current user
+	 */
+	public Path getTokenFile() {
+		if (tokenFile == null) {
+			return getDefaultTokenFile(port);
+		}
+		return tokenFile;
+	}
+
+	public void setTokenFile(@Nullable Path tokenFile) {
+		this.tokenFile = tokenFile;
+	}
+}
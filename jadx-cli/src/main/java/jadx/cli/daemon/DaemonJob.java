@@ -0,0 +1,248 @@
+package jadx.cli.daemon;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.ParameterException;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.utils.tasks.ITaskExecutor;
+import jadx.cli.JadxCLI;
+import jadx.cli.JadxCLIArgs;
+import jadx.cli.JadxCLICommands;
+import jadx.cli.SingleClassMode;
+import jadx.cli.daemon.DaemonJobResult.Status;
+import jadx.core.utils.Utils;
+import jadx.core.utils.exceptions.JadxArgsValidateException;
+
+/**
+ * Run one decompilation job with the same steps as jadx-cli.
+ * Time and memory limits checked by watchdog during the whole job,
+ * on limit breach job thread interrupted and save tasks terminated.
+ */
+public class DaemonJob {
+	private static final Logger LOG = LoggerFactory.getLogger(DaemonJob.class);
+
+	private static final int CHECK_INTERVAL_MS = 100;
+
+	/**
+	 * Options not related to decompilation: print info and exit, load or save config,
+	 * start worker processes
+	 */
+	private static final Set<String> FORBIDDEN_OPTIONS = Set.of(
+			"-h", "--help", "--version", "--print-files", "--config", "--save-config",
+			"--workers", "--worker-retries", "--shard");
+
+	private final DaemonConfig config;
+	private final JadxCLIArgs cliArgs;
+	private final @Nullable Path cwd;
+
+	private final Object cancelSync = new Object();
+	private volatile @Nullable DaemonJobResult cancelResult;
+	private @Nullable Thread jobThread;
+	private @Nullable ITaskExecutor saveExecutor;
+	private boolean finished;
+
+	public DaemonJob(DaemonConfig config, JadxCLIArgs cliArgs, @Nullable Path cwd) {
+		this.config = config;
+		this.cliArgs = cliArgs;
+		this.cwd = cwd;
+	}
+
+	/**
+	 * Parse only decompilation options, commands and options from {@link #FORBIDDEN_OPTIONS} rejected.
+	 * Config file not loaded, so job result doesn't depend on daemon user settings.
+	 * Log level options ignored: logging configured once for the whole daemon.
+	 */
+	public static JadxCLIArgs parseArgs(List<String> args) {
+		for (String arg : args) {
+			int sep = arg.indexOf('=');
+			String name = sep == -1 ? arg : arg.substring(0, sep);
+			if (FORBIDDEN_OPTIONS.contains(name)) {
+				throw new JadxArgsValidateException("Option not allowed in daemon job: " + name);
+			}
+		}
+		JadxCLIArgs cliArgs = new JadxCLIArgs();
+		try {
+			// commands not added, so unknown options rejected instead of passed as input files
+			JCommander.newBuilder()
+					.addObject(cliArgs)
+					.expandAtSign(false)
+					.build()
+					.parse(args.toArray(new String[0]));
+		} catch (ParameterException e) {
+			throw new JadxArgsValidateException("Arguments parse error: " + e.getMessage());
+		}
+		for (String file : cliArgs.getFiles()) {
+			if (JadxCLICommands.getNames().contains(file)) {
+				throw new JadxArgsValidateException("Command not allowed in daemon job: " + file);
+			}
+		}
+		cliArgs.verify();
+		return cliArgs;
+	}
+
+	public DaemonJobResult run() {
+		long start = System.currentTimeMillis();
+		synchronized (cancelSync) {
+			jobThread = Thread.currentThread();
+		}
+		ThreadFactory threadFactory = Utils.simpleThreadFactory("daemon-watchdog");
+		ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		watchdog.scheduleWithFixedDelay(() -> watch(start), CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+		DaemonJobResult result;
+		try {
+			result = process();
+		} catch (Throwable e) {
+			if (cancelResult == null) {
+				LOG.error("Job failed, input files: {}", cliArgs.getFiles(), e);
+			}
+			result = new DaemonJobResult(Status.FAILED, 1, "Process error: " + e.getMessage());
+		} finally {
+			synchronized (cancelSync) {
+				finished = true;
+			}
+			watchdog.shutdownNow();
+			// clear interrupt flag set by watchdog, thread reused for next jobs
+			Thread.interrupted();
+		}
+		DaemonJobResult cancel = cancelResult;
+		if (cancel != null) {
+			result = cancel;
+		}
+		result.setTimeMs(System.currentTimeMillis() - start);
+		return result;
+	}
+
+	/**
+	 * Package-private for override in tests
+	 */
+	DaemonJobResult process() {
+		JadxArgs jadxArgs = JadxCLI.buildArgs(cliArgs);
+		if (cwd != null) {
+			resolvePaths(jadxArgs, cwd);
+		}
+		try (JadxDecompiler jadx = new JadxDecompiler(jadxArgs)) {
+			jadx.load();
+			if (isCanceled()) {
+				return cancelResult;
+			}
+			if (JadxCLI.checkForErrors(jadx)) {
+				return new DaemonJobResult(Status.FAILED, 2, "Load failed");
+			}
+			if (!SingleClassMode.process(jadx, cliArgs)) {
+				save(jadx);
+			}
+			if (isCanceled()) {
+				return cancelResult;
+			}
+			int errorsCount = jadx.getErrorsCount();
+			DaemonJobResult result;
+			if (errorsCount != 0) {
+				jadx.printErrorsReport();
+				result = new DaemonJobResult(Status.DONE, 3, "Finished with errors");
+			} else {
+				result = new DaemonJobResult(Status.DONE, 0, "Done");
+			}
+			result.setErrorsCount(errorsCount);
+			return result;
+		}
+	}
+
+	private void save(JadxDecompiler jadx) {
+		ITaskExecutor executor = jadx.getSaveTaskExecutor();
+		synchronized (cancelSync) {
+			if (cancelResult != null) {
+				return;
+			}
+			saveExecutor = executor;
+			executor.execute();
+		}
+		executor.awaitTermination();
+		if (Thread.interrupted()) {
+			// canceled by watchdog: wait for already started tasks
+			executor.awaitTermination();
+		}
+	}
+
+	private boolean isCanceled() {
+		return cancelResult != null;
+	}
+
+	private void watch(long start) {
+		if (cancelResult != null) {
+			return;
+		}
+		DaemonJobResult limitResult = checkLimits(start);
+		if (limitResult == null) {
+			return;
+		}
+		synchronized (cancelSync) {
+			if (finished || cancelResult != null) {
+				return;
+			}
+			cancelResult = limitResult;
+			if (saveExecutor != null) {
+				saveExecutor.terminate();
+			}
+			if (jobThread != null) {
+				jobThread.interrupt();
+			}
+		}
+	}
+
+	private @Nullable DaemonJobResult checkLimits(long start) {
+		int timeLimit = config.getJobTimeLimit();
+		if (timeLimit > 0 && System.currentTimeMillis() - start > timeLimit * 1000L) {
+			LOG.warn("Job time limit reached ({} s), cancel", timeLimit);
+			return new DaemonJobResult(Status.CANCEL_BY_TIMEOUT, 4, "Time limit reached: " + timeLimit + " s");
+		}
+		if (!JadxDaemon.isFreeMemoryAvailable(config)) {
+			LOG.warn("Job memory limit reached (free heap less than {} MB), cancel", config.getMinFreeMemory());
+			return new DaemonJobResult(Status.CANCEL_BY_MEMORY, 5, "Not enough free memory");
+		}
+		return null;
+	}
+
+	/**
+	 * Daemon working directory can differ from client, so make all paths absolute
+	 */
+	static void resolvePaths(JadxArgs jadxArgs, Path cwd) {
+		List<File> inputFiles = jadxArgs.getInputFiles().stream()
+				.map(f -> resolve(f, cwd))
+				.collect(Collectors.toList());
+		jadxArgs.setInputFiles(inputFiles);
+		jadxArgs.setOutDir(resolve(jadxArgs.getOutDir(), cwd));
+		jadxArgs.setOutDirSrc(resolve(jadxArgs.getOutDirSrc(), cwd));
+		jadxArgs.setOutDirRes(resolve(jadxArgs.getOutDirRes(), cwd));
+		jadxArgs.setOutArchive(resolve(jadxArgs.getOutArchive(), cwd));
+		if (jadxArgs.getOutDir() == null && jadxArgs.getOutDirSrc() == null && jadxArgs.getOutDirRes() == null
+				&& !inputFiles.isEmpty()) {
+			// same name as in JadxArgsValidator, but relative to client directory
+			String name = inputFiles.get(0).getName();
+			int extPos = name.lastIndexOf('.');
+			String outDirName = extPos != -1 ? name.substring(0, extPos) : name + '-' + JadxArgs.DEFAULT_OUT_DIR;
+			jadxArgs.setOutDir(cwd.resolve(outDirName).toFile());
+		}
+	}
+
+	private static @Nullable File resolve(@Nullable File file, Path cwd) {
+		if (file == null || file.isAbsolute()) {
+			return file;
+		}
+		return cwd.resolve(file.toPath()).toFile();
+	}
+}
@@ -0,0 +1,62 @@
+package jadx.cli.daemon;
+
+/**
+ * Decompile job response, serialized as JSON
+ */
+public class DaemonJobResult {
+	public enum Status {
+		DONE,
+		FAILED,
+		CANCEL_BY_TIMEOUT,
+		CANCEL_BY_MEMORY,
+	}
+
+	/**
+	 * Same as exit code of jadx-cli
+	 */
+	private int exitCode;
+	private Status status;
+	private long timeMs;
+	private int errorsCount;
+	private String message;
+
+	public DaemonJobResult(Status status, int exitCode, String message) {
+		this.status = status;
+		this.exitCode = exitCode;
+		this.message = message;
+	}
+
+	public int getExitCode() {
+		return exitCode;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public long getTimeMs() {
+		return timeMs;
+	}
+
+	public void setTimeMs(long timeMs) {
+		this.timeMs = timeMs;
+	}
+
+	public int getErrorsCount() {
+		return errorsCount;
+	}
+
+	public void setErrorsCount(int errorsCount) {
+		this.errorsCount = errorsCount;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return "DaemonJobResult{status=" + status + ", exitCode=" + exitCode + ", time=" + timeMs + "ms"
+				+ ", errors=" + errorsCount + ", message=" + message + '}';
+	}
+}
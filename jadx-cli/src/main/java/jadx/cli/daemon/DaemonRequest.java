@@ -0,0 +1,37 @@
+package jadx.cli.daemon;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Decompile job request, serialized as JSON
+ */
+public class DaemonRequest {
+	/**
+	 * Same arguments as for jadx-cli
+	 */
+	private List<String> args = Collections.emptyList();
+
+	/**
+	 * Client working directory, used to resolve relative paths from arguments
+	 */
+	private @Nullable String cwd;
+
+	public List<String> getArgs() {
+		return args;
+	}
+
+	public void setArgs(List<String> args) {
+		this.args = args;
+	}
+
+	public @Nullable String getCwd() {
+		return cwd;
+	}
+
+	public void setCwd(@Nullable String cwd) {
+		this.cwd = cwd;
+	}
+}
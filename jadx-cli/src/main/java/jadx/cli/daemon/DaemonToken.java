@@ -0,0 +1,80 @@
+package jadx.cli.daemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Access token for daemon HTTP API.
+ * <br>
+ * Token generated on daemon start and saved into file readable only by current user,
+ * client read token from this file and send it in {@code Authorization: Bearer <token>} header.
+ */
+public class DaemonToken {
+	public static final String AUTH_HEADER = "Authorization";
+	private static final String AUTH_PREFIX = "Bearer ";
+	private static final int TOKEN_BYTES = 32;
+
+	public static String generate() {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		new SecureRandom().nextBytes(bytes);
+		StringBuilder sb = new StringBuilder(TOKEN_BYTES * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Write token into new file with owner only access
+	 */
+	public static void save(Path tokenFile, String token) throws IOException {
+		Path dir = tokenFile.toAbsolutePath().getParent();
+		if (dir != null) {
+			Files.createDirectories(dir);
+		}
+		Files.deleteIfExists(tokenFile);
+		if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+			Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		} else {
+			Files.createFile(tokenFile);
+			File file = tokenFile.toFile();
+			boolean restricted = file.setReadable(false, false) && file.setReadable(true, true)
+					&& file.setWritable(false, false) && file.setWritable(true, true);
+			if (!restricted) {
+				Files.deleteIfExists(tokenFile);
+				throw new IOException("Failed to restrict access to token file: " + tokenFile);
+			}
+		}
+		Files.write(tokenFile, token.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	public static String load(Path tokenFile) throws IOException {
+		return new String(Files.readAllBytes(tokenFile), StandardCharsets.US_ASCII).trim();
+	}
+
+	public static String toHeaderValue(String token) {
+		return AUTH_PREFIX + token;
+	}
+
+	/**
+	 * Check authorization header value, comparison time doesn't depend on matched prefix length
+	 */
+	public static boolean check(String token, @Nullable String headerValue) {
+		if (headerValue == null || !headerValue.startsWith(AUTH_PREFIX)) {
+			return false;
+		}
+		byte[] expected = token.getBytes(StandardCharsets.US_ASCII);
+		byte[] actual = headerValue.substring(AUTH_PREFIX.length()).trim().getBytes(StandardCharsets.US_ASCII);
+		return MessageDigest.isEqual(expected, actual);
+	}
+}
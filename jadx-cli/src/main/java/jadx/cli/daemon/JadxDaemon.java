@@ -0,0 +1,258 @@
+package jadx.cli.daemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jadx.cli.JadxCLIArgs;
+import jadx.cli.daemon.DaemonJobResult.Status;
+import jadx.core.utils.Utils;
+import jadx.core.utils.exceptions.JadxArgsValidateException;
+
+/**
+ * Long-running decompilation process, accept jobs over HTTP on loopback interface.
+ * <br>
+ * Endpoints:
+ * <ul>
+ * <li>POST /decompile - run job, body: {@link DaemonRequest}, response: {@link DaemonJobResult}</li>
+ * <li>GET /status - daemon status</li>
+ * <li>POST /shutdown - stop daemon</li>
+ * </ul>
+ * Every request must contain {@code Authorization: Bearer <token>} header with token from
+ * {@link DaemonConfig#getTokenFile()} (created on start, readable only by current user).
+ * Requests from browsers (with {@code Origin} header or not loopback {@code Host}) are rejected,
+ * POST body must be sent with {@code application/json} content type.
+ * <br>
+ * Jobs executed one by one: jadx use global temp directory which cleared after each job.
+ * Each job still uses all processing threads, and warm JVM with already loaded shared data
+ * (bundled classpath, android attributes) remove startup overhead.
+ */
+public class JadxDaemon {
+	private static final Logger LOG = LoggerFactory.getLogger(JadxDaemon.class);
+
+	private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+	private static final Set<String> LOOPBACK_HOSTS = Set.of("localhost", "127.0.0.1", "[::1]");
+
+	private final DaemonConfig config;
+	private final CountDownLatch shutdownLatch = new CountDownLatch(1);
+	private final ExecutorService jobsExecutor = Executors.newSingleThreadExecutor(Utils.simpleThreadFactory("daemon-job"));
+	private final AtomicInteger pendingJobs = new AtomicInteger(0);
+	private final AtomicLong completedJobs = new AtomicLong(0);
+	private final long startTime = System.currentTimeMillis();
+	private final String token = DaemonToken.generate();
+	private HttpServer server;
+
+	public JadxDaemon(DaemonConfig config) {
+		this.config = config;
+	}
+
+	/**
+	 * Start server and wait for shutdown request
+	 */
+	public void run() throws IOException, InterruptedException {
+		start();
+		try {
+			shutdownLatch.await();
+		} finally {
+			stop();
+		}
+	}
+
+	/**
+	 * Save access token and start server
+	 *
+	 * @return bound port
+	 */
+	int start() throws IOException {
+		Path tokenFile = config.getTokenFile();
+		DaemonToken.save(tokenFile, token);
+		InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getPort());
+		server = HttpServer.create(address, 0);
+		server.createContext("/decompile", this::handleDecompile);
+		server.createContext("/status", this::handleStatus);
+		server.createContext("/shutdown", this::handleShutdown);
+		server.setExecutor(Executors.newCachedThreadPool(Utils.simpleThreadFactory("daemon-http")));
+		server.start();
+		int port = server.getAddress().getPort();
+		LOG.info("jadx daemon started on http://{}:{}, token file: {}", address.getHostString(), port, tokenFile.toAbsolutePath());
+		return port;
+	}
+
+	void stop() {
+		if (server == null) {
+			return;
+		}
+		LOG.info("jadx daemon stopping ...");
+		server.stop(0);
+		jobsExecutor.shutdownNow();
+		((ExecutorService) server.getExecutor()).shutdownNow();
+		server = null;
+		try {
+			Files.deleteIfExists(config.getTokenFile());
+		} catch (IOException e) {
+			LOG.warn("Failed to delete token file: {}", config.getTokenFile(), e);
+		}
+	}
+
+	void awaitShutdown() throws InterruptedException {
+		shutdownLatch.await();
+	}
+
+	private void handleDecompile(HttpExchange exchange) throws IOException {
+		if (!checkRequest(exchange, "POST")) {
+			return;
+		}
+		DaemonRequest request;
+		try (InputStream in = exchange.getRequestBody()) {
+			request = GSON.fromJson(new String(in.readAllBytes(), StandardCharsets.UTF_8), DaemonRequest.class);
+		} catch (Exception e) {
+			sendError(exchange, 400, "Incorrect request: " + e.getMessage());
+			return;
+		}
+		if (request == null || request.getArgs() == null) {
+			sendError(exchange, 400, "Missing 'args' field");
+			return;
+		}
+		JadxCLIArgs cliArgs;
+		Path cwd;
+		try {
+			cliArgs = DaemonJob.parseArgs(request.getArgs());
+			cwd = request.getCwd() == null ? null : Paths.get(request.getCwd());
+			if (cwd != null && !cwd.isAbsolute()) {
+				throw new JadxArgsValidateException("Working directory must be absolute: " + cwd);
+			}
+		} catch (Exception e) {
+			sendError(exchange, 400, "Incorrect arguments: " + e.getMessage());
+			return;
+		}
+		DaemonJobResult result;
+		if (!isFreeMemoryAvailable(config)) {
+			// try to free memory left from previous jobs
+			System.gc();
+		}
+		if (!isFreeMemoryAvailable(config)) {
+			result = new DaemonJobResult(Status.CANCEL_BY_MEMORY, 5, "Not enough free memory to start job");
+		} else {
+			DaemonJob job = new DaemonJob(config, cliArgs, cwd);
+			pendingJobs.incrementAndGet();
+			try {
+				result = jobsExecutor.submit(job::run).get();
+			} catch (Exception e) {
+				result = new DaemonJobResult(Status.FAILED, 1, "Job execution failed: " + e.getMessage());
+			} finally {
+				pendingJobs.decrementAndGet();
+				completedJobs.incrementAndGet();
+			}
+		}
+		LOG.info("Job finished: {}", result);
+		sendJson(exchange, 200, result);
+	}
+
+	private void handleStatus(HttpExchange exchange) throws IOException {
+		if (!checkRequest(exchange, "GET")) {
+			return;
+		}
+		Runtime runtime = Runtime.getRuntime();
+		Map<String, Object> status = new LinkedHashMap<>();
+		status.put("uptimeMs", System.currentTimeMillis() - startTime);
+		status.put("pendingJobs", pendingJobs.get());
+		status.put("completedJobs", completedJobs.get());
+		status.put("freeMemoryMB", getFreeMemory() / (1024 * 1024));
+		status.put("maxMemoryMB", runtime.maxMemory() / (1024 * 1024));
+		sendJson(exchange, 200, status);
+	}
+
+	private void handleShutdown(HttpExchange exchange) throws IOException {
+		if (!checkRequest(exchange, "POST")) {
+			return;
+		}
+		sendJson(exchange, 200, Map.of("message", "Shutdown requested"));
+		shutdownLatch.countDown();
+	}
+
+	static boolean isFreeMemoryAvailable(DaemonConfig config) {
+		int minFreeMemory = config.getMinFreeMemory();
+		if (minFreeMemory <= 0) {
+			return true;
+		}
+		return getFreeMemory() > minFreeMemory * 1024L * 1024L;
+	}
+
+	private static long getFreeMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.freeMemory() + (runtime.maxMemory() - runtime.totalMemory());
+	}
+
+	/**
+	 * Check method, reject requests from browsers and without valid token
+	 */
+	private boolean checkRequest(HttpExchange exchange, String method) throws IOException {
+		if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+			sendError(exchange, 405, "Expected method: " + method);
+			return false;
+		}
+		if (exchange.getRequestHeaders().containsKey("Origin") || !isLoopbackHost(exchange.getRequestHeaders().getFirst("Host"))) {
+			sendError(exchange, 403, "Forbidden");
+			return false;
+		}
+		if (!DaemonToken.check(token, exchange.getRequestHeaders().getFirst(DaemonToken.AUTH_HEADER))) {
+			sendError(exchange, 401, "Missing or incorrect token");
+			return false;
+		}
+		if (method.equals("POST")) {
+			String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+			if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("application/json")) {
+				sendError(exchange, 415, "Expected content type: application/json");
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static boolean isLoopbackHost(@Nullable String host) {
+		if (host == null) {
+			return false;
+		}
+		int portSep = host.lastIndexOf(':');
+		String hostName = portSep > host.lastIndexOf(']') ? host.substring(0, portSep) : host;
+		return LOOPBACK_HOSTS.contains(hostName.toLowerCase(Locale.ROOT));
+	}
+
+	private static void sendError(HttpExchange exchange, int code, String message) throws IOException {
+		sendJson(exchange, code, Map.of("error", message));
+	}
+
+	private static void sendJson(HttpExchange exchange, int code, Object obj) throws IOException {
+		byte[] bytes = GSON.toJson(obj).getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(code, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
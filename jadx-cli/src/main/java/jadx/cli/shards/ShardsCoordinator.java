@@ -0,0 +1,155 @@
+package jadx.cli.shards;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.cli.JadxCLI;
+import jadx.cli.JadxCLIArgs;
+
+/**
+ * Split decompilation between several worker processes.
+ * <br>
+ * Each worker is a jadx-cli process started with the same arguments plus '--shard index/count' option.
+ * Worker loads all inputs (so names and renames are same in all processes),
+ * but saves only own part of decompilation batches directly into the common output directory.
+ * Resources and other shared files saved only by the first worker.
+ * <br>
+ * Threads count ('-j' option) and max heap size of coordinator process split between workers,
+ * so all workers together use same resources as single process.
+ * <br>
+ * Failed workers (crash or exit code other than 0 and 3) restarted,
+ * shard output is the same for each run, so partially written files just overwritten.
+ */
+public class ShardsCoordinator {
+	private static final Logger LOG = LoggerFactory.getLogger(ShardsCoordinator.class);
+
+	/**
+	 * Exit code for finished decompilation with errors in some classes, see {@link JadxCLI}
+	 */
+	private static final int EXIT_CODE_WITH_ERRORS = 3;
+
+	private final String[] args;
+	private final int workersCount;
+	private final int retries;
+	private final int workerThreads;
+	private final long workerHeapMb;
+
+	public ShardsCoordinator(String[] args, JadxCLIArgs cliArgs) {
+		this.args = args;
+		this.workersCount = cliArgs.getWorkersCount();
+		this.retries = cliArgs.getWorkerRetries();
+		this.workerThreads = Math.max(1, cliArgs.getThreadsCount() / workersCount);
+		this.workerHeapMb = Math.max(1, Runtime.getRuntime().maxMemory() / workersCount / (1024 * 1024));
+	}
+
+	public int run() throws IOException, InterruptedException {
+		LOG.info("processing with {} worker processes ({} threads, {} MB max heap per worker) ...",
+				workersCount, workerThreads, workerHeapMb);
+		long start = System.currentTimeMillis();
+		List<Integer> shards = new ArrayList<>(workersCount);
+		for (int i = 0; i < workersCount; i++) {
+			shards.add(i);
+		}
+		boolean withErrors = false;
+		for (int attempt = 0; attempt <= retries; attempt++) {
+			if (attempt != 0) {
+				LOG.warn("restart failed workers: {}, attempt: {}", shards, attempt);
+			}
+			List<Integer> failed = new ArrayList<>();
+			List<Process> processes = new ArrayList<>(shards.size());
+			for (int shard : shards) {
+				processes.add(startWorker(shard));
+			}
+			for (int i = 0; i < shards.size(); i++) {
+				int shard = shards.get(i);
+				int exitCode = processes.get(i).waitFor();
+				if (exitCode == 0) {
+					continue;
+				}
+				if (exitCode == EXIT_CODE_WITH_ERRORS) {
+					withErrors = true;
+				} else {
+					LOG.error("worker {} failed with exit code: {}", shard, exitCode);
+					failed.add(shard);
+				}
+			}
+			if (failed.isEmpty()) {
+				LOG.info("all workers finished in {} ms", System.currentTimeMillis() - start);
+				return withErrors ? EXIT_CODE_WITH_ERRORS : 0;
+			}
+			shards = failed;
+		}
+		LOG.error("workers failed after {} retries: {}", retries, shards);
+		return 1;
+	}
+
+	private Process startWorker(int shard) throws IOException {
+		List<String> cmd = new ArrayList<>();
+		cmd.add(getJavaExecutable());
+		cmd.addAll(getWorkerJvmArgs(ManagementFactory.getRuntimeMXBean().getInputArguments(), workerHeapMb));
+		cmd.add("-cp");
+		cmd.add(System.getProperty("java.class.path"));
+		cmd.add(JadxCLI.class.getName());
+		cmd.addAll(getWorkerArgs(args, workerThreads));
+		cmd.add("--shard");
+		cmd.add(shard + "/" + workersCount);
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("start worker {}: {}", shard, String.join(" ", cmd));
+		}
+		return new ProcessBuilder(cmd).inheritIO().start();
+	}
+
+	/**
+	 * Pass all JVM options (GC, agents, module opens, system properties),
+	 * except debugger agent: listen address can't be shared between processes.
+	 * Heap size options replaced by max heap size for one worker.
+	 */
+	static List<String> getWorkerJvmArgs(List<String> inputArgs, long heapMb) {
+		List<String> jvmArgs = new ArrayList<>(inputArgs.size() + 1);
+		for (String arg : inputArgs) {
+			if (arg.startsWith("-agentlib:jdwp") || arg.startsWith("-Xrunjdwp") || isHeapSizeArg(arg)) {
+				continue;
+			}
+			jvmArgs.add(arg);
+		}
+		jvmArgs.add("-Xmx" + heapMb + "m");
+		return jvmArgs;
+	}
+
+	private static boolean isHeapSizeArg(String arg) {
+		return arg.startsWith("-Xmx")
+				|| arg.startsWith("-Xms")
+				|| arg.startsWith("-XX:MaxHeapSize=")
+				|| arg.startsWith("-XX:InitialHeapSize=")
+				|| arg.startsWith("-XX:MinHeapSize=");
+	}
+
+	/**
+	 * Same arguments, but with threads count for one worker
+	 */
+	static List<String> getWorkerArgs(String[] args, int threads) {
+		List<String> workerArgs = new ArrayList<>(args.length + 2);
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (arg.equals("-j") || arg.equals("--threads-count")) {
+				i++; // skip value
+				continue;
+			}
+			workerArgs.add(arg);
+		}
+		workerArgs.add("-j");
+		workerArgs.add(Integer.toString(threads));
+		return workerArgs;
+	}
+
+	private static String getJavaExecutable() {
+		return ProcessHandle.current().info().command()
+				.orElseGet(() -> System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+	}
+}
@@ -0,0 +1,149 @@
+package jadx.cli.tools;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import jadx.api.security.IJadxSecurity;
+import jadx.api.security.JadxSecurityFlag;
+import jadx.api.security.impl.JadxSecurity;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.xmlgen.ManifestAttributes.MAttr;
+import jadx.core.xmlgen.ManifestAttributes.MAttrType;
+import jadx.core.xmlgen.ManifestAttributesFile;
+
+/**
+ * Utility class for convert Android attributes specification ('attrs.xml' and 'attrs_manifest.xml')
+ * into compact binary file loaded by {@link jadx.core.xmlgen.ManifestAttributes}
+ */
+public class ConvertManifestAttributes {
+	private static final Logger LOG = LoggerFactory.getLogger(ConvertManifestAttributes.class);
+
+	public static void usage() {
+		LOG.info("<output attrs.bin file> <input xml files>");
+		LOG.info("Arguments to update attrs.bin: "
+				+ "<jadx root>/jadx-core/src/main/resources/android/attrs.bin "
+				+ "<android source root>/core/res/res/values/attrs.xml "
+				+ "<android source root>/core/res/res/values/attrs_manifest.xml");
+		LOG.info("");
+		LOG.info("Note: attributes from later files override attributes with same name from previous");
+	}
+
+	public static void main(String[] args) {
+		if (args.length < 2) {
+			usage();
+			System.exit(1);
+		}
+		List<Path> inputPaths = Stream.of(args).map(Paths::get).collect(Collectors.toList());
+		Path output = inputPaths.remove(0);
+
+		IJadxSecurity security = new JadxSecurity(JadxSecurityFlag.all());
+		Map<String, MAttr> attrMap = new HashMap<>();
+		for (Path xmlFile : inputPaths) {
+			int before = attrMap.size();
+			parse(attrMap, loadXML(security, xmlFile));
+			LOG.info("{} added attributes: {}", xmlFile.getFileName(), attrMap.size() - before);
+		}
+		LOG.info("Output attributes count: {}", attrMap.size());
+		ManifestAttributesFile.write(output, attrMap);
+		LOG.info("Result file size: {} B", output.toFile().length());
+		LOG.info("done");
+	}
+
+	private static Document loadXML(IJadxSecurity security, Path xmlFile) {
+		try (InputStream xmlStream = Files.newInputStream(xmlFile)) {
+			return security.parseXml(xmlStream);
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Xml load error, file: " + xmlFile, e);
+		}
+	}
+
+	private static void parse(Map<String, MAttr> attrMap, Document doc) {
+		NodeList nodeList = doc.getChildNodes();
+		for (int count = 0; count < nodeList.getLength(); count++) {
+			Node node = nodeList.item(count);
+			if (node.getNodeType() == Node.ELEMENT_NODE
+					&& node.hasChildNodes()) {
+				parseAttrList(attrMap, node.getChildNodes());
+			}
+		}
+	}
+
+	private static void parseAttrList(Map<String, MAttr> attrMap, NodeList nodeList) {
+		for (int count = 0; count < nodeList.getLength(); count++) {
+			Node tempNode = nodeList.item(count);
+			if (tempNode.getNodeType() == Node.ELEMENT_NODE
+					&& tempNode.hasAttributes()
+					&& tempNode.hasChildNodes()) {
+				String name = null;
+				NamedNodeMap nodeMap = tempNode.getAttributes();
+				for (int i = 0; i < nodeMap.getLength(); i++) {
+					Node node = nodeMap.item(i);
+					if (node.getNodeName().equals("name")) {
+						name = node.getNodeValue();
+						break;
+					}
+				}
+				if (name != null && tempNode.getNodeName().equals("attr")) {
+					parseValues(attrMap, name, tempNode.getChildNodes());
+				} else {
+					parseAttrList(attrMap, tempNode.getChildNodes());
+				}
+			}
+		}
+	}
+
+	private static void parseValues(Map<String, MAttr> attrMap, String name, NodeList nodeList) {
+		MAttr attr = null;
+		for (int count = 0; count < nodeList.getLength(); count++) {
+			Node tempNode = nodeList.item(count);
+			if (tempNode.getNodeType() == Node.ELEMENT_NODE
+					&& tempNode.hasAttributes()) {
+				if (attr == null) {
+					if (tempNode.getNodeName().equals("enum")) {
+						attr = new MAttr(MAttrType.ENUM);
+					} else if (tempNode.getNodeName().equals("flag")) {
+						attr = new MAttr(MAttrType.FLAG);
+					}
+					if (attr == null) {
+						return;
+					}
+					attrMap.put("android:" + name, attr);
+				}
+				NamedNodeMap attributes = tempNode.getAttributes();
+				Node nameNode = attributes.getNamedItem("name");
+				if (nameNode != null) {
+					Node valueNode = attributes.getNamedItem("value");
+					if (valueNode != null) {
+						try {
+							long key;
+							String nodeValue = valueNode.getNodeValue();
+							if (nodeValue.startsWith("0x")) {
+								nodeValue = nodeValue.substring(2);
+								key = Long.parseLong(nodeValue, 16);
+							} else {
+								key = Long.parseLong(nodeValue);
+							}
+							attr.addValue(key, nameNode.getNodeValue());
+						} catch (NumberFormatException e) {
+							LOG.debug("Failed parse manifest number", e);
+						}
+					}
+				}
+			}
+		}
+	}
+}
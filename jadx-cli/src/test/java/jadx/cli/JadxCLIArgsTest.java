@@ -7,8 +7,12 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.api.JadxArgs;
+import jadx.core.utils.exceptions.JadxArgsValidateException;
+
 import static jadx.core.utils.Utils.newConstStringMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JadxCLIArgsTest {
 
@@ -33,6 +37,19 @@ public void testSrcOption() {
 		assertThat(parse("").isSkipSources()).isFalse();
 	}
 
+	@Test
+	public void testShardOption() {
+		JadxArgs args = parse("--shard", "1/3").toJadxArgs();
+		assertThat(args.getShardIndex()).isEqualTo(1);
+		assertThat(args.getShardsCount()).isEqualTo(3);
+		assertThat(args.isFirstShard()).isFalse();
+
+		assertThat(parse("").toJadxArgs().getShardsCount()).isEqualTo(1);
+
+		assertThatThrownBy(() -> parse("--shard", "3/3")).isInstanceOf(JadxArgsValidateException.class);
+		assertThatThrownBy(() -> parse("--shard", "1")).isInstanceOf(JadxArgsValidateException.class);
+	}
+
 	@Test
 	public void testOptionsOverride() {
 		assertThat(override(new JadxCLIArgs(), "--no-imports").isUseImports()).isFalse();
@@ -0,0 +1,112 @@
+package jadx.cli.daemon;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.cli.JadxCLIArgs;
+import jadx.cli.LogHelper;
+import jadx.cli.daemon.DaemonJobResult.Status;
+import jadx.core.utils.exceptions.JadxArgsValidateException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DaemonJobTest {
+	private static final Path CWD = Paths.get("/home/user/work").toAbsolutePath();
+
+	@Test
+	public void testParseDecompileArgs() {
+		JadxCLIArgs cliArgs = DaemonJob.parseArgs(List.of("-d", "out", "--no-res", "-Pkey=value", "app.apk"));
+		assertThat(cliArgs.getFiles()).containsExactly("app.apk");
+		assertThat(cliArgs.isSkipResources()).isTrue();
+		assertThat(cliArgs.getPluginOptions()).containsEntry("key", "value");
+	}
+
+	@Test
+	public void testRejectCommands() {
+		assertRejected("plugins", "--install", "github:user:repo");
+		assertRejected("plugins", "--install-jar", "plugin.jar");
+		assertRejected("daemon");
+		assertRejected("daemon", "--port", "1234");
+	}
+
+	@Test
+	public void testRejectNotDecompileOptions() {
+		assertRejected("--port", "1234", "app.apk");
+		assertRejected("--job-timeout", "10", "app.apk");
+		assertRejected("--config", "/tmp/other.json", "app.apk");
+		assertRejected("--save-config", "app.apk");
+		assertRejected("--print-files");
+		assertRejected("--version");
+		assertRejected("-h");
+		assertRejected("--workers", "4", "app.apk");
+		assertRejected("--shard", "0/2", "app.apk");
+		assertRejected("@args.txt");
+		assertRejected("--unknown-option", "app.apk");
+	}
+
+	@Test
+	public void testResolvePaths() {
+		File absInput = CWD.resolve("other/lib.jar").toFile();
+		JadxArgs jadxArgs = buildArgs("-ds", "out/src", "app.apk", absInput.getPath());
+		DaemonJob.resolvePaths(jadxArgs, CWD);
+		assertThat(jadxArgs.getInputFiles()).containsExactly(CWD.resolve("app.apk").toFile(), absInput);
+		assertThat(jadxArgs.getOutDirSrc()).isEqualTo(CWD.resolve("out/src").toFile());
+	}
+
+	@Test
+	public void testResolveDefaultOutDir() {
+		JadxArgs jadxArgs = buildArgs("app.apk");
+		DaemonJob.resolvePaths(jadxArgs, CWD);
+		assertThat(jadxArgs.getOutDir()).isEqualTo(CWD.resolve("app").toFile());
+
+		JadxArgs absArgs = buildArgs("-d", CWD.resolve("abs-out").toString(), "app.apk");
+		DaemonJob.resolvePaths(absArgs, CWD);
+		assertThat(absArgs.getOutDir()).isEqualTo(CWD.resolve("abs-out").toFile());
+	}
+
+	@Test
+	public void testTimeLimitBeforeSave() {
+		DaemonConfig config = new DaemonConfig();
+		config.setJobTimeLimit(1);
+		DaemonJob job = new DaemonJob(config, DaemonJob.parseArgs(List.of("app.apk")), null) {
+			@Override
+			DaemonJobResult process() {
+				// long load step, stopped only by interrupt
+				try {
+					Thread.sleep(60_000);
+				} catch (InterruptedException e) {
+					throw new RuntimeException("Interrupted", e);
+				}
+				return new DaemonJobResult(Status.DONE, 0, "Done");
+			}
+		};
+		DaemonJobResult result = job.run();
+		assertThat(result.getStatus()).isEqualTo(Status.CANCEL_BY_TIMEOUT);
+		assertThat(result.getTimeMs()).isLessThan(30_000);
+		// job thread reused by daemon
+		assertThat(Thread.currentThread().isInterrupted()).isFalse();
+	}
+
+	@Test
+	public void testLogLevelNotChanged() {
+		LogHelper.LogLevelEnum logLevel = LogHelper.getLogLevel();
+		DaemonJob job = new DaemonJob(new DaemonConfig(), DaemonJob.parseArgs(List.of("-v", "missing.apk")), null);
+		assertThat(job.run().getStatus()).isEqualTo(Status.FAILED);
+		assertThat(LogHelper.getLogLevel()).isEqualTo(logLevel);
+	}
+
+	private static JadxArgs buildArgs(String... args) {
+		return DaemonJob.parseArgs(List.of(args)).toJadxArgs();
+	}
+
+	private static void assertRejected(String... args) {
+		assertThatThrownBy(() -> DaemonJob.parseArgs(List.of(args)))
+				.isInstanceOf(JadxArgsValidateException.class);
+	}
+}
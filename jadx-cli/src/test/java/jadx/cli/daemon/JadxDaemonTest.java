@@ -0,0 +1,132 @@
+package jadx.cli.daemon;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JadxDaemonTest {
+	private static final String JSON = "application/json";
+
+	@TempDir
+	Path tempDir;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private Path tokenFile;
+	private JadxDaemon daemon;
+	private String baseUrl;
+	private String token;
+
+	@BeforeEach
+	public void start() throws IOException {
+		tokenFile = tempDir.resolve("daemon.token");
+		DaemonConfig config = new DaemonConfig();
+		config.setPort(0);
+		config.setTokenFile(tokenFile);
+		daemon = new JadxDaemon(config);
+		int port = daemon.start();
+		baseUrl = "http://127.0.0.1:" + port;
+		token = DaemonToken.load(tokenFile);
+	}
+
+	@AfterEach
+	public void stop() {
+		daemon.stop();
+	}
+
+	@Test
+	public void testTokenFile() throws IOException {
+		assertThat(token).hasSize(64);
+		if (Files.getFileStore(tokenFile).supportsFileAttributeView("posix")) {
+			assertThat(Files.getPosixFilePermissions(tokenFile))
+					.isEqualTo(Set.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE));
+		}
+		daemon.stop();
+		assertThat(tokenFile).doesNotExist();
+	}
+
+	@Test
+	public void testTokenRequired() throws Exception {
+		assertThat(send(get("/status")).statusCode()).isEqualTo(401);
+		assertThat(send(get("/status").header(DaemonToken.AUTH_HEADER, "Bearer wrong")).statusCode()).isEqualTo(401);
+		assertThat(send(get("/status").header(DaemonToken.AUTH_HEADER, token)).statusCode()).isEqualTo(401);
+		assertThat(send(post("/shutdown", "{}").header("Content-Type", JSON)).statusCode()).isEqualTo(401);
+		assertThat(send(post("/decompile", "{}").header("Content-Type", JSON)).statusCode()).isEqualTo(401);
+
+		HttpResponse<String> response = send(auth(get("/status")));
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).contains("completedJobs");
+	}
+
+	@Test
+	public void testBrowserRequestsRejected() throws Exception {
+		HttpRequest.Builder fromPage = auth(post("/shutdown", "{}"))
+				.header("Content-Type", JSON)
+				.header("Origin", "http://example.com");
+		assertThat(send(fromPage).statusCode()).isEqualTo(403);
+
+		// simple form request, no preflight in browser
+		HttpRequest.Builder plainText = auth(post("/shutdown", "{}")).header("Content-Type", "text/plain");
+		assertThat(send(plainText).statusCode()).isEqualTo(415);
+		assertThat(send(auth(post("/shutdown", "{}"))).statusCode()).isEqualTo(415);
+
+		assertThat(send(auth(get("/shutdown"))).statusCode()).isEqualTo(405);
+	}
+
+	@Test
+	public void testLoopbackHost() {
+		assertThat(JadxDaemon.isLoopbackHost("127.0.0.1:13370")).isTrue();
+		assertThat(JadxDaemon.isLoopbackHost("localhost")).isTrue();
+		assertThat(JadxDaemon.isLoopbackHost("[::1]:13370")).isTrue();
+		assertThat(JadxDaemon.isLoopbackHost("attacker.example.com:13370")).isFalse();
+		assertThat(JadxDaemon.isLoopbackHost(null)).isFalse();
+	}
+
+	@Test
+	public void testDecompileArgsRejected() throws Exception {
+		assertThat(decompile("{\"args\": [\"plugins\", \"--install\", \"github:user:repo\"]}").statusCode()).isEqualTo(400);
+		assertThat(decompile("{\"args\": [\"daemon\", \"--port\", \"1234\"]}").statusCode()).isEqualTo(400);
+		assertThat(decompile("{\"args\": [\"--save-config\", \"app.apk\"]}").statusCode()).isEqualTo(400);
+		assertThat(decompile("{\"args\": [\"app.apk\"], \"cwd\": \"relative\"}").statusCode()).isEqualTo(400);
+		assertThat(decompile("not json").statusCode()).isEqualTo(400);
+	}
+
+	@Test
+	public void testShutdown() throws Exception {
+		HttpResponse<String> response = send(auth(post("/shutdown", "{}")).header("Content-Type", JSON));
+		assertThat(response.statusCode()).isEqualTo(200);
+		daemon.awaitShutdown();
+	}
+
+	private HttpResponse<String> decompile(String body) throws Exception {
+		return send(auth(post("/decompile", body)).header("Content-Type", JSON));
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+	}
+
+	private HttpRequest.Builder post(String path, String body) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).POST(HttpRequest.BodyPublishers.ofString(body));
+	}
+
+	private HttpRequest.Builder auth(HttpRequest.Builder builder) {
+		return builder.header(DaemonToken.AUTH_HEADER, DaemonToken.toHeaderValue(token));
+	}
+
+	private HttpResponse<String> send(HttpRequest.Builder builder) throws Exception {
+		return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+	}
+}
@@ -0,0 +1,45 @@
+package jadx.cli.shards;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardsCoordinatorTest {
+
+	@Test
+	public void testWorkerJvmArgs() {
+		List<String> inputArgs = List.of(
+				"-Xmx4g",
+				"-Xms2g",
+				"-XX:MaxHeapSize=4294967296",
+				"-XX:+UseG1GC",
+				"-Dfile.encoding=UTF-8",
+				"-javaagent:/opt/agent.jar=opt",
+				"--add-opens=java.base/java.lang=ALL-UNNAMED",
+				"-agentlib:jdwp=transport=dt_socket,server=y,address=5005",
+				"-Xrunjdwp:transport=dt_socket,address=5006");
+		assertThat(ShardsCoordinator.getWorkerJvmArgs(inputArgs, 1024)).containsExactly(
+				"-XX:+UseG1GC",
+				"-Dfile.encoding=UTF-8",
+				"-javaagent:/opt/agent.jar=opt",
+				"--add-opens=java.base/java.lang=ALL-UNNAMED",
+				"-Xmx1024m");
+	}
+
+	@Test
+	public void testWorkerArgs() {
+		String[] args = { "-d", "out", "-j", "8", "--workers", "4", "app.apk" };
+		assertThat(ShardsCoordinator.getWorkerArgs(args, 2))
+				.containsExactly("-d", "out", "--workers", "4", "app.apk", "-j", "2");
+
+		String[] longOptArgs = { "--threads-count", "8", "app.apk" };
+		assertThat(ShardsCoordinator.getWorkerArgs(longOptArgs, 2))
+				.containsExactly("app.apk", "-j", "2");
+
+		String[] noThreadsArgs = { "app.apk" };
+		assertThat(ShardsCoordinator.getWorkerArgs(noThreadsArgs, 1))
+				.containsExactly("app.apk", "-j", "1");
+	}
+}
@@ -60,3 +60,20 @@ fun getTestJavaVersion(): Int? {
 
 	// maxHeapSize = "4g"
 }
+
+val typeSearchBenchmark by tasks.registering(JavaExec::class) {
+	group = "jadx-dev"
+	description = "Compare multi-variable type search solver with full enumeration, inputs can be set by 'benchInputs' property"
+
+	classpath = sourceSets.test.get().runtimeClasspath
+	mainClass.set("jadx.core.dex.visitors.typeinference.TypeSearchBenchmark")
+	val benchInputs = project.findProperty("benchInputs") as String?
+	if (benchInputs != null) {
+		args(benchInputs.split(File.pathSeparator))
+	} else {
+		args(
+			layout.buildDirectory.dir("classes/java/test/jadx/tests/integration/types").get().asFile,
+			file("src/test/smali/types"),
+		)
+	}
+}
@@ -62,6 +62,24 @@ public class JadxArgs implements Closeable {
 	private File outDirSrc;
 	private File outDirRes;
 
+	/**
+	 * Save all output files into one zip archive instead of output directories.
+	 * Entry names are relative to output directory.
+	 */
+	private @Nullable File outArchive;
+	private boolean outArchiveCompress = true;
+
+	/**
+	 * Don't rewrite unchanged files in output directories.
+	 * Hashes of saved files stored in manifest file in output directory, not used for output archive.
+	 */
+	private boolean incrementalOutput = false;
+
+	/**
+	 * With incremental output: delete files saved by previous run but not produced by current one
+	 */
+	private boolean deleteStaleOutput = false;
+
 	private ICodeCache codeCache = new InMemoryCodeCache();
 
 	/**
@@ -74,6 +92,13 @@ public class JadxArgs implements Closeable {
 
 	private int threadsCount = DEFAULT_THREADS_COUNT;
 
+	/**
+	 * Save only part of decompilation batches: batch saved if {@code batchIndex % shardsCount == shardIndex}.
+	 * Used to split processing between several processes, resources and other shared files saved only by first shard.
+	 */
+	private int shardsCount = 1;
+	private int shardIndex = 0;
+
 	private boolean cfgOutput = false;
 	private boolean rawCFGOutput = false;
 
@@ -172,6 +197,24 @@ public enum OutputFormatEnum {
 	 */
 	private int typeUpdatesLimitCount = 10;
 
+	/**
+	 * Processing time limit for one method (sum for all passes) in milliseconds.
+	 * On timeout method code replaced by fallback dump. Zero or negative value disables limit.
+	 */
+	private int methodProcessTimeout = 0;
+
+	/**
+	 * Processing time limit for top level class (including inner classes) in milliseconds.
+	 * Zero or negative value disables limit.
+	 */
+	private int classProcessTimeout = 0;
+
+	/**
+	 * Collect time, allocations and visits count for decompilation passes.
+	 * Result available by {@link JadxDecompiler#getProfileReport(int)}.
+	 */
+	private boolean passesProfiling = false;
+
 	private boolean useDxInput = false;
 
 	public enum UseKotlinMethodsForVarNames {
@@ -281,6 +324,41 @@ public void setOutDirRes(File outDirRes) {
 		this.outDirRes = outDirRes;
 	}
 
+	public @Nullable File getOutArchive() {
+		return outArchive;
+	}
+
+	public void setOutArchive(@Nullable File outArchive) {
+		this.outArchive = outArchive;
+	}
+
+	public boolean isOutArchiveCompress() {
+		return outArchiveCompress;
+	}
+
+	/**
+	 * Deflate archive entries (default), if disabled entries just stored
+	 */
+	public void setOutArchiveCompress(boolean outArchiveCompress) {
+		this.outArchiveCompress = outArchiveCompress;
+	}
+
+	public boolean isIncrementalOutput() {
+		return incrementalOutput;
+	}
+
+	public void setIncrementalOutput(boolean incrementalOutput) {
+		this.incrementalOutput = incrementalOutput;
+	}
+
+	public boolean isDeleteStaleOutput() {
+		return deleteStaleOutput;
+	}
+
+	public void setDeleteStaleOutput(boolean deleteStaleOutput) {
+		this.deleteStaleOutput = deleteStaleOutput;
+	}
+
 	public int getThreadsCount() {
 		return threadsCount;
 	}
@@ -289,6 +367,30 @@ public void setThreadsCount(int threadsCount) {
 		this.threadsCount = Math.max(1, threadsCount); // make sure threadsCount >= 1
 	}
 
+	public int getShardsCount() {
+		return shardsCount;
+	}
+
+	public int getShardIndex() {
+		return shardIndex;
+	}
+
+	public void setShard(int shardIndex, int shardsCount) {
+		if (shardsCount < 1 || shardIndex < 0 || shardIndex >= shardsCount) {
+			throw new IllegalArgumentException("Incorrect shard: " + shardIndex + " of " + shardsCount);
+		}
+		this.shardIndex = shardIndex;
+		this.shardsCount = shardsCount;
+	}
+
+	/**
+	 * Shard responsible for resources and other shared files.
+	 * Always true if sharding not used.
+	 */
+	public boolean isFirstShard() {
+		return shardIndex == 0;
+	}
+
 	public boolean isCfgOutput() {
 		return cfgOutput;
 	}
@@ -756,6 +858,30 @@ public void setTypeUpdatesLimitCount(int typeUpdatesLimitCount) {
 		this.typeUpdatesLimitCount = Math.max(1, typeUpdatesLimitCount);
 	}
 
+	public int getMethodProcessTimeout() {
+		return methodProcessTimeout;
+	}
+
+	public void setMethodProcessTimeout(int methodProcessTimeout) {
+		this.methodProcessTimeout = methodProcessTimeout;
+	}
+
+	public int getClassProcessTimeout() {
+		return classProcessTimeout;
+	}
+
+	public void setClassProcessTimeout(int classProcessTimeout) {
+		this.classProcessTimeout = classProcessTimeout;
+	}
+
+	public boolean isPassesProfiling() {
+		return passesProfiling;
+	}
+
+	public void setPassesProfiling(boolean passesProfiling) {
+		this.passesProfiling = passesProfiling;
+	}
+
 	public boolean isUseDxInput() {
 		return useDxInput;
 	}
@@ -862,6 +988,7 @@ public String makeCodeArgsHash(@Nullable JadxDecompiler decompiler) {
 				+ debugInfo + escapeUnicode + replaceConsts + restoreSwitchOverString
 				+ respectBytecodeAccModifiers + fsCaseSensitive + renameFlags
 				+ commentsLevel + useDxInput + integerFormat + typeUpdatesLimitCount
+				+ methodProcessTimeout + ':' + classProcessTimeout
 				+ "|" + buildPluginsHash(decompiler);
 		return FileUtils.md5Sum(argStr);
 	}
@@ -882,7 +1009,10 @@ public String toString() {
 				+ ", outDir=" + outDir
 				+ ", outDirSrc=" + outDirSrc
 				+ ", outDirRes=" + outDirRes
+				+ ", outArchive=" + outArchive
+				+ ", incrementalOutput=" + incrementalOutput
 				+ ", threadsCount=" + threadsCount
+				+ ", shard=" + shardIndex + '/' + shardsCount
 				+ ", decompilationMode=" + decompilationMode
 				+ ", showInconsistentCode=" + showInconsistentCode
 				+ ", useImports=" + useImports
@@ -921,6 +1051,9 @@ public String toString() {
 				+ ", rawCFGOutput=" + rawCFGOutput
 				+ ", useHeadersForDetectResourceExtensions=" + useHeadersForDetectResourceExtensions
 				+ ", typeUpdatesLimitCount=" + typeUpdatesLimitCount
+				+ ", methodProcessTimeout=" + methodProcessTimeout
+				+ ", classProcessTimeout=" + classProcessTimeout
+				+ ", passesProfiling=" + passesProfiling
 				+ '}';
 	}
 }
@@ -2,8 +2,10 @@
 
 import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,6 +36,7 @@
 import jadx.api.plugins.pass.JadxPass;
 import jadx.api.plugins.pass.types.JadxAfterLoadPass;
 import jadx.api.plugins.pass.types.JadxPassType;
+import jadx.api.profiling.ProfileReport;
 import jadx.api.utils.tasks.ITaskExecutor;
 import jadx.core.Jadx;
 import jadx.core.dex.attributes.AFlag;
@@ -45,6 +48,10 @@
 import jadx.core.dex.visitors.SaveCode;
 import jadx.core.export.ExportGradle;
 import jadx.core.export.OutDirs;
+import jadx.core.export.output.DirOutputWriter;
+import jadx.core.export.output.IOutputWriter;
+import jadx.core.export.output.IncrementalOutputWriter;
+import jadx.core.export.output.ZipOutputWriter;
 import jadx.core.plugins.JadxPluginManager;
 import jadx.core.plugins.PluginContext;
 import jadx.core.plugins.events.JadxEventsImpl;
@@ -52,6 +59,7 @@
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.profiling.PassesProfiler;
 import jadx.core.utils.tasks.TaskExecutor;
 import jadx.core.xmlgen.ResourcesSaver;
 import jadx.zip.ZipReader;
@@ -91,9 +99,9 @@ public final class JadxDecompiler implements Closeable {
 	private final List<ICodeLoader> loadedInputs = new ArrayList<>();
 	private final ZipReader zipReader;
 
-	private RootNode root;
-	private List<JavaClass> classes;
-	private List<ResourceFile> resources;
+	private volatile RootNode root;
+	private volatile List<JavaClass> classes;
+	private volatile List<ResourceFile> resources;
 
 	private final IDecompileScheduler decompileScheduler = new DecompilerScheduler();
 	private final ResourcesLoader resourcesLoader;
@@ -128,13 +136,15 @@ public void load() {
 		root.init();
 		// load classes and resources
 		root.loadClasses(loadedInputs);
-		root.loadResources(resourcesLoader, getResources());
+		resources = resourcesLoader.load(root);
+		root.loadResources(resourcesLoader, resources);
 		root.finishClassLoad();
 		root.initClassPath();
 		// init passes
 		root.mergePasses(customPasses);
 		root.runPreDecompileStage();
 		root.initPasses();
+		classes = buildClassesList(root);
 		loadFinished();
 	}
 
@@ -307,40 +317,112 @@ private TaskExecutor getSaveTasks(boolean saveSources, boolean saveResources) {
 		if (root == null) {
 			throw new JadxRuntimeException("No loaded files");
 		}
-		OutDirs outDirs;
-		ExportGradle gradleExport;
-		if (args.getExportGradleType() != null) {
-			gradleExport = new ExportGradle(root, args.getOutDir(), getResources());
-			outDirs = gradleExport.init();
-		} else {
-			gradleExport = null;
-			outDirs = new OutDirs(args.getOutDirSrc(), args.getOutDirRes());
-			outDirs.makeDirs();
+		IOutputWriter outWriter = buildOutputWriter();
+		try {
+			OutDirs outDirs;
+			ExportGradle gradleExport;
+			if (args.getExportGradleType() != null) {
+				gradleExport = new ExportGradle(root, args.getOutDir(), getResources(), outWriter);
+				outDirs = gradleExport.init();
+			} else {
+				gradleExport = null;
+				outDirs = new OutDirs(args.getOutDirSrc(), args.getOutDirRes());
+				outDirs.makeDirs(outWriter);
+			}
+			boolean saveFiles = !args.isSkipFilesSave();
+			outWriter.addOutputDir(outDirs.getSrcOutDir(), saveFiles && saveSources);
+			outWriter.addOutputDir(outDirs.getResOutDir(), saveFiles && saveResources && args.isFirstShard());
+
+			TaskExecutor executor = new TaskExecutor();
+			executor.setThreadsCount(args.getThreadsCount());
+			if (saveResources && args.isFirstShard()) {
+				// save resources first because decompilation can stop or fail
+				appendResourcesSaveTasks(executor, outWriter, outDirs.getResOutDir());
+			}
+			if (saveSources) {
+				appendSourcesSave(executor, outWriter, outDirs.getSrcOutDir());
+			}
+			if (gradleExport != null && args.isFirstShard()) {
+				executor.addSequentialTask(gradleExport::generateGradleFiles);
+			}
+			executor.setFinishTask(() -> {
+				if (executor.isTerminating()) {
+					outWriter.markIncomplete();
+				}
+				closeOutputWriter(outWriter);
+			});
+			return executor;
+		} catch (RuntimeException e) {
+			closeOutputWriter(outWriter);
+			throw e;
 		}
+	}
 
-		TaskExecutor executor = new TaskExecutor();
-		executor.setThreadsCount(args.getThreadsCount());
-		if (saveResources) {
-			// save resources first because decompilation can stop or fail
-			appendResourcesSaveTasks(executor, outDirs.getResOutDir());
+	private IOutputWriter buildOutputWriter() {
+		File outArchive = args.getOutArchive();
+		if (outArchive == null) {
+			if (args.isIncrementalOutput()) {
+				return buildIncrementalWriter();
+			}
+			return new DirOutputWriter();
 		}
-		if (saveSources) {
-			appendSourcesSave(executor, outDirs.getSrcOutDir());
+		try {
+			return new ZipOutputWriter(outArchive, getOutputRootDir(), args.isOutArchiveCompress());
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to create output archive: " + outArchive, e);
+		}
+	}
+
+	private IOutputWriter buildIncrementalWriter() {
+		boolean deleteStale = args.isDeleteStaleOutput();
+		String manifestName = ".jadx-output-manifest";
+		if (args.getShardsCount() > 1) {
+			// each shard saves own files, so files from other shards can't be detected as stale
+			manifestName += "-" + args.getShardIndex() + '-' + args.getShardsCount();
+			if (deleteStale && args.isFirstShard()) {
+				LOG.warn("Stale output files deletion not supported with several workers");
+			}
+			deleteStale = false;
 		}
-		if (gradleExport != null) {
-			executor.addSequentialTask(gradleExport::generateGradleFiles);
+		return new IncrementalOutputWriter(getOutputRootDir(), manifestName, deleteStale);
+	}
+
+	/**
+	 * Common parent for all output directories, archive entries names and manifest paths will be relative to it
+	 */
+	private File getOutputRootDir() {
+		Path rootDir = args.getOutDir().toPath().toAbsolutePath().normalize();
+		for (File dir : Arrays.asList(args.getOutDirSrc(), args.getOutDirRes())) {
+			if (dir == null) {
+				continue;
+			}
+			Path path = dir.toPath().toAbsolutePath().normalize();
+			while (!path.startsWith(rootDir)) {
+				rootDir = rootDir.getParent();
+				if (rootDir == null) {
+					throw new JadxRuntimeException("Output directories don't have common parent");
+				}
+			}
 		}
-		return executor;
+		return rootDir.toFile();
 	}
 
-	private void appendResourcesSaveTasks(ITaskExecutor executor, File outDir) {
+	private static void closeOutputWriter(IOutputWriter outWriter) {
+		try {
+			outWriter.close();
+		} catch (Exception e) {
+			LOG.error("Failed to finish output save", e);
+		}
+	}
+
+	private void appendResourcesSaveTasks(ITaskExecutor executor, IOutputWriter outWriter, File outDir) {
 		if (args.isSkipFilesSave()) {
 			return;
 		}
 		// process AndroidManifest.xml first to load complete resource ids table
 		for (ResourceFile resourceFile : getResources()) {
 			if (resourceFile.getType() == ResourceType.MANIFEST) {
-				new ResourcesSaver(this, outDir, resourceFile).run();
+				new ResourcesSaver(this, outDir, resourceFile, outWriter).run();
 				break;
 			}
 		}
@@ -366,7 +448,7 @@ private void appendResourcesSaveTasks(ITaskExecutor executor, File outDir) {
 				// do not trust file extensions, use only sources set as class inputs
 				continue;
 			}
-			tasks.add(new ResourcesSaver(this, outDir, resourceFile));
+			tasks.add(new ResourcesSaver(this, outDir, resourceFile, outWriter));
 		}
 		executor.addParallelTasks(tasks);
 	}
@@ -394,7 +476,7 @@ private Set<String> collectCodeSources() {
 		return set;
 	}
 
-	private void appendSourcesSave(ITaskExecutor executor, File outDir) {
+	private void appendSourcesSave(ITaskExecutor executor, IOutputWriter outWriter, File outDir) {
 		List<JavaClass> classes = getClasses();
 		List<JavaClass> processQueue = filterClasses(classes);
 		List<List<JavaClass>> batches;
@@ -403,16 +485,18 @@ private void appendSourcesSave(ITaskExecutor executor, File outDir) {
 		} catch (Exception e) {
 			throw new JadxRuntimeException("Decompilation batches build failed", e);
 		}
-		List<Runnable> decompileTasks = new ArrayList<>(batches.size());
-		for (List<JavaClass> decompileBatch : batches) {
+		List<List<JavaClass>> shardBatches = selectShardBatches(batches, args.getShardIndex(), args.getShardsCount());
+		List<Runnable> decompileTasks = new ArrayList<>(shardBatches.size());
+		for (List<JavaClass> decompileBatch : shardBatches) {
 			decompileTasks.add(() -> {
 				for (JavaClass cls : decompileBatch) {
 					try {
 						ClassNode clsNode = cls.getClassNode();
 						ICodeInfo code = clsNode.getCode();
-						SaveCode.save(outDir, clsNode, code);
+						SaveCode.save(outWriter, outDir, clsNode, code);
 					} catch (Exception e) {
 						LOG.error("Error saving class: {}", cls, e);
+						outWriter.markFailed(SaveCode.getOutputFile(outDir, cls.getClassNode()));
 					}
 				}
 
@@ -421,6 +505,21 @@ private void appendSourcesSave(ITaskExecutor executor, File outDir) {
 		executor.addParallelTasks(decompileTasks);
 	}
 
+	/**
+	 * Select batches saved by shard: batch saved if {@code batchIndex % shardsCount == shardIndex},
+	 * so each batch saved by exactly one shard.
+	 */
+	static <T> List<T> selectShardBatches(List<T> batches, int shardIndex, int shardsCount) {
+		if (shardsCount == 1) {
+			return batches;
+		}
+		List<T> list = new ArrayList<>(batches.size() / shardsCount + 1);
+		for (int i = shardIndex; i < batches.size(); i += shardsCount) {
+			list.add(batches.get(i));
+		}
+		return list;
+	}
+
 	private List<JavaClass> filterClasses(List<JavaClass> classes) {
 		Predicate<String> classFilter = args.getClassFilter();
 		List<JavaClass> list = new ArrayList<>(classes.size());
@@ -440,35 +539,42 @@ private List<JavaClass> filterClasses(List<JavaClass> classes) {
 		return list;
 	}
 
-	public synchronized List<JavaClass> getClasses() {
-		if (root == null) {
+	public List<JavaClass> getClasses() {
+		List<JavaClass> clsList = classes;
+		if (clsList != null) {
+			return clsList;
+		}
+		RootNode rootNode = root;
+		if (rootNode == null) {
 			return Collections.emptyList();
 		}
-		if (classes == null) {
-			List<ClassNode> classNodeList = root.getClasses();
-			List<JavaClass> clsList = new ArrayList<>(classNodeList.size());
-			for (ClassNode classNode : classNodeList) {
-				if (!classNode.contains(AFlag.DONT_GENERATE) && !classNode.isInner()) {
-					clsList.add(convertClassNode(classNode));
-				}
+		// requested before load finished, concurrent callers will build equal lists
+		clsList = buildClassesList(rootNode);
+		classes = clsList;
+		return clsList;
+	}
+
+	private List<JavaClass> buildClassesList(RootNode rootNode) {
+		List<ClassNode> classNodeList = rootNode.getClasses();
+		List<JavaClass> clsList = new ArrayList<>(classNodeList.size());
+		for (ClassNode classNode : classNodeList) {
+			if (!classNode.contains(AFlag.DONT_GENERATE) && !classNode.isInner()) {
+				clsList.add(convertClassNode(classNode));
 			}
-			classes = Collections.unmodifiableList(clsList);
 		}
-		return classes;
+		return Collections.unmodifiableList(clsList);
 	}
 
 	public List<JavaClass> getClassesWithInners() {
 		return Utils.collectionMap(root.getClasses(), this::convertClassNode);
 	}
 
-	public synchronized List<ResourceFile> getResources() {
-		if (resources == null) {
-			if (root == null) {
-				return Collections.emptyList();
-			}
-			resources = resourcesLoader.load(root);
+	public List<ResourceFile> getResources() {
+		List<ResourceFile> resList = resources;
+		if (resList == null) {
+			return Collections.emptyList();
 		}
-		return resources;
+		return resList;
 	}
 
 	public List<JavaPackage> getPackages() {
@@ -497,6 +603,23 @@ public void printErrorsReport() {
 		root.getErrorsCounter().printReport();
 	}
 
+	/**
+	 * Decompilation passes profile, available if {@link JadxArgs#isPassesProfiling()} option enabled
+	 *
+	 * @param topMethodsCount number of slowest methods to include in report
+	 * @return null if profiling disabled
+	 */
+	public @Nullable ProfileReport getProfileReport(int topMethodsCount) {
+		if (root == null) {
+			return null;
+		}
+		PassesProfiler profiler = root.getProfiler();
+		if (profiler == null) {
+			return null;
+		}
+		return profiler.buildReport(topMethodsCount);
+	}
+
 	/**
 	 * Internal API. Not Stable!
 	 */
@@ -506,43 +629,45 @@ public RootNode getRoot() {
 	}
 
 	/**
-	 * Get JavaClass by ClassNode without loading and decompilation
+	 * Get JavaClass by ClassNode without loading and decompilation.
+	 * <br>
+	 * Conversion methods don't use locks: java node created once and stored in node with CAS,
+	 * so concurrent callers always get the same instance.
 	 */
 	@ApiStatus.Internal
-	synchronized JavaClass convertClassNode(ClassNode cls) {
+	JavaClass convertClassNode(ClassNode cls) {
 		JavaClass javaClass = cls.getJavaNode();
-		if (javaClass == null) {
-			javaClass = cls.isInner()
-					? new JavaClass(cls, convertClassNode(cls.getParentClass()))
-					: new JavaClass(cls, this);
-			cls.setJavaNode(javaClass);
+		if (javaClass != null) {
+			return javaClass;
 		}
-		return javaClass;
+		JavaClass newCls = cls.isInner()
+				? new JavaClass(cls, convertClassNode(cls.getParentClass()))
+				: new JavaClass(cls, this);
+		return cls.initJavaNode(newCls);
 	}
 
 	@ApiStatus.Internal
-	synchronized JavaField convertFieldNode(FieldNode fld) {
+	JavaField convertFieldNode(FieldNode fld) {
 		JavaField javaField = fld.getJavaNode();
-		if (javaField == null) {
-			JavaClass parentCls = convertClassNode(fld.getParentClass());
-			javaField = new JavaField(parentCls, fld);
-			fld.setJavaNode(javaField);
+		if (javaField != null) {
+			return javaField;
 		}
-		return javaField;
+		JavaClass parentCls = convertClassNode(fld.getParentClass());
+		return fld.initJavaNode(new JavaField(parentCls, fld));
 	}
 
 	@ApiStatus.Internal
-	synchronized JavaMethod convertMethodNode(MethodNode mth) {
+	JavaMethod convertMethodNode(MethodNode mth) {
 		JavaMethod javaMethod = mth.getJavaNode();
-		if (javaMethod == null) {
-			javaMethod = new JavaMethod(convertClassNode(mth.getParentClass()), mth);
-			mth.setJavaNode(javaMethod);
+		if (javaMethod != null) {
+			return javaMethod;
 		}
-		return javaMethod;
+		JavaClass parentCls = convertClassNode(mth.getParentClass());
+		return mth.initJavaNode(new JavaMethod(parentCls, mth));
 	}
 
 	@ApiStatus.Internal
-	synchronized JavaPackage convertPackageNode(PackageNode pkg) {
+	JavaPackage convertPackageNode(PackageNode pkg) {
 		JavaPackage foundPkg = pkg.getJavaNode();
 		if (foundPkg != null) {
 			return foundPkg;
@@ -558,8 +683,8 @@ synchronized JavaPackage convertPackageNode(PackageNode pkg) {
 				subPkgs.add(convertPackageNode(subPackage));
 			}
 		}
-		pkg.setJavaNode(javaPkg);
-		return javaPkg;
+		// publish only fully filled package
+		return pkg.initJavaNode(javaPkg);
 	}
 
 	@Nullable
@@ -0,0 +1,43 @@
+package jadx.api.profiling;
+
+/**
+ * Accumulated stats for all passes run on one method
+ */
+public class MethodProfile {
+	private final String method;
+	private final long timeNanos;
+	private final long allocatedBytes;
+	private final String slowestPass;
+
+	public MethodProfile(String method, long timeNanos, long allocatedBytes, String slowestPass) {
+		this.method = method;
+		this.timeNanos = timeNanos;
+		this.allocatedBytes = allocatedBytes;
+		this.slowestPass = slowestPass;
+	}
+
+	/**
+	 * Method full id
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	public long getTimeNanos() {
+		return timeNanos;
+	}
+
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	public String getSlowestPass() {
+		return slowestPass;
+	}
+
+	@Override
+	public String toString() {
+		return method + ": " + timeNanos / 1_000_000 + "ms, alloc: " + allocatedBytes / 1024 + "KB"
+				+ ", slowest pass: " + slowestPass;
+	}
+}
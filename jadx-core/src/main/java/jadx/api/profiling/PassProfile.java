@@ -0,0 +1,52 @@
+package jadx.api.profiling;
+
+/**
+ * Accumulated stats for one decompilation pass
+ */
+public class PassProfile {
+	private final String name;
+	private final long classVisits;
+	private final long methodVisits;
+	private final long timeNanos;
+	private final long allocatedBytes;
+
+	public PassProfile(String name, long classVisits, long methodVisits, long timeNanos, long allocatedBytes) {
+		this.name = name;
+		this.classVisits = classVisits;
+		this.methodVisits = methodVisits;
+		this.timeNanos = timeNanos;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getClassVisits() {
+		return classVisits;
+	}
+
+	public long getMethodVisits() {
+		return methodVisits;
+	}
+
+	/**
+	 * Wall time spent in pass by all threads
+	 */
+	public long getTimeNanos() {
+		return timeNanos;
+	}
+
+	/**
+	 * Allocated memory, zero if allocations counting not supported by JVM
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return name + ": " + timeNanos / 1_000_000 + "ms, alloc: " + allocatedBytes / 1024 + "KB"
+				+ ", visits: classes=" + classVisits + ", methods=" + methodVisits;
+	}
+}
@@ -0,0 +1,47 @@
+package jadx.api.profiling;
+
+import java.util.List;
+
+/**
+ * Decompilation passes profile,
+ * collected if {@link jadx.api.JadxArgs#isPassesProfiling()} option enabled.
+ */
+public class ProfileReport {
+	private final long totalTimeNanos;
+	private final boolean allocationsSupported;
+	private final List<PassProfile> passes;
+	private final List<MethodProfile> slowestMethods;
+
+	public ProfileReport(long totalTimeNanos, boolean allocationsSupported,
+			List<PassProfile> passes, List<MethodProfile> slowestMethods) {
+		this.totalTimeNanos = totalTimeNanos;
+		this.allocationsSupported = allocationsSupported;
+		this.passes = passes;
+		this.slowestMethods = slowestMethods;
+	}
+
+	/**
+	 * Sum of time spent in all passes
+	 */
+	public long getTotalTimeNanos() {
+		return totalTimeNanos;
+	}
+
+	public boolean isAllocationsSupported() {
+		return allocationsSupported;
+	}
+
+	/**
+	 * Passes stats sorted by time (slowest first)
+	 */
+	public List<PassProfile> getPasses() {
+		return passes;
+	}
+
+	/**
+	 * Top slowest methods sorted by time
+	 */
+	public List<MethodProfile> getSlowestMethods() {
+		return slowestMethods;
+	}
+}
@@ -70,6 +70,7 @@
 import jadx.core.dex.visitors.regions.SwitchBreakVisitor;
 import jadx.core.dex.visitors.regions.SwitchOverStringVisitor;
 import jadx.core.dex.visitors.regions.variables.ProcessVariables;
+import jadx.core.dex.visitors.rename.BridgeMergeRename;
 import jadx.core.dex.visitors.rename.CodeRenameVisitor;
 import jadx.core.dex.visitors.rename.RenameVisitor;
 import jadx.core.dex.visitors.rename.SourceFileRename;
@@ -112,6 +113,7 @@ public static List<IDexTreeVisitor> getPreDecompilePassesList() {
 		passes.add(new SourceFileRename());
 		passes.add(new RenameVisitor());
 		passes.add(new SaveDeobfMapping());
+		passes.add(new BridgeMergeRename());
 
 		passes.add(new UsageInfoVisitor());
 		passes.add(new CollectConstValues());
@@ -22,6 +22,7 @@
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.DepthTraversal;
 import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.ProcessTimeLimits;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
@@ -78,8 +79,13 @@ private ICodeInfo process(ClassNode cls, boolean codegen) {
 				}
 				if (cls.getState() == LOADED) {
 					cls.setState(PROCESS_STARTED);
-					for (IDexTreeVisitor visitor : passes) {
-						DepthTraversal.visit(visitor, cls);
+					ProcessTimeLimits prevLimits = ProcessTimeLimits.startClass(cls);
+					try {
+						for (IDexTreeVisitor visitor : passes) {
+							DepthTraversal.visit(visitor, cls);
+						}
+					} finally {
+						ProcessTimeLimits.finishClass(prevLimits);
 					}
 					cls.setState(PROCESS_COMPLETE);
 				}
@@ -1,11 +1,9 @@
 package jadx.core.clsp;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.DataInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -14,7 +12,6 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Stream;
 
 import org.jetbrains.annotations.Nullable;
@@ -22,18 +19,27 @@
 import org.slf4j.LoggerFactory;
 
 import jadx.core.dex.info.AccessInfo;
-import jadx.core.dex.info.ClassInfo;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.RootNode;
-import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
 
 /**
  * Classes list for import into classpath graph
+ * <br>
+ * File format (version 6):
+ * <pre>
+ *   header:     "jadx-cst", version (byte), android api level (int)
+ *   strings:    count (uleb128), entries: length (uleb128) + ASCII bytes
+ *   classes:    count (uleb128), records: access flags (int), source (byte),
+ *               name string index (uleb128), data offset (uleb128)
+ *   class data: parents, type parameters, methods count (uleb128), methods
+ * </pre>
+ * Class data offsets are relative to data section start,
+ * class and string references in types are stored as indexes (uleb128).
  */
 public class ClsSet {
 	private static final Logger LOG = LoggerFactory.getLogger(ClsSet.class);
@@ -41,15 +47,15 @@ public class ClsSet {
 	private static final String CLST_EXTENSION = ".jcst";
 	private static final String CLST_FILENAME = "core" + CLST_EXTENSION;
 
-	private static final String CLST_PATH = "/clst/" + CLST_FILENAME;
+	static final String CLST_PATH = "/clst/" + CLST_FILENAME;
 
-	private static final String JADX_CLS_SET_HEADER = "jadx-cst";
-	private static final int VERSION = 5;
+	static final String JADX_CLS_SET_HEADER = "jadx-cst";
+	static final int VERSION = 6;
 
 	private static final String STRING_CHARSET = "US-ASCII";
 
-	private static final ArgType[] EMPTY_ARGTYPE_ARRAY = new ArgType[0];
-	private static final ArgType[] OBJECT_ARGTYPE_ARRAY = new ArgType[] { ArgType.OBJECT };
+	static final ArgType[] EMPTY_ARGTYPE_ARRAY = new ArgType[0];
+	static final ArgType[] OBJECT_ARGTYPE_ARRAY = new ArgType[] { ArgType.OBJECT };
 
 	private final RootNode root;
 
@@ -59,7 +65,7 @@ public ClsSet(RootNode root) {
 		this.root = root;
 	}
 
-	private enum TypeEnum {
+	enum TypeEnum {
 		WILDCARD,
 		GENERIC,
 		GENERIC_TYPE_VARIABLE,
@@ -71,19 +77,18 @@ private enum TypeEnum {
 
 	private ClspClass[] classes;
 
-	public void loadFromClstFile() throws IOException, DecodeException {
+	/**
+	 * Load bundled class set.
+	 * File decoded only once and shared, methods for this root loaded lazily on first access.
+	 */
+	public void loadFromClstFile() {
 		long startTime = System.currentTimeMillis();
-		try (InputStream input = ClsSet.class.getResourceAsStream(CLST_PATH)) {
-			if (input == null) {
-				throw new JadxRuntimeException("Can't load classpath file: " + CLST_PATH);
-			}
-			load(input);
-		}
+		ClsSetData data = ClsSetData.getBundled();
+		androidApiLevel = data.getAndroidApiLevel();
+		classes = data.makeClasses(root);
 		if (LOG.isDebugEnabled()) {
 			long time = System.currentTimeMillis() - startTime;
-			int methodsCount = Stream.of(classes).mapToInt(clspClass -> clspClass.getMethodsMap().size()).sum();
-			LOG.debug("Clst file loaded in {}ms, android api: {}, classes: {}, methods: {}",
-					time, androidApiLevel, classes.length, methodsCount);
+			LOG.debug("Clst file loaded in {}ms, android api: {}, classes: {}", time, androidApiLevel, classes.length);
 		}
 	}
 
@@ -198,57 +203,81 @@ public void save(Path path) throws IOException {
 	}
 
 	private void save(OutputStream output) throws IOException {
-		DataOutputStream out = new DataOutputStream(output);
-		out.writeBytes(JADX_CLS_SET_HEADER);
-		out.writeByte(VERSION);
-		out.writeInt(androidApiLevel);
-
 		Map<String, ClspClass> names = new HashMap<>(classes.length);
-		out.writeInt(classes.length);
 		for (ClspClass cls : classes) {
-			out.writeInt(cls.getAccFlags());
-			writeUnsignedByte(out, cls.getSource().ordinal());
-			String clsName = cls.getName();
-			writeString(out, clsName);
-			names.put(clsName, cls);
+			names.put(cls.getName(), cls);
 		}
+		StringsTable strings = new StringsTable();
 		for (ClspClass cls : classes) {
-			writeArgTypesArray(out, cls.getParents(), names);
-			writeArgTypesList(out, cls.getTypeParameters(), names);
+			strings.add(cls.getName());
+		}
+		ByteArrayOutputStream dataBytes = new ByteArrayOutputStream();
+		DataOutputStream dataOut = new DataOutputStream(dataBytes);
+		int[] dataOffsets = new int[classes.length];
+		for (int i = 0; i < classes.length; i++) {
+			ClspClass cls = classes[i];
+			dataOffsets[i] = dataOut.size();
+			writeArgTypesArray(dataOut, cls.getParents(), names, strings);
+			writeArgTypesList(dataOut, cls.getTypeParameters(), names, strings);
 			List<ClspMethod> methods = cls.getSortedMethodsList();
-			out.writeShort(methods.size());
+			writeUleb(dataOut, methods.size());
 			for (ClspMethod method : methods) {
-				writeMethod(out, method, names);
+				writeMethod(dataOut, method, names, strings);
 			}
 		}
+		dataOut.flush();
+
+		DataOutputStream out = new DataOutputStream(output);
+		out.writeBytes(JADX_CLS_SET_HEADER);
+		out.writeByte(VERSION);
+		out.writeInt(androidApiLevel);
+		List<String> stringsList = strings.getList();
+		writeUleb(out, stringsList.size());
+		for (String str : stringsList) {
+			writeString(out, str);
+		}
+		writeUleb(out, classes.length);
+		for (int i = 0; i < classes.length; i++) {
+			ClspClass cls = classes[i];
+			out.writeInt(cls.getAccFlags());
+			writeUnsignedByte(out, cls.getSource().ordinal());
+			writeUleb(out, strings.get(cls.getName()));
+			writeUleb(out, dataOffsets[i]);
+		}
+		dataBytes.writeTo(out);
+		out.flush();
 		int methodsCount = Stream.of(classes).mapToInt(c -> c.getMethodsMap().size()).sum();
-		LOG.info("Classes: {}, methods: {}, file size: {} bytes", classes.length, methodsCount, out.size());
+		LOG.info("Classes: {}, methods: {}, strings: {}, file size: {} bytes",
+				classes.length, methodsCount, stringsList.size(), out.size());
 	}
 
-	private static void writeMethod(DataOutputStream out, ClspMethod method, Map<String, ClspClass> names) throws IOException {
+	private static void writeMethod(DataOutputStream out, ClspMethod method,
+			Map<String, ClspClass> names, StringsTable strings) throws IOException {
 		MethodInfo methodInfo = method.getMethodInfo();
-		writeString(out, methodInfo.getName());
-		writeArgTypesList(out, methodInfo.getArgumentsTypes(), names);
-		writeArgType(out, methodInfo.getReturnType(), names);
+		writeUleb(out, strings.add(methodInfo.getName()));
+		writeArgTypesList(out, methodInfo.getArgumentsTypes(), names, strings);
+		writeArgType(out, methodInfo.getReturnType(), names, strings);
 
-		writeArgTypesList(out, method.containsGenericArgs() ? method.getArgTypes() : Collections.emptyList(), names);
-		writeArgType(out, method.getReturnType(), names);
-		writeArgTypesList(out, method.getTypeParameters(), names);
+		writeArgTypesList(out, method.containsGenericArgs() ? method.getArgTypes() : Collections.emptyList(), names, strings);
+		writeArgType(out, method.getReturnType(), names, strings);
+		writeArgTypesList(out, method.getTypeParameters(), names, strings);
 		out.writeInt(method.getRawAccessFlags());
-		writeArgTypesList(out, method.getThrows(), names);
+		writeArgTypesList(out, method.getThrows(), names, strings);
 	}
 
-	private static void writeArgTypesList(DataOutputStream out, List<ArgType> list, Map<String, ClspClass> names) throws IOException {
+	private static void writeArgTypesList(DataOutputStream out, List<ArgType> list,
+			Map<String, ClspClass> names, StringsTable strings) throws IOException {
 		int size = list.size();
 		writeUnsignedByte(out, size);
 		if (size != 0) {
 			for (ArgType type : list) {
-				writeArgType(out, type, names);
+				writeArgType(out, type, names, strings);
 			}
 		}
 	}
 
-	private static void writeArgTypesArray(DataOutputStream out, @Nullable ArgType[] arr, Map<String, ClspClass> names) throws IOException {
+	private static void writeArgTypesArray(DataOutputStream out, @Nullable ArgType[] arr,
+			Map<String, ClspClass> names, StringsTable strings) throws IOException {
 		if (arr == null) {
 			out.writeByte(-1);
 			return;
@@ -261,12 +290,13 @@ private static void writeArgTypesArray(DataOutputStream out, @Nullable ArgType[]
 		out.writeByte(size);
 		if (size != 0) {
 			for (ArgType type : arr) {
-				writeArgType(out, type, names);
+				writeArgType(out, type, names, strings);
 			}
 		}
 	}
 
-	private static void writeArgType(DataOutputStream out, ArgType argType, Map<String, ClspClass> names) throws IOException {
+	private static void writeArgType(DataOutputStream out, ArgType argType,
+			Map<String, ClspClass> names, StringsTable strings) throws IOException {
 		if (argType == null) {
 			out.writeByte(-1);
 			return;
@@ -276,207 +306,79 @@ private static void writeArgType(DataOutputStream out, ArgType argType, Map<Stri
 			out.writeByte(argType.getPrimitiveType().getShortName().charAt(0));
 		} else if (argType.getOuterType() != null) {
 			out.writeByte(TypeEnum.OUTER_GENERIC.ordinal());
-			writeArgType(out, argType.getOuterType(), names);
-			writeArgType(out, argType.getInnerType(), names);
+			writeArgType(out, argType.getOuterType(), names, strings);
+			writeArgType(out, argType.getInnerType(), names, strings);
 		} else if (argType.getWildcardType() != null) {
 			out.writeByte(TypeEnum.WILDCARD.ordinal());
 			ArgType.WildcardBound bound = argType.getWildcardBound();
 			out.writeByte(bound.getNum());
 			if (bound != ArgType.WildcardBound.UNBOUND) {
-				writeArgType(out, argType.getWildcardType(), names);
+				writeArgType(out, argType.getWildcardType(), names, strings);
 			}
 		} else if (argType.isGeneric()) {
 			out.writeByte(TypeEnum.GENERIC.ordinal());
-			out.writeInt(getCls(argType, names).getId());
-			writeArgTypesList(out, argType.getGenericTypes(), names);
+			writeUleb(out, getCls(argType, names).getId());
+			writeArgTypesList(out, argType.getGenericTypes(), names, strings);
 		} else if (argType.isGenericType()) {
 			out.writeByte(TypeEnum.GENERIC_TYPE_VARIABLE.ordinal());
-			writeString(out, argType.getObject());
-			writeArgTypesList(out, argType.getExtendTypes(), names);
+			writeUleb(out, strings.add(argType.getObject()));
+			writeArgTypesList(out, argType.getExtendTypes(), names, strings);
 		} else if (argType.isObject()) {
 			out.writeByte(TypeEnum.OBJECT.ordinal());
-			out.writeInt(getCls(argType, names).getId());
+			writeUleb(out, getCls(argType, names).getId());
 		} else if (argType.isArray()) {
 			out.writeByte(TypeEnum.ARRAY.ordinal());
-			writeArgType(out, argType.getArrayElement(), names);
+			writeArgType(out, argType.getArrayElement(), names, strings);
 		} else {
 			throw new JadxRuntimeException("Cannot save type: " + argType);
 		}
 	}
 
-	private void load(InputStream input) throws IOException, DecodeException {
-		try (DataInputStream in = new DataInputStream(new BufferedInputStream(input))) {
-			byte[] header = new byte[JADX_CLS_SET_HEADER.length()];
-			int readHeaderLength = in.read(header);
-			if (readHeaderLength != JADX_CLS_SET_HEADER.length()
-					|| !JADX_CLS_SET_HEADER.equals(new String(header, STRING_CHARSET))) {
-				throw new DecodeException("Wrong jadx class set header");
-			}
-			int version = in.readByte();
-			if (version != VERSION) {
-				throw new DecodeException("Wrong jadx class set version, got: " + version + ", expect: " + VERSION);
-			}
-			androidApiLevel = in.readInt();
-			int clsCount = in.readInt();
-			classes = new ClspClass[clsCount];
-			for (int i = 0; i < clsCount; i++) {
-				int accFlags = in.readInt();
-				ClspClassSource clsSource = readClsSource(in);
-				String name = readString(in);
-				classes[i] = new ClspClass(ArgType.object(name), i, accFlags, clsSource);
-			}
-			for (int i = 0; i < clsCount; i++) {
-				ClspClass nClass = classes[i];
-				ClassInfo clsInfo = ClassInfo.fromType(root, nClass.getClsType());
-				nClass.setParents(readArgTypesArray(in));
-				nClass.setTypeParameters(readArgTypesList(in));
-				nClass.setMethods(readClsMethods(in, clsInfo));
-			}
-		}
-	}
-
-	private static ClspClassSource readClsSource(DataInputStream in) throws IOException, DecodeException {
-		int source = readUnsignedByte(in);
-		ClspClassSource[] clspClassSources = ClspClassSource.values();
-		if (source < 0 || source > clspClassSources.length) {
-			throw new DecodeException("Wrong jadx source identifier: " + source);
-		}
-		return clspClassSources[source];
-	}
+	/**
+	 * Deduplicated strings storage, string index assigned in order of addition
+	 */
+	private static final class StringsTable {
+		private final Map<String, Integer> map = new HashMap<>();
+		private final List<String> list = new ArrayList<>();
 
-	private List<ClspMethod> readClsMethods(DataInputStream in, ClassInfo clsInfo) throws IOException {
-		int mCount = in.readShort();
-		List<ClspMethod> methods = new ArrayList<>(mCount);
-		for (int j = 0; j < mCount; j++) {
-			methods.add(readMethod(in, clsInfo));
-		}
-		return methods;
-	}
-
-	private ClspMethod readMethod(DataInputStream in, ClassInfo clsInfo) throws IOException {
-		String name = readString(in);
-		List<ArgType> argTypes = readArgTypesList(in);
-		ArgType retType = readArgType(in);
-		List<ArgType> genericArgTypes = readArgTypesList(in);
-		if (genericArgTypes.isEmpty() || Objects.equals(genericArgTypes, argTypes)) {
-			genericArgTypes = argTypes;
-		}
-		ArgType genericRetType = readArgType(in);
-		if (Objects.equals(genericRetType, retType)) {
-			genericRetType = retType;
+		public int add(String str) {
+			Integer idx = map.get(str);
+			if (idx != null) {
+				return idx;
+			}
+			int newIdx = list.size();
+			list.add(str);
+			map.put(str, newIdx);
+			return newIdx;
 		}
-		List<ArgType> typeParameters = readArgTypesList(in);
-		int accFlags = in.readInt();
-		List<ArgType> throwList = readArgTypesList(in);
-		MethodInfo methodInfo = MethodInfo.fromDetails(root, clsInfo, name, argTypes, retType);
-		return new ClspMethod(methodInfo,
-				genericArgTypes, genericRetType,
-				typeParameters, throwList, accFlags);
-	}
 
-	private List<ArgType> readArgTypesList(DataInputStream in) throws IOException {
-		int count = in.readByte();
-		if (count == 0) {
-			return Collections.emptyList();
+		public int get(String str) {
+			return map.get(str);
 		}
-		List<ArgType> list = new ArrayList<>(count);
-		for (int i = 0; i < count; i++) {
-			list.add(readArgType(in));
-		}
-		return list;
-	}
 
-	@Nullable
-	private ArgType[] readArgTypesArray(DataInputStream in) throws IOException {
-		int count = in.readByte();
-		switch (count) {
-			case -1:
-				return null;
-			case -2:
-				return OBJECT_ARGTYPE_ARRAY;
-			case 0:
-				return EMPTY_ARGTYPE_ARRAY;
-			default:
-				ArgType[] arr = new ArgType[count];
-				for (int i = 0; i < count; i++) {
-					arr[i] = readArgType(in);
-				}
-				return arr;
+		public List<String> getList() {
+			return list;
 		}
 	}
 
-	private ArgType readArgType(DataInputStream in) throws IOException {
-		int ordinal = in.readByte();
-		if (ordinal == -1) {
-			return null;
+	private static void writeUleb(DataOutputStream out, int value) throws IOException {
+		if (value < 0) {
+			throw new JadxRuntimeException("Negative value not allowed: " + value);
 		}
-		switch (TypeEnum.values()[ordinal]) {
-			case WILDCARD:
-				ArgType.WildcardBound bound = ArgType.WildcardBound.getByNum(in.readByte());
-				if (bound == ArgType.WildcardBound.UNBOUND) {
-					return ArgType.WILDCARD;
-				}
-				ArgType objType = readArgType(in);
-				return ArgType.wildcard(objType, bound);
-
-			case OUTER_GENERIC:
-				ArgType outerType = readArgType(in);
-				ArgType innerType = readArgType(in);
-				return ArgType.outerGeneric(outerType, innerType);
-
-			case GENERIC:
-				ArgType clsType = classes[in.readInt()].getClsType();
-				return ArgType.generic(clsType, readArgTypesList(in));
-
-			case GENERIC_TYPE_VARIABLE:
-				String typeVar = readString(in);
-				List<ArgType> extendTypes = readArgTypesList(in);
-				return ArgType.genericType(typeVar, extendTypes);
-
-			case OBJECT:
-				return classes[in.readInt()].getClsType();
-
-			case ARRAY:
-				return ArgType.array(Objects.requireNonNull(readArgType(in)));
-
-			case PRIMITIVE:
-				char shortName = (char) in.readByte();
-				return ArgType.parse(shortName);
-
-			default:
-				throw new JadxRuntimeException("Unsupported Arg Type: " + ordinal);
+		int v = value;
+		while ((v & ~0x7F) != 0) {
+			out.writeByte((v & 0x7F) | 0x80);
+			v >>>= 7;
 		}
+		out.writeByte(v);
 	}
 
 	private static void writeString(DataOutputStream out, String name) throws IOException {
 		byte[] bytes = name.getBytes(STRING_CHARSET);
-		int len = bytes.length;
-		if (len >= 0xFF) {
-			throw new JadxRuntimeException("String is too long: " + name);
-		}
-		writeUnsignedByte(out, bytes.length);
+		writeUleb(out, bytes.length);
 		out.write(bytes);
 	}
 
-	private static String readString(DataInputStream in) throws IOException {
-		int len = readUnsignedByte(in);
-		return readString(in, len);
-	}
-
-	private static String readString(DataInputStream in, int len) throws IOException {
-		byte[] bytes = new byte[len];
-		int count = in.read(bytes);
-		while (count != len) {
-			int res = in.read(bytes, count, len - count);
-			if (res == -1) {
-				throw new IOException("String read error");
-			} else {
-				count += res;
-			}
-		}
-		return new String(bytes, STRING_CHARSET);
-	}
-
 	private static void writeUnsignedByte(DataOutputStream out, int value) throws IOException {
 		if (value < 0 || value >= 0xFF) {
 			throw new JadxRuntimeException("Unsigned byte value is too big: " + value);
@@ -484,10 +386,6 @@ private static void writeUnsignedByte(DataOutputStream out, int value) throws IO
 		out.writeByte(value);
 	}
 
-	private static int readUnsignedByte(DataInputStream in) throws IOException {
-		return ((int) in.readByte()) & 0xFF;
-	}
-
 	public int getClassesCount() {
 		return classes.length;
 	}
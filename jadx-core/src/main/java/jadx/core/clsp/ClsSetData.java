@@ -0,0 +1,321 @@
+package jadx.core.clsp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.DecodeException;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import static jadx.core.clsp.ClsSet.EMPTY_ARGTYPE_ARRAY;
+import static jadx.core.clsp.ClsSet.OBJECT_ARGTYPE_ARRAY;
+
+/**
+ * Decoded content of class set file.
+ * <br>
+ * Contains only immutable and root independent data (class types, parents and type parameters),
+ * so single instance can be shared between all {@link RootNode}s.
+ * Methods depends on root ({@link MethodInfo}) and decoded lazily from the file buffer on first access.
+ * <br>
+ * File format described in {@link ClsSet}.
+ */
+final class ClsSetData {
+
+	private static final class BundledHolder {
+		private static final ClsSetData INSTANCE = loadBundled();
+	}
+
+	/**
+	 * Bundled class set, loaded once and shared between all instances
+	 */
+	static ClsSetData getBundled() {
+		return BundledHolder.INSTANCE;
+	}
+
+	private static ClsSetData loadBundled() {
+		try (InputStream input = ClsSet.class.getResourceAsStream(ClsSet.CLST_PATH)) {
+			if (input == null) {
+				throw new JadxRuntimeException("Can't load classpath file: " + ClsSet.CLST_PATH);
+			}
+			return new ClsSetData(input.readAllBytes());
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to load classpath file: " + ClsSet.CLST_PATH, e);
+		}
+	}
+
+	private final byte[] data;
+	private final int androidApiLevel;
+
+	/**
+	 * Offsets of string entries in data buffer
+	 */
+	private final int[] strOffsets;
+	/**
+	 * Decoded strings cache, strings are immutable so racy initialization is fine
+	 */
+	private final String[] strCache;
+
+	private final int[] accFlags;
+	private final ClspClassSource[] sources;
+	private final ArgType[] clsTypes;
+	private final ArgType[][] parents;
+	private final List<ArgType>[] typeParameters;
+	private final int[] methodsOffsets;
+
+	@SuppressWarnings("unchecked")
+	ClsSetData(byte[] data) throws DecodeException {
+		this.data = data;
+		Reader in = new Reader(0);
+		String header = in.readRawString(ClsSet.JADX_CLS_SET_HEADER.length());
+		if (!ClsSet.JADX_CLS_SET_HEADER.equals(header)) {
+			throw new DecodeException("Wrong jadx class set header");
+		}
+		int version = in.readByte();
+		if (version != ClsSet.VERSION) {
+			throw new DecodeException("Wrong jadx class set version, got: " + version + ", expect: " + ClsSet.VERSION);
+		}
+		androidApiLevel = in.readInt();
+
+		int strCount = in.readUleb();
+		strOffsets = new int[strCount];
+		strCache = new String[strCount];
+		for (int i = 0; i < strCount; i++) {
+			strOffsets[i] = in.pos;
+			in.skip(in.readUleb());
+		}
+
+		int clsCount = in.readUleb();
+		accFlags = new int[clsCount];
+		sources = new ClspClassSource[clsCount];
+		clsTypes = new ArgType[clsCount];
+		int[] dataOffsets = new int[clsCount];
+		ClspClassSource[] clspClassSources = ClspClassSource.values();
+		for (int i = 0; i < clsCount; i++) {
+			accFlags[i] = in.readInt();
+			int source = in.readByte() & 0xFF;
+			if (source >= clspClassSources.length) {
+				throw new DecodeException("Wrong jadx source identifier: " + source);
+			}
+			sources[i] = clspClassSources[source];
+			clsTypes[i] = ArgType.object(getString(in.readUleb()));
+			dataOffsets[i] = in.readUleb();
+		}
+		int dataStart = in.pos;
+		parents = new ArgType[clsCount][];
+		typeParameters = new List[clsCount];
+		methodsOffsets = new int[clsCount];
+		for (int i = 0; i < clsCount; i++) {
+			Reader clsIn = new Reader(dataStart + dataOffsets[i]);
+			parents[i] = clsIn.readArgTypesArray();
+			typeParameters[i] = clsIn.readArgTypesList();
+			methodsOffsets[i] = clsIn.pos;
+		}
+	}
+
+	int getAndroidApiLevel() {
+		return androidApiLevel;
+	}
+
+	int getClassesCount() {
+		return clsTypes.length;
+	}
+
+	/**
+	 * Create class nodes bound to provided root. Methods will be loaded on first access.
+	 */
+	ClspClass[] makeClasses(RootNode root) {
+		int count = clsTypes.length;
+		ClspClass[] classes = new ClspClass[count];
+		for (int i = 0; i < count; i++) {
+			ClspClass cls = new ClspClass(clsTypes[i], i, accFlags[i], sources[i]);
+			cls.setParents(parents[i]);
+			cls.setTypeParameters(typeParameters[i]);
+			int clsId = i;
+			cls.setMethodsLoader(() -> readMethods(root, clsId));
+			classes[i] = cls;
+		}
+		return classes;
+	}
+
+	private List<ClspMethod> readMethods(RootNode root, int clsId) {
+		Reader in = new Reader(methodsOffsets[clsId]);
+		int count = in.readUleb();
+		if (count == 0) {
+			return Collections.emptyList();
+		}
+		ClassInfo clsInfo = ClassInfo.fromType(root, clsTypes[clsId]);
+		List<ClspMethod> methods = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			methods.add(in.readMethod(root, clsInfo));
+		}
+		return methods;
+	}
+
+	private String getString(int idx) {
+		String str = strCache[idx];
+		if (str == null) {
+			Reader in = new Reader(strOffsets[idx]);
+			str = in.readRawString(in.readUleb());
+			strCache[idx] = str;
+		}
+		return str;
+	}
+
+	/**
+	 * Cursor over shared data buffer, not thread safe, but cheap to create
+	 */
+	private final class Reader {
+		private int pos;
+
+		Reader(int pos) {
+			this.pos = pos;
+		}
+
+		byte readByte() {
+			return data[pos++];
+		}
+
+		int readInt() {
+			int p = pos;
+			pos = p + 4;
+			return (data[p] & 0xFF) << 24
+					| (data[p + 1] & 0xFF) << 16
+					| (data[p + 2] & 0xFF) << 8
+					| (data[p + 3] & 0xFF);
+		}
+
+		int readUleb() {
+			int result = 0;
+			int shift = 0;
+			while (true) {
+				int b = data[pos++] & 0xFF;
+				result |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return result;
+				}
+				shift += 7;
+			}
+		}
+
+		void skip(int len) {
+			pos += len;
+		}
+
+		String readRawString(int len) {
+			// strings stored in ASCII, which is a subset of Latin-1 (fast path for compact strings)
+			String str = new String(data, pos, len, StandardCharsets.ISO_8859_1);
+			pos += len;
+			return str;
+		}
+
+		ClspMethod readMethod(RootNode root, ClassInfo clsInfo) {
+			String name = getString(readUleb());
+			List<ArgType> argTypes = readArgTypesList();
+			ArgType retType = readArgType();
+			List<ArgType> genericArgTypes = readArgTypesList();
+			if (genericArgTypes.isEmpty() || Objects.equals(genericArgTypes, argTypes)) {
+				genericArgTypes = argTypes;
+			}
+			ArgType genericRetType = readArgType();
+			if (Objects.equals(genericRetType, retType)) {
+				genericRetType = retType;
+			}
+			List<ArgType> typeParameters = readArgTypesList();
+			int accFlags = readInt();
+			List<ArgType> throwList = readArgTypesList();
+			MethodInfo methodInfo = MethodInfo.fromDetails(root, clsInfo, name, argTypes, retType);
+			return new ClspMethod(methodInfo,
+					genericArgTypes, genericRetType,
+					typeParameters, throwList, accFlags);
+		}
+
+		List<ArgType> readArgTypesList() {
+			int count = readByte();
+			if (count == 0) {
+				return Collections.emptyList();
+			}
+			List<ArgType> list = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				list.add(readArgType());
+			}
+			return list;
+		}
+
+		@Nullable
+		ArgType[] readArgTypesArray() {
+			int count = readByte();
+			switch (count) {
+				case -1:
+					return null;
+				case -2:
+					return OBJECT_ARGTYPE_ARRAY;
+				case 0:
+					return EMPTY_ARGTYPE_ARRAY;
+				default:
+					ArgType[] arr = new ArgType[count];
+					for (int i = 0; i < count; i++) {
+						arr[i] = readArgType();
+					}
+					return arr;
+			}
+		}
+
+		ArgType readArgType() {
+			int ordinal = readByte();
+			if (ordinal == -1) {
+				return null;
+			}
+			switch (ClsSet.TypeEnum.values()[ordinal]) {
+				case WILDCARD:
+					ArgType.WildcardBound bound = ArgType.WildcardBound.getByNum(readByte());
+					if (bound == ArgType.WildcardBound.UNBOUND) {
+						return ArgType.WILDCARD;
+					}
+					ArgType objType = readArgType();
+					return ArgType.wildcard(objType, bound);
+
+				case OUTER_GENERIC:
+					ArgType outerType = readArgType();
+					ArgType innerType = readArgType();
+					return ArgType.outerGeneric(outerType, innerType);
+
+				case GENERIC:
+					ArgType clsType = clsTypes[readUleb()];
+					return ArgType.generic(clsType, readArgTypesList());
+
+				case GENERIC_TYPE_VARIABLE:
+					String typeVar = getString(readUleb());
+					List<ArgType> extendTypes = readArgTypesList();
+					return ArgType.genericType(typeVar, extendTypes);
+
+				case OBJECT:
+					return clsTypes[readUleb()];
+
+				case ARRAY:
+					return ArgType.array(Objects.requireNonNull(readArgType()));
+
+				case PRIMITIVE:
+					char shortName = (char) readByte();
+					return ArgType.parse(shortName);
+
+				default:
+					throw new JadxRuntimeException("Unsupported Arg Type: " + ordinal);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ClsSetData{api: " + androidApiLevel + ", classes: " + clsTypes.length + ", strings: " + strCache.length + '}';
+	}
+}
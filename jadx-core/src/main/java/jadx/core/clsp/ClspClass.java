@@ -6,8 +6,10 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import org.intellij.lang.annotations.MagicConstant;
+import org.jetbrains.annotations.Nullable;
 
 import jadx.api.plugins.input.data.AccessFlags;
 import jadx.core.dex.instructions.args.ArgType;
@@ -21,7 +23,11 @@ public class ClspClass {
 	private final int id;
 	private final int accFlags;
 	private ArgType[] parents;
-	private Map<String, ClspMethod> methodsMap = Collections.emptyMap();
+	private volatile Map<String, ClspMethod> methodsMap = Collections.emptyMap();
+	/**
+	 * Methods decoder for lazy loading, reset to {@code null} after use
+	 */
+	private volatile @Nullable Supplier<List<ClspMethod>> methodsLoader;
 	private List<ArgType> typeParameters = Collections.emptyList();
 
 	private final ClspClassSource source;
@@ -66,12 +72,24 @@ public void setParents(ArgType[] parents) {
 	}
 
 	public Map<String, ClspMethod> getMethodsMap() {
+		if (methodsLoader != null) {
+			loadMethods();
+		}
 		return methodsMap;
 	}
 
+	private synchronized void loadMethods() {
+		Supplier<List<ClspMethod>> loader = methodsLoader;
+		if (loader != null) {
+			setMethods(loader.get());
+			methodsLoader = null;
+		}
+	}
+
 	public List<ClspMethod> getSortedMethodsList() {
-		List<ClspMethod> list = new ArrayList<>(methodsMap.size());
-		list.addAll(methodsMap.values());
+		Map<String, ClspMethod> map = getMethodsMap();
+		List<ClspMethod> list = new ArrayList<>(map.size());
+		list.addAll(map.values());
 		Collections.sort(list);
 		return list;
 	}
@@ -88,6 +106,10 @@ public void setMethods(List<ClspMethod> methods) {
 		setMethodsMap(map);
 	}
 
+	public void setMethodsLoader(Supplier<List<ClspMethod>> methodsLoader) {
+		this.methodsLoader = methodsLoader;
+	}
+
 	public List<ArgType> getTypeParameters() {
 		return typeParameters;
 	}
@@ -1,25 +1,27 @@
 package jadx.core.clsp;
 
-import java.io.IOException;
+import java.util.AbstractList;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import jadx.core.Consts;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.IMethodDetails;
 import jadx.core.dex.nodes.RootNode;
-import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 /**
@@ -30,16 +32,35 @@ public class ClspGraph {
 
 	private final RootNode root;
 	private Map<String, ClspClass> nameMap;
-	private Map<String, Set<String>> superTypesCache;
-	private Map<String, List<String>> implementsCache;
+
+	/**
+	 * Dense ids for all known types (classes and unknown parents), assigned in sorted names order
+	 */
+	private Map<String, Integer> idsMap;
+	private String[] idToName;
+	/**
+	 * Super types closure for every id.
+	 * Kept in two forms: sorted for fast checks and in original discovery order for iteration.
+	 */
+	private int[][] superTypes;
+	private int[][] superTypesSorted;
+	/**
+	 * Sorted ids of classes implementing (or extending) type with id
+	 */
+	private int[][] implementations;
 
 	private final Set<String> missingClasses = new HashSet<>();
 
+	/**
+	 * Incremented on every hierarchy change, used to invalidate dependent caches
+	 */
+	private volatile int version;
+
 	public ClspGraph(RootNode rootNode) {
 		this.root = rootNode;
 	}
 
-	public void loadClsSetFile() throws IOException, DecodeException {
+	public void loadClsSetFile() {
 		ClsSet set = new ClsSet(root);
 		set.loadFromClstFile();
 		addClasspath(set);
@@ -49,6 +70,7 @@ public void addClasspath(ClsSet set) {
 		if (nameMap == null) {
 			nameMap = new HashMap<>(set.getClassesCount());
 			set.addToMap(nameMap);
+			version++;
 		} else {
 			throw new JadxRuntimeException("Classpath already loaded");
 		}
@@ -61,11 +83,18 @@ public void addApp(List<ClassNode> classes) {
 		for (ClassNode cls : classes) {
 			addClass(cls);
 		}
+		version++;
 	}
 
 	public void initCache() {
+		fillIds();
 		fillSuperTypesCache();
 		fillImplementsCache();
+		version++;
+	}
+
+	public int getVersion() {
+		return version;
 	}
 
 	public boolean isClsKnown(String fullName) {
@@ -112,29 +141,40 @@ private void addClass(ClassNode cls) {
 		nameMap.put(rawName, clspClass);
 	}
 
+	/**
+	 * Get dense id of type (can be used in int based methods)
+	 *
+	 * @return id or -1 if type unknown
+	 */
+	public int getTypeId(String clsName) {
+		Integer id = idsMap.get(clsName);
+		return id == null ? -1 : id;
+	}
+
 	/**
 	 * @return {@code clsName} instanceof {@code implClsName}
 	 */
 	public boolean isImplements(String clsName, String implClsName) {
-		Set<String> anc = getSuperTypes(clsName);
-		return anc.contains(implClsName);
+		return isImplements(getTypeId(clsName), getTypeId(implClsName));
 	}
 
-	public List<String> getImplementations(String clsName) {
-		List<String> list = implementsCache.get(clsName);
-		return list == null ? Collections.emptyList() : list;
+	public boolean isImplements(int clsId, int implClsId) {
+		if (clsId == -1 || implClsId == -1) {
+			return false;
+		}
+		return contains(superTypesSorted[clsId], implClsId);
 	}
 
-	private void fillImplementsCache() {
-		Map<String, List<String>> map = new HashMap<>(nameMap.size());
-		List<String> classes = new ArrayList<>(nameMap.keySet());
-		Collections.sort(classes);
-		for (String cls : classes) {
-			for (String st : getSuperTypes(cls)) {
-				map.computeIfAbsent(st, v -> new ArrayList<>()).add(cls);
-			}
+	public List<String> getImplementations(String clsName) {
+		int id = getTypeId(clsName);
+		if (id == -1) {
+			return Collections.emptyList();
+		}
+		int[] impls = implementations[id];
+		if (impls.length == 0) {
+			return Collections.emptyList();
 		}
-		implementsCache = map;
+		return new NamesList(impls);
 	}
 
 	public String getCommonAncestor(String clsName, String implClsName) {
@@ -146,17 +186,21 @@ public String getCommonAncestor(String clsName, String implClsName) {
 			missingClasses.add(clsName);
 			return null;
 		}
-		if (isImplements(clsName, implClsName)) {
+		int clsId = getTypeId(clsName);
+		if (clsId == -1) {
+			return null;
+		}
+		int[] anc = superTypesSorted[clsId];
+		if (contains(anc, getTypeId(implClsName))) {
 			return implClsName;
 		}
-		Set<String> anc = getSuperTypes(clsName);
 		return searchCommonParent(anc, cls);
 	}
 
-	private String searchCommonParent(Set<String> anc, ClspClass cls) {
+	private String searchCommonParent(int[] anc, ClspClass cls) {
 		for (ArgType p : cls.getParents()) {
 			String name = p.getObject();
-			if (anc.contains(name)) {
+			if (contains(anc, getTypeId(name))) {
 				return name;
 			}
 			ClspClass nCls = getClspClass(p);
@@ -171,43 +215,103 @@ private String searchCommonParent(Set<String> anc, ClspClass cls) {
 	}
 
 	public Set<String> getSuperTypes(String clsName) {
-		Set<String> result = superTypesCache.get(clsName);
-		return result == null ? Collections.emptySet() : result;
+		int id = getTypeId(clsName);
+		if (id == -1) {
+			return Collections.emptySet();
+		}
+		int[] ids = superTypes[id];
+		if (ids.length == 0) {
+			return Collections.emptySet();
+		}
+		return new NamesSet(ids, superTypesSorted[id]);
 	}
 
-	private static final Set<String> OBJECT_SINGLE_SET = Collections.singleton(Consts.CLASS_OBJECT);
+	private static boolean contains(int[] sortedIds, int id) {
+		int len = sortedIds.length;
+		if (len < 8) {
+			for (int i = 0; i < len; i++) {
+				if (sortedIds[i] == id) {
+					return true;
+				}
+			}
+			return false;
+		}
+		return Arrays.binarySearch(sortedIds, id) >= 0;
+	}
+
+	private void fillIds() {
+		Set<String> names = new HashSet<>(nameMap.keySet());
+		for (ClspClass cls : nameMap.values()) {
+			for (ArgType parentType : cls.getParents()) {
+				if (parentType != null) {
+					names.add(parentType.getObject());
+				}
+			}
+		}
+		String[] sortedNames = names.toArray(new String[0]);
+		Arrays.sort(sortedNames);
+		Map<String, Integer> map = new HashMap<>(sortedNames.length);
+		for (int i = 0; i < sortedNames.length; i++) {
+			map.put(sortedNames[i], i);
+		}
+		idToName = sortedNames;
+		idsMap = map;
+	}
 
 	private void fillSuperTypesCache() {
-		Map<String, Set<String>> map = new HashMap<>(nameMap.size());
+		int count = idToName.length;
+		int[][] orderedArr = new int[count][];
+		int[][] sortedArr = new int[count][];
+		Arrays.fill(orderedArr, EMPTY_IDS);
+		Arrays.fill(sortedArr, EMPTY_IDS);
+		// use hash set to keep the same iteration order as before (affects type inference candidates order)
 		Set<String> tmpSet = new HashSet<>();
-		for (Map.Entry<String, ClspClass> entry : nameMap.entrySet()) {
-			ClspClass cls = entry.getValue();
+		for (ClspClass cls : nameMap.values()) {
 			tmpSet.clear();
 			addSuperTypes(cls, tmpSet);
-			Set<String> result;
 			int size = tmpSet.size();
-			switch (size) {
-				case 0: {
-					result = Collections.emptySet();
-					break;
-				}
-				case 1: {
-					String supCls = tmpSet.iterator().next();
-					if (supCls.equals(Consts.CLASS_OBJECT)) {
-						result = OBJECT_SINGLE_SET;
-					} else {
-						result = Collections.singleton(supCls);
-					}
-					break;
-				}
-				default: {
-					result = new HashSet<>(tmpSet);
-					break;
-				}
+			if (size == 0) {
+				continue;
+			}
+			int[] ordered = new int[size];
+			int k = 0;
+			for (String superType : size == 1 ? tmpSet : new HashSet<>(tmpSet)) {
+				ordered[k++] = idsMap.get(superType);
+			}
+			int id = idsMap.get(cls.getName());
+			orderedArr[id] = ordered;
+			if (size == 1) {
+				sortedArr[id] = ordered;
+			} else {
+				int[] sorted = Arrays.copyOf(ordered, size);
+				Arrays.sort(sorted);
+				sortedArr[id] = sorted;
 			}
-			map.put(cls.getName(), result);
 		}
-		superTypesCache = map;
+		superTypes = orderedArr;
+		superTypesSorted = sortedArr;
+	}
+
+	private void fillImplementsCache() {
+		int count = idToName.length;
+		int[] implCount = new int[count];
+		for (int[] ids : superTypesSorted) {
+			for (int st : ids) {
+				implCount[st]++;
+			}
+		}
+		int[][] arr = new int[count][];
+		for (int id = 0; id < count; id++) {
+			arr[id] = implCount[id] == 0 ? EMPTY_IDS : new int[implCount[id]];
+		}
+		// ids ordered as sorted names, so iteration in ids order produce sorted lists
+		int[] fillPos = new int[count];
+		for (int id = 0; id < count; id++) {
+			for (int st : superTypesSorted[id]) {
+				arr[st][fillPos[st]++] = id;
+			}
+		}
+		implementations = arr;
 	}
 
 	private void addSuperTypes(ClspClass cls, Set<String> result) {
@@ -228,6 +332,60 @@ private void addSuperTypes(ClspClass cls, Set<String> result) {
 		}
 	}
 
+	private static final int[] EMPTY_IDS = new int[0];
+
+	/**
+	 * Read-only view for names of type ids
+	 */
+	private final class NamesList extends AbstractList<String> implements RandomAccess {
+		private final int[] ids;
+
+		NamesList(int[] ids) {
+			this.ids = ids;
+		}
+
+		@Override
+		public String get(int index) {
+			return idToName[ids[index]];
+		}
+
+		@Override
+		public int size() {
+			return ids.length;
+		}
+	}
+
+	/**
+	 * Read-only view for super types names
+	 */
+	private final class NamesSet extends AbstractSet<String> {
+		private final int[] ids;
+		private final int[] sortedIds;
+
+		NamesSet(int[] ids, int[] sortedIds) {
+			this.ids = ids;
+			this.sortedIds = sortedIds;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (o instanceof String) {
+				return ClspGraph.contains(sortedIds, getTypeId((String) o));
+			}
+			return false;
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			return new NamesList(ids).iterator();
+		}
+
+		@Override
+		public int size() {
+			return ids.length;
+		}
+	}
+
 	@Nullable
 	private ClspClass getClspClass(ArgType clsType) {
 		ClspClass clspClass = nameMap.get(clsType.getObject());
@@ -407,7 +407,7 @@ public void addMethodCode(ICodeWriter code, MethodNode mth) throws CodegenExcept
 				badCode = false;
 			}
 			MethodGen mthGen;
-			if (badCode || fallback || mth.contains(AType.JADX_ERROR)) {
+			if (badCode || fallback || mth.contains(AType.JADX_ERROR) || mth.contains(AType.PROCESS_TIMEOUT)) {
 				mthGen = MethodGen.getFallbackMethodGen(mth);
 			} else {
 				mthGen = new MethodGen(this, mth);
@@ -27,6 +27,7 @@
 import jadx.core.dex.attributes.nodes.JumpInfo;
 import jadx.core.dex.attributes.nodes.MethodOverrideAttr;
 import jadx.core.dex.attributes.nodes.MethodReplaceAttr;
+import jadx.core.dex.attributes.nodes.ProcessTimeoutAttr;
 import jadx.core.dex.attributes.nodes.SkipMethodArgsAttr;
 import jadx.core.dex.info.AccessInfo;
 import jadx.core.dex.instructions.ConstStringNode;
@@ -207,6 +208,10 @@ private void addMethodArguments(ICodeWriter code) {
 				code.add(", ");
 			}
 			SSAVar ssaVar = mthArg.getSVar();
+			if (ssaVar != null && !ssaVar.isCodeVarSet()) {
+				// processing stopped before code variables init
+				ssaVar = null;
+			}
 			CodeVar var;
 			if (ssaVar == null) {
 				// abstract or interface methods
@@ -390,6 +395,7 @@ public void addFallbackMethodCode(ICodeWriter code, FallbackOption fallbackOptio
 		}
 		if (fallbackOption != FALLBACK_MODE) {
 			List<JadxError> errors = mth.getAll(AType.JADX_ERROR); // preserve error before unload
+			ProcessTimeoutAttr timeout = mth.get(AType.PROCESS_TIMEOUT);
 			try {
 				// load original instructions
 				mth.unload();
@@ -403,6 +409,9 @@ public void addFallbackMethodCode(ICodeWriter code, FallbackOption fallbackOptio
 				return;
 			} finally {
 				mth.addAttr(AType.JADX_ERROR, errors);
+				if (timeout != null) {
+					mth.addAttr(timeout);
+				}
 			}
 		}
 		InsnNode[] insnArr = mth.getInstructions();
@@ -19,6 +19,10 @@ public class SaveDeobfMapping extends AbstractVisitor {
 	@Override
 	public void init(RootNode root) throws JadxException {
 		JadxArgs args = root.getArgs();
+		if (!args.isFirstShard()) {
+			// avoid concurrent writes from several processes
+			return;
+		}
 		if (args.isDeobfuscationOn() || !args.isJsonOutput()) {
 			saveMappings(root);
 		}
@@ -23,12 +23,14 @@
 import jadx.core.dex.attributes.nodes.LoopInfo;
 import jadx.core.dex.attributes.nodes.LoopLabelAttr;
 import jadx.core.dex.attributes.nodes.MethodBridgeAttr;
+import jadx.core.dex.attributes.nodes.MethodBridgeMergeAttr;
 import jadx.core.dex.attributes.nodes.MethodInlineAttr;
 import jadx.core.dex.attributes.nodes.MethodOverrideAttr;
 import jadx.core.dex.attributes.nodes.MethodReplaceAttr;
 import jadx.core.dex.attributes.nodes.MethodThrowsAttr;
 import jadx.core.dex.attributes.nodes.MethodTypeVarsAttr;
 import jadx.core.dex.attributes.nodes.PhiListAttr;
+import jadx.core.dex.attributes.nodes.ProcessTimeoutAttr;
 import jadx.core.dex.attributes.nodes.RegDebugInfoAttr;
 import jadx.core.dex.attributes.nodes.RegionRefAttr;
 import jadx.core.dex.attributes.nodes.RenameReasonAttr;
@@ -57,6 +59,7 @@
 	// class, method
 	public static final AType<AttrList<JadxError>> JADX_ERROR = new AType<>(); // code failed to decompile
 	public static final AType<JadxCommentsAttr> JADX_COMMENTS = new AType<>(); // additional info about decompilation
+	public static final AType<ProcessTimeoutAttr> PROCESS_TIMEOUT = new AType<>(); // time limit reached, use fallback code
 
 	// class
 	public static final AType<EnumClassAttr> ENUM_CLASS = new AType<>();
@@ -75,6 +78,7 @@
 	public static final AType<MethodInlineAttr> METHOD_INLINE = new AType<>();
 	public static final AType<MethodReplaceAttr> METHOD_REPLACE = new AType<>();
 	public static final AType<MethodBridgeAttr> BRIDGED_BY = new AType<>();
+	public static final AType<MethodBridgeMergeAttr> BRIDGE_MERGE = new AType<>();
 	public static final AType<SkipMethodArgsAttr> SKIP_MTH_ARGS = new AType<>();
 	public static final AType<MethodOverrideAttr> METHOD_OVERRIDE = new AType<>();
 	public static final AType<MethodTypeVarsAttr> METHOD_TYPE_VARS = new AType<>();
@@ -0,0 +1,31 @@
+package jadx.core.dex.attributes.nodes;
+
+import jadx.api.plugins.input.data.attributes.PinnedAttribute;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.nodes.MethodNode;
+
+/**
+ * Synthetic wrapper confirmed for merge with wrapped method (set on wrapper method)
+ */
+public class MethodBridgeMergeAttr extends PinnedAttribute {
+
+	private final MethodNode wrappedMth;
+
+	public MethodBridgeMergeAttr(MethodNode wrappedMth) {
+		this.wrappedMth = wrappedMth;
+	}
+
+	public MethodNode getWrappedMth() {
+		return wrappedMth;
+	}
+
+	@Override
+	public AType<MethodBridgeMergeAttr> getAttrType() {
+		return AType.BRIDGE_MERGE;
+	}
+
+	@Override
+	public String toString() {
+		return "BRIDGE_MERGE: " + wrappedMth;
+	}
+}
@@ -0,0 +1,31 @@
+package jadx.core.dex.attributes.nodes;
+
+import jadx.api.plugins.input.data.attributes.IJadxAttrType;
+import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+import jadx.core.dex.attributes.AType;
+
+/**
+ * Processing time limit reached, remaining passes skipped and fallback code used
+ */
+public class ProcessTimeoutAttr implements IJadxAttribute {
+
+	private final String details;
+
+	public ProcessTimeoutAttr(String details) {
+		this.details = details;
+	}
+
+	public String getDetails() {
+		return details;
+	}
+
+	@Override
+	public IJadxAttrType<ProcessTimeoutAttr> getAttrType() {
+		return AType.PROCESS_TIMEOUT;
+	}
+
+	@Override
+	public String toString() {
+		return "PROCESS_TIMEOUT: " + details;
+	}
+}
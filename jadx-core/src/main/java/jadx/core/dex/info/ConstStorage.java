@@ -1,7 +1,6 @@
 package jadx.core.dex.info;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,7 +19,7 @@ public class ConstStorage {
 
 	private static final class ValueStorage {
 		private final Map<Object, IFieldInfoRef> values = new ConcurrentHashMap<>();
-		private final Set<Object> duplicates = new HashSet<>();
+		private final Set<Object> duplicates = ConcurrentHashMap.newKeySet();
 
 		Map<Object, IFieldInfoRef> getValues() {
 			return values;
@@ -33,7 +32,7 @@ IFieldInfoRef get(Object key) {
 		/**
 		 * @return true if this value is duplicated
 		 */
-		boolean put(Object value, IFieldInfoRef fld) {
+		synchronized boolean put(Object value, IFieldInfoRef fld) {
 			if (duplicates.contains(value)) {
 				values.remove(value);
 				return true;
@@ -62,11 +61,56 @@ void removeForCls(ClassNode cls) {
 		}
 	}
 
+	/**
+	 * Non-public fields with same value, stored by declaring class.
+	 * Field declared in class available in class itself and in all its inner classes.
+	 * <br>
+	 * Changed only inside of {@code compute} calls for its value key in {@link #classValues}.
+	 */
+	private static final class ClassScopes {
+		private final Map<ClassNode, IFieldInfoRef> fields = new ConcurrentHashMap<>(2);
+		private final Set<ClassNode> duplicates = ConcurrentHashMap.newKeySet();
+
+		@Nullable
+		IFieldInfoRef get(ClassNode cls) {
+			return fields.get(cls);
+		}
+
+		void put(ClassNode cls, IFieldInfoRef fld) {
+			if (duplicates.contains(cls)) {
+				return;
+			}
+			IFieldInfoRef prev = fields.put(cls, fld);
+			if (prev != null) {
+				fields.remove(cls);
+				duplicates.add(cls);
+			}
+		}
+
+		void remove(ClassNode cls) {
+			fields.remove(cls);
+			duplicates.remove(cls);
+		}
+
+		boolean isEmpty() {
+			return fields.isEmpty() && duplicates.isEmpty();
+		}
+	}
+
 	private final boolean replaceEnabled;
 	private final ValueStorage globalValues = new ValueStorage();
-	private final Map<ClassNode, ValueStorage> classes = new HashMap<>();
+	/**
+	 * Index for class level constants: value -> declaring class -> field.
+	 * Most literals don't have any constant field, so such lookups resolved by one map query
+	 * without walking outer classes.
+	 */
+	private final Map<Object, ClassScopes> classValues = new ConcurrentHashMap<>();
+	/**
+	 * Reverse index for {@link #classValues}: declaring class -> values, used to remove class constants.
+	 */
+	private final Map<ClassNode, Set<Object>> valuesByClass = new ConcurrentHashMap<>();
 
-	private Map<Integer, String> resourcesNames = new HashMap<>();
+	private volatile Map<Integer, String> resourcesNames = new HashMap<>();
 
 	public ConstStorage(JadxArgs args) {
 		this.replaceEnabled = args.isReplaceConsts();
@@ -76,7 +120,13 @@ public void addConstField(FieldNode fld, Object value, boolean isPublic) {
 		if (isPublic) {
 			addGlobalConstField(fld, value);
 		} else {
-			getClsValues(fld.getParentClass()).put(value, fld);
+			ClassNode parentCls = fld.getParentClass();
+			classValues.compute(value, (v, scopes) -> {
+				ClassScopes clsScopes = scopes != null ? scopes : new ClassScopes();
+				clsScopes.put(parentCls, fld);
+				valuesByClass.computeIfAbsent(parentCls, c -> ConcurrentHashMap.newKeySet()).add(v);
+				return clsScopes;
+			});
 		}
 	}
 
@@ -85,14 +135,18 @@ public void addGlobalConstField(IFieldInfoRef fld, Object value) {
 	}
 
 	public void removeForClass(ClassNode cls) {
-		classes.remove(cls);
+		Set<Object> values = valuesByClass.remove(cls);
+		if (values != null) {
+			for (Object value : values) {
+				classValues.computeIfPresent(value, (v, scopes) -> {
+					scopes.remove(cls);
+					return scopes.isEmpty() ? null : scopes;
+				});
+			}
+		}
 		globalValues.removeForCls(cls);
 	}
 
-	private ValueStorage getClsValues(ClassNode cls) {
-		return classes.computeIfAbsent(cls, c -> new ValueStorage());
-	}
-
 	public @Nullable IFieldInfoRef getConstField(ClassNode cls, Object value, boolean searchGlobal) {
 		if (!replaceEnabled) {
 			return null;
@@ -108,23 +162,23 @@ private ValueStorage getClsValues(ClassNode cls) {
 		if (foundInGlobal && !searchGlobal) {
 			return null;
 		}
-		ClassNode current = cls;
-		while (current != null) {
-			ValueStorage classValues = classes.get(current);
-			if (classValues != null) {
-				IFieldInfoRef field = classValues.get(value);
+		ClassScopes scopes = classValues.get(value);
+		if (scopes != null) {
+			ClassNode current = cls;
+			while (current != null) {
+				IFieldInfoRef field = scopes.get(current);
 				if (field != null) {
 					if (foundInGlobal) {
 						return null;
 					}
 					return field;
 				}
+				ClassInfo parentClass = current.getClassInfo().getParentClass();
+				if (parentClass == null) {
+					break;
+				}
+				current = root.resolveClass(parentClass);
 			}
-			ClassInfo parentClass = current.getClassInfo().getParentClass();
-			if (parentClass == null) {
-				break;
-			}
-			current = root.resolveClass(parentClass);
 		}
 		if (searchGlobal) {
 			return globalValues.get(value);
@@ -31,7 +31,7 @@ public boolean isSame(InsnNode obj) {
 			return false;
 		}
 		FilledNewArrayNode other = (FilledNewArrayNode) obj;
-		return elemType == other.elemType;
+		return elemType.equals(other.elemType);
 	}
 
 	@Override
@@ -29,7 +29,7 @@ public boolean isSame(InsnNode obj) {
 			return false;
 		}
 		NewArrayNode other = (NewArrayNode) obj;
-		return arrType == other.arrType;
+		return arrType.equals(other.arrType);
 	}
 
 	@Override
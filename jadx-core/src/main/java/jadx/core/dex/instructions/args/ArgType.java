@@ -32,14 +32,14 @@ public abstract class ArgType {
 	public static final ArgType LONG = primitive(PrimitiveType.LONG);
 	public static final ArgType VOID = primitive(PrimitiveType.VOID);
 
-	public static final ArgType OBJECT = objectNoCache(Consts.CLASS_OBJECT);
-	public static final ArgType CLASS = objectNoCache(Consts.CLASS_CLASS);
-	public static final ArgType STRING = objectNoCache(Consts.CLASS_STRING);
-	public static final ArgType ENUM = objectNoCache(Consts.CLASS_ENUM);
-	public static final ArgType THROWABLE = objectNoCache(Consts.CLASS_THROWABLE);
-	public static final ArgType ERROR = objectNoCache(Consts.CLASS_ERROR);
-	public static final ArgType EXCEPTION = objectNoCache(Consts.CLASS_EXCEPTION);
-	public static final ArgType RUNTIME_EXCEPTION = objectNoCache(Consts.CLASS_RUNTIME_EXCEPTION);
+	public static final ArgType OBJECT = constObject(Consts.CLASS_OBJECT);
+	public static final ArgType CLASS = constObject(Consts.CLASS_CLASS);
+	public static final ArgType STRING = constObject(Consts.CLASS_STRING);
+	public static final ArgType ENUM = constObject(Consts.CLASS_ENUM);
+	public static final ArgType THROWABLE = constObject(Consts.CLASS_THROWABLE);
+	public static final ArgType ERROR = constObject(Consts.CLASS_ERROR);
+	public static final ArgType EXCEPTION = constObject(Consts.CLASS_EXCEPTION);
+	public static final ArgType RUNTIME_EXCEPTION = constObject(Consts.CLASS_RUNTIME_EXCEPTION);
 	public static final ArgType OBJECT_ARRAY = array(OBJECT);
 	public static final ArgType WILDCARD = wildcard();
 
@@ -82,16 +82,34 @@ public abstract class ArgType {
 	protected int hash;
 
 	private static ArgType primitive(PrimitiveType stype) {
-		return new PrimitiveArg(stype);
+		return intern(new PrimitiveArg(stype));
 	}
 
-	private static ArgType objectNoCache(String obj) {
-		return new ObjectType(obj);
+	private static ArgType constObject(String obj) {
+		return intern(new ObjectType(obj));
+	}
+
+	/**
+	 * Return canonical instance for type, so equal types will be the same object.
+	 * Type variables are mutable (extend types can be changed), so types with them are not interned.
+	 */
+	private static ArgType intern(ArgType type) {
+		if (type.containsTypeVariable()) {
+			return type;
+		}
+		return ArgTypeInterner.intern(type);
 	}
 
 	public static ArgType object(String obj) {
-		// TODO: add caching
 		String cleanObjectName = Utils.cleanObjectName(obj);
+		ArgType constType = getConstObject(cleanObjectName);
+		if (constType != null) {
+			return constType;
+		}
+		return intern(new ObjectType(cleanObjectName));
+	}
+
+	private static @Nullable ArgType getConstObject(String cleanObjectName) {
 		switch (cleanObjectName) {
 			case Consts.CLASS_OBJECT:
 				return OBJECT;
@@ -104,7 +122,7 @@ public static ArgType object(String obj) {
 			case Consts.CLASS_EXCEPTION:
 				return EXCEPTION;
 			default:
-				return new ObjectType(cleanObjectName);
+				return null;
 		}
 	}
 
@@ -121,18 +139,18 @@ public static ArgType genericType(String type, List<ArgType> extendTypes) {
 	}
 
 	public static ArgType wildcard() {
-		return new WildcardType(OBJECT, WildcardBound.UNBOUND);
+		return intern(new WildcardType(OBJECT, WildcardBound.UNBOUND));
 	}
 
 	public static ArgType wildcard(ArgType obj, WildcardBound bound) {
-		return new WildcardType(obj, bound);
+		return intern(new WildcardType(obj, bound));
 	}
 
 	public static ArgType generic(ArgType obj, List<ArgType> generics) {
 		if (!obj.isObject()) {
 			throw new IllegalArgumentException("Expected Object as ArgType, got: " + obj);
 		}
-		return new GenericObject(obj.getObject(), generics);
+		return intern(new GenericObject(obj.getObject(), generics));
 	}
 
 	public static ArgType generic(ArgType obj, ArgType... generics) {
@@ -140,7 +158,7 @@ public static ArgType generic(ArgType obj, ArgType... generics) {
 	}
 
 	public static ArgType generic(String obj, List<ArgType> generics) {
-		return new GenericObject(Utils.cleanObjectName(obj), generics);
+		return intern(new GenericObject(Utils.cleanObjectName(obj), generics));
 	}
 
 	public static ArgType generic(String obj, ArgType generic) {
@@ -153,26 +171,26 @@ public static ArgType generic(String obj, ArgType... generics) {
 	}
 
 	public static ArgType outerGeneric(ArgType genericOuterType, ArgType innerType) {
-		return new OuterGenericObject((ObjectType) genericOuterType, (ObjectType) innerType);
+		return intern(new OuterGenericObject((ObjectType) genericOuterType, (ObjectType) innerType));
 	}
 
 	public static ArgType array(@NotNull ArgType vtype) {
-		return new ArrayArg(vtype);
+		return intern(new ArrayArg(vtype));
 	}
 
 	public static ArgType array(@NotNull ArgType type, int dimension) {
 		if (dimension == 1) {
-			return new ArrayArg(type);
+			return array(type);
 		}
 		ArgType arrType = type;
 		for (int i = 0; i < dimension; i++) {
-			arrType = new ArrayArg(arrType);
+			arrType = array(arrType);
 		}
 		return arrType;
 	}
 
 	public static ArgType unknown(PrimitiveType... types) {
-		return new UnknownArg(types);
+		return intern(new UnknownArg(types));
 	}
 
 	private abstract static class KnownType extends ArgType {
@@ -344,6 +362,7 @@ private static final class WildcardType extends ObjectType {
 			super(OBJECT.getObject());
 			this.type = Objects.requireNonNull(obj);
 			this.bound = Objects.requireNonNull(bound);
+			this.hash = 31 * type.hashCode() + bound.getNum();
 		}
 
 		@Override
@@ -387,7 +406,7 @@ private static class GenericObject extends ObjectType {
 
 		GenericObject(String obj, List<ArgType> generics) {
 			super(obj);
-			this.generics = Objects.requireNonNull(generics);
+			this.generics = generics == null ? Collections.emptyList() : Utils.lockList(generics);
 			this.hash = calcHash();
 		}
 
@@ -739,18 +758,26 @@ public static ArgType convertFromPrimitiveType(PrimitiveType primitiveType) {
 		return OBJECT;
 	}
 
+	/**
+	 * Parse type descriptor.
+	 * Result is not interned: this method is used for all descriptors on load
+	 * and most of the types are stored in info caches, so table lookup is not worth it.
+	 */
 	public static ArgType parse(String type) {
 		if (type == null || type.isEmpty()) {
 			throw new JadxRuntimeException("Failed to parse type string: " + type);
 		}
 		char f = type.charAt(0);
 		switch (f) {
-			case 'L':
-				return object(type);
+			case 'L': {
+				String cleanObjectName = Utils.cleanObjectName(type);
+				ArgType constType = getConstObject(cleanObjectName);
+				return constType != null ? constType : new ObjectType(cleanObjectName);
+			}
 			case 'T':
 				return genericType(type.substring(1, type.length() - 1));
 			case '[':
-				return array(parse(type.substring(1)));
+				return new ArrayArg(parse(type.substring(1)));
 			default:
 				if (type.length() != 1) {
 					throw new JadxRuntimeException("Unknown type string: \"" + type + '"');
@@ -825,7 +852,7 @@ public boolean containsTypeVariable() {
 			List<ArgType> genericTypes = getGenericTypes();
 			if (genericTypes != null) {
 				for (ArgType genericType : genericTypes) {
-					if (genericType.containsTypeVariable()) {
+					if (genericType != null && genericType.containsTypeVariable()) {
 						return true;
 					}
 				}
@@ -901,7 +928,7 @@ public static ArgType tryToResolveClassAlias(RootNode root, ArgType type) {
 		if (type.isObject()) {
 			ArgType wildcardType = type.getWildcardType();
 			if (wildcardType != null) {
-				return new WildcardType(tryToResolveClassAlias(root, wildcardType), type.getWildcardBound());
+				return wildcard(tryToResolveClassAlias(root, wildcardType), type.getWildcardBound());
 			}
 			ClassInfo clsInfo = ClassInfo.fromName(root, type.getObject());
 			ArgType baseType = clsInfo.hasAlias() ? ArgType.object(clsInfo.getAliasFullName()) : type;
@@ -910,7 +937,7 @@ public static ArgType tryToResolveClassAlias(RootNode root, ArgType type) {
 			}
 			List<ArgType> genericTypes = type.getGenericTypes();
 			if (genericTypes != null) {
-				return new GenericObject(baseType.getObject(), tryToResolveClassAlias(root, genericTypes));
+				return intern(new GenericObject(baseType.getObject(), tryToResolveClassAlias(root, genericTypes)));
 			}
 		}
 		return type;
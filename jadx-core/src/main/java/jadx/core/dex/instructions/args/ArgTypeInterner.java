@@ -0,0 +1,114 @@
+package jadx.core.dex.instructions.args;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global table of canonical {@link ArgType} instances, so equal types share the same object.
+ * <br>
+ * Keys are weak references, unused types will be collected by GC.
+ * Lookup is lock-free, new entries added with {@link Map#putIfAbsent(Object, Object)}.
+ */
+final class ArgTypeInterner {
+	private static final Map<Object, WeakKey> MAP = new ConcurrentHashMap<>();
+	private static final ReferenceQueue<ArgType> QUEUE = new ReferenceQueue<>();
+
+	static ArgType intern(ArgType type) {
+		WeakKey key = MAP.get(new LookupKey(type));
+		if (key != null) {
+			ArgType cached = key.get();
+			if (cached != null) {
+				return cached;
+			}
+		}
+		return add(type);
+	}
+
+	private static ArgType add(ArgType type) {
+		removeCollected();
+		WeakKey newKey = new WeakKey(type, QUEUE);
+		while (true) {
+			WeakKey prev = MAP.putIfAbsent(newKey, newKey);
+			if (prev == null) {
+				return type;
+			}
+			ArgType cached = prev.get();
+			if (cached != null) {
+				return cached;
+			}
+			// collected but not yet removed
+			MAP.remove(prev, prev);
+		}
+	}
+
+	private static void removeCollected() {
+		while (true) {
+			Reference<? extends ArgType> ref = QUEUE.poll();
+			if (ref == null) {
+				return;
+			}
+			MAP.remove(ref, ref);
+		}
+	}
+
+	private static final class WeakKey extends WeakReference<ArgType> {
+		private final int hash;
+
+		WeakKey(ArgType type, ReferenceQueue<ArgType> queue) {
+			super(type, queue);
+			this.hash = type.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj instanceof LookupKey) {
+				ArgType type = get();
+				return type != null && type.equals(((LookupKey) obj).type);
+			}
+			if (obj instanceof WeakKey) {
+				ArgType type = get();
+				return type != null && type.equals(((WeakKey) obj).get());
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Temporary key for search without weak reference allocation
+	 */
+	private static final class LookupKey {
+		private final ArgType type;
+
+		LookupKey(ArgType type) {
+			this.type = type;
+		}
+
+		@Override
+		public int hashCode() {
+			return type.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof WeakKey) {
+				ArgType other = ((WeakKey) obj).get();
+				return other != null && type.equals(other);
+			}
+			return false;
+		}
+	}
+
+	private ArgTypeInterner() {
+	}
+}
@@ -2,9 +2,11 @@
 
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.AType;
@@ -13,6 +15,7 @@
 import jadx.core.utils.BlockUtils;
 import jadx.core.utils.EmptyBitSet;
 import jadx.core.utils.InsnUtils;
+import jadx.core.utils.blocks.BlockReachability;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 import static jadx.core.utils.Utils.lockList;
@@ -41,9 +44,16 @@ public final class BlockNode extends AttrNode implements IBlock, Comparable<Bloc
 	private List<BlockNode> cleanSuccessors;
 
 	/**
-	 * All dominators, excluding self
+	 * Enter and exit numbers of this block in DFS traversal of dominator tree.
+	 * Used for fast dominance check, -1 if dominators not computed.
 	 */
-	private BitSet doms = EmptyBitSet.EMPTY;
+	private int domTreeIn = -1;
+	private int domTreeOut = -1;
+
+	/**
+	 * All dominators, excluding self (calculated on request)
+	 */
+	private @Nullable BitSet doms;
 
 	/**
 	 * Post dominators, excluding self
@@ -68,7 +78,12 @@ public final class BlockNode extends AttrNode implements IBlock, Comparable<Bloc
 	/**
 	 * Blocks on which dominates this block
 	 */
-	private List<BlockNode> dominatesOn = new ArrayList<>(3);
+	private List<BlockNode> dominatesOn = Collections.emptyList();
+
+	/**
+	 * Shared index for path queries, set only for locked blocks
+	 */
+	private @Nullable BlockReachability reachability;
 
 	public BlockNode(int cid, int pos, int offset) {
 		this.cid = cid;
@@ -119,7 +134,7 @@ public static void updateBlockPositions(List<BlockNode> blocks) {
 		}
 	}
 
-	public void lock() {
+	public void lock(BlockReachability reachability) {
 		try {
 			List<BlockNode> successorsList = successors;
 			successors = lockList(successorsList);
@@ -129,11 +144,16 @@ public void lock() {
 			if (domFrontier == null) {
 				throw new JadxRuntimeException("Dominance frontier not set for block: " + this);
 			}
+			this.reachability = reachability;
 		} catch (Exception e) {
 			throw new JadxRuntimeException("Failed to lock block: " + this, e);
 		}
 	}
 
+	public @Nullable BlockReachability getReachability() {
+		return reachability;
+	}
+
 	/**
 	 * Return all successor which are not exception handler or followed by loop back edge
 	 */
@@ -175,18 +195,65 @@ public int getStartOffset() {
 	 * Check if 'block' dominated on this node
 	 */
 	public boolean isDominator(BlockNode block) {
-		return doms.get(block.getPos());
+		if (block == this || domTreeIn == -1 || block.domTreeIn == -1) {
+			return false;
+		}
+		return block.domTreeIn < domTreeIn && domTreeOut < block.domTreeOut;
 	}
 
 	/**
-	 * Dominators of this node (exclude itself)
+	 * Dominators of this node (exclude itself).
+	 * Prefer {@link #isDominator(BlockNode)} for checks, this set allocated on first call.
 	 */
 	public BitSet getDoms() {
+		BitSet domsSet = doms;
+		if (domsSet == null) {
+			domsSet = collectDoms();
+		}
+		return domsSet;
+	}
+
+	/**
+	 * Build dominators sets for this node and dominators without collected sets,
+	 * starting from the top one: each set is a copy of immediate dominator set plus immediate dominator itself.
+	 */
+	private BitSet collectDoms() {
+		List<BlockNode> chain = new ArrayList<>();
+		BlockNode block = this;
+		while (block != null && block.doms == null) {
+			chain.add(block);
+			block = block.idom;
+		}
+		for (int i = chain.size() - 1; i >= 0; i--) {
+			BlockNode node = chain.get(i);
+			BlockNode dom = node.idom;
+			if (dom == null) {
+				node.doms = EmptyBitSet.EMPTY;
+			} else {
+				BitSet domDoms = dom.doms;
+				BitSet domsSet = domDoms.isEmpty() ? new BitSet() : (BitSet) domDoms.clone();
+				domsSet.set(dom.getPos());
+				node.doms = domsSet;
+			}
+		}
 		return doms;
 	}
 
-	public void setDoms(BitSet doms) {
-		this.doms = doms;
+	/**
+	 * Set position in dominator tree, should be called after immediate dominator set
+	 */
+	public void setDomTreePos(int in, int out) {
+		this.domTreeIn = in;
+		this.domTreeOut = out;
+		this.doms = null;
+	}
+
+	public void resetDoms() {
+		this.domTreeIn = -1;
+		this.domTreeOut = -1;
+		this.doms = null;
+		this.idom = null;
+		this.dominatesOn = Collections.emptyList();
 	}
 
 	public BitSet getPostDoms() {
@@ -229,6 +296,9 @@ public List<BlockNode> getDominatesOn() {
 	}
 
 	public void addDominatesOn(BlockNode block) {
+		if (dominatesOn.isEmpty()) {
+			dominatesOn = new ArrayList<>(2);
+		}
 		dominatesOn.add(block);
 	}
 
@@ -7,6 +7,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -105,7 +106,10 @@ public class ClassNode extends NotificationAttrNode
 	// cache maps
 	private Map<MethodInfo, MethodNode> mthInfoMap = Collections.emptyMap();
 
-	private JavaClass javaNode;
+	private static final AtomicReferenceFieldUpdater<ClassNode, JavaClass> JAVA_NODE_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(ClassNode.class, JavaClass.class, "javaNode");
+
+	private volatile JavaClass javaNode;
 
 	public ClassNode(RootNode root, IClassData cls) {
 		this.root = root;
@@ -978,6 +982,18 @@ public void setJavaNode(JavaClass javaNode) {
 		this.javaNode = javaNode;
 	}
 
+	/**
+	 * Set java node only if not set yet.
+	 *
+	 * @return java node stored in this node (new or already set by another thread)
+	 */
+	public JavaClass initJavaNode(JavaClass newJavaNode) {
+		if (JAVA_NODE_UPDATER.compareAndSet(this, null, newJavaNode)) {
+			return newJavaNode;
+		}
+		return javaNode;
+	}
+
 	@Override
 	public AnnType getAnnType() {
 		return AnnType.CLASS;
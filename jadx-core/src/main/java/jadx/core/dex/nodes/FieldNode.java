@@ -2,6 +2,7 @@
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import jadx.api.JavaField;
 import jadx.api.plugins.input.data.IFieldData;
@@ -22,7 +23,10 @@ public class FieldNode extends NotificationAttrNode implements ICodeNode, IField
 
 	private List<MethodNode> useIn = Collections.emptyList();
 
-	private JavaField javaNode;
+	private static final AtomicReferenceFieldUpdater<FieldNode, JavaField> JAVA_NODE_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(FieldNode.class, JavaField.class, "javaNode");
+
+	private volatile JavaField javaNode;
 
 	public static FieldNode build(ClassNode cls, IFieldData fieldData) {
 		FieldInfo fieldInfo = FieldInfo.fromRef(cls.root(), fieldData);
@@ -134,6 +138,18 @@ public void setJavaNode(JavaField javaNode) {
 		this.javaNode = javaNode;
 	}
 
+	/**
+	 * Set java node only if not set yet.
+	 *
+	 * @return java node stored in this node (new or already set by another thread)
+	 */
+	public JavaField initJavaNode(JavaField newJavaNode) {
+		if (JAVA_NODE_UPDATER.compareAndSet(this, null, newJavaNode)) {
+			return newJavaNode;
+		}
+		return javaNode;
+	}
+
 	@Override
 	public AnnType getAnnType() {
 		return AnnType.FIELD;
@@ -6,6 +6,7 @@
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -44,6 +45,7 @@
 import jadx.core.dex.trycatch.ExceptionHandler;
 import jadx.core.dex.visitors.InitCodeVariables;
 import jadx.core.utils.Utils;
+import jadx.core.utils.blocks.BlockReachability;
 import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
@@ -93,7 +95,10 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 	// True if this method contains a self call
 	private boolean callsSelf = false;
 
-	private JavaMethod javaNode;
+	private static final AtomicReferenceFieldUpdater<MethodNode, JavaMethod> JAVA_NODE_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(MethodNode.class, JavaMethod.class, "javaNode");
+
+	private volatile JavaMethod javaNode;
 
 	public static MethodNode build(ClassNode classNode, IMethodData methodData) {
 		MethodNode methodNode = new MethodNode(classNode, methodData);
@@ -376,7 +381,8 @@ public void initBasicBlocks() {
 	public void finishBasicBlocks() {
 		blocks = lockList(blocks);
 		loops = lockList(loops);
-		blocks.forEach(BlockNode::lock);
+		BlockReachability reachability = new BlockReachability(blocks);
+		blocks.forEach(b -> b.lock(reachability));
 	}
 
 	public List<BlockNode> getBasicBlocks() {
@@ -779,6 +785,19 @@ public void setJavaNode(JavaMethod javaNode) {
 		this.javaNode = javaNode;
 	}
 
+	/**
+	 * Set java node only if not set yet.
+	 *
+	 * @return java node stored in this node (new or already set by another thread)
+	 */
+	@ApiStatus.Internal
+	public JavaMethod initJavaNode(JavaMethod newJavaNode) {
+		if (JAVA_NODE_UPDATER.compareAndSet(this, null, newJavaNode)) {
+			return newJavaNode;
+		}
+		return javaNode;
+	}
+
 	@Override
 	public AnnType getAnnType() {
 		return AnnType.METHOD;
@@ -3,6 +3,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.NotNull;
@@ -26,7 +27,10 @@ public class PackageNode extends LineAttrNode
 
 	private PackageInfo aliasPkgInfo;
 
-	private JavaPackage javaNode;
+	private static final AtomicReferenceFieldUpdater<PackageNode, JavaPackage> JAVA_NODE_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(PackageNode.class, JavaPackage.class, "javaNode");
+
+	private volatile JavaPackage javaNode;
 
 	public static PackageNode getForClass(RootNode root, String fullPkg, ClassNode cls) {
 		PackageNode pkg = getOrBuild(root, fullPkg);
@@ -205,6 +209,18 @@ public void setJavaNode(JavaPackage javaNode) {
 		this.javaNode = javaNode;
 	}
 
+	/**
+	 * Set java node only if not set yet.
+	 *
+	 * @return java node stored in this node (new or already set by another thread)
+	 */
+	public JavaPackage initJavaNode(JavaPackage newJavaNode) {
+		if (JAVA_NODE_UPDATER.compareAndSet(this, null, newJavaNode)) {
+			return newJavaNode;
+		}
+		return javaNode;
+	}
+
 	public boolean isEmpty() {
 		return classes.isEmpty() && subPackages.isEmpty();
 	}
@@ -60,6 +60,7 @@
 import jadx.core.utils.Utils;
 import jadx.core.utils.android.AndroidResourcesUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.profiling.PassesProfiler;
 import jadx.core.xmlgen.IResTableParser;
 import jadx.core.xmlgen.ManifestAttributes;
 import jadx.core.xmlgen.ResourceStorage;
@@ -71,6 +72,7 @@ public class RootNode {
 
 	private final JadxArgs args;
 	private final ErrorsCounter errorsCounter = new ErrorsCounter();
+	private final @Nullable PassesProfiler profiler;
 	private final StringUtils stringUtils;
 	private final ConstStorage constValues;
 	private final InfoStorage infoStorage = new InfoStorage();
@@ -126,6 +128,7 @@ private RootNode(@Nullable JadxDecompiler decompiler, JadxArgs args) {
 		this.typeUpdate = new TypeUpdate(this);
 		this.methodUtils = new MethodUtils(this);
 		this.typeUtils = new TypeUtils(this);
+		this.profiler = args.isPassesProfiling() ? new PassesProfiler() : null;
 	}
 
 	public void init() {
@@ -722,6 +725,10 @@ public ErrorsCounter getErrorsCounter() {
 		return errorsCounter;
 	}
 
+	public @Nullable PassesProfiler getProfiler() {
+		return profiler;
+	}
+
 	@Nullable
 	public String getAppPackage() {
 		return appPackage;
@@ -787,7 +794,7 @@ public GradleInfoStorage getGradleInfoStorage() {
 	public synchronized ManifestAttributes initManifestAttributes() {
 		ManifestAttributes attrs = manifestAttributes;
 		if (attrs == null) {
-			attrs = new ManifestAttributes(args.getSecurity());
+			attrs = new ManifestAttributes();
 			manifestAttributes = attrs;
 		}
 		return attrs;
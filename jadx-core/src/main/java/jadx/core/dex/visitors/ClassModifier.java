@@ -10,8 +10,8 @@
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.attributes.nodes.FieldReplaceAttr;
+import jadx.core.dex.attributes.nodes.MethodBridgeMergeAttr;
 import jadx.core.dex.attributes.nodes.MethodReplaceAttr;
-import jadx.core.dex.attributes.nodes.RenameReasonAttr;
 import jadx.core.dex.attributes.nodes.SkipMethodArgsAttr;
 import jadx.core.dex.info.AccessInfo;
 import jadx.core.dex.info.ClassInfo;
@@ -19,11 +19,8 @@
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.IndexInsnNode;
 import jadx.core.dex.instructions.InsnType;
-import jadx.core.dex.instructions.InvokeNode;
-import jadx.core.dex.instructions.InvokeType;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.InsnArg;
-import jadx.core.dex.instructions.args.InsnWrapArg;
 import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.instructions.args.SSAVar;
 import jadx.core.dex.instructions.mods.ConstructorInsn;
@@ -33,6 +30,7 @@
 import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.visitors.fixaccessmodifiers.FixAccessModifiers;
+import jadx.core.dex.visitors.rename.BridgeMergeRename;
 import jadx.core.dex.visitors.usage.UsageInfoVisitor;
 import jadx.core.utils.BlockUtils;
 import jadx.core.utils.InsnRemover;
@@ -111,7 +109,7 @@ private static void removeSyntheticFields(ClassNode cls) {
 	}
 
 	private static boolean removeFieldUsageFromConstructor(MethodNode mth, FieldNode field, ClassNode fieldsCls) {
-		if (mth.isNoCode() || !mth.getAccessFlags().isConstructor()) {
+		if (mth.isNoCode() || !mth.getAccessFlags().isConstructor() || mth.contains(AType.PROCESS_TIMEOUT)) {
 			return false;
 		}
 		List<RegisterArg> args = mth.getArgRegs();
@@ -150,15 +148,8 @@ private static boolean removeFieldUsageFromConstructor(MethodNode mth, FieldNode
 	}
 
 	private static void removeSyntheticMethods(MethodNode mth) {
-		if (mth.isNoCode() || mth.contains(AFlag.DONT_GENERATE)) {
-			return;
-		}
-		AccessInfo af = mth.getAccessFlags();
-		if (!af.isSynthetic()) {
-			return;
-		}
-		ClassNode cls = mth.getParentClass();
-		if (removeBridgeMethod(cls, mth)) {
+		// checked before other conditions, because wrapped method already renamed for merge
+		if (mergeBridgeMethod(mth)) {
 			if (Consts.DEBUG) {
 				mth.addDebugComment("Removed as synthetic bridge method");
 			} else {
@@ -166,6 +157,14 @@ private static void removeSyntheticMethods(MethodNode mth) {
 			}
 			return;
 		}
+		if (mth.isNoCode() || mth.contains(AFlag.DONT_GENERATE) || mth.contains(AType.PROCESS_TIMEOUT)) {
+			return;
+		}
+		AccessInfo af = mth.getAccessFlags();
+		if (!af.isSynthetic()) {
+			return;
+		}
+		ClassNode cls = mth.getParentClass();
 		// remove synthetic constructor for inner classes
 		if (mth.isConstructor()
 				&& (mth.contains(AFlag.METHOD_CANDIDATE_FOR_INLINE) || mth.contains(AFlag.ANONYMOUS_CONSTRUCTOR))) {
@@ -241,88 +240,33 @@ private static void modifySyntheticMethod(ClassNode cls, MethodNode mth, InsnNod
 		}
 	}
 
-	private static boolean removeBridgeMethod(ClassNode cls, MethodNode mth) {
-		if (cls.root().getArgs().isInlineMethods()) { // simple wrapper remove is same as inline
-			List<InsnNode> allInsns = BlockUtils.collectAllInsns(mth.getBasicBlocks());
-			if (allInsns.size() == 1) {
-				InsnNode wrappedInsn = allInsns.get(0);
-				if (wrappedInsn.getType() == InsnType.RETURN) {
-					InsnArg arg = wrappedInsn.getArg(0);
-					if (arg.isInsnWrap()) {
-						wrappedInsn = ((InsnWrapArg) arg).getWrapInsn();
-					}
-				}
-				return checkSyntheticWrapper(mth, wrappedInsn);
-			}
-		}
-		return false;
-	}
-
-	private static boolean checkSyntheticWrapper(MethodNode mth, InsnNode insn) {
-		InsnType insnType = insn.getType();
-		if (insnType != InsnType.INVOKE) {
-			return false;
-		}
-		InvokeNode invokeInsn = (InvokeNode) insn;
-		if (invokeInsn.getInvokeType() == InvokeType.SUPER) {
-			return false;
-		}
-		MethodInfo callMth = invokeInsn.getCallMth();
-		MethodNode wrappedMth = mth.root().resolveMethod(callMth);
-		if (wrappedMth == null) {
-			return false;
-		}
-		AccessInfo wrappedAccFlags = wrappedMth.getAccessFlags();
-		if (wrappedAccFlags.isStatic()) {
-			return false;
-		}
-		if (callMth.getArgsCount() != mth.getMethodInfo().getArgsCount()) {
-			return false;
-		}
-		// rename method only from current class
-		if (!mth.getParentClass().equals(wrappedMth.getParentClass())) {
+	/**
+	 * Merge synthetic wrapper with wrapped method.
+	 * Merge confirmed and wrapped method renamed at pre-decompile stage (see {@link BridgeMergeRename}),
+	 * so result doesn't depend on classes processing order.
+	 */
+	private static boolean mergeBridgeMethod(MethodNode mth) {
+		MethodBridgeMergeAttr mergeAttr = mth.get(AType.BRIDGE_MERGE);
+		if (mergeAttr == null) {
 			return false;
 		}
-		// all args must be registers passed from method args (allow only casts insns)
-		for (InsnArg arg : insn.getArguments()) {
-			if (!registersAndCastsOnly(arg)) {
-				return false;
-			}
-		}
-		// remove confirmed, change visibility and name if needed
-		if (!wrappedAccFlags.isPublic() && !mth.root().getArgs().isRespectBytecodeAccModifiers()) {
+		MethodNode wrappedMth = mergeAttr.getWrappedMth();
+		// change visibility if needed
+		if (!wrappedMth.getAccessFlags().isPublic() && !mth.root().getArgs().isRespectBytecodeAccModifiers()) {
 			// must be public
 			FixAccessModifiers.changeVisibility(wrappedMth, AccessFlags.PUBLIC);
 		}
-		String alias = mth.getAlias();
-		if (!Objects.equals(wrappedMth.getAlias(), alias)) {
-			wrappedMth.rename(alias);
-			RenameReasonAttr.forNode(wrappedMth).append("merged with bridge method [inline-methods]");
-		}
 		wrappedMth.addAttr(new MethodReplaceAttr(mth));
 		wrappedMth.copyAttributeFrom(mth, AType.METHOD_OVERRIDE);
 		wrappedMth.addDebugComment("Method merged with bridge method: " + mth.getMethodInfo().getShortId());
 		return true;
 	}
 
-	private static boolean registersAndCastsOnly(InsnArg arg) {
-		if (arg.isRegister()) {
-			return true;
-		}
-		if (arg.isInsnWrap()) {
-			InsnNode wrapInsn = ((InsnWrapArg) arg).getWrapInsn();
-			if (wrapInsn.getType() == InsnType.CHECK_CAST) {
-				return registersAndCastsOnly(wrapInsn.getArg(0));
-			}
-		}
-		return false;
-	}
-
 	/**
 	 * Remove public empty constructors (static or default)
 	 */
 	private static void removeEmptyMethods(MethodNode mth) {
-		if (!mth.getArgRegs().isEmpty()) {
+		if (!mth.getArgRegs().isEmpty() || mth.contains(AType.PROCESS_TIMEOUT)) {
 			return;
 		}
 		AccessInfo af = mth.getAccessFlags();
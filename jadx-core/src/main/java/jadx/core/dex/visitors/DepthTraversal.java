@@ -3,12 +3,16 @@
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.ProcessTimeLimits;
+import jadx.core.utils.profiling.PassesProfiler;
 
 public class DepthTraversal {
 
 	public static void visit(IDexTreeVisitor visitor, ClassNode cls) {
 		try {
-			if (visitor.visit(cls)) {
+			PassesProfiler profiler = cls.root().getProfiler();
+			boolean visitChildren = profiler == null ? visitor.visit(cls) : profiler.visit(visitor, cls);
+			if (visitChildren) {
 				cls.getInnerClasses().forEach(inCls -> visit(visitor, inCls));
 				cls.getMethods().forEach(mth -> visit(visitor, mth));
 			}
@@ -19,10 +23,22 @@ public static void visit(IDexTreeVisitor visitor, ClassNode cls) {
 
 	public static void visit(IDexTreeVisitor visitor, MethodNode mth) {
 		try {
-			if (mth.contains(AType.JADX_ERROR)) {
+			if (mth.contains(AType.JADX_ERROR) || mth.contains(AType.PROCESS_TIMEOUT)) {
 				return;
 			}
-			visitor.visit(mth);
+			boolean limited = ProcessTimeLimits.startMethod(mth);
+			try {
+				PassesProfiler profiler = mth.root().getProfiler();
+				if (profiler == null) {
+					visitor.visit(mth);
+				} else {
+					profiler.visit(visitor, mth);
+				}
+			} finally {
+				if (limited) {
+					ProcessTimeLimits.finishMethod();
+				}
+			}
 		} catch (StackOverflowError | BootstrapMethodError | Exception e) {
 			mth.addError(e.getClass().getSimpleName() + " in pass: " + visitor.getClass().getSimpleName(), e);
 		}
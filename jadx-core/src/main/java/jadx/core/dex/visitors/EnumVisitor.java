@@ -492,6 +492,9 @@ private EnumField createEnumFieldByConstructor(EnumData data, FieldNode enumFiel
 	}
 
 	private @Nullable ConstructorInsn searchEnumSuperCtrInsn(MethodNode ctrMth) {
+		if (ctrMth.isNoCode() || ctrMth.getBasicBlocks() == null) {
+			return null;
+		}
 		for (BlockNode block : ctrMth.getBasicBlocks()) {
 			for (InsnNode insn : block.getInstructions()) {
 				if (insn.getType() == InsnType.CONSTRUCTOR) {
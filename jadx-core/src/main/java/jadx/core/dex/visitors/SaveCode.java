@@ -1,7 +1,6 @@
 package jadx.core.dex.visitors;
 
 import java.io.File;
-import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 
 import org.slf4j.Logger;
@@ -12,16 +11,24 @@
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
+import jadx.core.export.output.DirOutputWriter;
+import jadx.core.export.output.IOutputWriter;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
 
 public class SaveCode {
 	private static final Logger LOG = LoggerFactory.getLogger(SaveCode.class);
 
+	private static final IOutputWriter DIR_WRITER = new DirOutputWriter();
+
 	private SaveCode() {
 	}
 
 	public static void save(File dir, ClassNode cls, ICodeInfo code) {
+		save(DIR_WRITER, dir, cls, code);
+	}
+
+	public static void save(IOutputWriter writer, File dir, ClassNode cls, ICodeInfo code) {
 		if (cls.contains(AFlag.DONT_GENERATE)) {
 			return;
 		}
@@ -39,11 +46,22 @@ public static void save(File dir, ClassNode cls, ICodeInfo code) {
 		if (args.isSkipFilesSave()) {
 			return;
 		}
-		String fileName = cls.getClassInfo().getAliasFullPath() + getFileExtension(cls.root());
+		String fileName = getFileName(cls);
 		if (!args.getSecurity().isValidEntryName(fileName)) {
 			return;
 		}
-		save(codeStr, new File(dir, fileName));
+		save(writer, codeStr, new File(dir, fileName));
+	}
+
+	/**
+	 * Output file for class code
+	 */
+	public static File getOutputFile(File dir, ClassNode cls) {
+		return FileUtils.cutFileName(new File(dir, getFileName(cls)));
+	}
+
+	private static String getFileName(ClassNode cls) {
+		return cls.getClassInfo().getAliasFullPath() + getFileExtension(cls.root());
 	}
 
 	public static void save(ICodeInfo codeInfo, File file) {
@@ -51,9 +69,13 @@ public static void save(ICodeInfo codeInfo, File file) {
 	}
 
 	public static void save(String code, File file) {
-		File outFile = FileUtils.prepareFile(file);
-		try (PrintWriter out = new PrintWriter(outFile, StandardCharsets.UTF_8)) {
-			out.println(code);
+		save(DIR_WRITER, code, file);
+	}
+
+	public static void save(IOutputWriter writer, String code, File file) {
+		File outFile = FileUtils.cutFileName(file);
+		try {
+			writer.write(outFile, (code + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
 		} catch (Exception e) {
 			LOG.error("Save file error", e);
 		}
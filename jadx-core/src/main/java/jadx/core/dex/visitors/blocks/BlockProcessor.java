@@ -301,7 +301,7 @@ private static void markLoops(MethodNode mth) {
 			// Every successor that dominates its predecessor is a header of a loop,
 			// block -> successor is a back edge.
 			block.getSuccessors().forEach(successor -> {
-				if (block.getDoms().get(successor.getId()) || block == successor) {
+				if (block.isDominator(successor) || block == successor) {
 					successor.add(AFlag.LOOP_START);
 					block.add(AFlag.LOOP_END);
 
@@ -848,10 +848,8 @@ private static void clearBlocksState(MethodNode mth) {
 			block.remove(AType.LOOP);
 			block.remove(AFlag.LOOP_START);
 			block.remove(AFlag.LOOP_END);
-			block.setDoms(null);
-			block.setIDom(null);
+			block.resetDoms();
 			block.setDomFrontier(null);
-			block.getDominatesOn().clear();
 		});
 	}
 
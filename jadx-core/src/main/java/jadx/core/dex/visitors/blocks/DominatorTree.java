@@ -21,7 +21,13 @@
 public class DominatorTree {
 
 	public static void compute(MethodNode mth) {
-		List<BlockNode> sorted = sortBlocks(mth);
+		compute(sortBlocks(mth));
+	}
+
+	/**
+	 * @param sorted blocks in DFS order, block id should be equal to position in list
+	 */
+	static void compute(List<BlockNode> sorted) {
 		BlockNode[] doms = build(sorted, BlockNode::getPredecessors);
 		apply(sorted, doms);
 	}
@@ -94,17 +100,44 @@ private static BlockNode intersect(List<BlockNode> sorted, BlockNode[] doms, Blo
 
 	private static void apply(List<BlockNode> sorted, BlockNode[] doms) {
 		BlockNode enterBlock = sorted.get(0);
-		enterBlock.setDoms(EmptyBitSet.EMPTY);
-		enterBlock.setIDom(null);
+		sorted.forEach(BlockNode::resetDoms);
 		int blocksCount = sorted.size();
 		for (int i = 1; i < blocksCount; i++) {
 			BlockNode block = sorted.get(i);
 			BlockNode idom = doms[i];
 			block.setIDom(idom);
 			idom.addDominatesOn(block);
-			BitSet domBS = collectDoms(doms, idom);
-			domBS.clear(i);
-			block.setDoms(domBS);
+		}
+		numberDomTree(enterBlock, blocksCount);
+	}
+
+	/**
+	 * Assign enter and exit numbers in DFS traversal of dominator tree,
+	 * block A dominates on block B if B interval is nested in A interval.
+	 * Used instead of dominators set for every block.
+	 */
+	private static void numberDomTree(BlockNode enterBlock, int blocksCount) {
+		int[] nextChild = new int[blocksCount];
+		int[] enterNum = new int[blocksCount];
+		BlockNode[] stack = new BlockNode[blocksCount];
+		int top = 0;
+		int counter = 0;
+		stack[0] = enterBlock;
+		enterNum[enterBlock.getId()] = counter++;
+		while (top >= 0) {
+			BlockNode block = stack[top];
+			int id = block.getId();
+			List<BlockNode> children = block.getDominatesOn();
+			int childIdx = nextChild[id];
+			if (childIdx < children.size()) {
+				nextChild[id] = childIdx + 1;
+				BlockNode child = children.get(childIdx);
+				enterNum[child.getId()] = counter++;
+				stack[++top] = child;
+			} else {
+				block.setDomTreePos(enterNum[id], counter++);
+				top--;
+			}
 		}
 	}
 
@@ -91,7 +91,7 @@ private static boolean isSingleEntryLoop(SpecialEdgeAttr e) {
 		BlockNode header = e.getEnd();
 		BlockNode loopEnd = e.getStart();
 		return header == loopEnd
-				|| loopEnd.getDoms().get(header.getId()); // header dominates loop end
+				|| loopEnd.isDominator(header); // header dominates loop end
 	}
 
 	private enum BlockColor {
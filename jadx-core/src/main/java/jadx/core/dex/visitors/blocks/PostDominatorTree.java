@@ -27,6 +27,8 @@ public static void compute(MethodNode mth) {
 			for (int i = 0; i < blocksCount; i++) {
 				posMapping[i] = sorted.get(i).getPos();
 			}
+			// dominators sets built lazily using current positions, so collect them before change
+			sorted.forEach(BlockNode::getDoms);
 			BlockNode.updateBlockPositions(sorted);
 
 			BlockNode[] postDoms = DominatorTree.build(sorted, BlockNode::getSuccessors);
@@ -37,8 +37,10 @@
 import jadx.core.utils.BlockUtils;
 import jadx.core.utils.ListUtils;
 import jadx.core.utils.Pair;
+import jadx.core.utils.ProcessTimeLimits;
 import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.exceptions.JadxTimeoutException;
 
 /**
  * This visitor is responsible for extracting finally blocks from duplicated instructions located
@@ -129,6 +131,7 @@ public void visit(MethodNode mth) {
 			// Search through all non-implicit handlers and search for a finally block.
 			boolean finallyExtracted = false;
 			for (TryCatchBlockAttr tryBlock : processRequiredTryBlocks) {
+				ProcessTimeLimits.check();
 				// Refresh scope groups now due to implicit handlers
 				TryExtractInfo tryInfo = getTryBlockData(mth, tryBlock);
 				if (tryInfo == null) {
@@ -141,6 +144,9 @@ public void visit(MethodNode mth) {
 			if (finallyExtracted) {
 				resetTryBlocks(mth, tryBlocks);
 			}
+		} catch (JadxTimeoutException e) {
+			// method will be restored by fallback mode
+			throw e;
 		} catch (Exception e) {
 			LOG.error("MarkFinallyVisitor error", e);
 			undoFinallyVisitor(mth);
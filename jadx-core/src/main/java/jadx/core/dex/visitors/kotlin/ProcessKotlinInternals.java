@@ -88,7 +88,7 @@ public boolean visit(ClassNode cls) {
 	}
 
 	private void processMth(MethodNode mth) {
-		if (mth.isNoCode() || mth.contains(AType.JADX_ERROR)) {
+		if (mth.isNoCode() || mth.contains(AType.JADX_ERROR) || mth.contains(AType.PROCESS_TIMEOUT)) {
 			return;
 		}
 		for (BlockNode block : mth.getBasicBlocks()) {
@@ -19,6 +19,7 @@
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.regions.Region;
 import jadx.core.utils.BlockUtils;
+import jadx.core.utils.ProcessTimeLimits;
 import jadx.core.utils.blocks.BlockSet;
 import jadx.core.utils.exceptions.JadxOverflowException;
 
@@ -71,6 +72,9 @@ Region makeRegion(BlockNode startBlock) {
 			if (regionsCount > regionsLimit) {
 				throw new JadxOverflowException("Regions count limit reached at block " + startBlock);
 			}
+			if (regionsCount % 100 == 0) {
+				ProcessTimeLimits.check();
+			}
 		}
 		return region;
 	}
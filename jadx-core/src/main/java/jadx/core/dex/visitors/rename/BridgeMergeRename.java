@@ -0,0 +1,404 @@
+package jadx.core.dex.visitors.rename;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.api.plugins.input.insns.InsnData;
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.MethodBridgeMergeAttr;
+import jadx.core.dex.attributes.nodes.MethodOverrideAttr;
+import jadx.core.dex.attributes.nodes.RenameReasonAttr;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.ClassModifier;
+import jadx.core.dex.visitors.JadxVisitor;
+import jadx.core.dex.visitors.OverrideMethodVisitor;
+import jadx.core.utils.input.InsnDataUtils;
+
+/**
+ * Search synthetic wrappers (bridge methods) to merge with wrapped method.
+ * Merge confirmed here and marked by {@link AType#BRIDGE_MERGE}, {@link ClassModifier} only applies it,
+ * this requires same name for wrapper and wrapped methods.
+ * <br>
+ * Rename changes code of other classes, so apply it here for all classes at once:
+ * methods linked by wrappers and override hierarchy get one name,
+ * and result doesn't depend on classes processing order (or processed shard).
+ */
+@JadxVisitor(
+		name = "BridgeMergeRename",
+		desc = "Rename methods wrapped by synthetic bridge methods",
+		runAfter = {
+				OverrideMethodVisitor.class,
+				RenameVisitor.class
+		}
+)
+public class BridgeMergeRename extends AbstractVisitor {
+	private static final String RENAME_REASON = "merged with bridge method [inline-methods]";
+
+	/**
+	 * Prefer not changed names, then any stable choice
+	 */
+	private static final Comparator<MethodNode> ALIAS_CMP = Comparator
+			.comparing((MethodNode m) -> !m.getAlias().equals(m.getName()))
+			.thenComparing(MethodNode::getAlias);
+
+	private final Map<MethodNode, MethodNode> parents = new HashMap<>();
+
+	@Override
+	public String getName() {
+		return "BridgeMergeRename";
+	}
+
+	@Override
+	public void init(RootNode root) {
+		if (!root.getArgs().isInlineMethods()) {
+			return;
+		}
+		Set<MethodNode> wrappedMethods = new HashSet<>();
+		List<MethodNode> renameCandidates = new ArrayList<>();
+		for (ClassNode cls : root.getClasses()) {
+			for (MethodNode mth : cls.getMethods()) {
+				MethodNode wrappedMth = searchWrappedMethod(mth);
+				if (wrappedMth != null) {
+					mth.addAttr(new MethodBridgeMergeAttr(wrappedMth));
+					union(mth, wrappedMth);
+					wrappedMethods.addAll(getRelatedMethods(wrappedMth));
+					renameCandidates.add(wrappedMth);
+				}
+			}
+		}
+		if (renameCandidates.isEmpty()) {
+			return;
+		}
+		Map<MethodNode, List<MethodNode>> groups = new HashMap<>();
+		for (MethodNode mth : parents.keySet()) {
+			groups.computeIfAbsent(find(mth), k -> new ArrayList<>()).add(mth);
+		}
+		Map<MethodNode, String> prevAliases = new HashMap<>(renameCandidates.size());
+		for (MethodNode mth : renameCandidates) {
+			prevAliases.put(mth, mth.getAlias());
+		}
+		for (List<MethodNode> group : groups.values()) {
+			String alias = selectAlias(group, wrappedMethods);
+			for (MethodNode mth : group) {
+				if (!mth.getAlias().equals(alias)) {
+					mth.getMethodInfo().setAlias(alias);
+				}
+			}
+		}
+		for (MethodNode mth : renameCandidates) {
+			if (!mth.getAlias().equals(prevAliases.get(mth))) {
+				RenameReasonAttr.forNode(mth).append(RENAME_REASON);
+			}
+		}
+		parents.clear();
+	}
+
+	/**
+	 * Use name from top wrapper (not wrapped by other methods)
+	 */
+	private static String selectAlias(List<MethodNode> group, Set<MethodNode> wrappedMethods) {
+		MethodNode best = null;
+		for (MethodNode mth : group) {
+			if (!wrappedMethods.contains(mth) && (best == null || ALIAS_CMP.compare(mth, best) < 0)) {
+				best = mth;
+			}
+		}
+		if (best == null) {
+			for (MethodNode mth : group) {
+				if (best == null || ALIAS_CMP.compare(mth, best) < 0) {
+					best = mth;
+				}
+			}
+		}
+		return best.getAlias();
+	}
+
+	private void union(MethodNode wrapperMth, MethodNode wrappedMth) {
+		MethodNode root = find(wrapperMth);
+		for (MethodNode mth : getRelatedMethods(wrapperMth)) {
+			link(root, mth);
+		}
+		for (MethodNode mth : getRelatedMethods(wrappedMth)) {
+			link(root, mth);
+		}
+	}
+
+	private void link(MethodNode root, MethodNode mth) {
+		MethodNode mthRoot = find(mth);
+		if (mthRoot != root) {
+			parents.put(mthRoot, root);
+		}
+	}
+
+	private MethodNode find(MethodNode mth) {
+		MethodNode parent = parents.putIfAbsent(mth, mth);
+		if (parent == null || parent == mth) {
+			return mth;
+		}
+		MethodNode root = find(parent);
+		if (root != parent) {
+			parents.put(mth, root);
+		}
+		return root;
+	}
+
+	/**
+	 * Methods renamed together, same as in {@link MethodNode#rename(String)}
+	 */
+	private static Set<MethodNode> getRelatedMethods(MethodNode mth) {
+		MethodOverrideAttr overrideAttr = mth.get(AType.METHOD_OVERRIDE);
+		if (overrideAttr != null) {
+			return overrideAttr.getRelatedMthNodes();
+		}
+		return Set.of(mth);
+	}
+
+	private static @Nullable MethodNode searchWrappedMethod(MethodNode mth) {
+		if (mth.isNoCode() || mth.contains(AFlag.DONT_GENERATE) || !mth.getAccessFlags().isSynthetic()) {
+			return null;
+		}
+		try {
+			return getWrappedMethod(mth);
+		} catch (Exception e) {
+			mth.addWarnComment("Synthetic wrapper check failed", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Search method from same class called by wrapper with wrapper args in same order,
+	 * allowed only moves, casts to called method arg types and return of invoke result.
+	 */
+	private static @Nullable MethodNode getWrappedMethod(MethodNode mth) {
+		ICodeReader codeReader = mth.getCodeReader();
+		if (codeReader == null || !codeReader.getTries().isEmpty() || mth.getAccessFlags().isStatic()) {
+			return null;
+		}
+		WrapperInsnsCheck check = new WrapperInsnsCheck(mth, codeReader);
+		codeReader.visitInstructions(check);
+		MethodInfo callMth = check.getCallMth();
+		if (callMth == null) {
+			return null;
+		}
+		MethodNode wrappedMth = mth.root().resolveMethod(callMth);
+		if (wrappedMth == null
+				|| wrappedMth == mth
+				|| wrappedMth.getAccessFlags().isStatic()
+				|| !mth.getParentClass().equals(wrappedMth.getParentClass())) {
+			return null;
+		}
+		return wrappedMth;
+	}
+
+	/**
+	 * Track values of wrapper registers: allow only one invoke with 'this' instance and
+	 * wrapper args in same order (with optional cast to called method arg type),
+	 * moves of these values and return of invoke result.
+	 */
+	private static final class WrapperInsnsCheck implements Consumer<InsnData> {
+		private static final int THIS_VALUE = -1;
+		private static final int RESULT_VALUE = -2;
+
+		private final MethodInfo wrapperMth;
+		private final RootNode root;
+		/**
+		 * Register to value: wrapper arg index or special value
+		 */
+		private final Map<Integer, Integer> regValues = new HashMap<>();
+		/**
+		 * Register to type from check cast applied to arg value
+		 */
+		private final Map<Integer, ArgType> regCasts = new HashMap<>();
+
+		private @Nullable MethodInfo callMth;
+		private int invokesCount;
+		private boolean returnFound;
+		private boolean unexpectedInsn;
+
+		WrapperInsnsCheck(MethodNode mth, ICodeReader codeReader) {
+			this.wrapperMth = mth.getMethodInfo();
+			this.root = mth.root();
+			List<ArgType> argTypes = wrapperMth.getArgumentsTypes();
+			int pos = codeReader.getArgsStartReg();
+			if (pos == -1) {
+				pos = codeReader.getRegistersCount() - 1;
+				for (ArgType argType : argTypes) {
+					pos -= argType.getRegCount();
+				}
+			}
+			regValues.put(pos++, THIS_VALUE);
+			for (int i = 0; i < argTypes.size(); i++) {
+				regValues.put(pos, i);
+				pos += argTypes.get(i).getRegCount();
+			}
+		}
+
+		@Override
+		public void accept(InsnData insn) {
+			if (unexpectedInsn) {
+				return;
+			}
+			switch (insn.getOpcode()) {
+				case NOP:
+					break;
+
+				case MOVE:
+				case MOVE_OBJECT:
+				case MOVE_WIDE:
+					insn.decode();
+					copyValue(insn.getReg(1), insn.getReg(0));
+					break;
+
+				case CHECK_CAST:
+					insn.decode();
+					processCast(insn);
+					break;
+
+				case MOVE_RESULT:
+					insn.decode();
+					if (callMth == null) {
+						unexpectedInsn = true;
+					} else {
+						setValue(insn.getReg(0), RESULT_VALUE, null);
+					}
+					break;
+
+				case RETURN:
+					insn.decode();
+					Integer retValue = regValues.get(insn.getReg(0));
+					if (retValue == null || retValue != RESULT_VALUE) {
+						unexpectedInsn = true;
+					}
+					returnFound = true;
+					break;
+
+				case RETURN_VOID:
+					returnFound = true;
+					break;
+
+				case INVOKE_DIRECT:
+				case INVOKE_INTERFACE:
+				case INVOKE_VIRTUAL:
+				case INVOKE_SPECIAL:
+					insn.decode();
+					processInvoke(insn, false);
+					break;
+
+				case INVOKE_DIRECT_RANGE:
+				case INVOKE_INTERFACE_RANGE:
+				case INVOKE_VIRTUAL_RANGE:
+					insn.decode();
+					processInvoke(insn, true);
+					break;
+
+				default:
+					unexpectedInsn = true;
+					break;
+			}
+		}
+
+		private void processCast(InsnData insn) {
+			int srcReg = insn.getReg(insn.getRegsCount() == 2 ? 1 : 0);
+			Integer value = regValues.get(srcReg);
+			if (value == null || value < 0 || regCasts.containsKey(srcReg)) {
+				// only single cast of wrapper arg allowed
+				unexpectedInsn = true;
+				return;
+			}
+			setValue(insn.getReg(0), value, ArgType.parse(insn.getIndexAsType()));
+		}
+
+		private void processInvoke(InsnData insn, boolean isRange) {
+			IMethodRef mthRef = InsnDataUtils.getMethodRef(insn);
+			if (mthRef == null || ++invokesCount != 1) {
+				unexpectedInsn = true;
+				return;
+			}
+			MethodInfo mthInfo = MethodInfo.fromRef(root, mthRef);
+			List<ArgType> callArgTypes = mthInfo.getArgumentsTypes();
+			List<ArgType> wrapperArgTypes = wrapperMth.getArgumentsTypes();
+			if (callArgTypes.size() != wrapperArgTypes.size()
+					|| mthInfo.getReturnType().isVoid() != wrapperMth.getReturnType().isVoid()) {
+				unexpectedInsn = true;
+				return;
+			}
+			// same registers order as in InvokeNode
+			int k = isRange ? insn.getReg(0) : 0;
+			int instReg = isRange ? k : insn.getReg(k);
+			if (!checkValue(instReg, THIS_VALUE) || regCasts.containsKey(instReg)) {
+				unexpectedInsn = true;
+				return;
+			}
+			k++;
+			for (int i = 0; i < callArgTypes.size(); i++) {
+				ArgType callArgType = callArgTypes.get(i);
+				int reg = isRange ? k : insn.getReg(k);
+				if (!checkValue(reg, i) || !checkArgType(wrapperArgTypes.get(i), regCasts.get(reg), callArgType)) {
+					unexpectedInsn = true;
+					return;
+				}
+				k += callArgType.getRegCount();
+			}
+			callMth = mthInfo;
+			int resultReg = insn.getResultReg();
+			if (resultReg != -1) {
+				setValue(resultReg, RESULT_VALUE, null);
+			}
+		}
+
+		private static boolean checkArgType(ArgType wrapperArgType, @Nullable ArgType castType, ArgType callArgType) {
+			if (castType != null) {
+				return castType.equals(callArgType);
+			}
+			if (wrapperArgType.isPrimitive() || callArgType.isPrimitive()) {
+				return wrapperArgType.equals(callArgType);
+			}
+			return true;
+		}
+
+		private boolean checkValue(int reg, int expectedValue) {
+			Integer value = regValues.get(reg);
+			return value != null && value == expectedValue;
+		}
+
+		private void copyValue(int srcReg, int dstReg) {
+			setValue(dstReg, regValues.get(srcReg), regCasts.get(srcReg));
+		}
+
+		private void setValue(int reg, @Nullable Integer value, @Nullable ArgType castType) {
+			if (value == null) {
+				regValues.remove(reg);
+			} else {
+				regValues.put(reg, value);
+			}
+			if (castType == null) {
+				regCasts.remove(reg);
+			} else {
+				regCasts.put(reg, castType);
+			}
+		}
+
+		public @Nullable MethodInfo getCallMth() {
+			if (unexpectedInsn || invokesCount != 1 || !returnFound) {
+				return null;
+			}
+			return callMth;
+		}
+	}
+}
@@ -24,6 +24,7 @@
 import jadx.core.utils.BlockUtils;
 import jadx.core.utils.InsnList;
 import jadx.core.utils.InsnRemover;
+import jadx.core.utils.ProcessTimeLimits;
 import jadx.core.utils.RegionUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
@@ -45,6 +46,7 @@ public static void shrinkMethod(MethodNode mth) {
 		}
 		mth.remove(AFlag.REQUEST_CODE_SHRINK);
 		for (BlockNode block : mth.getBasicBlocks()) {
+			ProcessTimeLimits.check();
 			shrinkBlock(mth, block);
 			simplifyMoveInsns(mth, block);
 		}
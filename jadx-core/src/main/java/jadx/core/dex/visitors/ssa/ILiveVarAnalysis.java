@@ -0,0 +1,22 @@
+package jadx.core.dex.visitors.ssa;
+
+import java.util.BitSet;
+
+/**
+ * Registers liveness info used for phi placement
+ */
+public interface ILiveVarAnalysis {
+
+	void runAnalysis();
+
+	/**
+	 * Blocks with assign of register.
+	 * Returned set can be reused by implementation, so it is valid only until query for other register.
+	 */
+	BitSet getAssignBlocks(int regNum);
+
+	/**
+	 * Check if register is live at block start
+	 */
+	boolean isLive(int blockId, int regNum);
+}
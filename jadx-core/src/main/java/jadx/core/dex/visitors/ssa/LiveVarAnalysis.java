@@ -13,10 +13,11 @@
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
-public class LiveVarAnalysis {
+public class LiveVarAnalysis implements ILiveVarAnalysis {
 	private static final Logger LOG = LoggerFactory.getLogger(LiveVarAnalysis.class);
 
-	private final MethodNode mth;
+	private final List<BlockNode> blocks;
+	private final int regsCount;
 
 	private BitSet[] uses;
 	private BitSet[] defs;
@@ -24,12 +25,17 @@ public class LiveVarAnalysis {
 	private BitSet[] assignBlocks;
 
 	public LiveVarAnalysis(MethodNode mth) {
-		this.mth = mth;
+		this(mth.getBasicBlocks(), mth.getRegsCount());
 	}
 
+	LiveVarAnalysis(List<BlockNode> blocks, int regsCount) {
+		this.blocks = blocks;
+		this.regsCount = regsCount;
+	}
+
+	@Override
 	public void runAnalysis() {
-		int bbCount = mth.getBasicBlocks().size();
-		int regsCount = mth.getRegsCount();
+		int bbCount = blocks.size();
 		this.uses = initBitSetArray(bbCount, regsCount);
 		this.defs = initBitSetArray(bbCount, regsCount);
 		this.assignBlocks = initBitSetArray(regsCount, bbCount);
@@ -37,10 +43,12 @@ public void runAnalysis() {
 		processLiveInfo();
 	}
 
+	@Override
 	public BitSet getAssignBlocks(int regNum) {
 		return assignBlocks[regNum];
 	}
 
+	@Override
 	public boolean isLive(int blockId, int regNum) {
 		if (blockId >= liveIn.length) {
 			LOG.warn("LiveVarAnalysis: out of bounds block: {}, max: {}", blockId, liveIn.length);
@@ -54,7 +62,7 @@ public boolean isLive(BlockNode block, int regNum) {
 	}
 
 	private void fillBasicBlockInfo() {
-		for (BlockNode block : mth.getBasicBlocks()) {
+		for (BlockNode block : blocks) {
 			int blockId = block.getId();
 			BitSet gen = uses[blockId];
 			BitSet kill = defs[blockId];
@@ -78,10 +86,8 @@ private void fillBasicBlockInfo() {
 	}
 
 	private void processLiveInfo() {
-		int bbCount = mth.getBasicBlocks().size();
-		int regsCount = mth.getRegsCount();
+		int bbCount = blocks.size();
 		BitSet[] liveInBlocks = initBitSetArray(bbCount, regsCount);
-		List<BlockNode> blocks = mth.getBasicBlocks();
 		int blocksCount = blocks.size();
 		int iterationsLimit = blocksCount * 10;
 		boolean changed;
@@ -36,6 +36,11 @@
 )
 public class SSATransform extends AbstractVisitor {
 
+	/**
+	 * Use sparse live variable analysis if 'blocks * registers' is bigger
+	 */
+	private static final long SPARSE_LIVE_VARS_THRESHOLD = 1_000_000;
+
 	@Override
 	public void visit(MethodNode mth) throws JadxException {
 		if (mth.isNoCode()) {
@@ -48,7 +53,7 @@ private static void process(MethodNode mth) {
 		if (!mth.getSVars().isEmpty()) {
 			return;
 		}
-		LiveVarAnalysis la = new LiveVarAnalysis(mth);
+		ILiveVarAnalysis la = buildLiveVarAnalysis(mth);
 		la.runAnalysis();
 		int regsCount = mth.getRegsCount();
 		for (int i = 0; i < regsCount; i++) {
@@ -63,7 +68,15 @@ private static void process(MethodNode mth) {
 		removeUnusedInvokeResults(mth);
 	}
 
-	private static void placePhi(MethodNode mth, int regNum, LiveVarAnalysis la) {
+	private static ILiveVarAnalysis buildLiveVarAnalysis(MethodNode mth) {
+		long size = (long) mth.getBasicBlocks().size() * mth.getRegsCount();
+		if (size > SPARSE_LIVE_VARS_THRESHOLD) {
+			return new SparseLiveVarAnalysis(mth);
+		}
+		return new LiveVarAnalysis(mth);
+	}
+
+	private static void placePhi(MethodNode mth, int regNum, ILiveVarAnalysis la) {
 		List<BlockNode> blocks = mth.getBasicBlocks();
 		int blocksCount = blocks.size();
 		BitSet hasPhi = new BitSet(blocksCount);
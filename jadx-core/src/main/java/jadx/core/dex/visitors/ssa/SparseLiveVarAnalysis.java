@@ -0,0 +1,176 @@
+package jadx.core.dex.visitors.ssa;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.instructions.args.RegisterArg;
+import jadx.core.dex.nodes.BlockNode;
+import jadx.core.dex.nodes.InsnNode;
+import jadx.core.dex.nodes.MethodNode;
+
+/**
+ * Live variable analysis for methods with many blocks and registers.
+ * <br>
+ * Store only blocks lists with uses and assigns for each register,
+ * live blocks calculated on request by backward worklist from uses (one register at a time).
+ * Registers without uses before assign in the same block are not live in any block and skipped.
+ * <br>
+ * Results are the same as in {@link LiveVarAnalysis},
+ * but memory usage depends on instructions count instead of 'blocks * registers'.
+ */
+public class SparseLiveVarAnalysis implements ILiveVarAnalysis {
+	private static final int[] EMPTY = new int[0];
+
+	private final List<BlockNode> blocks;
+	private final int regsCount;
+
+	/**
+	 * Blocks ids with register use before assign (upward exposed use)
+	 */
+	private int[][] useBlocks;
+	private int[] useCount;
+	/**
+	 * Blocks ids with register assign
+	 */
+	private int[][] assignBlocks;
+	private int[] assignCount;
+
+	private int currentReg = -1;
+	private BitSet currentAssigns;
+	private BitSet currentLive;
+	private int[] workList;
+
+	public SparseLiveVarAnalysis(MethodNode mth) {
+		this(mth.getBasicBlocks(), mth.getRegsCount());
+	}
+
+	SparseLiveVarAnalysis(List<BlockNode> blocks, int regsCount) {
+		this.blocks = blocks;
+		this.regsCount = regsCount;
+	}
+
+	@Override
+	public void runAnalysis() {
+		int blocksCount = blocks.size();
+		this.useBlocks = new int[regsCount][];
+		this.useCount = new int[regsCount];
+		this.assignBlocks = new int[regsCount][];
+		this.assignCount = new int[regsCount];
+		Arrays.fill(useBlocks, EMPTY);
+		Arrays.fill(assignBlocks, EMPTY);
+		this.currentReg = -1;
+		this.currentAssigns = new BitSet(blocksCount);
+		this.currentLive = new BitSet(blocksCount);
+		this.workList = new int[blocksCount];
+		fillBasicBlockInfo();
+	}
+
+	private void fillBasicBlockInfo() {
+		// per block sets, cleared after each block
+		BitSet used = new BitSet(regsCount);
+		BitSet assigned = new BitSet(regsCount);
+		for (BlockNode block : blocks) {
+			int blockId = block.getId();
+			List<InsnNode> insns = block.getInstructions();
+			for (InsnNode insn : insns) {
+				for (InsnArg arg : insn.getArguments()) {
+					if (arg.isRegister()) {
+						int regNum = ((RegisterArg) arg).getRegNum();
+						if (!assigned.get(regNum) && !used.get(regNum)) {
+							used.set(regNum);
+							addUse(regNum, blockId);
+						}
+					}
+				}
+				RegisterArg result = insn.getResult();
+				if (result != null) {
+					int regNum = result.getRegNum();
+					if (!assigned.get(regNum)) {
+						assigned.set(regNum);
+						addAssign(regNum, blockId);
+					}
+				}
+			}
+			for (InsnNode insn : insns) {
+				for (InsnArg arg : insn.getArguments()) {
+					if (arg.isRegister()) {
+						used.clear(((RegisterArg) arg).getRegNum());
+					}
+				}
+				RegisterArg result = insn.getResult();
+				if (result != null) {
+					assigned.clear(result.getRegNum());
+				}
+			}
+		}
+	}
+
+	private void addUse(int regNum, int blockId) {
+		int count = useCount[regNum];
+		int[] arr = useBlocks[regNum];
+		if (count == arr.length) {
+			arr = Arrays.copyOf(arr, Math.max(4, count * 2));
+			useBlocks[regNum] = arr;
+		}
+		arr[count] = blockId;
+		useCount[regNum] = count + 1;
+	}
+
+	private void addAssign(int regNum, int blockId) {
+		int count = assignCount[regNum];
+		int[] arr = assignBlocks[regNum];
+		if (count == arr.length) {
+			arr = Arrays.copyOf(arr, Math.max(4, count * 2));
+			assignBlocks[regNum] = arr;
+		}
+		arr[count] = blockId;
+		assignCount[regNum] = count + 1;
+	}
+
+	@Override
+	public BitSet getAssignBlocks(int regNum) {
+		selectReg(regNum);
+		return currentAssigns;
+	}
+
+	@Override
+	public boolean isLive(int blockId, int regNum) {
+		selectReg(regNum);
+		return currentLive.get(blockId);
+	}
+
+	private void selectReg(int regNum) {
+		if (currentReg == regNum) {
+			return;
+		}
+		currentReg = regNum;
+		BitSet assigns = currentAssigns;
+		assigns.clear();
+		int[] assignArr = assignBlocks[regNum];
+		for (int i = 0, count = assignCount[regNum]; i < count; i++) {
+			assigns.set(assignArr[i]);
+		}
+		BitSet live = currentLive;
+		live.clear();
+		int[] stack = workList;
+		int top = 0;
+		int[] useArr = useBlocks[regNum];
+		for (int i = 0, count = useCount[regNum]; i < count; i++) {
+			int blockId = useArr[i];
+			live.set(blockId);
+			stack[top++] = blockId;
+		}
+		while (top != 0) {
+			BlockNode block = blocks.get(stack[--top]);
+			for (BlockNode pred : block.getPredecessors()) {
+				int predId = pred.getId();
+				if (!live.get(predId) && !assigns.get(predId)) {
+					live.set(predId);
+					stack[top++] = predId;
+				}
+			}
+		}
+	}
+}
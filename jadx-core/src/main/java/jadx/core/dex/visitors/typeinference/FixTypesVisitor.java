@@ -46,8 +46,10 @@
 import jadx.core.utils.InsnList;
 import jadx.core.utils.InsnUtils;
 import jadx.core.utils.ListUtils;
+import jadx.core.utils.ProcessTimeLimits;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxOverflowException;
+import jadx.core.utils.exceptions.JadxTimeoutException;
 
 @JadxVisitor(
 		name = "Fix Types Visitor",
@@ -91,6 +93,7 @@ public void visit(MethodNode mth) {
 		}
 		try {
 			for (Function<MethodNode, Boolean> resolver : resolvers) {
+				ProcessTimeLimits.check();
 				if (resolver.apply(mth) && checkTypes(mth)) {
 					break;
 				}
@@ -125,6 +128,8 @@ private boolean runMultiVariableSearch(MethodNode mth) {
 				}
 			}
 			return true;
+		} catch (JadxTimeoutException e) {
+			throw e;
 		} catch (Exception e) {
 			mth.addWarnComment("Multi-variable type inference failed. Error: " + Utils.getStackTrace(e));
 			return false;
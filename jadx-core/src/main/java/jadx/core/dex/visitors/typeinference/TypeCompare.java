@@ -33,11 +33,13 @@ public class TypeCompare {
 	private final RootNode root;
 	private final Comparator<ArgType> comparator;
 	private final Comparator<ArgType> reversedComparator;
+	private final TypeCompareCache cache;
 
 	public TypeCompare(RootNode root) {
 		this.root = root;
 		this.comparator = new ArgTypeComparator();
 		this.reversedComparator = comparator.reversed();
+		this.cache = new TypeCompareCache();
 	}
 
 	public TypeCompareEnum compareTypes(ClassNode first, ClassNode second) {
@@ -62,6 +64,22 @@ public TypeCompareEnum compareTypes(ArgType first, ArgType second) {
 		if (first == second || Objects.equals(first, second)) {
 			return TypeCompareEnum.EQUAL;
 		}
+		TypeCompareCache typeCache = this.cache;
+		int gen = typeCache.checkClsp(root.getClsp());
+		TypeCompareEnum cached = typeCache.get(first, second, gen);
+		if (cached != null) {
+			return cached;
+		}
+		TypeCompareEnum result = compareTypesNoCache(first, second);
+		// type variables are mutable (extend types can be changed), so results for them not cached,
+		// such types never stored, so check needed only on cache miss
+		if (!first.containsTypeVariable() && !second.containsTypeVariable()) {
+			typeCache.put(first, second, result, gen);
+		}
+		return result;
+	}
+
+	private TypeCompareEnum compareTypesNoCache(ArgType first, ArgType second) {
 		boolean firstKnown = first.isTypeKnown();
 		boolean secondKnown = second.isTypeKnown();
 		if (firstKnown != secondKnown) {
@@ -360,6 +378,10 @@ private byte getTypeWidth(PrimitiveType type) {
 		throw new JadxRuntimeException("Unhandled type: " + type);
 	}
 
+	public TypeCompareCache getCache() {
+		return cache;
+	}
+
 	public Comparator<ArgType> getComparator() {
 		return comparator;
 	}
@@ -0,0 +1,140 @@
+package jadx.core.dex.visitors.typeinference;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.clsp.ClspGraph;
+import jadx.core.dex.instructions.args.ArgType;
+
+/**
+ * Bounded cache for results of {@link TypeCompare#compareTypes(ArgType, ArgType)}.
+ * <br>
+ * Direct mapped table: each pair of types stored in slot selected by hash, collisions just replace old entry.
+ * Entries are immutable, so table can be used from many threads without locks.
+ * <br>
+ * Results depend on classes hierarchy, so entries are stamped with cache generation,
+ * which is changed on change of {@link ClspGraph} instance or version.
+ * Result computed before hierarchy change is stored with old generation and never returned.
+ */
+public final class TypeCompareCache {
+	private static final int DEFAULT_SIZE_BITS = 14;
+
+	private final AtomicReferenceArray<Entry> table;
+	private final int mask;
+
+	private final LongAdder hits = new LongAdder();
+	/**
+	 * Counted on put, so pairs which can't be cached are not included
+	 */
+	private final LongAdder misses = new LongAdder();
+
+	private volatile @Nullable ClspGraph clsp;
+	private volatile int clspVersion;
+	private volatile int generation;
+
+	public TypeCompareCache() {
+		this(DEFAULT_SIZE_BITS);
+	}
+
+	public TypeCompareCache(int sizeBits) {
+		int size = 1 << sizeBits;
+		this.table = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * @param gen cache generation from {@link #checkClsp(ClspGraph)}
+	 */
+	@Nullable
+	public TypeCompareEnum get(ArgType first, ArgType second, int gen) {
+		Entry entry = table.get(index(first, second));
+		if (entry != null && entry.gen == gen && entry.first.equals(first) && entry.second.equals(second)) {
+			hits.increment();
+			return entry.result;
+		}
+		return null;
+	}
+
+	/**
+	 * @param gen cache generation taken before result calculation
+	 */
+	public void put(ArgType first, ArgType second, TypeCompareEnum result, int gen) {
+		misses.increment();
+		table.lazySet(index(first, second), new Entry(first, second, result, gen));
+	}
+
+	/**
+	 * Start new generation if classes hierarchy changed since last check
+	 *
+	 * @return current cache generation
+	 */
+	public int checkClsp(@Nullable ClspGraph currentClsp) {
+		if (isClspChanged(currentClsp)) {
+			synchronized (this) {
+				if (isClspChanged(currentClsp)) {
+					generation++;
+					clspVersion = currentClsp == null ? 0 : currentClsp.getVersion();
+					clsp = currentClsp;
+				}
+			}
+		}
+		return generation;
+	}
+
+	private boolean isClspChanged(@Nullable ClspGraph currentClsp) {
+		return currentClsp != clsp || (currentClsp != null && currentClsp.getVersion() != clspVersion);
+	}
+
+	public void clear() {
+		for (int i = 0, len = table.length(); i < len; i++) {
+			table.set(i, null);
+		}
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public double getHitRate() {
+		long h = hits.sum();
+		long total = h + misses.sum();
+		return total == 0 ? 0 : (double) h / total;
+	}
+
+	public void resetStats() {
+		hits.reset();
+		misses.reset();
+	}
+
+	private int index(ArgType first, ArgType second) {
+		int h = first.hashCode() * 31 + second.hashCode();
+		h ^= h >>> 16;
+		return h & mask;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("TypeCompareCache{size=%d, hits=%d, misses=%d, hit rate=%.1f%%}",
+				table.length(), getHits(), getMisses(), getHitRate() * 100);
+	}
+
+	private static final class Entry {
+		private final ArgType first;
+		private final ArgType second;
+		private final TypeCompareEnum result;
+		private final int gen;
+
+		Entry(ArgType first, ArgType second, TypeCompareEnum result, int gen) {
+			this.first = first;
+			this.second = second;
+			this.result = result;
+			this.gen = gen;
+		}
+	}
+}
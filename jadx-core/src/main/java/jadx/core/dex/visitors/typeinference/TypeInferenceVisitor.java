@@ -38,6 +38,7 @@
 import jadx.core.dex.visitors.ConstInlineVisitor;
 import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.dex.visitors.ssa.SSATransform;
+import jadx.core.utils.ProcessTimeLimits;
 import jadx.core.utils.exceptions.JadxOverflowException;
 
 @JadxVisitor(
@@ -106,6 +107,7 @@ boolean runTypePropagation(MethodNode mth) {
 
 	private void setImmutableType(MethodNode mth, SSAVar ssaVar) {
 		try {
+			ProcessTimeLimits.check();
 			ArgType immutableType = ssaVar.getImmutableType();
 			if (immutableType != null) {
 				TypeUpdateResult result = typeUpdate.applyWithWiderIgnSame(mth, ssaVar, immutableType);
@@ -122,6 +124,7 @@ private void setImmutableType(MethodNode mth, SSAVar ssaVar) {
 
 	private void setBestType(MethodNode mth, SSAVar ssaVar) {
 		try {
+			ProcessTimeLimits.check();
 			calculateFromBounds(mth, ssaVar);
 		} catch (JadxOverflowException e) {
 			throw e;
@@ -29,14 +29,18 @@
  * Stages description:
  * - find all possible candidate types within bounds
  * - build dynamic constraint list for every variable
- * - run search by checking all candidates
+ * - run search by constraints propagation with backtracking (see {@link TypeSearchSolver})
  */
 public class TypeSearch {
 	private static final Logger LOG = LoggerFactory.getLogger(TypeSearch.class);
 
 	private static final int VARS_PROCESS_LIMIT = 5_000;
 	private static final int CANDIDATES_COUNT_LIMIT = 10;
-	private static final int SEARCH_ITERATION_LIMIT = 1_000_000;
+	/**
+	 * Solver steps limit. One step checks all constraints of assigned variable,
+	 * so it is much slower than one combination check in full enumeration.
+	 */
+	static final int SEARCH_ITERATION_LIMIT = 200_000;
 
 	private final MethodNode mth;
 	private final TypeSearchState state;
@@ -51,19 +55,11 @@ public TypeSearch(MethodNode mth) {
 	}
 
 	public boolean run() {
-		if (mth.getSVars().size() > VARS_PROCESS_LIMIT) {
-			mth.addWarnComment("Multi-variable search skipped. Vars limit reached: " + mth.getSVars().size()
-					+ " (expected less than " + VARS_PROCESS_LIMIT + ")");
+		List<TypeSearchVarInfo> vars = prepare();
+		if (vars == null) {
 			return false;
 		}
-		mth.getSVars().forEach(this::fillTypeCandidates);
-		mth.getSVars().forEach(this::collectConstraints);
-
-		// quick search for variables without dependencies
-		state.getUnresolvedVars().forEach(this::resolveIndependentVariables);
-
 		boolean searchSuccess;
-		List<TypeSearchVarInfo> vars = state.getUnresolvedVars();
 		if (vars.isEmpty()) {
 			searchSuccess = true;
 		} else {
@@ -78,6 +74,31 @@ public boolean run() {
 		return false;
 	}
 
+	/**
+	 * Collect candidates and constraints, resolve independent variables.
+	 *
+	 * @return variables for multi-variable search or null if method is too big
+	 */
+	@Nullable
+	List<TypeSearchVarInfo> prepare() {
+		if (mth.getSVars().size() > VARS_PROCESS_LIMIT) {
+			mth.addWarnComment("Multi-variable search skipped. Vars limit reached: " + mth.getSVars().size()
+					+ " (expected less than " + VARS_PROCESS_LIMIT + ")");
+			return null;
+		}
+		mth.getSVars().forEach(this::fillTypeCandidates);
+		mth.getSVars().forEach(this::collectConstraints);
+
+		// quick search for variables without dependencies
+		state.getUnresolvedVars().forEach(this::resolveIndependentVariables);
+
+		return state.getUnresolvedVars();
+	}
+
+	TypeSearchState getState() {
+		return state;
+	}
+
 	private boolean applyResolvedVars() {
 		List<TypeSearchVarInfo> resolvedVars = state.getResolvedVars();
 		List<TypeSearchVarInfo> updatedVars = new ArrayList<>();
@@ -122,43 +143,9 @@ private boolean search(List<TypeSearchVarInfo> vars) {
 			LOG.debug(" max iterations count = {}", sb);
 		}
 
-		// prepare vars
-		for (TypeSearchVarInfo var : vars) {
-			var.reset();
-		}
-		// check all types combinations
-		int n = 0;
-		int i = 0;
-		while (!fullCheck(vars)) {
-			TypeSearchVarInfo first = vars.get(i);
-			if (first.nextType()) {
-				int k = i + 1;
-				if (k >= len) {
-					return false;
-				}
-				TypeSearchVarInfo next = vars.get(k);
-				while (true) {
-					if (next.nextType()) {
-						k++;
-						if (k >= len) {
-							return false;
-						}
-						next = vars.get(k);
-					} else {
-						break;
-					}
-				}
-			}
-			n++;
-			if (n > SEARCH_ITERATION_LIMIT) {
-				if (Consts.DEBUG_TYPE_INFERENCE) {
-					LOG.debug(" > iterations limit reached: {}", SEARCH_ITERATION_LIMIT);
-				}
-				return false;
-			}
-		}
-		if (Consts.DEBUG_TYPE_INFERENCE) {
-			LOG.debug(" > done after {} iterations", n);
+		TypeSearchSolver solver = new TypeSearchSolver(state, vars, SEARCH_ITERATION_LIMIT);
+		if (!solver.solve()) {
+			return false;
 		}
 		// mark all vars as resolved
 		for (TypeSearchVarInfo var : vars) {
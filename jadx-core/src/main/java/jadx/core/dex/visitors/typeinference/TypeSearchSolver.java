@@ -0,0 +1,423 @@
+package jadx.core.dex.visitors.typeinference;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.Consts;
+import jadx.core.dex.instructions.args.SSAVar;
+import jadx.core.utils.ProcessTimeLimits;
+
+/**
+ * Constraint solver for multi-variable type search.
+ * <p>
+ * Stages:
+ * - remove candidates without support in constraints (generalized arc consistency)
+ * - search with forward checking and conflict-directed backjumping (FC-CBJ)
+ * <p>
+ * Variables assigned in reversed order and candidates checked in original order,
+ * so the first found solution is the same as in the plain enumeration of all combinations.
+ */
+final class TypeSearchSolver {
+	private static final Logger LOG = LoggerFactory.getLogger(TypeSearchSolver.class);
+
+	/**
+	 * Skip consistency check for constraint if variables combinations count is bigger.
+	 * Such constraint will be checked only in search.
+	 */
+	private static final int ARC_COMBINATIONS_LIMIT = 1_000;
+
+	private final TypeSearchState state;
+	private final int limit;
+	private final int count;
+	private final TypeSearchVarInfo[] vars;
+	private final Map<SSAVar, Integer> posMap;
+	private final List<Constraint> constraints = new ArrayList<>();
+	private final List<List<Constraint>> varConstraints;
+
+	/**
+	 * Candidates indexes available for each variable
+	 */
+	private final BitSet[] domains;
+	/**
+	 * Domains after consistency check, used as a start point for search
+	 */
+	private final BitSet[] initDomains;
+	/**
+	 * Candidate index assigned to variable, -1 for not assigned
+	 */
+	private final int[] values;
+	/**
+	 * Variables positions responsible for conflict in variable assign
+	 */
+	private final BitSet[] conflicts;
+	/**
+	 * Domain reductions applied to variable by forward check (stack)
+	 */
+	private final List<Deque<Reduction>> reductions;
+	/**
+	 * Variables positions reduced by variable assign
+	 */
+	private final List<List<Integer>> reducedVars;
+
+	private int steps;
+
+	TypeSearchSolver(TypeSearchState state, List<TypeSearchVarInfo> searchVars, int limit) {
+		this.state = state;
+		this.limit = limit;
+		this.count = searchVars.size();
+		this.vars = new TypeSearchVarInfo[count];
+		this.posMap = new HashMap<>(count);
+		this.domains = new BitSet[count];
+		this.initDomains = new BitSet[count];
+		this.values = new int[count];
+		this.conflicts = new BitSet[count];
+		this.reductions = new ArrayList<>(count);
+		this.reducedVars = new ArrayList<>(count);
+		this.varConstraints = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			TypeSearchVarInfo var = searchVars.get(count - 1 - i);
+			vars[i] = var;
+			posMap.put(var.getVar(), i);
+			BitSet domain = new BitSet();
+			domain.set(0, var.getCandidateTypes().size());
+			domains[i] = domain;
+			values[i] = -1;
+			conflicts[i] = new BitSet();
+			reductions.add(new ArrayDeque<>());
+			reducedVars.add(new ArrayList<>());
+			varConstraints.add(new ArrayList<>());
+		}
+		for (int i = 0; i < count; i++) {
+			for (ITypeConstraint typeConstraint : vars[i].getConstraints()) {
+				addConstraint(i, typeConstraint);
+			}
+		}
+	}
+
+	private void addConstraint(int owner, ITypeConstraint typeConstraint) {
+		BitSet scopeSet = new BitSet();
+		scopeSet.set(owner);
+		for (SSAVar relatedVar : typeConstraint.getRelatedVars()) {
+			Integer pos = posMap.get(relatedVar);
+			if (pos != null) {
+				scopeSet.set(pos);
+			}
+			// resolved variables have fixed type and not included in scope
+		}
+		Constraint constraint = new Constraint(typeConstraint, scopeSet.stream().toArray());
+		constraints.add(constraint);
+		for (int pos : constraint.scope) {
+			varConstraints.get(pos).add(constraint);
+		}
+	}
+
+	/**
+	 * @return true if solution found, variables current types will be set to solution
+	 */
+	boolean solve() {
+		if (!makeArcConsistent()) {
+			if (Consts.DEBUG_TYPE_INFERENCE) {
+				LOG.debug(" > no solution, empty domain after consistency check");
+			}
+			return false;
+		}
+		for (int i = 0; i < count; i++) {
+			initDomains[i] = (BitSet) domains[i].clone();
+		}
+		int i = 0;
+		while (i < count) {
+			if (label(i)) {
+				i++;
+			} else {
+				i = unlabel(i);
+				if (i < 0) {
+					if (Consts.DEBUG_TYPE_INFERENCE) {
+						LOG.debug(" > no solution, search space exhausted after {} steps", steps);
+					}
+					return false;
+				}
+			}
+			if (steps > limit) {
+				if (Consts.DEBUG_TYPE_INFERENCE) {
+					LOG.debug(" > steps limit reached: {}", limit);
+				}
+				return false;
+			}
+		}
+		if (Consts.DEBUG_TYPE_INFERENCE) {
+			LOG.debug(" > done after {} steps", steps);
+		}
+		return true;
+	}
+
+	int getSteps() {
+		return steps;
+	}
+
+	private boolean makeArcConsistent() {
+		Deque<Constraint> queue = new ArrayDeque<>(constraints);
+		for (Constraint constraint : constraints) {
+			constraint.queued = true;
+		}
+		while (!queue.isEmpty()) {
+			Constraint constraint = queue.poll();
+			constraint.queued = false;
+			if (combinationsCount(constraint) > ARC_COMBINATIONS_LIMIT) {
+				continue;
+			}
+			for (int pos : constraint.scope) {
+				if (revise(constraint, pos)) {
+					if (domains[pos].isEmpty()) {
+						return false;
+					}
+					for (Constraint related : varConstraints.get(pos)) {
+						if (!related.queued && related != constraint) {
+							related.queued = true;
+							queue.add(related);
+						}
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private long combinationsCount(Constraint constraint) {
+		long combinations = 1;
+		for (int pos : constraint.scope) {
+			combinations *= domains[pos].cardinality();
+		}
+		return combinations;
+	}
+
+	/**
+	 * Remove variable candidates without support in constraint
+	 *
+	 * @return true if domain changed
+	 */
+	private boolean revise(Constraint constraint, int pos) {
+		boolean changed = false;
+		BitSet domain = domains[pos];
+		for (int v = domain.nextSetBit(0); v >= 0; v = domain.nextSetBit(v + 1)) {
+			setType(pos, v);
+			if (!hasSupport(constraint, pos, 0)) {
+				domain.clear(v);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private boolean hasSupport(Constraint constraint, int fixedPos, int scopeIdx) {
+		int[] scope = constraint.scope;
+		if (scopeIdx == scope.length) {
+			return check(constraint);
+		}
+		int pos = scope[scopeIdx];
+		if (pos == fixedPos) {
+			return hasSupport(constraint, fixedPos, scopeIdx + 1);
+		}
+		BitSet domain = domains[pos];
+		for (int v = domain.nextSetBit(0); v >= 0; v = domain.nextSetBit(v + 1)) {
+			setType(pos, v);
+			if (hasSupport(constraint, fixedPos, scopeIdx + 1)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Assign next available candidate to variable
+	 *
+	 * @return false if all candidates rejected
+	 */
+	private boolean label(int i) {
+		BitSet domain = domains[i];
+		for (int v = domain.nextSetBit(0); v >= 0; v = domain.nextSetBit(0)) {
+			steps++;
+			if (steps % 1000 == 0) {
+				ProcessTimeLimits.check();
+			}
+			values[i] = v;
+			setType(i, v);
+			if (forwardCheck(i)) {
+				return true;
+			}
+			undoReductions(i);
+			domain.clear(v);
+		}
+		values[i] = -1;
+		return false;
+	}
+
+	/**
+	 * Check constraints with all assigned variables
+	 * and remove incompatible candidates for constraints with one not assigned variable.
+	 *
+	 * @return false if conflict found
+	 */
+	private boolean forwardCheck(int i) {
+		for (Constraint constraint : varConstraints.get(i)) {
+			int unassigned = -1;
+			boolean multiUnassigned = false;
+			for (int pos : constraint.scope) {
+				if (values[pos] == -1) {
+					if (unassigned != -1) {
+						multiUnassigned = true;
+						break;
+					}
+					unassigned = pos;
+				}
+			}
+			if (multiUnassigned) {
+				continue;
+			}
+			if (unassigned == -1) {
+				if (!check(constraint)) {
+					for (int pos : constraint.scope) {
+						conflicts[i].set(pos);
+					}
+					conflicts[i].clear(i);
+					return false;
+				}
+				continue;
+			}
+			if (!reduce(i, unassigned, constraint)) {
+				conflicts[i].or(getPastReductions(unassigned));
+				conflicts[i].clear(i);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Remove candidates of future variable rejected by constraint
+	 *
+	 * @return false if domain of future variable become empty
+	 */
+	private boolean reduce(int i, int future, Constraint constraint) {
+		BitSet domain = domains[future];
+		BitSet removed = null;
+		for (int v = domain.nextSetBit(0); v >= 0; v = domain.nextSetBit(v + 1)) {
+			setType(future, v);
+			if (!check(constraint)) {
+				if (removed == null) {
+					removed = new BitSet();
+				}
+				removed.set(v);
+			}
+		}
+		if (removed == null) {
+			return true;
+		}
+		domain.andNot(removed);
+		BitSet reasons = new BitSet();
+		for (int pos : constraint.scope) {
+			reasons.set(pos);
+		}
+		reasons.clear(future);
+		reductions.get(future).push(new Reduction(removed, reasons));
+		reducedVars.get(i).add(future);
+		return !domain.isEmpty();
+	}
+
+	/**
+	 * Step back to the latest variable responsible for conflict
+	 *
+	 * @return position of variable to reassign or -1 if no solution
+	 */
+	private int unlabel(int i) {
+		BitSet reasons = new BitSet();
+		reasons.or(conflicts[i]);
+		reasons.or(getPastReductions(i));
+		reasons.clear(i, count);
+		int h = reasons.previousSetBit(i - 1);
+		if (h < 0) {
+			return -1;
+		}
+		reasons.clear(h);
+		conflicts[h].or(reasons);
+		for (int j = i; j > h; j--) {
+			conflicts[j].clear();
+			undoReductions(j);
+			values[j] = -1;
+		}
+		undoReductions(h);
+		domains[h].clear(values[h]);
+		values[h] = -1;
+		for (int j = h + 1; j <= i; j++) {
+			resetDomain(j);
+		}
+		return h;
+	}
+
+	private BitSet getPastReductions(int pos) {
+		BitSet reasons = new BitSet();
+		for (Reduction reduction : reductions.get(pos)) {
+			reasons.or(reduction.reasons);
+		}
+		return reasons;
+	}
+
+	private void undoReductions(int i) {
+		List<Integer> reduced = reducedVars.get(i);
+		for (int k = reduced.size() - 1; k >= 0; k--) {
+			int pos = reduced.get(k);
+			Reduction reduction = reductions.get(pos).pop();
+			domains[pos].or(reduction.removed);
+		}
+		reduced.clear();
+	}
+
+	private void resetDomain(int pos) {
+		BitSet domain = domains[pos];
+		domain.clear();
+		domain.or(initDomains[pos]);
+		for (Reduction reduction : reductions.get(pos)) {
+			domain.andNot(reduction.removed);
+		}
+	}
+
+	private void setType(int pos, int candidateIdx) {
+		TypeSearchVarInfo var = vars[pos];
+		var.setCurrentType(var.getCandidateTypes().get(candidateIdx));
+	}
+
+	private boolean check(Constraint constraint) {
+		return constraint.typeConstraint.check(state);
+	}
+
+	private static final class Constraint {
+		private final ITypeConstraint typeConstraint;
+		/**
+		 * Positions of search variables used in constraint
+		 */
+		private final int[] scope;
+		private boolean queued;
+
+		private Constraint(ITypeConstraint typeConstraint, int[] scope) {
+			this.typeConstraint = typeConstraint;
+			this.scope = scope;
+		}
+	}
+
+	private static final class Reduction {
+		private final BitSet removed;
+		private final BitSet reasons;
+
+		private Reduction(BitSet removed, BitSet reasons) {
+			this.removed = removed;
+			this.reasons = reasons;
+		}
+	}
+}
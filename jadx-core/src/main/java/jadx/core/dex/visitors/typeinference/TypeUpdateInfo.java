@@ -13,6 +13,7 @@
 import jadx.core.dex.instructions.args.InsnArg;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.ListUtils;
+import jadx.core.utils.ProcessTimeLimits;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxOverflowException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
@@ -64,6 +65,7 @@ public void requestUpdate(InsnArg arg, ArgType changeType) {
 		if (updateSeq % 100 == 0) {
 			// check for interruption sometimes (every update is too often)
 			Utils.checkThreadInterrupt();
+			ProcessTimeLimits.check();
 		}
 	}
 
@@ -12,6 +12,8 @@
 import jadx.core.export.gen.AndroidGradleGenerator;
 import jadx.core.export.gen.IExportGradleGenerator;
 import jadx.core.export.gen.SimpleJavaGradleGenerator;
+import jadx.core.export.output.DirOutputWriter;
+import jadx.core.export.output.IOutputWriter;
 import jadx.core.utils.android.AndroidManifestParser;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
@@ -21,12 +23,18 @@ public class ExportGradle {
 	private final RootNode root;
 	private final File projectDir;
 	private final List<ResourceFile> resources;
+	private final IOutputWriter writer;
 	private IExportGradleGenerator generator;
 
 	public ExportGradle(RootNode root, File projectDir, List<ResourceFile> resources) {
+		this(root, projectDir, resources, new DirOutputWriter());
+	}
+
+	public ExportGradle(RootNode root, File projectDir, List<ResourceFile> resources, IOutputWriter writer) {
 		this.root = root;
 		this.projectDir = projectDir;
 		this.resources = resources;
+		this.writer = writer;
 	}
 
 	public OutDirs init() {
@@ -35,17 +43,17 @@ public OutDirs init() {
 		switch (exportType) {
 			case ANDROID_APP:
 			case ANDROID_LIBRARY:
-				generator = new AndroidGradleGenerator(root, projectDir, resources, exportType);
+				generator = new AndroidGradleGenerator(root, projectDir, resources, exportType, writer);
 				break;
 			case SIMPLE_JAVA:
-				generator = new SimpleJavaGradleGenerator(root, projectDir, resources);
+				generator = new SimpleJavaGradleGenerator(root, projectDir, resources, writer);
 				break;
 			default:
 				throw new JadxRuntimeException("Unexpected export type: " + exportType);
 		}
 		generator.init();
 		OutDirs outDirs = generator.getOutDirs();
-		outDirs.makeDirs();
+		outDirs.makeDirs(writer);
 		return outDirs;
 	}
 
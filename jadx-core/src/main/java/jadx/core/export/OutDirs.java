@@ -2,6 +2,7 @@
 
 import java.io.File;
 
+import jadx.core.export.output.IOutputWriter;
 import jadx.core.utils.files.FileUtils;
 
 public class OutDirs {
@@ -25,4 +26,9 @@ public void makeDirs() {
 		FileUtils.makeDirs(srcOutDir);
 		FileUtils.makeDirs(resOutDir);
 	}
+
+	public void makeDirs(IOutputWriter writer) {
+		writer.makeDirs(srcOutDir);
+		writer.makeDirs(resOutDir);
+	}
 }
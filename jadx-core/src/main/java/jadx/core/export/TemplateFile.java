@@ -4,7 +4,6 @@
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -13,6 +12,7 @@
 
 import org.jetbrains.annotations.Nullable;
 
+import jadx.core.export.output.IOutputWriter;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 /**
@@ -59,9 +59,10 @@ public String build() throws IOException {
 		}
 	}
 
-	public void save(File outFile) throws IOException {
-		try (OutputStream out = new FileOutputStream(outFile)) {
+	public void save(File outFile, IOutputWriter writer) throws IOException {
+		try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
 			process(out);
+			writer.write(outFile, out.toByteArray());
 		}
 	}
 
@@ -1,7 +1,6 @@
 package jadx.core.export.gen;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -20,6 +19,7 @@
 import jadx.core.export.GradleInfoStorage;
 import jadx.core.export.OutDirs;
 import jadx.core.export.TemplateFile;
+import jadx.core.export.output.IOutputWriter;
 import jadx.core.utils.Utils;
 import jadx.core.utils.android.AndroidManifestParser;
 import jadx.core.utils.android.AppAttribute;
@@ -35,16 +35,19 @@ public class AndroidGradleGenerator implements IExportGradleGenerator {
 	private final File projectDir;
 	private final List<ResourceFile> resources;
 	private final boolean exportApp;
+	private final IOutputWriter writer;
 
 	private OutDirs outDirs;
 	private File baseDir;
 	private ApplicationParams applicationParams;
 
-	public AndroidGradleGenerator(RootNode root, File projectDir, List<ResourceFile> resources, ExportGradleType exportType) {
+	public AndroidGradleGenerator(RootNode root, File projectDir, List<ResourceFile> resources,
+			ExportGradleType exportType, IOutputWriter writer) {
 		this.root = root;
 		this.projectDir = projectDir;
 		this.resources = resources;
 		this.exportApp = exportType == ExportGradleType.ANDROID_APP;
+		this.writer = writer;
 	}
 
 	@Override
@@ -127,15 +130,13 @@ private void saveGradleProperties() throws IOException {
 		 */
 		if (gradleInfo.isNonFinalResIds()) {
 			File gradlePropertiesFile = new File(projectDir, "gradle.properties");
-			try (FileOutputStream fos = new FileOutputStream(gradlePropertiesFile)) {
-				fos.write("android.nonFinalResIds=false".getBytes(StandardCharsets.UTF_8));
-			}
+			writer.write(gradlePropertiesFile, "android.nonFinalResIds=false".getBytes(StandardCharsets.UTF_8));
 		}
 	}
 
 	private void saveProjectBuildGradle() throws IOException {
 		TemplateFile tmpl = TemplateFile.fromResources("/export/android/build.gradle.tmpl");
-		tmpl.save(new File(projectDir, "build.gradle"));
+		tmpl.save(new File(projectDir, "build.gradle"), writer);
 	}
 
 	private void saveSettingsGradle() throws IOException {
@@ -149,7 +150,7 @@ private void saveSettingsGradle() throws IOException {
 		}
 		tmpl.add("projectName", projectName);
 		tmpl.add("mainModuleName", baseDir.getName());
-		tmpl.save(new File(projectDir, "settings.gradle"));
+		tmpl.save(new File(projectDir, "settings.gradle"), writer);
 	}
 
 	private void saveApplicationBuildGradle() throws IOException {
@@ -164,7 +165,7 @@ private void saveApplicationBuildGradle() throws IOException {
 		tmpl.add("versionCode", applicationParams.getVersionCode());
 		tmpl.add("versionName", applicationParams.getVersionName());
 		tmpl.add("additionalOptions", genAdditionalAndroidPluginOptions(minSdkVersion));
-		tmpl.save(new File(baseDir, "build.gradle"));
+		tmpl.save(new File(baseDir, "build.gradle"), writer);
 	}
 
 	private void saveLibraryBuildGradle() throws IOException {
@@ -177,7 +178,7 @@ private void saveLibraryBuildGradle() throws IOException {
 		tmpl.add("compileSdkVersion", applicationParams.getCompileSdkVersion());
 		tmpl.add("additionalOptions", genAdditionalAndroidPluginOptions(minSdkVersion));
 
-		tmpl.save(new File(baseDir, "build.gradle"));
+		tmpl.save(new File(baseDir, "build.gradle"), writer);
 	}
 
 	private String genAdditionalAndroidPluginOptions(int minSdkVersion) {
@@ -8,20 +8,23 @@
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.export.OutDirs;
 import jadx.core.export.TemplateFile;
+import jadx.core.export.output.IOutputWriter;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 public class SimpleJavaGradleGenerator implements IExportGradleGenerator {
 	private final RootNode root;
 	private final File projectDir;
 	private final List<ResourceFile> resources;
+	private final IOutputWriter writer;
 
 	private OutDirs outDirs;
 	private File appDir;
 
-	public SimpleJavaGradleGenerator(RootNode root, File projectDir, List<ResourceFile> resources) {
+	public SimpleJavaGradleGenerator(RootNode root, File projectDir, List<ResourceFile> resources, IOutputWriter writer) {
 		this.root = root;
 		this.projectDir = projectDir;
 		this.resources = resources;
+		this.writer = writer;
 	}
 
 	@Override
@@ -45,12 +48,12 @@ public void generateFiles() {
 	private void saveSettingsGradle() throws IOException {
 		TemplateFile tmpl = TemplateFile.fromResources("/export/java/settings.gradle.kts.tmpl");
 		tmpl.add("projectName", GradleGeneratorTools.guessProjectName(root));
-		tmpl.save(new File(projectDir, "settings.gradle.kts"));
+		tmpl.save(new File(projectDir, "settings.gradle.kts"), writer);
 	}
 
 	private void saveBuildGradle() throws IOException {
 		TemplateFile tmpl = TemplateFile.fromResources("/export/java/build.gradle.kts.tmpl");
-		tmpl.save(new File(appDir, "build.gradle.kts"));
+		tmpl.save(new File(appDir, "build.gradle.kts"), writer);
 	}
 
 	@Override
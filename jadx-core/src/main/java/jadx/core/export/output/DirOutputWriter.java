@@ -0,0 +1,44 @@
+package jadx.core.export.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Save every file directly into filesystem
+ */
+public class DirOutputWriter implements IOutputWriter {
+
+	@Override
+	public void write(File file, byte[] data) throws IOException {
+		FileUtils.makeDirsForFile(file);
+		Files.write(file.toPath(), data);
+	}
+
+	@Override
+	public void write(File file, InputStream in) throws IOException {
+		FileUtils.makeDirsForFile(file);
+		Path target = file.toPath();
+		try {
+			Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+		} catch (Exception e) {
+			Files.deleteIfExists(target); // delete partially written file
+			throw e;
+		}
+	}
+
+	@Override
+	public void makeDirs(File dir) {
+		FileUtils.makeDirs(dir);
+	}
+
+	@Override
+	public void close() throws IOException {
+		// nothing to close
+	}
+}
@@ -0,0 +1,49 @@
+package jadx.core.export.output;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Destination for saved sources and resources.
+ * Files identified by paths in output directories, implementation decide where to put content.
+ * <br>
+ * Methods can be called concurrently from several threads.
+ */
+public interface IOutputWriter extends Closeable {
+
+	void write(File file, byte[] data) throws IOException;
+
+	void write(File file, InputStream in) throws IOException;
+
+	/**
+	 * Create output directory if needed
+	 */
+	void makeDirs(File dir);
+
+	/**
+	 * Register output directory used by current save.
+	 * {@code saved} is false if directory content not written in this save (like resources on sources only save).
+	 */
+	default void addOutputDir(File dir, boolean saved) {
+	}
+
+	/**
+	 * Called if save of file (or all files in directory) failed, and previous content should be kept
+	 */
+	default void markFailed(File file) {
+	}
+
+	/**
+	 * Called before {@link #close()} if save was interrupted and not all files were written
+	 */
+	default void markIncomplete() {
+	}
+
+	/**
+	 * Flush all pending writes and release resources
+	 */
+	@Override
+	void close() throws IOException;
+}
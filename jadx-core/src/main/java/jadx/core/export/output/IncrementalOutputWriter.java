@@ -0,0 +1,296 @@
+package jadx.core.export.output;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Save files into directories, but skip files with unchanged content.
+ * <br>
+ * Content hashes of saved files stored in manifest file in root output directory.
+ * Files from previous save not written in current one can be deleted,
+ * only files listed in manifest are deleted, so other files in output directory are not touched.
+ * Deletion limited to output directories saved in current run (all root directory if none registered),
+ * files with failed save are kept.
+ */
+public class IncrementalOutputWriter extends DirOutputWriter {
+	private static final Logger LOG = LoggerFactory.getLogger(IncrementalOutputWriter.class);
+
+	private static final String MANIFEST_HEADER = "# jadx output manifest, format: <md5> <size> <path>";
+
+	private final Path rootDir;
+	private final Path manifestFile;
+	private final boolean deleteStale;
+	private final Map<String, FileState> prevFiles;
+	private final Map<String, FileState> savedFiles = new ConcurrentHashMap<>();
+	private final Map<String, Boolean> outputDirs = new ConcurrentHashMap<>();
+	private final Set<String> failedPaths = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger writtenCount = new AtomicInteger(0);
+	private final AtomicInteger unchangedCount = new AtomicInteger(0);
+	private volatile boolean complete = true;
+
+	public IncrementalOutputWriter(File rootDir, String manifestName, boolean deleteStale) {
+		this.rootDir = rootDir.toPath().toAbsolutePath().normalize();
+		this.manifestFile = this.rootDir.resolve(manifestName);
+		this.deleteStale = deleteStale;
+		this.prevFiles = loadManifest();
+	}
+
+	@Override
+	public void write(File file, byte[] data) throws IOException {
+		String path = getRelativePath(file);
+		if (path == null) {
+			// not tracked
+			super.write(file, data);
+			return;
+		}
+		FileState state = new FileState(FileUtils.md5Sum(data), data.length);
+		if (state.equals(prevFiles.get(path)) && file.isFile() && file.length() == data.length) {
+			unchangedCount.incrementAndGet();
+		} else {
+			try {
+				super.write(file, data);
+			} catch (IOException e) {
+				failedPaths.add(path);
+				throw e;
+			}
+			writtenCount.incrementAndGet();
+		}
+		savedFiles.put(path, state);
+	}
+
+	@Override
+	public void write(File file, InputStream in) throws IOException {
+		byte[] data;
+		try {
+			data = in.readAllBytes();
+		} catch (IOException e) {
+			markFailed(file);
+			throw e;
+		}
+		write(file, data);
+	}
+
+	@Override
+	public void addOutputDir(File dir, boolean saved) {
+		String path = getRelativePath(dir);
+		if (path == null) {
+			// files outside of root directory not tracked
+			return;
+		}
+		// same directory used for several outputs: saved only if all outputs saved
+		outputDirs.merge(path, saved, Boolean::logicalAnd);
+	}
+
+	@Override
+	public void markFailed(File file) {
+		String path = getRelativePath(file);
+		if (path != null) {
+			failedPaths.add(path);
+		}
+	}
+
+	@Override
+	public void markIncomplete() {
+		complete = false;
+	}
+
+	@Override
+	public void close() throws IOException {
+		Map<String, FileState> manifest = new TreeMap<>(savedFiles);
+		int deletedCount = 0;
+		for (Map.Entry<String, FileState> entry : prevFiles.entrySet()) {
+			String path = entry.getKey();
+			if (savedFiles.containsKey(path)) {
+				continue;
+			}
+			if (deleteStale && complete && isSavedDir(path) && !isFailed(path)) {
+				deleteFile(rootDir.resolve(path));
+				deletedCount++;
+			} else {
+				// file still in output dir, keep tracking
+				manifest.put(path, entry.getValue());
+			}
+		}
+		saveManifest(manifest);
+		LOG.info("Incremental save: {} files written, {} unchanged, {} deleted",
+				writtenCount.get(), unchangedCount.get(), deletedCount);
+	}
+
+	/**
+	 * Check if path is inside of output directory saved in current run, the nearest registered directory used
+	 */
+	private boolean isSavedDir(String path) {
+		if (outputDirs.isEmpty()) {
+			return true;
+		}
+		String dir = null;
+		for (String outDir : outputDirs.keySet()) {
+			if (isInside(path, outDir) && (dir == null || outDir.length() > dir.length())) {
+				dir = outDir;
+			}
+		}
+		return dir != null && outputDirs.get(dir);
+	}
+
+	private boolean isFailed(String path) {
+		for (String failedPath : failedPaths) {
+			if (path.equals(failedPath) || isInside(path, failedPath)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isInside(String path, String dir) {
+		return dir.isEmpty() || path.startsWith(dir + '/');
+	}
+
+	private @Nullable String getRelativePath(File file) {
+		Path path = file.toPath().toAbsolutePath().normalize();
+		if (!path.startsWith(rootDir) || path.equals(manifestFile)) {
+			return null;
+		}
+		return rootDir.relativize(path).toString().replace(File.separatorChar, '/');
+	}
+
+	/**
+	 * Resolve and normalize path from manifest, return null for paths outside of root directory
+	 */
+	private @Nullable String normalizePath(String path) {
+		Path file;
+		try {
+			file = rootDir.resolve(path).normalize();
+		} catch (InvalidPathException e) {
+			return null;
+		}
+		if (file.equals(rootDir)) {
+			return null;
+		}
+		return getRelativePath(file.toFile());
+	}
+
+	private void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+			// remove empty parent dirs
+			Path dir = file.getParent();
+			while (dir != null && !dir.equals(rootDir) && dir.startsWith(rootDir) && isEmptyDir(dir)) {
+				Files.delete(dir);
+				dir = dir.getParent();
+			}
+		} catch (Exception e) {
+			LOG.warn("Failed to delete stale output file: {}", file, e);
+		}
+	}
+
+	private static boolean isEmptyDir(Path dir) throws IOException {
+		if (!Files.isDirectory(dir)) {
+			return false;
+		}
+		try (var entries = Files.newDirectoryStream(dir)) {
+			return !entries.iterator().hasNext();
+		}
+	}
+
+	private Map<String, FileState> loadManifest() {
+		if (!Files.isRegularFile(manifestFile)) {
+			return Collections.emptyMap();
+		}
+		Map<String, FileState> map = new HashMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] parts = line.split(" ", 3);
+				if (parts.length != 3) {
+					LOG.warn("Incorrect line in output manifest: {}", line);
+					continue;
+				}
+				String path = normalizePath(parts[2]);
+				if (path == null) {
+					LOG.warn("Incorrect path in output manifest, skip: {}", parts[2]);
+					continue;
+				}
+				map.put(path, new FileState(parts[0], Long.parseLong(parts[1])));
+			}
+		} catch (Exception e) {
+			LOG.warn("Failed to load output manifest, all files will be saved: {}", manifestFile, e);
+			return Collections.emptyMap();
+		}
+		return map;
+	}
+
+	private void saveManifest(Map<String, FileState> manifest) throws IOException {
+		FileUtils.makeDirsForFile(manifestFile);
+		Path tmpFile = manifestFile.resolveSibling(manifestFile.getFileName() + ".tmp");
+		try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+			writer.write(MANIFEST_HEADER);
+			writer.newLine();
+			for (Map.Entry<String, FileState> entry : manifest.entrySet()) {
+				FileState state = entry.getValue();
+				writer.write(state.getHash() + ' ' + state.getSize() + ' ' + entry.getKey());
+				writer.newLine();
+			}
+		}
+		Files.move(tmpFile, manifestFile, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static final class FileState {
+		private final String hash;
+		private final long size;
+
+		private FileState(String hash, long size) {
+			this.hash = hash;
+			this.size = size;
+		}
+
+		public String getHash() {
+			return hash;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof FileState)) {
+				return false;
+			}
+			FileState other = (FileState) o;
+			return size == other.size && hash.equals(other.hash);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(hash, size);
+		}
+	}
+}
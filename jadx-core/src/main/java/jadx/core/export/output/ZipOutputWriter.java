@@ -0,0 +1,435 @@
+package jadx.core.export.output;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Save all files into one zip archive, entry names are relative to root directory.
+ * <br>
+ * Entries compressed in caller threads, compressed data passed through bounded queue
+ * to a single thread which append entries into archive.
+ * Zip64 records added if entries count or archive size exceed plain zip limits.
+ * All entries use same fixed modification time, so archive content is reproducible.
+ */
+public class ZipOutputWriter implements IOutputWriter {
+	private static final Logger LOG = LoggerFactory.getLogger(ZipOutputWriter.class);
+
+	private static final int QUEUE_CAPACITY = 128;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+	private static final int FLAG_UTF8 = 0x0800;
+	private static final int VERSION = 20;
+	private static final int VERSION_ZIP64 = 45;
+	private static final long ZIP32_MAX = 0xFFFFFFFFL;
+	private static final int ZIP16_MAX = 0xFFFF;
+	private static final int WAIT_MS = 100;
+
+	/**
+	 * Fixed entries time in DOS format: 1980-02-01 00:00:00.
+	 * Not 1980-01-01, because it can become invalid date after time zone conversion.
+	 */
+	private static final int DOS_TIME = 0;
+	private static final int DOS_DATE = (2 << 5) | 1;
+
+	private static final ZipEntryData END_MARK = new ZipEntryData(new byte[0], STORED, 0, 0, new byte[0]);
+
+	private final Path rootDir;
+	private final File archiveFile;
+	private final boolean compress;
+	private final Set<String> names = ConcurrentHashMap.newKeySet();
+	private final BlockingQueue<ZipEntryData> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final CountingOutputStream out;
+	private final Thread writerThread;
+	private final List<ZipEntryData> entries = new ArrayList<>();
+
+	private volatile @Nullable Throwable writeError;
+	private volatile boolean closed;
+
+	public ZipOutputWriter(File archiveFile, File rootDir, boolean compress) throws IOException {
+		this(archiveFile, rootDir, compress, openArchive(archiveFile));
+	}
+
+	ZipOutputWriter(File archiveFile, File rootDir, boolean compress, OutputStream archiveOut) {
+		this.archiveFile = archiveFile;
+		this.rootDir = rootDir.toPath().toAbsolutePath().normalize();
+		this.compress = compress;
+		this.out = new CountingOutputStream(archiveOut);
+		this.writerThread = new Thread(this::writeEntries, "zip-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	private static OutputStream openArchive(File archiveFile) throws IOException {
+		FileUtils.makeDirsForFile(archiveFile);
+		return new BufferedOutputStream(Files.newOutputStream(archiveFile.toPath()));
+	}
+
+	@Override
+	public void write(File file, byte[] data) throws IOException {
+		String name = getEntryName(file);
+		if (!names.add(name)) {
+			LOG.warn("Duplicate entry in output archive, skip: {}", name);
+			return;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		ZipEntryData entry;
+		byte[] compressed = compress ? deflate(data) : null;
+		if (compressed != null && compressed.length < data.length) {
+			entry = new ZipEntryData(name.getBytes(StandardCharsets.UTF_8), DEFLATED, crc.getValue(), data.length, compressed);
+		} else {
+			entry = new ZipEntryData(name.getBytes(StandardCharsets.UTF_8), STORED, crc.getValue(), data.length, data);
+		}
+		put(entry);
+	}
+
+	/**
+	 * Small data processed as byte array.
+	 * Larger streams compressed by chunks, so only compressed data kept in memory.
+	 */
+	@Override
+	public void write(File file, InputStream in) throws IOException {
+		byte[] buf = new byte[BUFFER_SIZE];
+		int firstLen = in.readNBytes(buf, 0, buf.length);
+		if (firstLen < buf.length || !compress) {
+			byte[] data = firstLen < buf.length ? Arrays.copyOf(buf, firstLen) : concat(buf, in.readAllBytes());
+			write(file, data);
+			return;
+		}
+		String name = getEntryName(file);
+		if (!names.add(name)) {
+			LOG.warn("Duplicate entry in output archive, skip: {}", name);
+			return;
+		}
+		try {
+			CRC32 crc = new CRC32();
+			long size = 0;
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(buf.length);
+			Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+			try (DeflaterOutputStream dos = new DeflaterOutputStream(bos, deflater, BUFFER_SIZE)) {
+				int len = firstLen;
+				while (len != -1) {
+					crc.update(buf, 0, len);
+					dos.write(buf, 0, len);
+					size += len;
+					len = in.read(buf);
+				}
+			} finally {
+				deflater.end();
+			}
+			if (size >= ZIP32_MAX) {
+				throw new IOException("Entry too large for output archive: " + name);
+			}
+			put(new ZipEntryData(name.getBytes(StandardCharsets.UTF_8), DEFLATED, crc.getValue(), size, bos.toByteArray()));
+		} catch (IOException e) {
+			names.remove(name);
+			throw e;
+		}
+	}
+
+	private static byte[] concat(byte[] first, byte[] second) {
+		byte[] result = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+	@Override
+	public void makeDirs(File dir) {
+		// directories entries not needed
+	}
+
+	private String getEntryName(File file) throws IOException {
+		Path path = file.toPath().toAbsolutePath().normalize();
+		if (!path.startsWith(rootDir) || path.equals(rootDir)) {
+			throw new IOException("File outside of output directory: " + file);
+		}
+		return rootDir.relativize(path).toString().replace(File.separatorChar, '/');
+	}
+
+	private static byte[] deflate(byte[] data) {
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try {
+			deflater.setInput(data);
+			deflater.finish();
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length / 2 + 64);
+			byte[] buf = new byte[8 * 1024];
+			while (!deflater.finished()) {
+				int len = deflater.deflate(buf);
+				bos.write(buf, 0, len);
+			}
+			return bos.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private void put(ZipEntryData entry) throws IOException {
+		try {
+			while (true) {
+				checkState();
+				if (queue.offer(entry, WAIT_MS, TimeUnit.MILLISECONDS)) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Write to archive interrupted", e);
+		}
+	}
+
+	private void checkState() throws IOException {
+		Throwable error = writeError;
+		if (error != null) {
+			throw new IOException("Archive write failed", error);
+		}
+		if (closed) {
+			throw new IOException("Archive already closed: " + archiveFile);
+		}
+		if (!writerThread.isAlive()) {
+			throw new IOException("Archive writer stopped: " + archiveFile);
+		}
+	}
+
+	private void writeEntries() {
+		try {
+			while (true) {
+				ZipEntryData entry = queue.take();
+				if (entry == END_MARK) {
+					return;
+				}
+				if (writeError == null) {
+					try {
+						writeLocalEntry(entry);
+					} catch (Throwable e) {
+						// keep taking entries after error, so producers and close not blocked on full queue
+						LOG.error("Failed to write into archive: {}", archiveFile, e);
+						writeError = e;
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			setStopError(new IOException("Archive writer interrupted", e));
+		} catch (Throwable e) {
+			setStopError(e);
+		}
+	}
+
+	/**
+	 * Writer thread stopped before end mark, entries after this point are lost
+	 */
+	private void setStopError(Throwable e) {
+		if (writeError == null) {
+			LOG.error("Archive writer stopped: {}", archiveFile, e);
+			writeError = e;
+		}
+	}
+
+	private void writeLocalEntry(ZipEntryData entry) throws IOException {
+		entry.offset = out.getCount();
+		writeInt(0x04034b50);
+		writeShort(VERSION);
+		writeShort(FLAG_UTF8);
+		writeShort(entry.method);
+		writeShort(DOS_TIME);
+		writeShort(DOS_DATE);
+		writeInt(entry.crc);
+		writeInt(entry.data.length);
+		writeInt(entry.size);
+		writeShort(entry.name.length);
+		writeShort(0);
+		out.write(entry.name);
+		out.write(entry.data);
+		entry.releaseData();
+		entries.add(entry);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			while (writerThread.isAlive()) {
+				if (queue.offer(END_MARK, WAIT_MS, TimeUnit.MILLISECONDS)) {
+					writerThread.join();
+					break;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			out.close();
+			throw new IOException("Archive close interrupted", e);
+		}
+		try (OutputStream ignored = out) {
+			Throwable error = writeError;
+			if (error instanceof IOException) {
+				throw (IOException) error;
+			}
+			if (error != null) {
+				throw new IOException("Archive write failed", error);
+			}
+			writeCentralDirectory();
+		}
+		LOG.debug("Saved {} entries into archive: {}", entries.size(), archiveFile);
+	}
+
+	private void writeCentralDirectory() throws IOException {
+		long cdOffset = out.getCount();
+		for (ZipEntryData entry : entries) {
+			boolean zip64 = entry.offset >= ZIP32_MAX;
+			int version = zip64 ? VERSION_ZIP64 : VERSION;
+			writeInt(0x02014b50);
+			writeShort(version);
+			writeShort(version);
+			writeShort(FLAG_UTF8);
+			writeShort(entry.method);
+			writeShort(DOS_TIME);
+			writeShort(DOS_DATE);
+			writeInt(entry.crc);
+			writeInt(entry.compressedSize);
+			writeInt(entry.size);
+			writeShort(entry.name.length);
+			writeShort(zip64 ? 12 : 0);
+			writeShort(0); // comment length
+			writeShort(0); // disk number
+			writeShort(0); // internal attributes
+			writeInt(0); // external attributes
+			writeInt(zip64 ? ZIP32_MAX : entry.offset);
+			out.write(entry.name);
+			if (zip64) {
+				writeShort(0x0001);
+				writeShort(8);
+				writeLong(entry.offset);
+			}
+		}
+		long cdEnd = out.getCount();
+		long cdSize = cdEnd - cdOffset;
+		int count = entries.size();
+		if (count >= ZIP16_MAX || cdSize >= ZIP32_MAX || cdOffset >= ZIP32_MAX) {
+			// zip64 end of central directory record
+			writeInt(0x06064b50);
+			writeLong(44);
+			writeShort(VERSION_ZIP64);
+			writeShort(VERSION_ZIP64);
+			writeInt(0);
+			writeInt(0);
+			writeLong(count);
+			writeLong(count);
+			writeLong(cdSize);
+			writeLong(cdOffset);
+			// zip64 end of central directory locator
+			writeInt(0x07064b50);
+			writeInt(0);
+			writeLong(cdEnd);
+			writeInt(1);
+		}
+		writeInt(0x06054b50);
+		writeShort(0);
+		writeShort(0);
+		writeShort(Math.min(count, ZIP16_MAX));
+		writeShort(Math.min(count, ZIP16_MAX));
+		writeInt(Math.min(cdSize, ZIP32_MAX));
+		writeInt(Math.min(cdOffset, ZIP32_MAX));
+		writeShort(0); // comment length
+	}
+
+	private void writeShort(int v) throws IOException {
+		out.write(v & 0xFF);
+		out.write((v >>> 8) & 0xFF);
+	}
+
+	private void writeInt(long v) throws IOException {
+		writeShort((int) (v & 0xFFFF));
+		writeShort((int) ((v >>> 16) & 0xFFFF));
+	}
+
+	private void writeLong(long v) throws IOException {
+		writeInt(v & ZIP32_MAX);
+		writeInt(v >>> 32);
+	}
+
+	private static final class ZipEntryData {
+		private final byte[] name;
+		private final int method;
+		private final long crc;
+		private final long size;
+		private final long compressedSize;
+		private byte[] data;
+		private long offset;
+
+		private ZipEntryData(byte[] name, int method, long crc, long size, byte[] data) {
+			this.name = name;
+			this.method = method;
+			this.crc = crc;
+			this.size = size;
+			this.compressedSize = data.length;
+			this.data = data;
+		}
+
+		private void releaseData() {
+			data = null;
+		}
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+		private final OutputStream out;
+		private long count;
+
+		private CountingOutputStream(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.close();
+		}
+	}
+}
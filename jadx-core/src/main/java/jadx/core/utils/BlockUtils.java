@@ -39,6 +39,7 @@
 import jadx.core.dex.regions.conditions.IfCondition;
 import jadx.core.dex.trycatch.CatchAttr;
 import jadx.core.dex.trycatch.ExceptionHandler;
+import jadx.core.utils.blocks.BlockReachability;
 import jadx.core.utils.blocks.BlockSet;
 import jadx.core.utils.blocks.DFSIteration;
 import jadx.core.utils.exceptions.JadxRuntimeException;
@@ -842,6 +843,10 @@ public static boolean isPathExists(BlockNode start, BlockNode end) {
 				|| start.getCleanSuccessors().contains(end)) {
 			return true;
 		}
+		BlockReachability reachability = start.getReachability();
+		if (reachability != null && reachability == end.getReachability()) {
+			return reachability.isCleanPathExists(start, end);
+		}
 		return traverseSuccessorsUntil(start, end, new BitSet(), true);
 	}
 
@@ -851,6 +856,10 @@ public static boolean isAnyPathExists(BlockNode start, BlockNode end) {
 				|| start.getSuccessors().contains(end)) {
 			return true;
 		}
+		BlockReachability reachability = start.getReachability();
+		if (reachability != null && reachability == end.getReachability()) {
+			return reachability.isAnyPathExists(start, end);
+		}
 		return traverseSuccessorsUntil(start, end, new BitSet(), false);
 	}
 
@@ -972,21 +981,20 @@ public static BlockNode traverseWhileDominates(BlockNode dom, BlockNode start) {
 	 */
 	@Nullable
 	public static BlockNode getCommonDominator(MethodNode mth, List<BlockNode> blocks) {
-		BitSet doms = newBlocksBitSet(mth);
-		// collect all dominators from input set
-		doms.set(0, mth.getBasicBlocks().size());
-		blocks.forEach(b -> doms.and(b.getDoms()));
-		// exclude all dominators of immediate dominator (including self)
-		BitSet combine = newBlocksBitSet(mth);
-		combine.or(doms);
-		forEachBlockFromBitSet(mth, doms, block -> {
-			BlockNode idom = block.getIDom();
-			if (idom != null) {
-				combine.andNot(idom.getDoms());
-				combine.clear(idom.getId());
+		if (blocks.isEmpty()) {
+			return null;
+		}
+		// go up from immediate dominator of first block until it dominates all other blocks
+		BlockNode dom = blocks.get(0).getIDom();
+		for (BlockNode block : blocks) {
+			while (dom != null && !block.isDominator(dom)) {
+				dom = dom.getIDom();
 			}
-		});
-		return bitSetToOneBlock(mth, combine);
+			if (dom == null) {
+				return null;
+			}
+		}
+		return dom;
 	}
 
 	/**
@@ -1349,7 +1357,7 @@ public static List<InsnNode> collectInsnsWithLimit(List<BlockNode> blocks, int l
 	 */
 	@Nullable
 	public static InsnNode getOnlyOneInsnFromMth(MethodNode mth) {
-		if (mth.isNoCode()) {
+		if (mth.isNoCode() || mth.getBasicBlocks() == null) {
 			return null;
 		}
 		InsnNode insn = null;
@@ -10,13 +10,17 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.api.CommentsLevel;
 import jadx.core.Consts;
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.attributes.IAttributeNode;
+import jadx.core.dex.attributes.nodes.JadxCommentsAttr;
 import jadx.core.dex.attributes.nodes.JadxError;
+import jadx.core.dex.attributes.nodes.ProcessTimeoutAttr;
 import jadx.core.dex.nodes.IDexNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.exceptions.JadxOverflowException;
+import jadx.core.utils.exceptions.JadxTimeoutException;
 
 public class ErrorsCounter {
 	private static final Logger LOG = LoggerFactory.getLogger(ErrorsCounter.class);
@@ -26,6 +30,8 @@ public class ErrorsCounter {
 	private int errorsCount;
 	private final Set<IAttributeNode> warnNodes = new HashSet<>();
 	private int warnsCount;
+	private final Set<IAttributeNode> timeoutNodes = new HashSet<>();
+	private int timeoutsCount;
 
 	public static <N extends IDexNode & IAttributeNode> String error(N node, String warnMsg, Throwable th) {
 		return node.root().getErrorsCounter().addError(node, warnMsg, th);
@@ -40,6 +46,9 @@ public static String formatMsg(IDexNode node, String msg) {
 	}
 
 	private synchronized <N extends IDexNode & IAttributeNode> String addError(N node, String error, @Nullable Throwable e) {
+		if (e instanceof JadxTimeoutException) {
+			return addTimeout(node, error, e.getMessage());
+		}
 		errorNodes.add(node);
 		errorsCount++;
 
@@ -69,6 +78,20 @@ private synchronized <N extends IDexNode & IAttributeNode> String addError(N nod
 		return msg;
 	}
 
+	/**
+	 * Processing time limit reached, node marked to use fallback code instead of error
+	 */
+	private <N extends IDexNode & IAttributeNode> String addTimeout(N node, String error, String details) {
+		timeoutNodes.add(node);
+		timeoutsCount++;
+
+		String msg = formatMsg(node, error);
+		LOG.warn("{}, details: {}", msg, details);
+		node.addAttr(new ProcessTimeoutAttr(details));
+		JadxCommentsAttr.add(node, CommentsLevel.WARN, error + ": " + details);
+		return msg;
+	}
+
 	private synchronized <N extends IDexNode & IAttributeNode> void addWarning(N node, String warn) {
 		warnNodes.add(node);
 		warnsCount++;
@@ -91,6 +114,9 @@ public void printReport() {
 		if (getWarnsCount() > 0) {
 			LOG.warn("{} warnings in {} nodes", getWarnsCount(), warnNodes.size());
 		}
+		if (getTimeoutsCount() > 0) {
+			LOG.warn("{} processing timeouts in {} nodes", getTimeoutsCount(), timeoutNodes.size());
+		}
 	}
 
 	public int getErrorCount() {
@@ -108,4 +134,12 @@ public Set<IAttributeNode> getErrorNodes() {
 	public Set<IAttributeNode> getWarnNodes() {
 		return warnNodes;
 	}
+
+	public int getTimeoutsCount() {
+		return timeoutsCount;
+	}
+
+	public Set<IAttributeNode> getTimeoutNodes() {
+		return timeoutNodes;
+	}
 }
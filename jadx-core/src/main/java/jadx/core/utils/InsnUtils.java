@@ -127,7 +127,7 @@ public static InsnNode searchSingleReturnInsn(MethodNode mth, Predicate<InsnNode
 	 */
 	@Nullable
 	public static InsnNode searchInsn(MethodNode mth, InsnType insnType, Predicate<InsnNode> test) {
-		if (mth.isNoCode()) {
+		if (mth.isNoCode() || mth.getBasicBlocks() == null) {
 			return null;
 		}
 		for (BlockNode block : mth.getBasicBlocks()) {
@@ -142,6 +142,9 @@ public static InsnNode searchInsn(MethodNode mth, InsnType insnType, Predicate<I
 	}
 
 	public static void replaceInsns(MethodNode mth, Function<InsnNode, InsnNode> replaceFunction) {
+		if (mth.getBasicBlocks() == null) {
+			return;
+		}
 		for (BlockNode block : mth.getBasicBlocks()) {
 			List<InsnNode> insns = block.getInstructions();
 			int insnsCount = insns.size();
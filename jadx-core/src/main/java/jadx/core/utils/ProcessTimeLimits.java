@@ -0,0 +1,150 @@
+package jadx.core.utils;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.exceptions.JadxTimeoutException;
+
+/**
+ * Cooperative time limits for class processing by decompilation passes.
+ * <br>
+ * Limits configured by {@link JadxArgs#getClassProcessTimeout()} and {@link JadxArgs#getMethodProcessTimeout()}.
+ * Method time summed for all passes.
+ * Expensive passes should call {@link #check()} in long-running loops,
+ * limit violation reported by {@link JadxTimeoutException}.
+ */
+public final class ProcessTimeLimits {
+	private static final ThreadLocal<ProcessTimeLimits> CURRENT = new ThreadLocal<>();
+
+	private static final long NO_LIMIT = Long.MAX_VALUE;
+	private static final LongSupplier SYSTEM_CLOCK = System::nanoTime;
+
+	private static LongSupplier clock = SYSTEM_CLOCK;
+
+	private final ClassNode cls;
+	private final long classDeadline;
+	private final long methodLimit;
+	private final Map<MethodNode, Long> methodsTime = new IdentityHashMap<>();
+
+	private long deadline;
+	private @Nullable MethodNode currentMth;
+	private long mthStart;
+
+	private ProcessTimeLimits(ClassNode cls, long classLimit, long methodLimit) {
+		this.cls = cls;
+		this.classDeadline = classLimit == NO_LIMIT ? NO_LIMIT : clock.getAsLong() + classLimit;
+		this.methodLimit = methodLimit;
+		this.deadline = classDeadline;
+	}
+
+	/**
+	 * Start limits for class processing in current thread.
+	 *
+	 * @return previous limits, should be passed to {@link #finishClass(ProcessTimeLimits)}
+	 */
+	public static @Nullable ProcessTimeLimits startClass(ClassNode cls) {
+		ProcessTimeLimits prev = CURRENT.get();
+		JadxArgs args = cls.root().getArgs();
+		long classLimit = toNanos(args.getClassProcessTimeout());
+		long methodLimit = toNanos(args.getMethodProcessTimeout());
+		if (classLimit == NO_LIMIT && methodLimit == NO_LIMIT) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(new ProcessTimeLimits(cls, classLimit, methodLimit));
+		}
+		return prev;
+	}
+
+	public static void finishClass(@Nullable ProcessTimeLimits prev) {
+		if (prev == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(prev);
+		}
+	}
+
+	/**
+	 * Start time counting for method pass.
+	 *
+	 * @return true if counting started and {@link #finishMethod()} should be called at pass end
+	 */
+	public static boolean startMethod(MethodNode mth) {
+		ProcessTimeLimits limits = CURRENT.get();
+		if (limits == null || limits.currentMth != null) {
+			// no limits or nested method processing (time will be added to the outer method)
+			return false;
+		}
+		long now = clock.getAsLong();
+		limits.currentMth = mth;
+		limits.mthStart = now;
+		if (limits.methodLimit != NO_LIMIT) {
+			long spent = limits.methodsTime.getOrDefault(mth, 0L);
+			limits.deadline = Math.min(limits.classDeadline, now + limits.methodLimit - spent);
+		}
+		if (now > limits.deadline) {
+			JadxTimeoutException exception = limits.buildException();
+			limits.finishMethod(now);
+			throw exception;
+		}
+		return true;
+	}
+
+	public static void finishMethod() {
+		ProcessTimeLimits limits = CURRENT.get();
+		if (limits != null) {
+			limits.finishMethod(clock.getAsLong());
+		}
+	}
+
+	private void finishMethod(long now) {
+		MethodNode mth = currentMth;
+		if (mth != null) {
+			methodsTime.merge(mth, now - mthStart, Long::sum);
+			currentMth = null;
+			deadline = classDeadline;
+		}
+	}
+
+	/**
+	 * Check if time limit is reached for current class or method
+	 *
+	 * @throws JadxTimeoutException if limit reached
+	 */
+	public static void check() {
+		ProcessTimeLimits limits = CURRENT.get();
+		if (limits != null && clock.getAsLong() > limits.deadline) {
+			throw limits.buildException();
+		}
+	}
+
+	private JadxTimeoutException buildException() {
+		MethodNode mth = currentMth;
+		JadxArgs args = cls.root().getArgs();
+		if (mth != null && deadline != classDeadline) {
+			return new JadxTimeoutException("Method processing time limit reached: " + args.getMethodProcessTimeout() + " ms");
+		}
+		return new JadxTimeoutException("Class processing time limit reached: " + args.getClassProcessTimeout() + " ms");
+	}
+
+	/**
+	 * Replace time source (in nanoseconds), null to restore system clock
+	 */
+	@TestOnly
+	public static void setClock(@Nullable LongSupplier newClock) {
+		clock = newClock == null ? SYSTEM_CLOCK : newClock;
+	}
+
+	private static long toNanos(int timeoutMs) {
+		if (timeoutMs <= 0) {
+			return NO_LIMIT;
+		}
+		return timeoutMs * 1_000_000L;
+	}
+}
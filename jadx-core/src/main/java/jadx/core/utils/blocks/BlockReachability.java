@@ -0,0 +1,111 @@
+package jadx.core.utils.blocks;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.nodes.BlockNode;
+
+/**
+ * Reachability index for locked (unmodifiable) control flow graph.
+ * <br>
+ * Set of blocks reachable from start block calculated on first query and reused for next queries
+ * from same block, so repeated path checks don't need new graph traversal.
+ * Separate sets stored for all and clean successors.
+ * Memory used by stored sets is limited (sets size grows with blocks count),
+ * so in big methods queries from not stored blocks done by usual traversal.
+ * <br>
+ * Results are the same as in traversal from {@link jadx.core.utils.BlockUtils}:
+ * path exists if 'end' block or one of its dominators reachable from 'start'.
+ */
+public final class BlockReachability {
+	/**
+	 * Max bits in all stored sets (1 MB), all sets stored for methods with up to 2048 blocks
+	 */
+	private static final long MAX_STORED_BITS = 8L * 1024 * 1024;
+
+	private final List<BlockNode> blocks;
+	private final BitSet[] cleanReach;
+	private final BitSet[] allReach;
+	private final long maxStoredBits;
+	private long storedBits;
+
+	public BlockReachability(List<BlockNode> blocks) {
+		this(blocks, MAX_STORED_BITS);
+	}
+
+	BlockReachability(List<BlockNode> blocks, long maxStoredBits) {
+		this.blocks = blocks;
+		int count = blocks.size();
+		this.cleanReach = new BitSet[count];
+		this.allReach = new BitSet[count];
+		this.maxStoredBits = maxStoredBits;
+	}
+
+	/**
+	 * Check path using only clean successors
+	 */
+	public boolean isCleanPathExists(BlockNode start, BlockNode end) {
+		return isPathExists(cleanReach, start, end, true);
+	}
+
+	/**
+	 * Check path using all successors
+	 */
+	public boolean isAnyPathExists(BlockNode start, BlockNode end) {
+		return isPathExists(allReach, start, end, false);
+	}
+
+	private boolean isPathExists(BitSet[] reachSets, BlockNode start, BlockNode end, boolean clean) {
+		int pos = start.getPos();
+		BitSet reach = reachSets[pos];
+		if (reach == null) {
+			int count = blocks.size();
+			if (storedBits + count > maxStoredBits) {
+				return traverse(start, end, clean) != null;
+			}
+			reach = traverse(start, null, clean);
+			reachSets[pos] = reach;
+			storedBits += count;
+		}
+		return isEndReachable(reach, end);
+	}
+
+	private static boolean isEndReachable(BitSet reach, BlockNode end) {
+		return reach.get(end.getPos()) || reach.intersects(end.getDoms());
+	}
+
+	/**
+	 * Collect blocks reachable by at least one edge (self loops ignored)
+	 *
+	 * @param end stop at this block (or one of its dominators), null to collect all
+	 * @return reachable blocks, null if 'end' set and not reachable
+	 */
+	private @Nullable BitSet traverse(BlockNode start, @Nullable BlockNode end, boolean clean) {
+		int count = blocks.size();
+		BitSet visited = new BitSet(count);
+		// start block can be added second time if reachable through loop
+		int[] stack = new int[count + 1];
+		int top = 0;
+		stack[top++] = start.getPos();
+		while (top != 0) {
+			BlockNode block = blocks.get(stack[--top]);
+			List<BlockNode> successors = clean ? block.getCleanSuccessors() : block.getSuccessors();
+			for (BlockNode s : successors) {
+				if (s == block) {
+					continue;
+				}
+				int pos = s.getPos();
+				if (!visited.get(pos)) {
+					if (end != null && (pos == end.getPos() || end.getDoms().get(pos))) {
+						return visited;
+					}
+					visited.set(pos);
+					stack[top++] = pos;
+				}
+			}
+		}
+		return end == null ? visited : null;
+	}
+}
@@ -0,0 +1,13 @@
+package jadx.core.utils.exceptions;
+
+/**
+ * Class or method processing time limit reached
+ */
+public class JadxTimeoutException extends JadxOverflowException {
+
+	private static final long serialVersionUID = -6126465843476591426L;
+
+	public JadxTimeoutException(String message) {
+		super(message);
+	}
+}
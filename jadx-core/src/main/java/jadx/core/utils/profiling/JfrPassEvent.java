@@ -0,0 +1,53 @@
+package jadx.core.utils.profiling;
+
+import org.jetbrains.annotations.Nullable;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for pass visit, class loaded only if 'jdk.jfr' module available
+ */
+@Name("jadx.PassVisit")
+@Label("Pass visit")
+@Category("Jadx")
+@StackTrace(false)
+final class JfrPassEvent extends Event {
+
+	/**
+	 * @return null if event not recorded now
+	 */
+	static @Nullable Object start() {
+		JfrPassEvent event = new JfrPassEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	static void finish(Object obj, String passName, String nodeName, long allocated) {
+		JfrPassEvent event = (JfrPassEvent) obj;
+		event.end();
+		if (event.shouldCommit()) {
+			event.pass = passName;
+			event.node = nodeName;
+			event.allocated = allocated;
+			event.commit();
+		}
+	}
+
+	@Label("Pass")
+	String pass;
+
+	@Label("Node")
+	String node;
+
+	@Label("Allocated")
+	@DataAmount
+	long allocated;
+}
@@ -0,0 +1,189 @@
+package jadx.core.utils.profiling;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.profiling.MethodProfile;
+import jadx.api.profiling.PassProfile;
+import jadx.api.profiling.ProfileReport;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.GsonUtils;
+import jadx.core.utils.exceptions.JadxException;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Collect time, allocations and invocations count for every pass visit.
+ * <br>
+ * Allocations counted using {@code com.sun.management.ThreadMXBean}
+ * and visits also reported as JFR events ({@code jadx.PassVisit}) if these JDK modules are available.
+ */
+public class PassesProfiler {
+	private static final Logger LOG = LoggerFactory.getLogger(PassesProfiler.class);
+
+	private final Map<String, PassStats> passes = new ConcurrentHashMap<>();
+	private final Map<MethodNode, MethodStats> methods = new ConcurrentHashMap<>();
+	private final @Nullable ThreadAllocCounter allocCounter = initAllocCounter();
+	private final boolean jfrEnabled = isJfrAvailable();
+
+	public boolean visit(IDexTreeVisitor visitor, ClassNode cls) throws JadxException {
+		long start = System.nanoTime();
+		long startAlloc = allocatedBytes();
+		Object event = jfrEnabled ? JfrPassEvent.start() : null;
+		try {
+			return visitor.visit(cls);
+		} finally {
+			long time = System.nanoTime() - start;
+			long alloc = allocatedBytes() - startAlloc;
+			getPassStats(visitor).add(time, alloc, true);
+			if (event != null) {
+				JfrPassEvent.finish(event, visitor.getName(), cls.toString(), alloc);
+			}
+		}
+	}
+
+	public void visit(IDexTreeVisitor visitor, MethodNode mth) throws JadxException {
+		long start = System.nanoTime();
+		long startAlloc = allocatedBytes();
+		Object event = jfrEnabled ? JfrPassEvent.start() : null;
+		try {
+			visitor.visit(mth);
+		} finally {
+			long time = System.nanoTime() - start;
+			long alloc = allocatedBytes() - startAlloc;
+			getPassStats(visitor).add(time, alloc, false);
+			methods.computeIfAbsent(mth, m -> new MethodStats()).add(visitor.getName(), time, alloc);
+			if (event != null) {
+				JfrPassEvent.finish(event, visitor.getName(), mth.toString(), alloc);
+			}
+		}
+	}
+
+	private PassStats getPassStats(IDexTreeVisitor visitor) {
+		return passes.computeIfAbsent(visitor.getName(), n -> new PassStats());
+	}
+
+	private static @Nullable ThreadAllocCounter initAllocCounter() {
+		try {
+			return ThreadAllocCounter.build();
+		} catch (Exception | LinkageError e) {
+			LOG.debug("Allocations counting not available", e);
+			return null;
+		}
+	}
+
+	private static boolean isJfrAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, PassesProfiler.class.getClassLoader());
+			return true;
+		} catch (Throwable e) {
+			return false;
+		}
+	}
+
+	private long allocatedBytes() {
+		ThreadAllocCounter counter = allocCounter;
+		return counter == null ? 0 : counter.getAllocatedBytes();
+	}
+
+	public ProfileReport buildReport(int topMethodsCount) {
+		List<PassProfile> passesList = new ArrayList<>(passes.size());
+		long totalTime = 0;
+		for (Map.Entry<String, PassStats> entry : passes.entrySet()) {
+			PassStats stats = entry.getValue();
+			long time = stats.time.sum();
+			totalTime += time;
+			passesList.add(new PassProfile(entry.getKey(),
+					stats.classVisits.sum(), stats.methodVisits.sum(), time, stats.alloc.sum()));
+		}
+		passesList.sort(Comparator.comparingLong(PassProfile::getTimeNanos).reversed());
+
+		List<MethodProfile> methodsList = methods.entrySet().stream()
+				.map(e -> e.getValue().toProfile(e.getKey()))
+				.sorted(Comparator.comparingLong(MethodProfile::getTimeNanos).reversed())
+				.limit(topMethodsCount)
+				.collect(Collectors.toList());
+		return new ProfileReport(totalTime, allocCounter != null, passesList, methodsList);
+	}
+
+	public static void printReport(ProfileReport report) {
+		LOG.info("Passes profile, total time: {}ms", report.getTotalTimeNanos() / 1_000_000);
+		for (PassProfile pass : report.getPasses()) {
+			LOG.info("  {}", pass);
+		}
+		LOG.info("Slowest methods:");
+		for (MethodProfile mth : report.getSlowestMethods()) {
+			LOG.info("  {}", mth);
+		}
+	}
+
+	public static void saveJson(ProfileReport report, Path file) {
+		try {
+			Path dir = file.toAbsolutePath().getParent();
+			if (dir != null) {
+				Files.createDirectories(dir);
+			}
+			try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+				GsonUtils.buildGson().toJson(report, writer);
+			}
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to save profile report to file: " + file, e);
+		}
+	}
+
+	public void reset() {
+		passes.clear();
+		methods.clear();
+	}
+
+	private static final class PassStats {
+		private final LongAdder classVisits = new LongAdder();
+		private final LongAdder methodVisits = new LongAdder();
+		private final LongAdder time = new LongAdder();
+		private final LongAdder alloc = new LongAdder();
+
+		void add(long timeNanos, long allocBytes, boolean classVisit) {
+			if (classVisit) {
+				classVisits.increment();
+			} else {
+				methodVisits.increment();
+			}
+			time.add(timeNanos);
+			alloc.add(allocBytes);
+		}
+	}
+
+	private static final class MethodStats {
+		private long time;
+		private long alloc;
+		private long maxPassTime;
+		private String maxPassName = "";
+
+		synchronized void add(String passName, long timeNanos, long allocBytes) {
+			time += timeNanos;
+			alloc += allocBytes;
+			if (timeNanos > maxPassTime) {
+				maxPassTime = timeNanos;
+				maxPassName = passName;
+			}
+		}
+
+		synchronized MethodProfile toProfile(MethodNode mth) {
+			return new MethodProfile(mth.getMethodInfo().getFullId(), time, alloc, maxPassName);
+		}
+	}
+}
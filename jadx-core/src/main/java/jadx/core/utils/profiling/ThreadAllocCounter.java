@@ -0,0 +1,33 @@
+package jadx.core.utils.profiling;
+
+import java.lang.management.ManagementFactory;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Wrapper for {@code com.sun.management.ThreadMXBean},
+ * separate class used to skip loading if 'java.management' or 'jdk.management' modules not available
+ */
+final class ThreadAllocCounter {
+	static @Nullable ThreadAllocCounter build() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+			if (sunBean.isThreadAllocatedMemorySupported()) {
+				sunBean.setThreadAllocatedMemoryEnabled(true);
+				return new ThreadAllocCounter(sunBean);
+			}
+		}
+		return null;
+	}
+
+	private final com.sun.management.ThreadMXBean bean;
+
+	private ThreadAllocCounter(com.sun.management.ThreadMXBean bean) {
+		this.bean = bean;
+	}
+
+	long getAllocatedBytes() {
+		return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -53,6 +53,7 @@ public List<? extends Runnable> getTasks() {
 	private @Nullable ExecutorService executor;
 	private int tasksCount = 0;
 	private @Nullable Error terminateError;
+	private @Nullable Runnable finishTask;
 
 	@Override
 	public void addParallelTasks(List<? extends Runnable> parallelTasks) {
@@ -77,6 +78,14 @@ public void addSequentialTask(Runnable seqTask) {
 		addSequentialTasks(Collections.singletonList(seqTask));
 	}
 
+	/**
+	 * Task executed after all stages, even if execution terminated.
+	 * Not counted in tasks count.
+	 */
+	public void setFinishTask(@Nullable Runnable finishTask) {
+		this.finishTask = finishTask;
+	}
+
 	@Override
 	public int getThreadsCount() {
 		return threadsCount.get();
@@ -186,10 +195,22 @@ private void runStages() {
 				}
 			}
 		} finally {
+			runFinishTask();
 			stopExecution();
 		}
 	}
 
+	private void runFinishTask() {
+		Runnable task = finishTask;
+		if (task != null) {
+			try {
+				task.run();
+			} catch (Throwable e) {
+				LOG.error("Finish task failed:", e);
+			}
+		}
+	}
+
 	private void wrapTask(Runnable task) {
 		if (terminating.get()) {
 			return;
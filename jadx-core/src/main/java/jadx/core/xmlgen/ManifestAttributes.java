@@ -2,6 +2,7 @@
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -9,12 +10,7 @@
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import jadx.api.security.IJadxSecurity;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.xmlgen.entry.RawNamedValue;
 import jadx.core.xmlgen.entry.ResourceEntry;
@@ -28,14 +24,13 @@
 public class ManifestAttributes {
 	private static final Logger LOG = LoggerFactory.getLogger(ManifestAttributes.class);
 
-	private static final String ATTR_XML = "/android/attrs.xml";
-	private static final String MANIFEST_ATTR_XML = "/android/attrs_manifest.xml";
+	private static final String ATTRS_FILE = "/android/attrs.bin";
 
-	private enum MAttrType {
+	public enum MAttrType {
 		ENUM, FLAG
 	}
 
-	private static class MAttr {
+	public static class MAttr {
 		private final MAttrType type;
 		private final Map<Long, String> values = new LinkedHashMap<>();
 
@@ -61,113 +56,34 @@ public String toString() {
 		}
 	}
 
-	private final IJadxSecurity security;
-
 	/**
 	 * Map containing default Android resource attribute definitions.
 	 * Keys are Android attribute names (e.g., "android:layout_width"),
 	 * and values are their corresponding {@link MAttr} objects.
+	 * <br>
+	 * Loaded once and shared (read-only) between all instances.
 	 */
-	private final Map<String, MAttr> attrMap = new HashMap<>();
+	private final Map<String, MAttr> attrMap;
 	private final Map<String, MAttr> appAttrMap = new HashMap<>();
 
-	public ManifestAttributes(IJadxSecurity security) {
-		this.security = security;
-		parseAll();
+	public ManifestAttributes() {
+		this.attrMap = BundledAttrsHolder.ATTR_MAP;
 	}
 
-	private void parseAll() {
-		parse(loadXML(ATTR_XML));
-		parse(loadXML(MANIFEST_ATTR_XML));
-		LOG.debug("Loaded android attributes count: {}", attrMap.size());
+	private static final class BundledAttrsHolder {
+		private static final Map<String, MAttr> ATTR_MAP = loadBundled();
 	}
 
-	private Document loadXML(String xml) {
-		Document doc;
-		try (InputStream xmlStream = ManifestAttributes.class.getResourceAsStream(xml)) {
-			if (xmlStream == null) {
-				throw new JadxRuntimeException(xml + " not found in classpath");
+	private static Map<String, MAttr> loadBundled() {
+		try (InputStream is = ManifestAttributes.class.getResourceAsStream(ATTRS_FILE)) {
+			if (is == null) {
+				throw new JadxRuntimeException(ATTRS_FILE + " not found in classpath");
 			}
-			doc = security.parseXml(xmlStream);
+			Map<String, MAttr> attrMap = ManifestAttributesFile.read(is);
+			LOG.debug("Loaded android attributes count: {}", attrMap.size());
+			return Collections.unmodifiableMap(attrMap);
 		} catch (Exception e) {
-			throw new JadxRuntimeException("Xml load error, file: " + xml, e);
-		}
-		return doc;
-	}
-
-	private void parse(Document doc) {
-		NodeList nodeList = doc.getChildNodes();
-		for (int count = 0; count < nodeList.getLength(); count++) {
-			Node node = nodeList.item(count);
-			if (node.getNodeType() == Node.ELEMENT_NODE
-					&& node.hasChildNodes()) {
-				parseAttrList(node.getChildNodes());
-			}
-		}
-	}
-
-	private void parseAttrList(NodeList nodeList) {
-		for (int count = 0; count < nodeList.getLength(); count++) {
-			Node tempNode = nodeList.item(count);
-			if (tempNode.getNodeType() == Node.ELEMENT_NODE
-					&& tempNode.hasAttributes()
-					&& tempNode.hasChildNodes()) {
-				String name = null;
-				NamedNodeMap nodeMap = tempNode.getAttributes();
-				for (int i = 0; i < nodeMap.getLength(); i++) {
-					Node node = nodeMap.item(i);
-					if (node.getNodeName().equals("name")) {
-						name = node.getNodeValue();
-						break;
-					}
-				}
-				if (name != null && tempNode.getNodeName().equals("attr")) {
-					parseValues(name, tempNode.getChildNodes());
-				} else {
-					parseAttrList(tempNode.getChildNodes());
-				}
-			}
-		}
-	}
-
-	private void parseValues(String name, NodeList nodeList) {
-		MAttr attr = null;
-		for (int count = 0; count < nodeList.getLength(); count++) {
-			Node tempNode = nodeList.item(count);
-			if (tempNode.getNodeType() == Node.ELEMENT_NODE
-					&& tempNode.hasAttributes()) {
-				if (attr == null) {
-					if (tempNode.getNodeName().equals("enum")) {
-						attr = new MAttr(MAttrType.ENUM);
-					} else if (tempNode.getNodeName().equals("flag")) {
-						attr = new MAttr(MAttrType.FLAG);
-					}
-					if (attr == null) {
-						return;
-					}
-					attrMap.put("android:" + name, attr);
-				}
-				NamedNodeMap attributes = tempNode.getAttributes();
-				Node nameNode = attributes.getNamedItem("name");
-				if (nameNode != null) {
-					Node valueNode = attributes.getNamedItem("value");
-					if (valueNode != null) {
-						try {
-							long key;
-							String nodeValue = valueNode.getNodeValue();
-							if (nodeValue.startsWith("0x")) {
-								nodeValue = nodeValue.substring(2);
-								key = Long.parseLong(nodeValue, 16);
-							} else {
-								key = Long.parseLong(nodeValue);
-							}
-							attr.addValue(key, nameNode.getNodeValue());
-						} catch (NumberFormatException e) {
-							LOG.debug("Failed parse manifest number", e);
-						}
-					}
-				}
-			}
+			throw new JadxRuntimeException("Failed to load android attributes file: " + ATTRS_FILE, e);
 		}
 	}
 
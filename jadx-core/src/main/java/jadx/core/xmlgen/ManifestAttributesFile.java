@@ -0,0 +1,85 @@
+package jadx.core.xmlgen;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.xmlgen.ManifestAttributes.MAttr;
+import jadx.core.xmlgen.ManifestAttributes.MAttrType;
+
+/**
+ * Compact binary storage for Android attributes specification (enum and flag values).
+ * <br>
+ * Generated from 'attrs.xml' and 'attrs_manifest.xml' by {@code jadx.cli.tools.ConvertManifestAttributes}
+ */
+public class ManifestAttributesFile {
+	private static final byte[] MAGIC = "JADXATTR".getBytes();
+	private static final int VERSION = 1;
+
+	public static Map<String, MAttr> read(InputStream is) {
+		try {
+			// resource is small, read whole file at once and decode from memory
+			byte[] data = is.readAllBytes();
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+			byte[] magic = new byte[MAGIC.length];
+			in.readFully(magic);
+			for (int i = 0; i < MAGIC.length; i++) {
+				if (magic[i] != MAGIC[i]) {
+					throw new JadxRuntimeException("Wrong attributes file magic");
+				}
+			}
+			int version = in.readShort();
+			if (version != VERSION) {
+				throw new JadxRuntimeException("Wrong attributes file version: " + version + ", expected: " + VERSION);
+			}
+			MAttrType[] types = MAttrType.values();
+			int count = in.readInt();
+			Map<String, MAttr> attrMap = new HashMap<>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++) {
+				String name = in.readUTF();
+				MAttr attr = new MAttr(types[in.readByte()]);
+				int valuesCount = in.readShort();
+				for (int j = 0; j < valuesCount; j++) {
+					long key = in.readLong();
+					attr.addValue(key, in.readUTF());
+				}
+				attrMap.put(name, attr);
+			}
+			return attrMap;
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to read attributes file", e);
+		}
+	}
+
+	public static void write(Path outFile, Map<String, MAttr> attrMap) {
+		try (OutputStream os = Files.newOutputStream(outFile);
+				DataOutputStream out = new DataOutputStream(os)) {
+			out.write(MAGIC);
+			out.writeShort(VERSION);
+			out.writeInt(attrMap.size());
+			// sort for stable output
+			for (Map.Entry<String, MAttr> entry : new TreeMap<>(attrMap).entrySet()) {
+				MAttr attr = entry.getValue();
+				out.writeUTF(entry.getKey());
+				out.writeByte(attr.getType().ordinal());
+				Map<Long, String> values = attr.getValues();
+				out.writeShort(values.size());
+				for (Map.Entry<Long, String> valueEntry : values.entrySet()) {
+					out.writeLong(valueEntry.getKey());
+					out.writeUTF(valueEntry.getValue());
+				}
+			}
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to write attributes file", e);
+		}
+	}
+}
@@ -1,21 +1,20 @@
 package jadx.core.xmlgen;
 
 import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.api.JadxDecompiler;
 import jadx.api.ResourceFile;
+import jadx.api.ResourceType;
 import jadx.api.ResourcesLoader;
 import jadx.api.security.IJadxSecurity;
 import jadx.core.dex.visitors.SaveCode;
+import jadx.core.export.output.DirOutputWriter;
+import jadx.core.export.output.IOutputWriter;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
-import jadx.core.utils.files.FileUtils;
 
 public class ResourcesSaver implements Runnable {
 	private static final Logger LOG = LoggerFactory.getLogger(ResourcesSaver.class);
@@ -23,11 +22,17 @@ public class ResourcesSaver implements Runnable {
 	private final ResourceFile resourceFile;
 	private final File outDir;
 	private final IJadxSecurity security;
+	private final IOutputWriter writer;
 
 	public ResourcesSaver(JadxDecompiler decompiler, File outDir, ResourceFile resourceFile) {
+		this(decompiler, outDir, resourceFile, new DirOutputWriter());
+	}
+
+	public ResourcesSaver(JadxDecompiler decompiler, File outDir, ResourceFile resourceFile, IOutputWriter writer) {
 		this.resourceFile = resourceFile;
 		this.outDir = outDir;
 		this.security = decompiler.getArgs().getSecurity();
+		this.writer = writer;
 	}
 
 	@Override
@@ -36,6 +41,8 @@ public void run() {
 			saveResources(resourceFile.loadContent());
 		} catch (StackOverflowError | Exception e) {
 			LOG.warn("Failed to save resource: {}", resourceFile.getOriginalName(), e);
+			// resources table saved into many files, keep all
+			writer.markFailed(resourceFile.getType() == ResourceType.ARSC ? outDir : new File(outDir, resourceFile.getDeobfName()));
 		}
 	}
 
@@ -66,14 +73,13 @@ private void saveToFile(ResContainer rc, File outFile) {
 		switch (rc.getDataType()) {
 			case TEXT:
 			case RES_TABLE:
-				SaveCode.save(rc.getText(), outFile);
+				SaveCode.save(writer, rc.getText().getCodeStr(), outFile);
 				return;
 
 			case DECODED_DATA:
 				byte[] data = rc.getDecodedData();
-				FileUtils.makeDirsForFile(outFile);
 				try {
-					Files.write(outFile.toPath(), data);
+					writer.write(outFile, data);
 				} catch (Exception e) {
 					LOG.warn("Resource '{}' not saved, got exception", rc.getName(), e);
 				}
@@ -81,11 +87,11 @@ private void saveToFile(ResContainer rc, File outFile) {
 
 			case RES_LINK:
 				ResourceFile resFile = rc.getResLink();
-				FileUtils.makeDirsForFile(outFile);
 				try {
 					saveResourceFile(resFile, outFile);
 				} catch (Exception e) {
 					LOG.warn("Resource '{}' not saved, got exception", rc.getName(), e);
+					writer.markFailed(outFile);
 				}
 				return;
 
@@ -97,11 +103,9 @@ private void saveToFile(ResContainer rc, File outFile) {
 
 	private void saveResourceFile(ResourceFile resFile, File outFile) throws JadxException {
 		ResourcesLoader.decodeStream(resFile, (size, is) -> {
-			Path target = outFile.toPath();
 			try {
-				Files.copy(is, target, StandardCopyOption.REPLACE_EXISTING);
+				writer.write(outFile, is);
 			} catch (Exception e) {
-				Files.deleteIfExists(target); // delete partially written file
 				throw new JadxRuntimeException("Resource file save error", e);
 			}
 			return null;
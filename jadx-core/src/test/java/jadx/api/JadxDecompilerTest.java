@@ -5,11 +5,29 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
 import jadx.core.xmlgen.ResContainer;
 import jadx.plugins.input.dex.DexInputPlugin;
 
@@ -83,6 +101,129 @@ public void testResourcesLoad() {
 		}
 	}
 
+	@Test
+	public void testConcurrentJavaNodeConversion() throws Exception {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(sampleApk);
+		args.setSkipResources(true);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			RootNode root = jadx.getRoot();
+			List<ICodeNodeRef> refs = new ArrayList<>(root.getPackages());
+			for (ClassNode cls : root.getClasses()) {
+				refs.add(cls);
+				refs.addAll(cls.getFields());
+				refs.addAll(cls.getMethods());
+			}
+			int threadsCount = 16;
+			ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+			try {
+				List<Future<List<JavaNode>>> futures = new ArrayList<>(threadsCount);
+				for (int i = 0; i < threadsCount; i++) {
+					futures.add(executor.submit(() -> {
+						List<JavaNode> nodes = new ArrayList<>(refs.size());
+						for (ICodeNodeRef ref : refs) {
+							nodes.add(jadx.getJavaNodeByRef(ref));
+						}
+						return nodes;
+					}));
+				}
+				List<JavaNode> expected = futures.get(0).get(1, TimeUnit.MINUTES);
+				assertThat(expected).doesNotContainNull();
+				for (Future<List<JavaNode>> future : futures) {
+					List<JavaNode> nodes = future.get(1, TimeUnit.MINUTES);
+					for (int i = 0; i < nodes.size(); i++) {
+						// all threads should get same instance
+						assertThat(nodes.get(i)).isSameAs(expected.get(i));
+					}
+				}
+			} finally {
+				executor.shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void testShardBatches() {
+		List<Integer> batches = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+		assertThat(JadxDecompiler.selectShardBatches(batches, 0, 1)).isEqualTo(batches);
+		assertThat(JadxDecompiler.selectShardBatches(batches, 1, 3)).containsExactly(1, 4, 7);
+		for (int shardsCount = 1; shardsCount <= 12; shardsCount++) {
+			List<Integer> all = new ArrayList<>();
+			for (int shard = 0; shard < shardsCount; shard++) {
+				all.addAll(JadxDecompiler.selectShardBatches(batches, shard, shardsCount));
+			}
+			Collections.sort(all);
+			// each batch saved by exactly one shard
+			assertThat(all).isEqualTo(batches);
+		}
+	}
+
+	@Test
+	public void testShardedSaveSameAsSingle() throws IOException {
+		List<String> clsNames = List.of("ShardIterator", "ShardIterable", "ShardAbstractIterable", "ShardUser");
+		File singleDir = new File(testDir, "single");
+		saveShard(clsNames, singleDir, 0, 1);
+		int shardsCount = 3;
+		File shardsDir = new File(testDir, "shards");
+		for (int shard = 0; shard < shardsCount; shard++) {
+			saveShard(clsNames, shardsDir, shard, shardsCount);
+		}
+		Map<String, String> expected = readFiles(singleDir.toPath());
+		assertThat(expected).hasSize(clsNames.size());
+		assertThat(readFiles(shardsDir.toPath())).isEqualTo(expected);
+	}
+
+	private static void saveShard(List<String> clsNames, File outDir, int shard, int shardsCount) {
+		JadxArgs args = new JadxArgs();
+		for (String clsName : clsNames) {
+			URL resource = JadxDecompilerTest.class.getResource("JadxDecompilerTest$" + clsName + ".class");
+			assertThat(resource).isNotNull();
+			args.getInputFiles().add(new File(resource.getFile()));
+		}
+		args.setUseDxInput(false);
+		args.setThreadsCount(1);
+		args.setOutDir(outDir);
+		args.setShard(shard, shardsCount);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			jadx.save();
+		}
+	}
+
+	private static Map<String, String> readFiles(Path dir) throws IOException {
+		Map<String, String> map = new TreeMap<>();
+		try (Stream<Path> paths = Files.walk(dir)) {
+			for (Path path : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+				map.put(dir.relativize(path).toString(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+			}
+		}
+		return map;
+	}
+
+	public interface ShardIterator extends Iterator<Integer> {
+	}
+
+	public interface ShardIterable extends Iterable<Integer> {
+		@Override
+		ShardIterator iterator();
+	}
+
+	public abstract static class ShardAbstractIterable implements ShardIterable {
+		@Override
+		public ShardIterator iterator() {
+			return null;
+		}
+	}
+
+	public static class ShardUser {
+		public Object use(ShardIterable iterable) {
+			return iterable.iterator();
+		}
+	}
+
 	private static final String TEST_SAMPLES_DIR = "test-samples/";
 
 	public static File getFileFromSampleDir(String fileName) {
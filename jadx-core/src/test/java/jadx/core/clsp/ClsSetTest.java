@@ -0,0 +1,73 @@
+package jadx.core.clsp;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.RootNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClsSetTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testSharedLoad() {
+		RootNode firstRoot = new RootNode(new JadxArgs());
+		RootNode secondRoot = new RootNode(new JadxArgs());
+		ClspClass first = loadClass(firstRoot, "java.lang.String");
+		ClspClass second = loadClass(secondRoot, "java.lang.String");
+
+		assertThat(first).isNotSameAs(second);
+		assertThat(first.getParents()).isSameAs(second.getParents());
+
+		ClspMethod firstMth = first.getMethodsMap().get("length()I");
+		ClspMethod secondMth = second.getMethodsMap().get("length()I");
+		assertThat(firstMth).isNotNull();
+		assertThat(secondMth).isNotNull();
+		// method info bound to root
+		assertThat(firstMth.getMethodInfo()).isNotSameAs(secondMth.getMethodInfo());
+	}
+
+	@Test
+	void testSaveAndLoad() throws Exception {
+		RootNode root = new RootNode(new JadxArgs());
+		ClsSet set = new ClsSet(root);
+		set.loadFromClstFile();
+		Path file = tempDir.resolve("test.jcst");
+		set.save(file);
+
+		ClsSetData data = new ClsSetData(Files.readAllBytes(file));
+		assertThat(data.getAndroidApiLevel()).isEqualTo(set.getAndroidApiLevel());
+		assertThat(data.getClassesCount()).isEqualTo(set.getClassesCount());
+
+		Map<String, ClspClass> expected = new HashMap<>();
+		set.addToMap(expected);
+		for (ClspClass cls : data.makeClasses(root)) {
+			ClspClass expectedCls = expected.get(cls.getName());
+			assertThat(expectedCls).isNotNull();
+			assertThat(cls.getAccFlags()).isEqualTo(expectedCls.getAccFlags());
+			assertThat(Arrays.asList(cls.getParents())).isEqualTo(Arrays.asList(expectedCls.getParents()));
+			assertThat(cls.getTypeParameters()).isEqualTo(expectedCls.getTypeParameters());
+			assertThat(cls.getMethodsMap().keySet()).isEqualTo(expectedCls.getMethodsMap().keySet());
+		}
+	}
+
+	private static ClspClass loadClass(RootNode root, String clsName) {
+		ClsSet set = new ClsSet(root);
+		set.loadFromClstFile();
+		Map<String, ClspClass> map = new HashMap<>();
+		set.addToMap(map);
+		ClspClass cls = map.get(clsName);
+		assertThat(cls).isNotNull();
+		return cls;
+	}
+}
@@ -0,0 +1,91 @@
+package jadx.core.dex.info;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.RootNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConstStorageTest {
+	private static final int FIELD_FLAGS = AccessFlags.PRIVATE | AccessFlags.STATIC | AccessFlags.FINAL;
+
+	private final RootNode root = new RootNode(new JadxArgs());
+
+	@Test
+	public void testRemoveForClass() {
+		ConstStorage constStorage = new ConstStorage(root.getArgs());
+		ClassNode clsA = ClassNode.addSyntheticClass(root, "test.A", AccessFlags.PUBLIC);
+		ClassNode clsB = ClassNode.addSyntheticClass(root, "test.B", AccessFlags.PUBLIC);
+		FieldNode fldA = field(clsA, "A_CONST");
+		FieldNode fldB = field(clsB, "B_CONST");
+		constStorage.addConstField(fldA, 500, false);
+		constStorage.addConstField(fldB, 500, false);
+		assertThat(constStorage.getConstField(clsA, 500, false)).isSameAs(fldA);
+		assertThat(constStorage.getConstField(clsB, 500, false)).isSameAs(fldB);
+
+		constStorage.removeForClass(clsA);
+		assertThat(constStorage.getConstField(clsA, 500, false)).isNull();
+		assertThat(constStorage.getConstField(clsB, 500, false)).isSameAs(fldB);
+
+		constStorage.removeForClass(clsB);
+		assertThat(constStorage.getConstField(clsB, 500, false)).isNull();
+
+		// same value can be added again after all fields removed
+		constStorage.addConstField(fldA, 500, false);
+		assertThat(constStorage.getConstField(clsA, 500, false)).isSameAs(fldA);
+	}
+
+	@Test
+	public void testConcurrentAddAndRemove() throws Exception {
+		ConstStorage constStorage = new ConstStorage(root.getArgs());
+		ClassNode clsA = ClassNode.addSyntheticClass(root, "test.C", AccessFlags.PUBLIC);
+		ClassNode clsB = ClassNode.addSyntheticClass(root, "test.D", AccessFlags.PUBLIC);
+		int count = 2000;
+		List<FieldNode> fieldsA = new ArrayList<>(count);
+		List<FieldNode> fieldsB = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			fieldsA.add(field(clsA, "A_" + i));
+			fieldsB.add(field(clsB, "B_" + i));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> addA = executor.submit(() -> {
+				for (int i = 0; i < count; i++) {
+					constStorage.addConstField(fieldsA.get(i), 1000 + i, false);
+					constStorage.removeForClass(clsA);
+				}
+			});
+			Future<?> addB = executor.submit(() -> {
+				for (int i = 0; i < count; i++) {
+					constStorage.addConstField(fieldsB.get(i), 1000 + i, false);
+				}
+			});
+			addA.get();
+			addB.get();
+		} finally {
+			executor.shutdown();
+		}
+		for (int i = 0; i < count; i++) {
+			assertThat(constStorage.getConstField(clsB, 1000 + i, false)).isSameAs(fieldsB.get(i));
+			assertThat(constStorage.getConstField(clsA, 1000 + i, false)).isNull();
+		}
+	}
+
+	private FieldNode field(ClassNode cls, String name) {
+		FieldInfo fieldInfo = FieldInfo.from(root, cls.getClassInfo(), name, ArgType.INT);
+		FieldNode fld = new FieldNode(cls, fieldInfo, FIELD_FLAGS);
+		cls.addField(fld);
+		return fld;
+	}
+}
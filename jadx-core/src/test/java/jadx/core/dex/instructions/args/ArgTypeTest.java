@@ -1,7 +1,12 @@
 package jadx.core.dex.instructions.args;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import jadx.core.dex.instructions.NewArrayNode;
+
 import static jadx.core.dex.instructions.args.ArgType.WildcardBound.SUPER;
 import static jadx.core.dex.instructions.args.ArgType.generic;
 import static jadx.core.dex.instructions.args.ArgType.genericType;
@@ -40,4 +45,59 @@ void testInnerGeneric() {
 		assertThat(genericInner2.toString()).isEqualTo("java.util.Map<K, V>$Entry");
 		assertThat(genericInner2.containsTypeVariable()).isTrue();
 	}
+
+	@Test
+	void testInternedTypes() {
+		assertThat(ArgType.array(ArgType.object("java.lang.String"))).isSameAs(ArgType.array(ArgType.STRING));
+		assertThat(ArgType.object("java.util.List")).isSameAs(ArgType.object("Ljava/util/List;"));
+		assertThat(generic("java.util.List", ArgType.STRING)).isSameAs(generic("java.util.List", ArgType.STRING));
+
+		// type variables are mutable, so not shared
+		assertThat(genericType("T")).isNotSameAs(genericType("T"));
+		assertThat(generic("java.util.List", genericType("T")))
+				.isNotSameAs(generic("java.util.List", genericType("T")));
+	}
+
+	@Test
+	void testInternedGenericNotChangedBySourceList() {
+		List<ArgType> generics = new ArrayList<>();
+		generics.add(ArgType.STRING);
+		ArgType type = generic("java.util.List", generics);
+		generics.set(0, ArgType.INT);
+		assertThat(type.getGenericTypes()).containsExactly(ArgType.STRING);
+		assertThat(generic("java.util.List", ArgType.STRING)).isSameAs(type);
+	}
+
+	@Test
+	void testParseNotInterned() {
+		ArgType parsed = ArgType.parse("[Ljava/lang/String;");
+		assertThat(parsed).isEqualTo(ArgType.array(ArgType.STRING));
+		assertThat(parsed.hashCode()).isEqualTo(ArgType.array(ArgType.STRING).hashCode());
+		assertThat(ArgType.parse("Ljava/lang/String;")).isSameAs(ArgType.STRING);
+		assertThat(ArgType.parse("Ljava/util/List;")).isEqualTo(ArgType.object("java.util.List"));
+	}
+
+	@Test
+	void testGenericWithNullTypes() {
+		List<ArgType> generics = new ArrayList<>();
+		generics.add(null);
+		generics.add(ArgType.STRING);
+		ArgType type = generic("java.util.Map", generics);
+		assertThat(type.getGenericTypes()).containsExactly(null, ArgType.STRING);
+		assertThat(type.containsTypeVariable()).isFalse();
+		assertThat(type).isEqualTo(generic("java.util.Map", generics));
+
+		ArgType noGenerics = ArgType.generic("java.util.List", (List<ArgType>) null);
+		assertThat(noGenerics.getGenericTypes()).isEmpty();
+	}
+
+	@Test
+	void testNewArrayInsnSameForEqualTypes() {
+		NewArrayNode first = new NewArrayNode(ArgType.parse("[Ljava/lang/String;"), 0);
+		NewArrayNode second = new NewArrayNode(ArgType.array(ArgType.object("java.lang.String")), 0);
+		assertThat(first.isSame(second)).isTrue();
+
+		NewArrayNode other = new NewArrayNode(ArgType.array(ArgType.OBJECT), 0);
+		assertThat(first.isSame(other)).isFalse();
+	}
 }
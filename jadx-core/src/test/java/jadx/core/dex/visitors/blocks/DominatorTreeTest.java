@@ -0,0 +1,128 @@
+package jadx.core.dex.visitors.blocks;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.BlockNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DominatorTreeTest {
+
+	@Test
+	public void testDomsSets() {
+		List<BlockNode> blocks = makeBlocks(7);
+		connect(blocks, 0, 1);
+		connect(blocks, 1, 2);
+		connect(blocks, 1, 3);
+		connect(blocks, 2, 4);
+		connect(blocks, 3, 4);
+		connect(blocks, 4, 5);
+		connect(blocks, 5, 1);
+		connect(blocks, 4, 6);
+		DominatorTree.compute(blocks);
+
+		assertThat(blocks.get(4).getIDom()).isSameAs(blocks.get(1));
+		assertThat(blocks.get(6).getDoms()).isEqualTo(bitSet(0, 1, 4));
+		checkDoms(blocks);
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		Random rnd = new Random(42);
+		for (int n = 0; n < 200; n++) {
+			int count = 2 + rnd.nextInt(40);
+			List<BlockNode> blocks = makeBlocks(count);
+			for (int i = 1; i < count; i++) {
+				// edge from already added block, so list order is a valid DFS order
+				connect(blocks, rnd.nextInt(i), i);
+			}
+			int extraEdges = rnd.nextInt(count * 2);
+			for (int i = 0; i < extraEdges; i++) {
+				int from = rnd.nextInt(count);
+				int to = 1 + rnd.nextInt(count - 1);
+				if (!blocks.get(from).getSuccessors().contains(blocks.get(to))) {
+					connect(blocks, from, to);
+				}
+			}
+			DominatorTree.compute(blocks);
+			checkDoms(blocks);
+		}
+	}
+
+	/**
+	 * Compare with dominators sets computed by iterative data flow algorithm,
+	 * request sets in reverse order to check build from not yet collected dominators sets.
+	 */
+	private static void checkDoms(List<BlockNode> blocks) {
+		List<BitSet> expected = computeDomsSets(blocks);
+		for (int i = blocks.size() - 1; i >= 0; i--) {
+			BlockNode block = blocks.get(i);
+			assertThat(block.getDoms()).describedAs("dominators of %s", block).isEqualTo(expected.get(i));
+			for (BlockNode other : blocks) {
+				assertThat(block.isDominator(other))
+						.describedAs("%s dominated on %s", other, block)
+						.isEqualTo(expected.get(i).get(other.getPos()));
+			}
+		}
+	}
+
+	private static List<BitSet> computeDomsSets(List<BlockNode> blocks) {
+		int count = blocks.size();
+		List<BitSet> doms = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			BitSet bs = new BitSet(count);
+			if (i == 0) {
+				bs.set(0);
+			} else {
+				bs.set(0, count);
+			}
+			doms.add(bs);
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 1; i < count; i++) {
+				BitSet bs = new BitSet(count);
+				bs.set(0, count);
+				for (BlockNode pred : blocks.get(i).getPredecessors()) {
+					bs.and(doms.get(pred.getPos()));
+				}
+				bs.set(i);
+				if (!bs.equals(doms.get(i))) {
+					doms.set(i, bs);
+					changed = true;
+				}
+			}
+		}
+		// exclude block itself
+		for (int i = 0; i < count; i++) {
+			doms.get(i).clear(i);
+		}
+		return doms;
+	}
+
+	private static BitSet bitSet(int... bits) {
+		BitSet bs = new BitSet();
+		for (int bit : bits) {
+			bs.set(bit);
+		}
+		return bs;
+	}
+
+	private static List<BlockNode> makeBlocks(int count) {
+		List<BlockNode> blocks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			blocks.add(new BlockNode(i, i, i));
+		}
+		return blocks;
+	}
+
+	private static void connect(List<BlockNode> blocks, int from, int to) {
+		BlockSplitter.connect(blocks.get(from), blocks.get(to));
+	}
+}
@@ -0,0 +1,77 @@
+package jadx.core.dex.visitors.ssa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.instructions.InsnType;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.nodes.BlockNode;
+import jadx.core.dex.nodes.InsnNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveVarAnalysisTest {
+
+	@Test
+	void testSparseSameAsDense() {
+		Random rnd = new Random(7);
+		for (int k = 0; k < 1000; k++) {
+			int blocksCount = 1 + rnd.nextInt(40);
+			int regsCount = 1 + rnd.nextInt(12);
+			List<BlockNode> blocks = makeBlocks(rnd, blocksCount, regsCount);
+
+			LiveVarAnalysis dense = new LiveVarAnalysis(blocks, regsCount);
+			dense.runAnalysis();
+			SparseLiveVarAnalysis sparse = new SparseLiveVarAnalysis(blocks, regsCount);
+			sparse.runAnalysis();
+
+			for (int reg = 0; reg < regsCount; reg++) {
+				assertThat(sparse.getAssignBlocks(reg)).isEqualTo(dense.getAssignBlocks(reg));
+				for (int id = 0; id < blocksCount; id++) {
+					assertThat(sparse.isLive(id, reg))
+							.describedAs("iteration %d, block %d, reg %d", k, id, reg)
+							.isEqualTo(dense.isLive(id, reg));
+				}
+			}
+		}
+	}
+
+	private static List<BlockNode> makeBlocks(Random rnd, int blocksCount, int regsCount) {
+		List<BlockNode> blocks = new ArrayList<>(blocksCount);
+		for (int i = 0; i < blocksCount; i++) {
+			BlockNode block = new BlockNode(i, i, i);
+			int insnsCount = rnd.nextInt(5);
+			for (int j = 0; j < insnsCount; j++) {
+				int argsCount = rnd.nextInt(3);
+				InsnNode insn = new InsnNode(InsnType.NOP, argsCount);
+				for (int a = 0; a < argsCount; a++) {
+					insn.addArg(InsnArg.reg(rnd.nextInt(regsCount), ArgType.INT));
+				}
+				if (rnd.nextBoolean()) {
+					insn.setResult(InsnArg.reg(rnd.nextInt(regsCount), ArgType.INT));
+				}
+				block.getInstructions().add(insn);
+			}
+			blocks.add(block);
+		}
+		for (int i = 1; i < blocksCount; i++) {
+			// keep all blocks reachable and add random forward and back edges
+			connect(blocks.get(rnd.nextInt(i)), blocks.get(i));
+			if (rnd.nextInt(3) == 0) {
+				connect(blocks.get(i), blocks.get(rnd.nextInt(blocksCount)));
+			}
+		}
+		return blocks;
+	}
+
+	private static void connect(BlockNode from, BlockNode to) {
+		if (!from.getSuccessors().contains(to)) {
+			from.getSuccessors().add(to);
+			to.getPredecessors().add(from);
+		}
+	}
+}
@@ -10,6 +10,7 @@
 
 import jadx.NotYetImplementedExtension;
 import jadx.api.JadxArgs;
+import jadx.core.clsp.ClspGraph;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.ArgType.WildcardBound;
 import jadx.core.dex.nodes.RootNode;
@@ -38,12 +39,13 @@
 public class TypeCompareTest {
 	private static final Logger LOG = LoggerFactory.getLogger(TypeCompareTest.class);
 
+	private RootNode root;
 	private TypeCompare compare;
 
 	@BeforeEach
 	public void init() {
 		JadxArgs args = new JadxArgs();
-		RootNode root = new RootNode(args);
+		root = new RootNode(args);
 		root.loadClasses(Collections.emptyList());
 		root.initClassPath();
 		compare = new TypeCompare(root);
@@ -187,6 +189,46 @@ public void compareOuterGenerics() {
 		check(firstInstance, secondInstance, TypeCompareEnum.NARROW);
 	}
 
+	@Test
+	public void compareCache() {
+		TypeCompareCache cache = compare.getCache();
+		check(EXCEPTION, THROWABLE, TypeCompareEnum.NARROW);
+		assertThat(cache.getMisses()).isEqualTo(2);
+		assertThat(cache.getHits()).isEqualTo(0);
+
+		check(EXCEPTION, THROWABLE, TypeCompareEnum.NARROW);
+		assertThat(cache.getHits()).isEqualTo(2);
+
+		// hierarchy changed
+		root.getClsp().addApp(Collections.emptyList());
+		check(EXCEPTION, THROWABLE, TypeCompareEnum.NARROW);
+		assertThat(cache.getMisses()).isEqualTo(4);
+		assertThat(cache.getHits()).isEqualTo(2);
+
+		// not cached
+		ArgType typeVar = genericType("T");
+		check(typeVar, OBJECT, TypeCompareEnum.NARROW);
+		assertThat(cache.getMisses()).isEqualTo(4);
+	}
+
+	@Test
+	public void compareCacheStaleResult() {
+		TypeCompareCache cache = new TypeCompareCache(4);
+		ClspGraph clsp = root.getClsp();
+		int gen = cache.checkClsp(clsp);
+		// hierarchy changed while result calculated
+		clsp.addApp(Collections.emptyList());
+		int newGen = cache.checkClsp(clsp);
+		assertThat(newGen).isNotEqualTo(gen);
+
+		cache.put(EXCEPTION, THROWABLE, TypeCompareEnum.NARROW, gen);
+		assertThat(cache.get(EXCEPTION, THROWABLE, newGen)).isNull();
+
+		cache.put(EXCEPTION, THROWABLE, TypeCompareEnum.NARROW, newGen);
+		assertThat(cache.get(EXCEPTION, THROWABLE, newGen)).isEqualTo(TypeCompareEnum.NARROW);
+		assertThat(cache.checkClsp(clsp)).isEqualTo(newGen);
+	}
+
 	private void firstIsNarrow(ArgType first, ArgType second) {
 		check(first, second, TypeCompareEnum.NARROW);
 	}
@@ -0,0 +1,236 @@
+package jadx.core.dex.visitors.typeinference;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JadxInternalAccess;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+
+/**
+ * Compare multi-variable type search solver with plain enumeration of all candidates combinations.
+ * <p>
+ * Search runs on types state right before {@link FixTypesVisitor},
+ * so it includes methods which can be fixed by cheaper resolvers.
+ * Search results are not applied, decompilation is not changed.
+ * <p>
+ * Usage: {@code ./gradlew :jadx-core:typeSearchBenchmark [-PbenchInputs=<paths>]}
+ * <br>
+ * Default inputs are type inference tests: compiled classes and smali files.
+ * Class files from a directory loaded together, other entries loaded one by one.
+ */
+public class TypeSearchBenchmark {
+	private static final Logger LOG = LoggerFactory.getLogger(TypeSearchBenchmark.class);
+
+	private static final int ROUNDS = 3;
+
+	/**
+	 * Iterations limit used with enumeration
+	 */
+	private static final int ENUMERATION_LIMIT = 1_000_000;
+
+	public static void main(String[] args) throws IOException {
+		List<List<File>> inputs = new ArrayList<>();
+		for (String arg : args) {
+			collectInputs(Paths.get(arg), inputs);
+		}
+		if (inputs.isEmpty()) {
+			throw new IllegalArgumentException("No inputs");
+		}
+		Stats stats = null;
+		for (int i = 1; i <= ROUNDS; i++) {
+			stats = new Stats();
+			for (List<File> files : inputs) {
+				process(files, stats);
+			}
+			LOG.info("Round {}/{}: {}", i, ROUNDS, stats);
+		}
+		LOG.info("Inputs: {}", inputs.size());
+		LOG.info("Searches: {}, vars: {}, results mismatch: {}", stats.searches, stats.vars, stats.mismatches);
+		LOG.info("Limit reached: solver {}, enumeration {}", stats.solver.limitReached, stats.enumeration.limitReached);
+		LOG.info("Solver: {}", stats.solver);
+		LOG.info("Enumeration: {}", stats.enumeration);
+	}
+
+	private static void collectInputs(Path path, List<List<File>> inputs) throws IOException {
+		if (!Files.isDirectory(path)) {
+			inputs.add(List.of(path.toFile()));
+			return;
+		}
+		try (Stream<Path> walk = Files.walk(path)) {
+			List<File> classes = walk
+					.filter(p -> p.getFileName().toString().endsWith(".class"))
+					.map(Path::toFile)
+					.sorted()
+					.collect(Collectors.toList());
+			if (!classes.isEmpty()) {
+				inputs.add(classes);
+			}
+		}
+		try (Stream<Path> list = Files.list(path)) {
+			list.filter(p -> !p.getFileName().toString().endsWith(".class"))
+					.sorted()
+					.forEach(p -> inputs.add(List.of(p.toFile())));
+		}
+	}
+
+	private static void process(List<File> files, Stats stats) {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().addAll(files);
+		args.setSkipResources(true);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			RootNode root = JadxInternalAccess.getRoot(jadx);
+			List<IDexTreeVisitor> passes = root.getPasses();
+			for (int i = 0; i < passes.size(); i++) {
+				if (passes.get(i) instanceof FixTypesVisitor) {
+					passes.add(i, new BenchmarkVisitor(stats));
+					break;
+				}
+			}
+			for (ClassNode cls : root.getClassesWithoutInner()) {
+				cls.decompile();
+			}
+		}
+	}
+
+	private static final class BenchmarkVisitor extends AbstractVisitor {
+		private final Stats stats;
+
+		private BenchmarkVisitor(Stats stats) {
+			this.stats = stats;
+		}
+
+		@Override
+		public void visit(MethodNode mth) {
+			if (mth.isNoCode() || mth.getSVars().stream().allMatch(v -> v.getTypeInfo().getType().isTypeKnown())) {
+				return;
+			}
+			TypeSearch typeSearch = new TypeSearch(mth);
+			List<TypeSearchVarInfo> vars = typeSearch.prepare();
+			if (vars == null || vars.isEmpty()) {
+				return;
+			}
+			TypeSearchState state = typeSearch.getState();
+			long start = System.nanoTime();
+			int iterations = enumerate(state, vars);
+			boolean enumResult = iterations >= 0;
+			boolean enumLimit = iterations > ENUMERATION_LIMIT;
+			stats.enumeration.add(enumResult && !enumLimit, enumLimit, System.nanoTime() - start);
+			List<ArgType> enumTypes = getTypes(vars);
+
+			start = System.nanoTime();
+			TypeSearchSolver solver = new TypeSearchSolver(state, vars, TypeSearch.SEARCH_ITERATION_LIMIT);
+			boolean solverResult = solver.solve();
+			boolean solverLimit = solver.getSteps() > TypeSearch.SEARCH_ITERATION_LIMIT;
+			stats.solver.add(solverResult, solverLimit, System.nanoTime() - start);
+
+			stats.searches++;
+			stats.vars += vars.size();
+			if (enumLimit || solverLimit) {
+				// results can't be compared
+				return;
+			}
+			if (solverResult != enumResult || solverResult && !enumTypes.equals(getTypes(vars))) {
+				stats.mismatches++;
+				LOG.warn("Results mismatch in method: {}", mth);
+			}
+		}
+
+		/**
+		 * Search used before solver: check all combinations in odometer order
+		 *
+		 * @return iterations count, -1 if all combinations rejected
+		 */
+		private static int enumerate(TypeSearchState state, List<TypeSearchVarInfo> vars) {
+			int len = vars.size();
+			for (TypeSearchVarInfo var : vars) {
+				var.reset();
+			}
+			int n = 0;
+			while (!fullCheck(state, vars)) {
+				int k = 0;
+				while (vars.get(k).nextType()) {
+					k++;
+					if (k >= len) {
+						return -1;
+					}
+				}
+				n++;
+				if (n > ENUMERATION_LIMIT) {
+					return n;
+				}
+			}
+			return n;
+		}
+
+		private static boolean fullCheck(TypeSearchState state, List<TypeSearchVarInfo> vars) {
+			for (TypeSearchVarInfo var : vars) {
+				for (ITypeConstraint constraint : var.getConstraints()) {
+					if (!constraint.check(state)) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		private static List<ArgType> getTypes(List<TypeSearchVarInfo> vars) {
+			return vars.stream().map(TypeSearchVarInfo::getCurrentType).collect(Collectors.toList());
+		}
+	}
+
+	private static final class Stats {
+		private final SearchStats solver = new SearchStats();
+		private final SearchStats enumeration = new SearchStats();
+		private int searches;
+		private long vars;
+		private int mismatches;
+
+		@Override
+		public String toString() {
+			return "solver " + solver.totalNs / 1_000_000 + " ms, enumeration " + enumeration.totalNs / 1_000_000 + " ms";
+		}
+	}
+
+	private static final class SearchStats {
+		private int success;
+		private int limitReached;
+		private long totalNs;
+		private long maxNs;
+
+		void add(boolean result, boolean limit, long timeNs) {
+			if (result) {
+				success++;
+			}
+			if (limit) {
+				limitReached++;
+			}
+			totalNs += timeNs;
+			maxNs = Math.max(maxNs, timeNs);
+		}
+
+		@Override
+		public String toString() {
+			return "success: " + success
+					+ ", total: " + String.format("%.2f", totalNs / 1e6) + " ms"
+					+ ", max: " + String.format("%.2f", maxNs / 1e6) + " ms";
+		}
+	}
+}
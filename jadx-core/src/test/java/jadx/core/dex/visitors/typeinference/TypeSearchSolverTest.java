@@ -0,0 +1,174 @@
+package jadx.core.dex.visitors.typeinference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.instructions.args.SSAVar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeSearchSolverTest {
+	private static final List<ArgType> TYPES = Arrays.asList(
+			ArgType.INT, ArgType.BOOLEAN, ArgType.OBJECT, ArgType.STRING, ArgType.CLASS);
+
+	@Test
+	void testSameAsFullSearch() {
+		Random rnd = new Random(42);
+		for (int k = 0; k < 2000; k++) {
+			int varsCount = 2 + rnd.nextInt(5);
+			List<SSAVar> ssaVars = makeVars(varsCount);
+			TypeSearchState state = new TypeSearchState(ssaVars);
+			List<TypeSearchVarInfo> vars = state.getAllVars();
+			for (TypeSearchVarInfo var : vars) {
+				List<ArgType> types = new ArrayList<>(TYPES);
+				Collections.shuffle(types, rnd);
+				var.setCandidateTypes(types.subList(0, 2 + rnd.nextInt(TYPES.size() - 1)));
+				var.setConstraints(new ArrayList<>());
+			}
+			for (int i = 0; i < varsCount * 2; i++) {
+				SSAVar first = ssaVars.get(rnd.nextInt(varsCount));
+				SSAVar second = ssaVars.get(rnd.nextInt(varsCount));
+				if (first != second) {
+					state.getVarInfo(first).getConstraints().add(new RandomPairsConstraint(first, second, rnd.nextLong()));
+				}
+			}
+			int[] expected = fullSearch(state, vars);
+			boolean solved = new TypeSearchSolver(state, vars, 1_000_000).solve();
+			if (expected == null) {
+				assertThat(solved).isFalse();
+			} else {
+				assertThat(solved).isTrue();
+				for (int i = 0; i < varsCount; i++) {
+					TypeSearchVarInfo var = vars.get(i);
+					assertThat(var.getCurrentType()).isEqualTo(var.getCandidateTypes().get(expected[i]));
+				}
+			}
+		}
+	}
+
+	@Test
+	void testNoSolutionFastFail() {
+		// full search need to check 5^40 combinations to reject this
+		int varsCount = 40;
+		List<SSAVar> ssaVars = makeVars(varsCount);
+		TypeSearchState state = new TypeSearchState(ssaVars);
+		List<TypeSearchVarInfo> vars = state.getAllVars();
+		for (TypeSearchVarInfo var : vars) {
+			var.setCandidateTypes(TYPES);
+			var.setConstraints(new ArrayList<>());
+		}
+		// chain of equal types with conflict at the end
+		for (int i = 1; i < varsCount; i++) {
+			vars.get(i - 1).getConstraints().add(new EqualsConstraint(ssaVars.get(i - 1), ssaVars.get(i), true));
+		}
+		vars.get(0).getConstraints().add(new EqualsConstraint(ssaVars.get(0), ssaVars.get(varsCount - 1), false));
+
+		assertThat(new TypeSearchSolver(state, vars, 1_000).solve()).isFalse();
+	}
+
+	private static List<SSAVar> makeVars(int count) {
+		List<SSAVar> list = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			list.add(new SSAVar(i, 0, InsnArg.reg(i, ArgType.UNKNOWN)));
+		}
+		return list;
+	}
+
+	/**
+	 * Check all combinations in same order as previous search implementation
+	 */
+	private static int @Nullable [] fullSearch(TypeSearchState state, List<TypeSearchVarInfo> vars) {
+		int len = vars.size();
+		int[] values = new int[len];
+		while (true) {
+			for (int i = 0; i < len; i++) {
+				TypeSearchVarInfo var = vars.get(i);
+				var.setCurrentType(var.getCandidateTypes().get(values[i]));
+			}
+			if (checkAll(state, vars)) {
+				return values;
+			}
+			int k = 0;
+			while (true) {
+				values[k]++;
+				if (values[k] < vars.get(k).getCandidateTypes().size()) {
+					break;
+				}
+				values[k] = 0;
+				k++;
+				if (k == len) {
+					return null;
+				}
+			}
+		}
+	}
+
+	private static boolean checkAll(TypeSearchState state, List<TypeSearchVarInfo> vars) {
+		for (TypeSearchVarInfo var : vars) {
+			for (ITypeConstraint constraint : var.getConstraints()) {
+				if (!constraint.check(state)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private abstract static class PairConstraint implements ITypeConstraint {
+		protected final SSAVar first;
+		protected final SSAVar second;
+
+		protected PairConstraint(SSAVar first, SSAVar second) {
+			this.first = first;
+			this.second = second;
+		}
+
+		@Override
+		public List<SSAVar> getRelatedVars() {
+			return Collections.singletonList(second);
+		}
+	}
+
+	private static final class EqualsConstraint extends PairConstraint {
+		private final boolean equals;
+
+		EqualsConstraint(SSAVar first, SSAVar second, boolean equals) {
+			super(first, second);
+			this.equals = equals;
+		}
+
+		@Override
+		public boolean check(TypeSearchState state) {
+			ArgType firstType = state.getVarInfo(first).getCurrentType();
+			ArgType secondType = state.getVarInfo(second).getCurrentType();
+			return firstType.equals(secondType) == equals;
+		}
+	}
+
+	/**
+	 * Allow random subset of types pairs
+	 */
+	private static final class RandomPairsConstraint extends PairConstraint {
+		private final long seed;
+
+		RandomPairsConstraint(SSAVar first, SSAVar second, long seed) {
+			super(first, second);
+			this.seed = seed;
+		}
+
+		@Override
+		public boolean check(TypeSearchState state) {
+			int firstIdx = TYPES.indexOf(state.getVarInfo(first).getCurrentType());
+			int secondIdx = TYPES.indexOf(state.getVarInfo(second).getCurrentType());
+			return new Random(seed + firstIdx * TYPES.size() + secondIdx).nextInt(3) != 0;
+		}
+	}
+}
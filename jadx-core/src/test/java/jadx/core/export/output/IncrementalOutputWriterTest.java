@@ -0,0 +1,173 @@
+package jadx.core.export.output;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IncrementalOutputWriterTest {
+	private static final String MANIFEST = ".manifest";
+	private static final long OLD_TIME = 1_000_000_000_000L;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testSkipUnchanged() throws IOException {
+		File rootDir = tempDir.toFile();
+		File fileA = new File(rootDir, "sources/a/A.java");
+		File fileB = new File(rootDir, "resources/b.txt");
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, false)) {
+			writer.write(fileA, bytes("class A {}"));
+			writer.write(fileB, new ByteArrayInputStream(bytes("b")));
+		}
+		assertThat(new File(rootDir, MANIFEST)).exists();
+		assertThat(fileA.setLastModified(OLD_TIME)).isTrue();
+		assertThat(fileB.setLastModified(OLD_TIME)).isTrue();
+
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, false)) {
+			writer.write(fileA, bytes("class A {}"));
+			writer.write(fileB, bytes("b2"));
+		}
+		assertThat(fileA.lastModified()).isEqualTo(OLD_TIME);
+		assertThat(fileA).hasContent("class A {}");
+		assertThat(fileB).hasContent("b2");
+
+		// file changed or removed outside of jadx
+		Files.delete(fileA.toPath());
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, false)) {
+			writer.write(fileA, bytes("class A {}"));
+		}
+		assertThat(fileA).hasContent("class A {}");
+		// not saved file kept without stale files deletion
+		assertThat(fileB).exists();
+	}
+
+	@Test
+	public void testDeleteStale() throws IOException {
+		File rootDir = tempDir.toFile();
+		File fileA = new File(rootDir, "sources/a/A.java");
+		File fileB = new File(rootDir, "sources/b/B.java");
+		File userFile = new File(rootDir, "sources/c/user.txt");
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.write(fileA, bytes("class A {}"));
+			writer.write(fileB, bytes("class B {}"));
+		}
+		Files.createDirectories(userFile.toPath().getParent());
+		Files.write(userFile.toPath(), bytes("user"));
+
+		// interrupted save: stale files not deleted
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.write(fileA, bytes("class A {}"));
+			writer.markIncomplete();
+		}
+		assertThat(fileB).exists();
+
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.write(fileA, bytes("class A {}"));
+		}
+		assertThat(fileA).exists();
+		assertThat(fileB).doesNotExist();
+		assertThat(fileB.getParentFile()).doesNotExist();
+		assertThat(userFile).exists();
+	}
+
+	@Test
+	public void testDeleteStaleOnlyInSavedDirs() throws IOException {
+		File rootDir = tempDir.toFile();
+		File srcDir = new File(rootDir, "sources");
+		File resDir = new File(rootDir, "resources");
+		File fileA = new File(srcDir, "a/A.java");
+		File fileB = new File(srcDir, "b/B.java");
+		File resFile = new File(resDir, "r.txt");
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.write(fileA, bytes("class A {}"));
+			writer.write(fileB, bytes("class B {}"));
+			writer.write(resFile, bytes("r"));
+		}
+
+		// sources only save
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.addOutputDir(srcDir, true);
+			writer.addOutputDir(resDir, false);
+			writer.write(fileA, bytes("class A {}"));
+		}
+		assertThat(fileB).doesNotExist();
+		assertThat(resFile).exists();
+
+		// resources only save, not saved resource file still tracked
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.addOutputDir(srcDir, false);
+			writer.addOutputDir(resDir, true);
+		}
+		assertThat(fileA).exists();
+		assertThat(resFile).doesNotExist();
+	}
+
+	@Test
+	public void testKeepFailed() throws IOException {
+		File rootDir = tempDir.toFile();
+		File fileA = new File(rootDir, "sources/a/A.java");
+		File fileB = new File(rootDir, "sources/b/B.java");
+		File resFile = new File(rootDir, "resources/r.bin");
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.write(fileA, bytes("class A {}"));
+			writer.write(fileB, bytes("class B {}"));
+			writer.write(resFile, bytes("r"));
+		}
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.markFailed(fileA);
+			InputStream failedStream = new InputStream() {
+				@Override
+				public int read() throws IOException {
+					throw new IOException("Read failed");
+				}
+			};
+			assertThatThrownBy(() -> writer.write(resFile, failedStream)).isInstanceOf(IOException.class);
+			writer.write(fileB, bytes("class B {}"));
+		}
+		assertThat(fileA).hasContent("class A {}");
+		assertThat(resFile).hasContent("r");
+
+		// failed files still tracked
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.write(fileB, bytes("class B {}"));
+		}
+		assertThat(fileA).doesNotExist();
+		assertThat(resFile).doesNotExist();
+	}
+
+	@Test
+	public void testSkipManifestPathsOutsideRoot() throws IOException {
+		File rootDir = tempDir.resolve("out").toFile();
+		File outsideFile = tempDir.resolve("outside.txt").toFile();
+		Files.write(outsideFile.toPath(), bytes("user"));
+		File fileA = new File(rootDir, "sources/a/A.java");
+		Files.createDirectories(fileA.toPath().getParent());
+		Files.write(fileA.toPath(), bytes("class A {}"));
+		Files.write(new File(rootDir, MANIFEST).toPath(), bytes("0 4 ../outside.txt\n"
+				+ "0 4 " + outsideFile.getAbsolutePath() + "\n"
+				+ "0 4 sources/../" + MANIFEST + "\n"
+				+ "0 10 sources/./a/A.java\n"));
+		try (IncrementalOutputWriter writer = new IncrementalOutputWriter(rootDir, MANIFEST, true)) {
+			writer.write(new File(rootDir, "sources/b/B.java"), bytes("class B {}"));
+		}
+		assertThat(outsideFile).exists();
+		assertThat(new File(rootDir, MANIFEST)).exists();
+		// normalized path deleted as stale
+		assertThat(fileA).doesNotExist();
+	}
+
+	private static byte[] bytes(String str) {
+		return str.getBytes(StandardCharsets.UTF_8);
+	}
+}
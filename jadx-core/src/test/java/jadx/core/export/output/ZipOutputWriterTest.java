@@ -0,0 +1,132 @@
+package jadx.core.export.output;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ZipOutputWriterTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testWriteEntries() throws IOException {
+		File archive = tempDir.resolve("out.zip").toFile();
+		File rootDir = tempDir.resolve("out").toFile();
+		String text = "class A {}\n".repeat(100);
+		try (ZipOutputWriter writer = new ZipOutputWriter(archive, rootDir, true)) {
+			writer.write(new File(rootDir, "sources/a/A.java"), text.getBytes(StandardCharsets.UTF_8));
+			writer.write(new File(rootDir, "resources/b.bin"), new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+			// duplicate skipped
+			writer.write(new File(rootDir, "sources/a/A.java"), new byte[] { 0 });
+			assertThatThrownBy(() -> writer.write(new File(tempDir.toFile(), "other.txt"), new byte[0]))
+					.isInstanceOf(IOException.class);
+		}
+		assertThat(rootDir).doesNotExist();
+		try (ZipFile zip = new ZipFile(archive)) {
+			assertThat(zip.size()).isEqualTo(2);
+			ZipEntry srcEntry = zip.getEntry("sources/a/A.java");
+			assertThat(srcEntry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+			assertThat(zip.getInputStream(srcEntry).readAllBytes()).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+			ZipEntry resEntry = zip.getEntry("resources/b.bin");
+			assertThat(resEntry.getMethod()).isEqualTo(ZipEntry.STORED);
+			assertThat(zip.getInputStream(resEntry).readAllBytes()).containsExactly(1, 2, 3);
+		}
+	}
+
+	@Test
+	public void testWriteLargeStream() throws IOException {
+		File archive = tempDir.resolve("out.zip").toFile();
+		File rootDir = tempDir.toFile();
+		byte[] data = "0123456789abcdef".repeat(100_000).getBytes(StandardCharsets.UTF_8);
+		byte[] random = new byte[200_000];
+		new Random(1).nextBytes(random);
+		try (ZipOutputWriter writer = new ZipOutputWriter(archive, rootDir, true)) {
+			writer.write(new File(rootDir, "large.txt"), new ByteArrayInputStream(data));
+			writer.write(new File(rootDir, "random.bin"), new ByteArrayInputStream(random));
+		}
+		try (ZipFile zip = new ZipFile(archive)) {
+			ZipEntry largeEntry = zip.getEntry("large.txt");
+			assertThat(largeEntry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+			assertThat(largeEntry.getSize()).isEqualTo(data.length);
+			assertThat(largeEntry.getCompressedSize()).isLessThan(data.length / 10);
+			assertThat(zip.getInputStream(largeEntry).readAllBytes()).isEqualTo(data);
+			assertThat(zip.getInputStream(zip.getEntry("random.bin")).readAllBytes()).isEqualTo(random);
+		}
+	}
+
+	@Test
+	public void testZip64EntriesCount() throws IOException {
+		File archive = tempDir.resolve("out.zip").toFile();
+		File rootDir = tempDir.toFile();
+		int count = 0x10000 + 10;
+		try (ZipOutputWriter writer = new ZipOutputWriter(archive, rootDir, false)) {
+			for (int i = 0; i < count; i++) {
+				writer.write(new File(rootDir, "d/" + i), Integer.toString(i).getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		try (ZipFile zip = new ZipFile(archive)) {
+			assertThat(zip.size()).isEqualTo(count);
+			ZipEntry lastEntry = zip.getEntry("d/" + (count - 1));
+			assertThat(new String(zip.getInputStream(lastEntry).readAllBytes(), StandardCharsets.UTF_8))
+					.isEqualTo(Integer.toString(count - 1));
+		}
+	}
+
+	@Test
+	public void testFixedEntryTime() throws IOException {
+		File first = writeSample("first.zip");
+		File second = writeSample("second.zip");
+		assertThat(Files.readAllBytes(second.toPath())).isEqualTo(Files.readAllBytes(first.toPath()));
+		try (ZipFile zip = new ZipFile(first)) {
+			assertThat(zip.getEntry("a.txt").getTimeLocal()).isEqualTo(LocalDateTime.of(1980, 2, 1, 0, 0));
+		}
+	}
+
+	@Test
+	@Timeout(value = 30, unit = TimeUnit.SECONDS)
+	public void testWriteFailure() {
+		File rootDir = tempDir.toFile();
+		OutputStream failOut = new OutputStream() {
+			@Override
+			public void write(int b) {
+				throw new IllegalStateException("Write failed");
+			}
+		};
+		ZipOutputWriter writer = new ZipOutputWriter(tempDir.resolve("out.zip").toFile(), rootDir, false, failOut);
+		// writes rejected after error, not blocked on full queue
+		assertThatThrownBy(() -> {
+			for (int i = 0;; i++) {
+				writer.write(new File(rootDir, "d/" + i), new byte[] { 1, 2, 3 });
+			}
+		}).isInstanceOf(IOException.class).hasRootCauseInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(writer::close)
+				.isInstanceOf(IOException.class)
+				.hasRootCauseInstanceOf(IllegalStateException.class);
+	}
+
+	private File writeSample(String archiveName) throws IOException {
+		File archive = tempDir.resolve(archiveName).toFile();
+		File rootDir = tempDir.resolve("out").toFile();
+		try (ZipOutputWriter writer = new ZipOutputWriter(archive, rootDir, true)) {
+			writer.write(new File(rootDir, "a.txt"), "text".repeat(100).getBytes(StandardCharsets.UTF_8));
+		}
+		return archive;
+	}
+}
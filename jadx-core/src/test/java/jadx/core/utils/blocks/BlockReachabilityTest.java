@@ -0,0 +1,87 @@
+package jadx.core.utils.blocks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.BlockNode;
+import jadx.core.dex.visitors.blocks.BlockSplitter;
+import jadx.core.utils.BlockUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockReachabilityTest {
+
+	@Test
+	public void testPaths() {
+		List<BlockNode> blocks = makeGraph();
+		BlockReachability reachability = new BlockReachability(blocks);
+		assertThat(reachability.isAnyPathExists(blocks.get(0), blocks.get(3))).isTrue();
+		assertThat(reachability.isAnyPathExists(blocks.get(3), blocks.get(0))).isFalse();
+		assertThat(reachability.isAnyPathExists(blocks.get(4), blocks.get(1))).isFalse();
+		// reachable through loop
+		assertThat(reachability.isCleanPathExists(blocks.get(1), blocks.get(1))).isTrue();
+		// self loops ignored
+		assertThat(reachability.isCleanPathExists(blocks.get(5), blocks.get(5))).isFalse();
+
+		// same results as in traversal (blocks not locked, so index not used in BlockUtils)
+		for (BlockNode start : blocks) {
+			for (BlockNode end : blocks) {
+				if (start != end) {
+					assertThat(reachability.isAnyPathExists(start, end))
+							.describedAs("path from %s to %s", start, end)
+							.isEqualTo(BlockUtils.isAnyPathExists(start, end));
+					assertThat(reachability.isCleanPathExists(start, end))
+							.describedAs("clean path from %s to %s", start, end)
+							.isEqualTo(BlockUtils.isPathExists(start, end));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testStoredSetsLimit() {
+		List<BlockNode> blocks = makeGraph();
+		BlockReachability full = new BlockReachability(blocks);
+		// no stored sets
+		BlockReachability traversal = new BlockReachability(blocks, 0);
+		// sets stored for first 3 queries
+		BlockReachability partial = new BlockReachability(blocks, blocks.size() * 3L);
+		for (BlockNode start : blocks) {
+			for (BlockNode end : blocks) {
+				boolean anyPath = full.isAnyPathExists(start, end);
+				assertThat(traversal.isAnyPathExists(start, end)).isEqualTo(anyPath);
+				assertThat(partial.isAnyPathExists(start, end)).isEqualTo(anyPath);
+				boolean cleanPath = full.isCleanPathExists(start, end);
+				assertThat(traversal.isCleanPathExists(start, end)).isEqualTo(cleanPath);
+				assertThat(partial.isCleanPathExists(start, end)).isEqualTo(cleanPath);
+			}
+		}
+	}
+
+	private static List<BlockNode> makeGraph() {
+		List<BlockNode> blocks = makeBlocks(6);
+		connect(blocks, 0, 1);
+		connect(blocks, 1, 2);
+		connect(blocks, 2, 1);
+		connect(blocks, 2, 3);
+		connect(blocks, 4, 3);
+		connect(blocks, 3, 3);
+		connect(blocks, 5, 5);
+		blocks.forEach(BlockNode::updateCleanSuccessors);
+		return blocks;
+	}
+
+	private static List<BlockNode> makeBlocks(int count) {
+		List<BlockNode> blocks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			blocks.add(new BlockNode(i, i, i));
+		}
+		return blocks;
+	}
+
+	private static void connect(List<BlockNode> blocks, int from, int to) {
+		BlockSplitter.connect(blocks.get(from), blocks.get(to));
+	}
+}
@@ -21,7 +21,7 @@
 class ResXmlGenTest {
 	private final JadxArgs args = new JadxArgs();
 	private final IJadxSecurity security = new JadxSecurity(JadxSecurityFlag.all());
-	private final ManifestAttributes manifestAttributes = new ManifestAttributes(security);
+	private final ManifestAttributes manifestAttributes = new ManifestAttributes();
 
 	@BeforeEach
 	void init() {
@@ -45,4 +45,18 @@ public void test() {
 
 		assertThat(isCastNeeded(root, OBJECT, STRING)).isTrue();
 	}
+
+	@Test
+	public void testTypeIds() {
+		int excId = clsp.getTypeId(JAVA_LANG_EXCEPTION);
+		int thrId = clsp.getTypeId(JAVA_LANG_THROWABLE);
+		assertThat(excId).isNotEqualTo(-1);
+		assertThat(thrId).isNotEqualTo(-1);
+		assertThat(clsp.isImplements(excId, thrId)).isTrue();
+		assertThat(clsp.isImplements(thrId, excId)).isFalse();
+		assertThat(clsp.getTypeId("unknown.Cls")).isEqualTo(-1);
+
+		assertThat(clsp.getSuperTypes(JAVA_LANG_EXCEPTION)).contains(JAVA_LANG_THROWABLE, "java.lang.Object");
+		assertThat(clsp.getImplementations(JAVA_LANG_THROWABLE)).contains(JAVA_LANG_EXCEPTION).isSorted();
+	}
 }
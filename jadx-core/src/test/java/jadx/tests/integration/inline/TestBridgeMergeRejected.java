@@ -0,0 +1,38 @@
+package jadx.tests.integration.inline;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.tests.api.SmaliTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+/**
+ * Synthetic wrappers not merged (and wrapped methods not renamed)
+ * if args passed in other order, instance is not 'this' or cast type not match
+ */
+public class TestBridgeMergeRejected extends SmaliTest {
+
+	@Test
+	public void test() {
+		ClassNode cls = getClassNodeFromSmali();
+		assertThat(cls)
+				.code()
+				.containsOne("Object swap(Object obj, Object obj2) {")
+				.containsOne("return join(obj2, obj);")
+				.containsOne("public String join(Object obj, Object obj2) {")
+				.containsOne("Object other(TestBridgeMergeRejected testBridgeMergeRejected) {")
+				.containsOne("public String copy(TestBridgeMergeRejected testBridgeMergeRejected) {")
+				.containsOne("Object len(Object obj) {")
+				.containsOne("public String size(String str) {")
+				// merged: wide arg and cast to wrapped method arg type
+				.containsOne("public String calc(long j, String str) {")
+				.containsOne("merged with bridge method")
+				.doesNotContain("Object calc(");
+
+		assertThat(getMethod(cls, "join").get(AType.RENAME_REASON)).isNull();
+		assertThat(getMethod(cls, "copy").get(AType.RENAME_REASON)).isNull();
+		assertThat(getMethod(cls, "size").get(AType.RENAME_REASON)).isNull();
+	}
+}
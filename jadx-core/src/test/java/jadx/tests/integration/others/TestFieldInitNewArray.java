@@ -0,0 +1,43 @@
+package jadx.tests.integration.others;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+/**
+ * Array types decoded separately in each constructor, but field init still should be extracted
+ */
+public class TestFieldInitNewArray extends IntegrationTest {
+
+	public static class TestCls {
+		private final String[] names = new String[0];
+		private int[][] grid = new int[2][3];
+
+		public TestCls() {
+		}
+
+		public TestCls(int a) {
+			System.out.println(a);
+		}
+
+		public String[] getNames() {
+			return names;
+		}
+
+		public int[][] getGrid() {
+			return grid;
+		}
+	}
+
+	@Test
+	public void test() {
+		assertThat(getClassNode(TestCls.class))
+				.code()
+				.containsOne("private final String[] names = new String[0];")
+				.containsOne("private int[][] grid = new int[2][3];")
+				.doesNotContain("this.names = ")
+				.doesNotContain("this.grid = ");
+	}
+}
@@ -0,0 +1,48 @@
+package jadx.tests.integration.others;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.profiling.MethodProfile;
+import jadx.api.profiling.PassProfile;
+import jadx.api.profiling.ProfileReport;
+import jadx.tests.api.IntegrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPassesProfiling extends IntegrationTest {
+
+	public static class TestCls {
+		public int test(int a) {
+			int sum = 0;
+			for (int i = 0; i < a; i++) {
+				sum += i;
+			}
+			return sum;
+		}
+	}
+
+	@Test
+	public void test() {
+		getArgs().setPassesProfiling(true);
+		getClassNode(TestCls.class);
+
+		ProfileReport report = jadxDecompiler.getProfileReport(100);
+		assertThat(report).isNotNull();
+		assertThat(report.getPasses()).isNotEmpty();
+		assertThat(report.getPasses())
+				.extracting(PassProfile::getName)
+				.contains("RegionMakerVisitor", "TypeInferenceVisitor");
+		assertThat(report.getPasses())
+				.allMatch(pass -> pass.getClassVisits() + pass.getMethodVisits() > 0);
+		assertThat(report.getSlowestMethods())
+				.extracting(MethodProfile::getMethod)
+				.anyMatch(mth -> mth.endsWith("TestCls.test(I)I"));
+	}
+
+	@Test
+	public void testDisabled() {
+		getClassNode(TestCls.class);
+
+		assertThat(jadxDecompiler.getProfileReport(100)).isNull();
+	}
+}
@@ -0,0 +1,179 @@
+package jadx.tests.integration.others;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.plugins.JadxPlugin;
+import jadx.api.plugins.JadxPluginContext;
+import jadx.api.plugins.JadxPluginInfo;
+import jadx.api.plugins.JadxPluginInfoBuilder;
+import jadx.api.plugins.loader.JadxBasePluginLoader;
+import jadx.api.plugins.loader.JadxPluginLoader;
+import jadx.api.plugins.pass.JadxPassInfo;
+import jadx.api.plugins.pass.impl.OrderedJadxPassInfo;
+import jadx.api.plugins.pass.types.JadxDecompilePass;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.ProcessTimeLimits;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestProcessTimeLimits extends IntegrationTest {
+
+	public static class TestCls {
+		public int test(int a) {
+			int sum = 0;
+			for (int i = 0; i < a; i++) {
+				sum += i;
+			}
+			return sum;
+		}
+
+		public int other(int a) {
+			return a * 2;
+		}
+	}
+
+	@Test
+	public void testMethodTimeout() {
+		allowWarnInCode();
+		// time moves only in slow pass, so other methods never reach the limit
+		AtomicLong time = new AtomicLong();
+		ProcessTimeLimits.setClock(time::get);
+		try {
+			getArgs().setMethodProcessTimeout(2000);
+			getArgs().setPluginLoader(new SlowPassPluginLoader("test", time, 2500));
+			ClassNode cls = getClassNode(TestCls.class);
+
+			assertThat(getMethod(cls, "test").contains(AType.PROCESS_TIMEOUT)).isTrue();
+			assertThat(getMethod(cls, "other").contains(AType.PROCESS_TIMEOUT)).isFalse();
+			assertThat(cls.root().getErrorsCounter().getTimeoutsCount()).isEqualTo(1);
+			assertThat(cls.root().getErrorsCounter().getErrorCount()).isEqualTo(0);
+			assertThat(cls)
+					.code()
+					.containsOne("Method processing time limit reached: 2000 ms")
+					.containsOne("return a * 2;");
+		} finally {
+			ProcessTimeLimits.setClock(null);
+		}
+	}
+
+	@Test
+	public void testClassTimeout() {
+		allowWarnInCode();
+		// methods after slow one will be stopped before blocks creation
+		AtomicLong time = new AtomicLong();
+		ProcessTimeLimits.setClock(time::get);
+		try {
+			getArgs().setClassProcessTimeout(2000);
+			getArgs().setPluginLoader(new SlowPassPluginLoader("test", time, 2500));
+			ClassNode cls = getClassNode(TestCls.class);
+
+			assertThat(cls.root().getErrorsCounter().getErrorCount()).isEqualTo(0);
+			assertThat(cls)
+					.code()
+					.contains("Class processing time limit reached: 2000 ms")
+					.containsOne("public TestCls() {")
+					.containsOne("public int other(int ");
+		} finally {
+			ProcessTimeLimits.setClock(null);
+		}
+	}
+
+	@Test
+	public void testNoLimits() throws IOException {
+		String code = getClassNode(TestCls.class).getCode().getCodeStr();
+		after();
+
+		init();
+		getArgs().setMethodProcessTimeout(60_000);
+		getArgs().setClassProcessTimeout(60_000);
+		ClassNode cls = getClassNode(TestCls.class);
+		assertThat(cls.root().getErrorsCounter().getTimeoutsCount()).isEqualTo(0);
+		assertThat(cls.getCode().getCodeStr()).isEqualTo(code);
+	}
+
+	/**
+	 * Add a pass which moves time forward at start of method processing
+	 */
+	private static final class SlowPassPluginLoader implements JadxPluginLoader {
+		private final JadxBasePluginLoader baseLoader = new JadxBasePluginLoader();
+		private final String mthName;
+		private final AtomicLong time;
+		private final long shiftMs;
+
+		private SlowPassPluginLoader(String mthName, AtomicLong time, long shiftMs) {
+			this.mthName = mthName;
+			this.time = time;
+			this.shiftMs = shiftMs;
+		}
+
+		@Override
+		public List<JadxPlugin> load() {
+			List<JadxPlugin> list = new ArrayList<>(baseLoader.load());
+			list.add(new JadxPlugin() {
+				@Override
+				public JadxPluginInfo getPluginInfo() {
+					return JadxPluginInfoBuilder.pluginId("test-slow-pass")
+							.name("Slow pass")
+							.description("Slow down method processing")
+							.build();
+				}
+
+				@Override
+				public void init(JadxPluginContext context) {
+					context.addPass(new SlowPass(mthName, time, shiftMs));
+				}
+			});
+			return list;
+		}
+
+		@Override
+		public void close() throws IOException {
+			baseLoader.close();
+		}
+	}
+
+	private static final class SlowPass implements JadxDecompilePass {
+		private final String mthName;
+		private final AtomicLong time;
+		private final long shiftMs;
+
+		private SlowPass(String mthName, AtomicLong time, long shiftMs) {
+			this.mthName = mthName;
+			this.time = time;
+			this.shiftMs = shiftMs;
+		}
+
+		@Override
+		public JadxPassInfo getInfo() {
+			return new OrderedJadxPassInfo("SlowPass", "Move time on method visit")
+					.after(JadxPassInfo.START);
+		}
+
+		@Override
+		public void init(RootNode root) {
+		}
+
+		@Override
+		public boolean visit(ClassNode cls) {
+			return true;
+		}
+
+		@Override
+		public void visit(MethodNode mth) {
+			if (mth.getName().equals(mthName)) {
+				time.addAndGet(TimeUnit.MILLISECONDS.toNanos(shiftMs));
+			}
+		}
+	}
+}
@@ -1,19 +1,28 @@
 package jadx.gui.cache.code.disk;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.BitSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Stream;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -24,42 +33,59 @@
 import jadx.api.ICodeInfo;
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
+import jadx.api.plugins.input.data.IClassData;
 import jadx.core.Jadx;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
-import jadx.core.utils.StringUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
 
+/**
+ * Decompiled code storage on disk.
+ * <br>
+ * Content hash of every class and dependencies of cached classes saved into manifest file.
+ * On input change (like rebuild in live reload mode) only classes which changed
+ * or depend (directly or transitively) on changed classes are removed,
+ * check done lazily on first access, so unchanged classes not decompiled again.
+ */
 public class DiskCodeCache implements ICodeCache {
 	private static final Logger LOG = LoggerFactory.getLogger(DiskCodeCache.class);
 
-	private static final int DATA_FORMAT_VERSION = 15;
+	private static final int DATA_FORMAT_VERSION = 17;
+	private static final String MANIFEST_INPUTS_PREFIX = "inputs:";
+	private static final String MANIFEST_NOT_CACHED = "-";
 
 	private final Path baseDir;
 	private final Path srcDir;
 	private final Path metaDir;
 	private final Path codeVersionFile;
+	private final Path manifestFile;
 	private final String codeVersion;
+	private final String inputsHash;
 	private final CodeMetadataAdapter codeMetadataAdapter;
 	private final ExecutorService writePool;
 	private final Map<String, CacheData> clsDataMap;
+	private final Map<String, String> contentHashes = new ConcurrentHashMap<>();
+	private final Object changedClassesLock = new Object();
+	private @Nullable Map<String, String> prevContentHashes;
+	private @Nullable Set<String> changedClasses;
 
 	public DiskCodeCache(RootNode root, Path projectCacheDir) {
 		baseDir = projectCacheDir.resolve("code");
 		srcDir = baseDir.resolve("sources");
 		metaDir = baseDir.resolve("metadata");
 		codeVersionFile = baseDir.resolve("code-version");
+		manifestFile = baseDir.resolve("classes-manifest");
 		JadxArgs args = root.getArgs();
-		codeVersion = buildCodeVersion(args, root.getDecompiler());
+		inputsHash = buildInputsHash(args);
+		codeVersion = buildCodeVersion(root, root.getDecompiler());
 		writePool = Executors.newFixedThreadPool(args.getThreadsCount());
 		codeMetadataAdapter = new CodeMetadataAdapter(root);
-		clsDataMap = buildClassDataMap(root.getClasses());
-		if (checkCodeVersion()) {
-			loadCachedSet();
-		} else {
+		clsDataMap = new HashMap<>(root.getClasses().size());
+		if (!checkCodeVersion() || !loadManifest(root.getClasses())) {
 			reset();
+			buildClassDataMap(root.getClasses());
 		}
 	}
 
@@ -93,8 +119,6 @@ private void reset() {
 			}
 		} catch (Exception e) {
 			throw new JadxRuntimeException("Failed to reset code cache", e);
-		} finally {
-			clsDataMap.values().forEach(d -> d.setCached(false));
 		}
 	}
 
@@ -105,6 +129,8 @@ private void reset() {
 	public void add(String clsFullName, ICodeInfo codeInfo) {
 		CacheData clsData = getClsData(clsFullName);
 		clsData.setTmpCodeInfo(codeInfo);
+		clsData.setDeps(null);
+		clsData.setValidated(true);
 		clsData.setCached(true);
 		writePool.execute(() -> {
 			try {
@@ -114,6 +140,7 @@ public void add(String clsFullName, ICodeInfo codeInfo) {
 					FileUtils.writeFile(getJavaFile(clsId), code.getCodeStr());
 					codeMetadataAdapter.write(getMetadataFile(clsId), code.getCodeMetadata());
 				}
+				clsData.setDeps(collectDeps(clsData.getCls()));
 			} catch (Exception e) {
 				LOG.error("Failed to write code cache for " + clsFullName, e);
 				remove(clsFullName);
@@ -171,7 +198,41 @@ public void add(String clsFullName, ICodeInfo codeInfo) {
 
 	@Override
 	public boolean contains(String clsFullName) {
-		return getClsData(clsFullName).isCached();
+		CacheData clsData = getClsData(clsFullName);
+		if (!clsData.isCached()) {
+			return false;
+		}
+		if (!clsData.isValidated()) {
+			validate(clsFullName, clsData);
+		}
+		return clsData.isCached();
+	}
+
+	/**
+	 * Check if class or its dependencies changed since code was saved
+	 */
+	private void validate(String clsFullName, CacheData clsData) {
+		synchronized (clsData) {
+			if (clsData.isValidated()) {
+				return;
+			}
+			Set<String> changed = getChangedClasses();
+			List<String> deps = clsData.getDeps();
+			boolean valid = deps != null && !changed.contains(clsFullName);
+			if (valid) {
+				for (String dep : deps) {
+					if (changed.contains(dep) || !clsDataMap.containsKey(dep)) {
+						valid = false;
+						break;
+					}
+				}
+			}
+			clsData.setValidated(true);
+			if (!valid) {
+				LOG.debug("Class changed, removing from disk cache: {}", clsFullName);
+				remove(clsFullName);
+			}
+		}
 	}
 
 	@Override
@@ -195,17 +256,146 @@ public void remove(String clsFullName) {
 		}
 	}
 
-	private String buildCodeVersion(JadxArgs args, @Nullable JadxDecompiler decompiler) {
-		List<File> inputFiles = new ArrayList<>(args.getInputFiles());
+	/**
+	 * Classes with changed content and all classes which use them, directly or through other classes.
+	 * Dependencies from current input used along with saved dependencies of previously cached classes
+	 * (these also include dependencies added by code generation, like constants replacement).
+	 */
+	private Set<String> getChangedClasses() {
+		synchronized (changedClassesLock) {
+			Set<String> changed = changedClasses;
+			if (changed != null) {
+				return changed;
+			}
+			long start = System.currentTimeMillis();
+			Map<String, String> prevHashes = prevContentHashes != null ? prevContentHashes : Collections.emptyMap();
+			Map<String, List<String>> usedBy = new HashMap<>();
+			Deque<String> queue = new ArrayDeque<>();
+			changed = new HashSet<>();
+			for (Map.Entry<String, CacheData> entry : clsDataMap.entrySet()) {
+				String clsName = entry.getKey();
+				CacheData data = entry.getValue();
+				for (ClassNode dep : data.getCls().getDependencies()) {
+					usedBy.computeIfAbsent(dep.getTopParentClass().getRawName(), k -> new ArrayList<>()).add(clsName);
+				}
+				List<String> savedDeps = data.getDeps();
+				if (savedDeps != null) {
+					for (String dep : savedDeps) {
+						usedBy.computeIfAbsent(dep, k -> new ArrayList<>()).add(clsName);
+					}
+				}
+				String prevHash = prevHashes.get(clsName);
+				if (prevHash == null || !prevHash.equals(getContentHash(clsName))) {
+					changed.add(clsName);
+					queue.add(clsName);
+				}
+			}
+			while (!queue.isEmpty()) {
+				List<String> users = usedBy.get(queue.poll());
+				if (users != null) {
+					for (String user : users) {
+						if (changed.add(user)) {
+							queue.add(user);
+						}
+					}
+				}
+			}
+			LOG.debug("Changed classes in disk cache: {}, time: {}ms", changed.size(), System.currentTimeMillis() - start);
+			prevContentHashes = null;
+			changedClasses = changed;
+			return changed;
+		}
+	}
+
+	/**
+	 * Input files not included, changed classes detected by content hash.
+	 * Except for deobfuscation: generated names depend on all classes, so any input change will reset cache.
+	 * Resources not part of classes content, but used in code for constants replacement (R class fields).
+	 */
+	private String buildCodeVersion(RootNode root, @Nullable JadxDecompiler decompiler) {
+		JadxArgs args = root.getArgs();
+		List<File> files = new ArrayList<>();
+		if (args.isDeobfuscationOn()) {
+			files.addAll(args.getInputFiles());
+		}
 		if (args.getGeneratedRenamesMappingFileMode().shouldRead()
 				&& args.getGeneratedRenamesMappingFile() != null
 				&& args.getGeneratedRenamesMappingFile().exists()) {
-			inputFiles.add(args.getGeneratedRenamesMappingFile());
+			files.add(args.getGeneratedRenamesMappingFile());
 		}
 		return DATA_FORMAT_VERSION
 				+ ":" + Jadx.getVersion()
 				+ ":" + args.makeCodeArgsHash(decompiler)
-				+ ":" + FileUtils.buildInputsHash(Utils.collectionMap(inputFiles, File::toPath));
+				+ ":" + FileUtils.buildInputsHash(Utils.collectionMap(files, File::toPath))
+				+ ":" + buildResourcesHash(root);
+	}
+
+	private static String buildResourcesHash(RootNode root) {
+		Map<Integer, String> resNames = root.getConstValues().getResourcesNames();
+		ClassNode appResClass = root.getAppResClass();
+		if (resNames.isEmpty() && appResClass == null) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder();
+		new TreeMap<>(resNames).forEach((id, name) -> sb.append(id).append('=').append(name).append('\n'));
+		if (appResClass != null) {
+			sb.append(appResClass.getRawName());
+		}
+		return FileUtils.md5Sum(sb.toString());
+	}
+
+	private static String buildInputsHash(JadxArgs args) {
+		return FileUtils.buildInputsHash(Utils.collectionMap(args.getInputFiles(), File::toPath));
+	}
+
+	private List<String> collectDeps(ClassNode cls) {
+		TreeSet<String> deps = new TreeSet<>();
+		for (ClassNode dep : cls.getDependencies()) {
+			deps.add(dep.getTopParentClass().getRawName());
+		}
+		for (ClassNode dep : cls.getCodegenDeps()) {
+			deps.add(dep.getTopParentClass().getRawName());
+		}
+		deps.remove(cls.getRawName());
+		return new ArrayList<>(deps);
+	}
+
+	private @Nullable String getContentHash(String clsFullName) {
+		CacheData data = clsDataMap.get(clsFullName);
+		if (data == null) {
+			return null;
+		}
+		String hash = contentHashes.get(clsFullName);
+		if (hash != null) {
+			return hash;
+		}
+		try {
+			hash = calcContentHash(data.getCls());
+		} catch (Exception e) {
+			LOG.warn("Failed to calculate content checksum for class: {}", clsFullName, e);
+			return null;
+		}
+		contentHashes.put(clsFullName, hash);
+		return hash;
+	}
+
+	private static String calcContentHash(ClassNode cls) {
+		StringBuilder sb = new StringBuilder();
+		collectContentChecksums(cls, sb);
+		return FileUtils.md5Sum(sb.toString());
+	}
+
+	private static void collectContentChecksums(ClassNode cls, StringBuilder sb) {
+		IClassData clsData = cls.getClsData();
+		if (clsData != null) {
+			sb.append(clsData.getContentChecksum());
+		} else {
+			sb.append(cls.getRawName());
+		}
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			sb.append(':');
+			collectContentChecksums(innerCls, sb);
+		}
 	}
 
 	private CacheData getClsData(String clsFullName) {
@@ -216,31 +406,126 @@ private CacheData getClsData(String clsFullName) {
 		return clsData;
 	}
 
-	private void loadCachedSet() {
+	/**
+	 * Load classes list, class ids kept from previous session, new classes get next ids.
+	 * Manifest removed after load and saved again on close,
+	 * so code written by not finished session will be dropped.
+	 *
+	 * @return false if manifest missing or broken, cache should be reset
+	 */
+	private boolean loadManifest(List<ClassNode> classes) {
 		long start = System.currentTimeMillis();
-		BitSet cachedSet = new BitSet(clsDataMap.size());
-		try (Stream<Path> stream = Files.walk(metaDir)) {
-			stream.forEach(file -> {
-				String fileName = file.getFileName().toString();
-				if (fileName.endsWith(".jadxmd")) {
-					String idStr = StringUtils.removeSuffix(fileName, ".jadxmd");
-					int clsId = Integer.parseInt(idStr, 16);
-					cachedSet.set(clsId);
-				}
-			});
+		List<String> lines;
+		try {
+			if (!Files.exists(manifestFile)) {
+				return false;
+			}
+			lines = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+			Files.delete(manifestFile);
 		} catch (Exception e) {
-			throw new JadxRuntimeException("Failed to enumerate cached classes", e);
+			LOG.warn("Failed to load disk cache manifest", e);
+			return false;
+		}
+		if (lines.isEmpty() || !lines.get(0).startsWith(MANIFEST_INPUTS_PREFIX)) {
+			return false;
 		}
+		boolean sameInputs = lines.get(0).substring(MANIFEST_INPUTS_PREFIX.length()).equals(inputsHash);
+		Map<String, String> prevHashes = new HashMap<>(lines.size());
+		Map<String, ClassNode> clsMap = new HashMap<>(classes.size());
+		for (ClassNode cls : classes) {
+			clsMap.put(cls.getRawName(), cls);
+		}
+		int nextId = 0;
 		int count = 0;
-		for (CacheData data : clsDataMap.values()) {
-			int clsId = data.getClsId();
-			if (cachedSet.get(clsId)) {
+		for (int i = 1; i < lines.size(); i++) {
+			String[] parts = lines.get(i).split("\t", -1);
+			if (parts.length != 4) {
+				LOG.warn("Unexpected line in disk cache manifest: {}", lines.get(i));
+				return false;
+			}
+			int clsId = Integer.parseInt(parts[0], 16);
+			nextId = Math.max(nextId, clsId + 1);
+			String clsName = parts[1];
+			boolean cached = !parts[3].equals(MANIFEST_NOT_CACHED);
+			ClassNode cls = clsMap.remove(clsName);
+			if (cls == null) {
+				// class removed
+				if (cached) {
+					removeFiles(clsId);
+				}
+				continue;
+			}
+			prevHashes.put(clsName, parts[2]);
+			CacheData data = new CacheData(clsId, cls);
+			if (cached) {
+				data.setDeps(parts[3].isEmpty() ? Collections.emptyList() : Arrays.asList(parts[3].split(",")));
 				data.setCached(true);
+				data.setValidated(sameInputs);
 				count++;
 			}
+			clsDataMap.put(clsName, data);
+		}
+		for (ClassNode cls : classes) {
+			String clsName = cls.getRawName();
+			if (clsMap.containsKey(clsName)) {
+				clsDataMap.put(clsName, new CacheData(nextId++, cls));
+			}
+		}
+		if (sameInputs) {
+			contentHashes.putAll(prevHashes);
+		} else {
+			prevContentHashes = prevHashes;
+		}
+		LOG.info("Found {} classes in disk cache{}, time: {}ms, dir: {}",
+				count, sameInputs ? "" : " (inputs changed)",
+				System.currentTimeMillis() - start, metaDir.getParent());
+		return true;
+	}
+
+	private void saveManifest() {
+		try (BufferedWriter writer = Files.newBufferedWriter(manifestFile, StandardCharsets.UTF_8)) {
+			writer.write(MANIFEST_INPUTS_PREFIX + inputsHash);
+			writer.newLine();
+			for (Map.Entry<String, CacheData> entry : clsDataMap.entrySet()) {
+				String clsName = entry.getKey();
+				CacheData data = entry.getValue();
+				String hash = getContentHash(clsName);
+				if (hash == null) {
+					// will be treated as new class
+					continue;
+				}
+				if (data.isCached() && !data.isValidated()) {
+					// saved hash will be from current input
+					validate(clsName, data);
+				}
+				List<String> deps = data.getDeps();
+				boolean cached = data.isCached() && deps != null;
+				writer.write(FileUtils.intToHex(data.getClsId()));
+				writer.write('\t');
+				writer.write(clsName);
+				writer.write('\t');
+				writer.write(hash);
+				writer.write('\t');
+				writer.write(cached ? String.join(",", deps) : MANIFEST_NOT_CACHED);
+				writer.newLine();
+			}
+		} catch (Exception e) {
+			LOG.error("Failed to save disk cache manifest", e);
+			try {
+				Files.deleteIfExists(manifestFile);
+			} catch (IOException ex) {
+				LOG.error("Failed to remove broken disk cache manifest", ex);
+			}
+		}
+	}
+
+	private void removeFiles(int clsId) {
+		try {
+			Files.deleteIfExists(getJavaFile(clsId));
+			Files.deleteIfExists(getMetadataFile(clsId));
+		} catch (Exception e) {
+			LOG.warn("Failed to remove class files from disk cache, id: {}", clsId, e);
 		}
-		LOG.info("Found {} classes in disk cache, time: {}ms, dir: {}",
-				count, System.currentTimeMillis() - start, metaDir.getParent());
 	}
 
 	private Path getJavaFile(int clsId) {
@@ -257,14 +542,13 @@ private Path getPathForClsId(int clsId, String ext) {
 		return Paths.get(firstByte, FileUtils.intToHex(clsId) + ext);
 	}
 
-	private Map<String, CacheData> buildClassDataMap(List<ClassNode> classes) {
+	private void buildClassDataMap(List<ClassNode> classes) {
+		clsDataMap.clear();
 		int clsCount = classes.size();
-		Map<String, CacheData> map = new HashMap<>(clsCount);
 		for (int i = 0; i < clsCount; i++) {
 			ClassNode cls = classes.get(i);
-			map.put(cls.getRawName(), new CacheData(i));
+			clsDataMap.put(cls.getRawName(), new CacheData(i, cls));
 		}
-		return map;
 	}
 
 	@Override
@@ -273,7 +557,9 @@ public void close() throws IOException {
 			try {
 				writePool.shutdown();
 				boolean completed = writePool.awaitTermination(1, TimeUnit.MINUTES);
-				if (!completed) {
+				if (completed) {
+					saveManifest();
+				} else {
 					LOG.warn("Disk code cache closing terminated by timeout");
 				}
 			} catch (InterruptedException e) {
@@ -284,17 +570,44 @@ public void close() throws IOException {
 
 	private static final class CacheData {
 		private final int clsId;
-		private boolean cached;
+		private final ClassNode cls;
+		private volatile boolean cached;
+		private volatile boolean validated;
+		private volatile @Nullable List<String> deps;
 		private @Nullable ICodeInfo tmpCodeInfo;
 
-		public CacheData(int clsId) {
+		public CacheData(int clsId, ClassNode cls) {
 			this.clsId = clsId;
+			this.cls = cls;
 		}
 
 		public int getClsId() {
 			return clsId;
 		}
 
+		public ClassNode getCls() {
+			return cls;
+		}
+
+		public boolean isValidated() {
+			return validated;
+		}
+
+		public void setValidated(boolean validated) {
+			this.validated = validated;
+		}
+
+		/**
+		 * Dependencies of saved code, null if code not yet saved
+		 */
+		public @Nullable List<String> getDeps() {
+			return deps;
+		}
+
+		public void setDeps(@Nullable List<String> deps) {
+			this.deps = deps;
+		}
+
 		public boolean isCached() {
 			return cached;
 		}
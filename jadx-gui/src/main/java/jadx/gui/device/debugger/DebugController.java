@@ -441,11 +441,7 @@ public void updateField(FieldTreeNode node) {
 
 	public boolean updateRegister(RegTreeNode regNode, RuntimeType type, boolean retry) {
 		if (type == null) {
-			if (regNode.isAbsoluteType()) {
-				type = castType(regNode.getType());
-			} else {
-				type = POSSIBLE_TYPES[0];
-			}
+			type = getRegReadType(regNode);
 		}
 		boolean ok = false;
 		RuntimeRegister register = null;
@@ -667,14 +663,47 @@ private void updateAllRegisters(FrameNode frame) {
 
 	private void fetchAllRegisters(FrameNode frame) {
 		List<SmaliRegister> regs = cur.regAdapter.getInitializedList(frame.getCodeOffset());
-		for (SmaliRegister reg : regs) {
+		int count = regs.size();
+		List<RegTreeNode> regNodes = new ArrayList<>(count);
+		int[] regNums = new int[count];
+		RuntimeType[] types = new RuntimeType[count];
+		for (int i = 0; i < count; i++) {
+			SmaliRegister reg = regs.get(i);
 			RuntimeVarInfo info = cur.regAdapter.getInfo(reg.getRuntimeRegNum(), frame.getCodeOffset());
 			RegTreeNode regNode = frame.getRegNodes().get(reg.getRegNum());
 			if (info != null) {
 				applyDbgInfo(regNode, info);
 			}
-			updateRegister(regNode, null, true);
+			regNodes.add(regNode);
+			regNums[i] = regNode.getRuntimeRegNum();
+			types[i] = getRegReadType(regNode);
+		}
+		RuntimeRegister[] values;
+		try {
+			values = debugger.getRegistersSync(cur.frame.getThreadID(), cur.frame.getFrame().getID(), regNums, types);
+		} catch (SmaliDebuggerException e) {
+			logErr(e);
+			values = new RuntimeRegister[count];
+		}
+		for (int i = 0; i < count; i++) {
+			RegTreeNode regNode = regNodes.get(i);
+			RuntimeRegister register = values[i];
+			if (register != null) {
+				regNode.updateReg(register);
+				decodeRuntimeValue(regNode);
+				debuggerPanel.updateRegTree(regNode);
+			} else {
+				// read failed, retry with other types
+				updateRegister(regNode, null, true);
+			}
+		}
+	}
+
+	private RuntimeType getRegReadType(RegTreeNode regNode) {
+		if (regNode.isAbsoluteType()) {
+			return castType(regNode.getType());
 		}
+		return POSSIBLE_TYPES[0];
 	}
 
 	private void applyDbgInfo(RegTreeNode rn, RuntimeVarInfo info) {
@@ -0,0 +1,94 @@
+package jadx.gui.device.debugger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.gui.device.debugger.SmaliDebugger.RuntimeRegister;
+import jadx.gui.device.debugger.SmaliDebugger.RuntimeValue;
+
+/**
+ * Values read from suspended VM, so repeated reads (tree refresh, value decoding) don't need JDWP round-trips.
+ * Values can change only while VM running, so cache must be cleared on every resume and value set.
+ */
+final class DebugValuesCache {
+	private final Map<ValueKey, RuntimeRegister> registers = new ConcurrentHashMap<>();
+	private final Map<ValueKey, RuntimeValue> fields = new ConcurrentHashMap<>();
+	private final Map<Long, String> signatures = new ConcurrentHashMap<>();
+	private final Map<Long, String> strings = new ConcurrentHashMap<>();
+
+	@Nullable
+	RuntimeRegister getRegister(long threadID, long frameID, int regNum, int tag) {
+		return registers.get(new ValueKey(threadID, frameID, ((long) regNum << 8) | (tag & 0xFF)));
+	}
+
+	void putRegister(long threadID, long frameID, int regNum, int tag, RuntimeRegister reg) {
+		registers.put(new ValueKey(threadID, frameID, ((long) regNum << 8) | (tag & 0xFF)), reg);
+	}
+
+	@Nullable
+	RuntimeValue getField(long objID, long fldID) {
+		return fields.get(new ValueKey(objID, fldID, 0));
+	}
+
+	void putField(long objID, long fldID, RuntimeValue value) {
+		fields.put(new ValueKey(objID, fldID, 0), value);
+	}
+
+	@Nullable
+	String getSignature(long objID) {
+		return signatures.get(objID);
+	}
+
+	void putSignature(long objID, String sig) {
+		signatures.put(objID, sig);
+	}
+
+	@Nullable
+	String getString(long strID) {
+		return strings.get(strID);
+	}
+
+	void putString(long strID, String str) {
+		strings.put(strID, str);
+	}
+
+	void clear() {
+		registers.clear();
+		fields.clear();
+		signatures.clear();
+		strings.clear();
+	}
+
+	private static final class ValueKey {
+		private final long first;
+		private final long second;
+		private final long third;
+
+		ValueKey(long first, long second, long third) {
+			this.first = first;
+			this.second = second;
+			this.third = third;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof ValueKey)) {
+				return false;
+			}
+			ValueKey other = (ValueKey) o;
+			return first == other.first && second == other.second && third == other.third;
+		}
+
+		@Override
+		public int hashCode() {
+			int h = Long.hashCode(first);
+			h = 31 * h + Long.hashCode(second);
+			return 31 * h + Long.hashCode(third);
+		}
+	}
+}
@@ -12,6 +12,7 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.SynchronousQueue;
@@ -116,6 +117,8 @@ public class SmaliDebugger {
 	private final Map<Integer, Thread> syncQueueMap = new ConcurrentHashMap<>();
 	private final AtomicInteger syncQueueID = new AtomicInteger(0);
 
+	private final DebugValuesCache valuesCache = new DebugValuesCache();
+
 	private static final ICommandResult SKIP_RESULT = res -> {
 	};
 
@@ -160,6 +163,7 @@ public static SmaliDebugger attach(String host, int port, SuspendListener suspen
 	}
 
 	private void onSuspended(long thread, long clazz, long mth, long offset) {
+		valuesCache.clear();
 		suspendInfo.update()
 				.updateThread(thread)
 				.updateClass(clazz)
@@ -226,6 +230,10 @@ private void initPools() {
 	 *               6 (3 + 2 + 1 = 6).
 	 */
 	public RuntimeRegister getRegisterSync(long threadID, long frameID, int regNum, RuntimeType type) throws SmaliDebuggerException {
+		RuntimeRegister cached = valuesCache.getRegister(threadID, frameID, regNum, type.getTag());
+		if (cached != null) {
+			return cached;
+		}
 		List<GetValuesSlots> slots = slotsPool.get();
 		GetValuesSlots slot = slots.get(0);
 		slot.slot = regNum;
@@ -234,7 +242,86 @@ public RuntimeRegister getRegisterSync(long threadID, long frameID, int regNum,
 		tryThrowError(res);
 		slotsPool.put(slots);
 		GetValuesReplyData val = jdwp.stackFrame().cmdGetValues().decode(res.getBuf(), JDWP.PACKET_HEADER_SIZE);
-		return buildRegister(regNum, val.values.get(0).slotValue.tag, val.values.get(0).slotValue.idOrValue);
+		RuntimeRegister reg = buildRegister(regNum, val.values.get(0).slotValue.tag, val.values.get(0).slotValue.idOrValue);
+		valuesCache.putRegister(threadID, frameID, regNum, type.getTag(), reg);
+		return reg;
+	}
+
+	/**
+	 * Read many registers at once.
+	 * All not cached registers requested by one multi-slot StackFrame.GetValues command,
+	 * if it failed (one of types mismatched), registers requested separately,
+	 * but all commands sent without waiting for replies.
+	 *
+	 * @param regNums runtime register numbers, see {@link #getRegisterSync(long, long, int, RuntimeType)}
+	 * @param types   expected types, same size as regNums
+	 * @return registers in same order as requested, null if read failed (type mismatch or invalid slot)
+	 */
+	public RuntimeRegister[] getRegistersSync(long threadID, long frameID, int[] regNums, RuntimeType[] types)
+			throws SmaliDebuggerException {
+		int count = regNums.length;
+		RuntimeRegister[] result = new RuntimeRegister[count];
+		List<Integer> toRead = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			RuntimeRegister cached = valuesCache.getRegister(threadID, frameID, regNums[i], types[i].getTag());
+			if (cached != null) {
+				result[i] = cached;
+			} else {
+				toRead.add(i);
+			}
+		}
+		if (toRead.isEmpty()) {
+			return result;
+		}
+		List<GetValuesSlots> slots = new ArrayList<>(toRead.size());
+		for (int i : toRead) {
+			slots.add(buildValuesSlot(regNums[i], types[i]));
+		}
+		Packet res = sendCommandSync(jdwp.stackFrame().cmdGetValues().encode(threadID, frameID, slots));
+		if (res != null && !res.isError()) {
+			GetValuesReplyData data = jdwp.stackFrame().cmdGetValues().decode(res.getBuf(), JDWP.PACKET_HEADER_SIZE);
+			for (int k = 0; k < toRead.size(); k++) {
+				int i = toRead.get(k);
+				result[i] = cacheRegister(threadID, frameID, regNums[i], types[i],
+						data.values.get(k).slotValue.tag, data.values.get(k).slotValue.idOrValue);
+			}
+			return result;
+		}
+		if (toRead.size() == 1) {
+			// already requested alone
+			return result;
+		}
+		// pipelined single slot requests
+		Packet[] replies = sendCommandsSync(toRead.size(), k -> {
+			int i = toRead.get(k);
+			List<GetValuesSlots> single = new ArrayList<>(1);
+			single.add(buildValuesSlot(regNums[i], types[i]));
+			return jdwp.stackFrame().cmdGetValues().encode(threadID, frameID, single);
+		});
+		for (int k = 0; k < replies.length; k++) {
+			Packet reply = replies[k];
+			if (reply != null && !reply.isError()) {
+				int i = toRead.get(k);
+				GetValuesReplyData data = jdwp.stackFrame().cmdGetValues().decode(reply.getBuf(), JDWP.PACKET_HEADER_SIZE);
+				result[i] = cacheRegister(threadID, frameID, regNums[i], types[i],
+						data.values.get(0).slotValue.tag, data.values.get(0).slotValue.idOrValue);
+			}
+		}
+		return result;
+	}
+
+	private GetValuesSlots buildValuesSlot(int regNum, RuntimeType type) {
+		GetValuesSlots slot = jdwp.stackFrame().cmdGetValues().newValuesSlots();
+		slot.slot = regNum;
+		slot.sigbyte = (byte) type.getTag();
+		return slot;
+	}
+
+	private RuntimeRegister cacheRegister(long threadID, long frameID, int regNum, RuntimeType type,
+			int tag, ByteBuffer buf) throws SmaliDebuggerException {
+		RuntimeRegister reg = buildRegister(regNum, tag, buf);
+		valuesCache.putRegister(threadID, frameID, regNum, type.getTag(), reg);
+		return reg;
 	}
 
 	public long getThisID(long threadID, long frameID) throws SmaliDebuggerException {
@@ -254,9 +341,24 @@ public void getFieldValueSync(long clsID, RuntimeField fld) throws SmaliDebugger
 		getAllFieldValuesSync(clsID, list);
 	}
 
+	/**
+	 * Read values of all fields by one ObjectReference.GetValues command, cached values are not requested.
+	 */
 	public void getAllFieldValuesSync(long thisID, List<RuntimeField> flds) throws SmaliDebuggerException {
-		List<Long> ids = new ArrayList<>(flds.size());
-		flds.forEach(f -> ids.add(f.getFieldID()));
+		List<RuntimeField> toRead = new ArrayList<>(flds.size());
+		for (RuntimeField fld : flds) {
+			RuntimeValue cached = valuesCache.getField(thisID, fld.getFieldID());
+			if (cached != null) {
+				fld.setValue(cached.getRawVal()).setType(cached.getType());
+			} else {
+				toRead.add(fld);
+			}
+		}
+		if (toRead.isEmpty()) {
+			return;
+		}
+		List<Long> ids = new ArrayList<>(toRead.size());
+		toRead.forEach(f -> ids.add(f.getFieldID()));
 		Packet res = sendCommandSync(jdwp.objectReference().cmdGetValues().encode(thisID, ids));
 		tryThrowError(res);
 		ObjectReference.GetValues.GetValuesReplyData data =
@@ -264,8 +366,10 @@ public void getAllFieldValuesSync(long thisID, List<RuntimeField> flds) throws S
 		List<ObjectReference.GetValues.GetValuesReplyDataValues> values = data.values;
 		for (int i = 0; i < values.size(); i++) {
 			ObjectReference.GetValues.GetValuesReplyDataValues value = values.get(i);
-			flds.get(i).setValue(value.value.idOrValue)
+			RuntimeField fld = toRead.get(i);
+			fld.setValue(value.value.idOrValue)
 					.setType(RuntimeType.fromJdwpTag(value.value.tag));
+			valuesCache.putField(thisID, fld.getFieldID(), new RuntimeValue(fld.getType(), fld.rawVal));
 		}
 	}
 
@@ -440,6 +544,10 @@ private void unregisterEventSync(int eventKind, int reqID) throws SmaliDebuggerE
 
 	public String readObjectSignatureSync(RuntimeValue val) throws SmaliDebuggerException {
 		long objID = readID(val);
+		String cached = valuesCache.getSignature(objID);
+		if (cached != null) {
+			return cached;
+		}
 		// get type reference by object id.
 		Packet res = sendCommandSync(jdwp.objectReference().cmdReferenceType().encode(objID));
 		tryThrowError(res);
@@ -449,6 +557,7 @@ public String readObjectSignatureSync(RuntimeValue val) throws SmaliDebuggerExce
 		res = sendCommandSync(jdwp.referenceType().cmdSignature().encode(data.typeID));
 		tryThrowError(res);
 		SignatureReplyData sigData = jdwp.referenceType().cmdSignature().decode(res.getBuf(), JDWP.PACKET_HEADER_SIZE);
+		valuesCache.putSignature(objID, sigData.signature);
 		return sigData.signature;
 	}
 
@@ -457,9 +566,14 @@ public String readStringSync(RuntimeValue val) throws SmaliDebuggerException {
 	}
 
 	public String readStringSync(long id) throws SmaliDebuggerException {
+		String cached = valuesCache.getString(id);
+		if (cached != null) {
+			return cached;
+		}
 		Packet res = sendCommandSync(jdwp.stringReference().cmdValue().encode(id));
 		tryThrowError(res);
 		ValueReplyData strData = jdwp.stringReference().cmdValue().decode(res.getBuf(), JDWP.PACKET_HEADER_SIZE);
+		valuesCache.putString(id, strData.stringValue);
 		return strData.stringValue;
 	}
 
@@ -473,6 +587,7 @@ public boolean setValueSync(int runtimeRegNum, RuntimeType type, Object val, lon
 			val = newID;
 			type = RuntimeType.OBJECT;
 		}
+		valuesCache.clear();
 		List<SlotValueSetter> setters = buildRegValueSetter(type.getTag(), runtimeRegNum);
 		JDWP.encodeAny(setters.get(0).slotValue.idOrValue, val);
 		Packet res = sendCommandSync(jdwp.stackFrame().cmdSetValues().encode(threadID, frameID, setters));
@@ -488,6 +603,7 @@ public boolean setValueSync(long objID, long fldID, RuntimeType type, Object val
 			}
 			val = newID;
 		}
+		valuesCache.clear();
 		List<FieldValueSetter> setters = buildFieldValueSetter();
 		FieldValueSetter setter = setters.get(0);
 		setter.fieldID = fldID;
@@ -498,6 +614,11 @@ public boolean setValueSync(long objID, long fldID, RuntimeType type, Object val
 	}
 
 	public void getValueSync(long objID, RuntimeField fld) throws SmaliDebuggerException {
+		RuntimeValue cached = valuesCache.getField(objID, fld.getFieldID());
+		if (cached != null) {
+			fld.setValue(cached.getRawVal()).setType(cached.getType());
+			return;
+		}
 		List<Long> ids = fieldIdPool.get();
 		ids.set(0, fld.getFieldID());
 		Packet res = sendCommandSync(jdwp.objectReference().cmdGetValues().encode(objID, ids));
@@ -506,6 +627,7 @@ public void getValueSync(long objID, RuntimeField fld) throws SmaliDebuggerExcep
 				jdwp.objectReference().cmdGetValues().decode(res.getBuf(), JDWP.PACKET_HEADER_SIZE);
 		fld.setValue(data.values.get(0).value.idOrValue)
 				.setType(RuntimeType.fromJdwpTag(data.values.get(0).value.tag));
+		valuesCache.putField(objID, fld.getFieldID(), new RuntimeValue(fld.getType(), fld.rawVal));
 	}
 
 	private long createString(String localStr) throws SmaliDebuggerException {
@@ -740,6 +862,38 @@ private Packet sendCommandSync(ByteBuffer buf) throws SmaliDebuggerException {
 		}
 	}
 
+	/**
+	 * Send all commands without waiting for replies, then wait for all replies.
+	 * Do not use this method inside a ICommandResult callback, it will cause deadlock.
+	 *
+	 * @return replies in commands order
+	 */
+	private Packet[] sendCommandsSync(int count, CommandEncoder encoder) throws SmaliDebuggerException {
+		Packet[] replies = new Packet[count];
+		CountDownLatch latch = new CountDownLatch(count);
+		Integer id = syncQueueID.getAndAdd(1);
+		try {
+			syncQueueMap.put(id, Thread.currentThread());
+			for (int i = 0; i < count; i++) {
+				int idx = i;
+				sendCommand(encoder.encode(i), res -> {
+					replies[idx] = res;
+					latch.countDown();
+				});
+			}
+			latch.await();
+			return replies;
+		} catch (InterruptedException e) {
+			throw new SmaliDebuggerException(e);
+		} finally {
+			syncQueueMap.remove(id);
+		}
+	}
+
+	private interface CommandEncoder {
+		ByteBuffer encode(int index) throws SmaliDebuggerException;
+	}
+
 	// called by decodingLoop() when fatal error occurred,
 	// if don't do so the store.take() may block forever.
 	private void clearWaitingSyncQueue() {
@@ -865,10 +1019,12 @@ private void sendStepRequest(long threadID, int depth) throws SmaliDebuggerExcep
 	}
 
 	public void resume() throws SmaliDebuggerException {
+		valuesCache.clear();
 		sendCommand(JDWP.Resume.encode(), SKIP_RESULT);
 	}
 
 	public void suspend() throws SmaliDebuggerException {
+		valuesCache.clear();
 		sendCommand(JDWP.Suspend.encode(), SKIP_RESULT);
 	}
 
@@ -8,13 +8,17 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,16 +34,31 @@
 /**
  * Run tasks in the background with progress bar indication.
  * Use instance created in {@link MainWindow}.
+ * <br>
+ * Tasks executed one by one, pending tasks ordered by {@link TaskPriority}.
+ * While low priority task running, high priority tasks executed in separate interactive thread
+ * (without progress indication), and low priority jobs can wait for them
+ * using {@link #waitForInteractiveTasks(Cancelable)}.
  */
 public class BackgroundExecutor {
 	private static final Logger LOG = LoggerFactory.getLogger(BackgroundExecutor.class);
 
+	/**
+	 * Max time to pause background job, to not stall it by long interactive tasks
+	 */
+	private static final int INTERACTIVE_WAIT_LIMIT_MS = 10_000;
+
 	private final JadxSettings settings;
 	private final ProgressUpdater progressUpdater;
 
 	private ThreadPoolExecutor taskQueueExecutor;
+	private ThreadPoolExecutor interactiveExecutor;
 	private final Map<Long, InternalTask> taskRunning = new ConcurrentHashMap<>();
 	private final AtomicLong idSupplier = new AtomicLong(0);
+	private final AtomicLong queueOrder = new AtomicLong(0);
+	private volatile @Nullable InternalTask queueTask;
+	private final AtomicInteger interactiveRunning = new AtomicInteger(0);
+	private final Object interactiveSync = new Object();
 
 	public BackgroundExecutor(JadxSettings settings, ProgressPanel progressPane) {
 		this.settings = Objects.requireNonNull(settings);
@@ -49,22 +68,94 @@ public BackgroundExecutor(JadxSettings settings, ProgressPanel progressPane) {
 
 	public synchronized void execute(IBackgroundTask task) {
 		InternalTask internalTask = buildTask(task);
-		taskQueueExecutor.execute(() -> runTask(internalTask));
+		if (isInteractive(task)) {
+			interactiveExecutor.execute(() -> runInteractiveTask(internalTask));
+		} else {
+			queueTask(task.getPriority(), () -> runQueueTask(internalTask));
+		}
 	}
 
 	public synchronized Future<TaskStatus> executeWithFuture(IBackgroundTask task) {
 		InternalTask internalTask = buildTask(task);
-		return taskQueueExecutor.submit(() -> {
-			runTask(internalTask);
+		if (isInteractive(task)) {
+			return interactiveExecutor.submit(() -> {
+				runInteractiveTask(internalTask);
+				return internalTask.getStatus();
+			});
+		}
+		FutureTask<TaskStatus> future = new FutureTask<>(() -> {
+			runQueueTask(internalTask);
 			return internalTask.getStatus();
 		});
+		queueTask(task.getPriority(), future);
+		return future;
+	}
+
+	/**
+	 * Pause calling job (of low priority task) while interactive tasks running.
+	 */
+	public void waitForInteractiveTasks(Cancelable task) {
+		if (interactiveRunning.get() == 0) {
+			return;
+		}
+		long waitUntil = System.currentTimeMillis() + INTERACTIVE_WAIT_LIMIT_MS;
+		synchronized (interactiveSync) {
+			try {
+				while (interactiveRunning.get() != 0 && !task.isCanceled()) {
+					long waitTime = waitUntil - System.currentTimeMillis();
+					if (waitTime <= 0) {
+						return;
+					}
+					// wake up periodically to check cancel status
+					interactiveSync.wait(Math.min(waitTime, 100));
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private boolean isInteractive(IBackgroundTask task) {
+		if (task.getPriority() != TaskPriority.HIGH) {
+			return false;
+		}
+		InternalTask runningTask = queueTask;
+		return runningTask != null && runningTask.getBgTask().getPriority() == TaskPriority.LOW;
+	}
+
+	private void queueTask(TaskPriority priority, Runnable runnable) {
+		taskQueueExecutor.execute(new QueuedTask(priority, queueOrder.incrementAndGet(), runnable));
+	}
+
+	private void runQueueTask(InternalTask internalTask) {
+		queueTask = internalTask;
+		try {
+			runTask(internalTask, true);
+		} finally {
+			queueTask = null;
+		}
+	}
+
+	private void runInteractiveTask(InternalTask internalTask) {
+		interactiveRunning.incrementAndGet();
+		try {
+			// don't show progress to not mix with running background task
+			runTask(internalTask, false);
+		} finally {
+			interactiveRunning.decrementAndGet();
+			synchronized (interactiveSync) {
+				interactiveSync.notifyAll();
+			}
+		}
 	}
 
 	public synchronized void cancelAll() {
 		try {
 			taskRunning.values().forEach(this::cancelTask);
 			taskQueueExecutor.shutdownNow();
-			boolean complete = taskQueueExecutor.awaitTermination(3, TimeUnit.SECONDS);
+			interactiveExecutor.shutdownNow();
+			boolean complete = taskQueueExecutor.awaitTermination(3, TimeUnit.SECONDS)
+					&& interactiveExecutor.awaitTermination(1, TimeUnit.SECONDS);
 			if (complete) {
 				LOG.debug("Background task executor canceled successfully");
 			} else {
@@ -82,8 +173,12 @@ public synchronized void cancelAll() {
 
 	public synchronized void waitForComplete() {
 		try {
-			// add empty task and wait its completion
-			taskQueueExecutor.submit(UiUtils.EMPTY_RUNNABLE).get();
+			// add empty tasks and wait its completion
+			interactiveExecutor.submit(UiUtils.EMPTY_RUNNABLE).get();
+			FutureTask<?> emptyTask = new FutureTask<>(UiUtils.EMPTY_RUNNABLE, null);
+			// lowest priority to run after all already added tasks
+			queueTask(TaskPriority.LOW, emptyTask);
+			emptyTask.get();
 		} catch (Exception e) {
 			throw new JadxRuntimeException("Failed to wait tasks completion", e);
 		}
@@ -110,7 +205,10 @@ public void startLoading(Runnable backgroundRunnable) {
 	}
 
 	private synchronized void reset() {
-		taskQueueExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1, Utils.simpleThreadFactory("bg"));
+		taskQueueExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new PriorityBlockingQueue<>(), Utils.simpleThreadFactory("bg"));
+		interactiveExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1, Utils.simpleThreadFactory("bg-interactive"));
+		queueTask = null;
 		taskRunning.clear();
 		idSupplier.set(0);
 	}
@@ -122,7 +220,7 @@ private InternalTask buildTask(IBackgroundTask task) {
 		return internalTask;
 	}
 
-	private void runTask(InternalTask internalTask) {
+	private void runTask(InternalTask internalTask, boolean showProgress) {
 		try {
 			IBackgroundTask task = internalTask.getBgTask();
 			ITaskExecutor taskExecutor = task.scheduleTasks();
@@ -137,18 +235,20 @@ private void runTask(InternalTask internalTask) {
 			long startTime = System.currentTimeMillis();
 			Supplier<TaskStatus> cancelCheck = buildCancelCheck(internalTask, startTime);
 			internalTask.taskStart(startTime, cancelCheck);
-			progressUpdater.addTask(internalTask);
+			if (showProgress) {
+				progressUpdater.addTask(internalTask);
+			}
 			taskExecutor.execute();
 			taskExecutor.awaitTermination();
 		} catch (Exception e) {
 			LOG.error("Task failed", e);
 			internalTask.setStatus(TaskStatus.ERROR);
 		} finally {
-			taskComplete(internalTask);
+			taskComplete(internalTask, showProgress);
 		}
 	}
 
-	private void taskComplete(InternalTask internalTask) {
+	private void taskComplete(InternalTask internalTask, boolean showProgress) {
 		try {
 			IBackgroundTask task = internalTask.getBgTask();
 			internalTask.setJobsComplete(internalTask.getTaskExecutor().getProgress());
@@ -169,7 +269,9 @@ private void taskComplete(InternalTask internalTask) {
 			internalTask.setStatus(TaskStatus.ERROR);
 		} finally {
 			internalTask.taskComplete();
-			progressUpdater.taskComplete(internalTask);
+			if (showProgress) {
+				progressUpdater.taskComplete(internalTask);
+			}
 			removeTask(internalTask);
 		}
 	}
@@ -253,4 +355,30 @@ private Supplier<TaskStatus> buildCancelCheck(InternalTask internalTask, long st
 			return null;
 		};
 	}
+
+	private static final class QueuedTask implements Runnable, Comparable<QueuedTask> {
+		private final TaskPriority priority;
+		private final long order;
+		private final Runnable runnable;
+
+		QueuedTask(TaskPriority priority, long order, Runnable runnable) {
+			this.priority = priority;
+			this.order = order;
+			this.runnable = runnable;
+		}
+
+		@Override
+		public void run() {
+			runnable.run();
+		}
+
+		@Override
+		public int compareTo(QueuedTask other) {
+			int cmp = other.priority.compareTo(priority);
+			if (cmp != 0) {
+				return cmp;
+			}
+			return Long.compare(order, other.order);
+		}
+	}
 }
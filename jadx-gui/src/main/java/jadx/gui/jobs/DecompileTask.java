@@ -3,6 +3,8 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.JOptionPane;
@@ -16,7 +18,9 @@
 import jadx.commons.app.JadxCommonEnv;
 import jadx.core.utils.tasks.TaskExecutor;
 import jadx.gui.JadxWrapper;
+import jadx.gui.treemodel.JClass;
 import jadx.gui.ui.MainWindow;
+import jadx.gui.ui.tab.TabBlueprint;
 import jadx.gui.utils.NLS;
 
 public class DecompileTask extends CancelableBackgroundTask {
@@ -31,6 +35,10 @@ public static int calcDecompileTimeLimit(int classCount) {
 	private final MainWindow mainWindow;
 	private final JadxWrapper wrapper;
 	private final AtomicInteger complete = new AtomicInteger(0);
+	/**
+	 * Classes to decompile before next class in batch (like classes from opened tabs)
+	 */
+	private final Queue<JavaClass> promoted = new ConcurrentLinkedQueue<>();
 	private int expectedCompleteCount;
 
 	private ProcessResult result;
@@ -45,6 +53,11 @@ public String getTitle() {
 		return NLS.str("progress.decompile");
 	}
 
+	@Override
+	public TaskPriority getPriority() {
+		return TaskPriority.LOW;
+	}
+
 	@Override
 	public ITaskExecutor scheduleTasks() {
 		TaskExecutor executor = new TaskExecutor();
@@ -68,11 +81,25 @@ public List<Runnable> scheduleJobs() {
 			LOG.error("Decompile batches build error", e);
 			return Collections.emptyList();
 		}
+		promoted.clear();
+		promoted.addAll(getOpenTabsClasses());
 		return getJobs(batches);
 	}
 
+	private List<JavaClass> getOpenTabsClasses() {
+		List<JavaClass> list = new ArrayList<>();
+		for (TabBlueprint tab : mainWindow.getTabsController().getOpenTabs()) {
+			JClass rootClass = tab.getNode().getRootClass();
+			if (rootClass != null) {
+				list.add(rootClass.getCls());
+			}
+		}
+		return list;
+	}
+
 	private List<Runnable> getJobs(List<List<JavaClass>> batches) {
 		ICodeCache codeCache = wrapper.getArgs().getCodeCache();
+		BackgroundExecutor bgExecutor = mainWindow.getBackgroundExecutor();
 		List<Runnable> jobs = new ArrayList<>(batches.size());
 		for (List<JavaClass> batch : batches) {
 			jobs.add(() -> {
@@ -80,6 +107,9 @@ private List<Runnable> getJobs(List<List<JavaClass>> batches) {
 					if (isCanceled()) {
 						return;
 					}
+					// give CPU to classes opened by user
+					bgExecutor.waitForInteractiveTasks(this);
+					decompilePromoted(codeCache);
 					try {
 						if (!codeCache.contains(cls.getRawName())) {
 							cls.decompile();
@@ -95,6 +125,22 @@ private List<Runnable> getJobs(List<List<JavaClass>> batches) {
 		return jobs;
 	}
 
+	private void decompilePromoted(ICodeCache codeCache) {
+		while (true) {
+			JavaClass cls = promoted.poll();
+			if (cls == null || isCanceled()) {
+				return;
+			}
+			try {
+				if (!codeCache.contains(cls.getRawName())) {
+					cls.decompile();
+				}
+			} catch (Throwable e) {
+				LOG.error("Failed to decompile class: {}", cls, e);
+			}
+		}
+	}
+
 	@Override
 	public void onDone(ITaskInfo taskInfo) {
 		long taskTime = taskInfo.getTime();
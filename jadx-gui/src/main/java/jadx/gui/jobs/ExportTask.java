@@ -17,14 +17,23 @@ public class ExportTask extends CancelableBackgroundTask {
 	private final MainWindow mainWindow;
 	private final JadxWrapper wrapper;
 	private final File saveDir;
+	private final boolean asArchive;
 
 	private int timeLimit;
 	private ICodeCache uiCodeCache;
 
 	public ExportTask(MainWindow mainWindow, JadxWrapper wrapper, File saveDir) {
+		this(mainWindow, wrapper, saveDir, false);
+	}
+
+	/**
+	 * @param saveDir output directory or archive file if {@code asArchive} is set
+	 */
+	public ExportTask(MainWindow mainWindow, JadxWrapper wrapper, File saveDir, boolean asArchive) {
 		this.mainWindow = mainWindow;
 		this.wrapper = wrapper;
 		this.saveDir = saveDir;
+		this.asArchive = asArchive;
 	}
 
 	@Override
@@ -35,7 +44,13 @@ public String getTitle() {
 	@Override
 	public ITaskExecutor scheduleTasks() {
 		wrapCodeCache();
-		wrapper.getArgs().setRootDir(saveDir);
+		if (asArchive) {
+			// archive entries paths are relative to root dir
+			wrapper.getArgs().setRootDir(saveDir.getAbsoluteFile().getParentFile());
+			wrapper.getArgs().setOutArchive(saveDir);
+		} else {
+			wrapper.getArgs().setRootDir(saveDir);
+		}
 		ITaskExecutor saveTasks = wrapper.getDecompiler().getSaveTaskExecutor();
 		this.timeLimit = DecompileTask.calcDecompileTimeLimit(saveTasks.getTasksCount());
 		return saveTasks;
@@ -54,6 +69,7 @@ private void wrapCodeCache() {
 	public void onFinish(ITaskInfo taskInfo) {
 		// restore initial code cache
 		wrapper.getArgs().setCodeCache(uiCodeCache);
+		wrapper.getArgs().setOutArchive(null);
 		if (taskInfo.getJobsSkipped() == 0) {
 			return;
 		}
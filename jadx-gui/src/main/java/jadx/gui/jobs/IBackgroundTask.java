@@ -56,6 +56,10 @@ default boolean checkMemoryUsage() {
 		return null;
 	}
 
+	default TaskPriority getPriority() {
+		return TaskPriority.NORMAL;
+	}
+
 	/**
 	 * Silent task: don't show progress
 	 */
@@ -16,6 +16,7 @@ public class SimpleTask implements IBackgroundTask {
 	private final String title;
 	private final List<Runnable> jobs;
 	private final @Nullable Consumer<TaskStatus> onFinish;
+	private TaskPriority priority = TaskPriority.NORMAL;
 
 	public SimpleTask(String title, Runnable run) {
 		this(title, Collections.singletonList(run), null);
@@ -62,6 +63,15 @@ public void onFinish(ITaskInfo taskInfo) {
 		}
 	}
 
+	@Override
+	public TaskPriority getPriority() {
+		return priority;
+	}
+
+	public void setPriority(TaskPriority priority) {
+		this.priority = priority;
+	}
+
 	@Override
 	public boolean checkMemoryUsage() {
 		return true;
@@ -0,0 +1,17 @@
+package jadx.gui.jobs;
+
+/**
+ * Order of pending tasks in {@link BackgroundExecutor}.
+ */
+public enum TaskPriority {
+	/**
+	 * Long-running work without user waiting for result (like full decompilation)
+	 */
+	LOW,
+	NORMAL,
+	/**
+	 * User waiting for result (like class opening).
+	 * Such tasks don't wait for running low priority task and executed immediately.
+	 */
+	HIGH
+}
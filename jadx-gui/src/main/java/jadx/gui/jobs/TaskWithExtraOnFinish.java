@@ -69,6 +69,11 @@ public void cancel() {
 		task.cancel();
 	}
 
+	@Override
+	public TaskPriority getPriority() {
+		return task.getPriority();
+	}
+
 	@Override
 	public int timeLimit() {
 		return task.timeLimit();
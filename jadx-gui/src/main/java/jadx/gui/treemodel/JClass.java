@@ -24,6 +24,7 @@
 import jadx.core.dex.info.AccessInfo;
 import jadx.core.dex.nodes.ICodeNode;
 import jadx.gui.jobs.SimpleTask;
+import jadx.gui.jobs.TaskPriority;
 import jadx.gui.ui.MainWindow;
 import jadx.gui.ui.codearea.ClassCodeContentPanel;
 import jadx.gui.ui.panel.ContentPanel;
@@ -82,10 +83,13 @@ public void loadNode() {
 			return null;
 		}
 		JClass rootClass = getRootClass();
-		return new SimpleTask(NLS.str("progress.decompile"),
+		SimpleTask loadTask = new SimpleTask(NLS.str("progress.decompile"),
 				() -> rootClass.getCls().getClassNode().decompile(), // run decompilation in background
 				rootClass::load // load class internals and update UI
 		);
+		// user waiting for class code
+		loadTask.setPriority(TaskPriority.HIGH);
+		return loadTask;
 	}
 
 	private synchronized void load() {
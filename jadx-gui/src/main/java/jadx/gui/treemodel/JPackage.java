@@ -2,30 +2,48 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import javax.swing.Icon;
 import javax.swing.JPopupMenu;
 
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.JavaClass;
 import jadx.api.JavaNode;
 import jadx.api.JavaPackage;
+import jadx.core.utils.Utils;
+import jadx.gui.jobs.SimpleTask;
 import jadx.gui.ui.MainWindow;
 import jadx.gui.ui.popupmenu.JPackagePopupMenu;
 import jadx.gui.utils.Icons;
+import jadx.gui.utils.JNodeCache;
+import jadx.gui.utils.NLS;
 
 import static jadx.gui.utils.UiUtils.escapeHtml;
 import static jadx.gui.utils.UiUtils.fadeHtml;
 import static jadx.gui.utils.UiUtils.wrapHtml;
 
-public class JPackage extends JNode {
+/**
+ * Package node with lazy class nodes: {@link JClass} instances created and sorted only on first expand
+ * (or search), so tree for big inputs can be built without nodes for every class.
+ */
+public class JPackage extends JLoadableNode {
 	private static final long serialVersionUID = -4120718634156839804L;
 
 	public static final String PACKAGE_DEFAULT_HTML_STR = wrapHtml(fadeHtml(escapeHtml("<empty>")));
 
+	private static final Comparator<JClass> CLASS_COMPARATOR = Comparator.comparing(JClass::getName, String.CASE_INSENSITIVE_ORDER);
+
 	private final JavaPackage pkg;
 	private final boolean enabled;
-	private final List<JClass> classes;
+	private final List<JavaClass> javaClasses;
 	private final List<JPackage> subPackages;
+	private final transient @Nullable JNodeCache nodeCache;
+
+	private transient @Nullable List<JClass> classes;
+	private transient boolean loaded;
 
 	/**
 	 * Package created by full package alias, don't have a raw package reference.
@@ -38,32 +56,84 @@ public class JPackage extends JNode {
 	/**
 	 * Should be called only from JNodeCache!
 	 */
-	public JPackage(JavaPackage pkg, boolean enabled, List<JClass> classes, List<JPackage> subPackages, boolean synthetic) {
+	public JPackage(JavaPackage pkg, boolean enabled, List<JavaClass> javaClasses, List<JPackage> subPackages,
+			boolean synthetic, @Nullable JNodeCache nodeCache) {
 		this.pkg = pkg;
 		this.enabled = enabled;
-		this.classes = classes;
+		this.javaClasses = javaClasses;
 		this.subPackages = subPackages;
 		this.synthetic = synthetic;
+		this.nodeCache = nodeCache;
+		this.loaded = javaClasses.isEmpty();
 	}
 
 	public static JPackage makeTmpRoot() {
-		return new JPackage(null, true, Collections.emptyList(), new ArrayList<>(), true);
+		return new JPackage(null, true, Collections.emptyList(), new ArrayList<>(), true, null);
+	}
+
+	@Override
+	public synchronized void loadNode() {
+		if (loaded) {
+			return;
+		}
+		prepareClasses();
+		loaded = true;
+		update();
+	}
+
+	@Override
+	public synchronized @Nullable SimpleTask getLoadTask() {
+		if (loaded) {
+			return null;
+		}
+		return new SimpleTask(NLS.str("progress.load"),
+				this::prepareClasses, // create and sort class nodes in background
+				this::loadNode // add nodes and update UI
+		);
+	}
+
+	private synchronized List<JClass> prepareClasses() {
+		List<JClass> list = classes;
+		if (list == null) {
+			if (javaClasses.isEmpty() || nodeCache == null) {
+				list = Collections.emptyList();
+			} else {
+				list = Utils.collectionMap(javaClasses, nodeCache::makeFrom);
+				list.sort(CLASS_COMPARATOR);
+			}
+			classes = list;
+		}
+		return list;
 	}
 
-	public void update() {
+	public synchronized void update() {
 		removeAllChildren();
 		if (isEnabled()) {
 			for (JPackage pkg : subPackages) {
 				pkg.update();
 				add(pkg);
 			}
-			for (JClass cls : classes) {
-				cls.update();
-				add(cls);
+			if (loaded) {
+				for (JClass cls : prepareClasses()) {
+					cls.update();
+					add(cls);
+				}
+			} else {
+				add(new TextNode(NLS.str("tree.loading")));
 			}
 		}
 	}
 
+	/**
+	 * Detach loaded nodes, so cached class nodes can be added to the new tree
+	 */
+	public synchronized void unload() {
+		removeAllChildren();
+		for (JPackage subPkg : subPackages) {
+			subPkg.unload();
+		}
+	}
+
 	@Override
 	public JPopupMenu onTreePopupMenu(MainWindow mainWindow) {
 		return new JPackagePopupMenu(mainWindow, this);
@@ -90,8 +160,18 @@ public List<JPackage> getSubPackages() {
 		return subPackages;
 	}
 
+	/**
+	 * Class nodes will be created on first call
+	 */
 	public List<JClass> getClasses() {
-		return classes;
+		return prepareClasses();
+	}
+
+	/**
+	 * Check for classes without creating class nodes
+	 */
+	public boolean hasClasses() {
+		return !javaClasses.isEmpty();
 	}
 
 	public boolean isEnabled() {
@@ -13,6 +13,8 @@
 
 import org.jetbrains.annotations.Nullable;
 
+import jadx.api.JavaClass;
+import jadx.api.JavaNode;
 import jadx.api.ResourceFile;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.gui.JadxWrapper;
@@ -103,6 +105,7 @@ public static JResource getSubNodeByName(JResource rf, String name) {
 	}
 
 	public @Nullable JNode searchNode(JNode node) {
+		loadPackageFor(node);
 		Enumeration<?> en = this.breadthFirstEnumeration();
 		while (en.hasMoreElements()) {
 			Object obj = en.nextElement();
@@ -113,6 +116,24 @@ public static JResource getSubNodeByName(JResource rf, String name) {
 		return null;
 	}
 
+	/**
+	 * Class nodes in packages created on expand, load package with searched node
+	 */
+	private void loadPackageFor(JNode node) {
+		JavaNode javaNode = node.getJavaNode();
+		if (javaNode == null) {
+			return;
+		}
+		JavaClass topCls = javaNode.getTopParentClass();
+		if (topCls == null) {
+			return;
+		}
+		JPackage jPkg = wrapper.getCache().getPackageHelper().getJPackage(topCls.getJavaPackage());
+		if (jPkg != null) {
+			jPkg.loadNode();
+		}
+	}
+
 	public JNode followStaticPath(String... path) {
 		List<String> list = Arrays.asList(path);
 		JNode node = getNodeByClsPath(this, 0, list);
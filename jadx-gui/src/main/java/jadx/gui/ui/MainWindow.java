@@ -803,7 +803,7 @@ public void exportProject() {
 				args.setSkipSources(props.isSkipSources());
 				args.setSkipResources(props.isSkipResources());
 			}
-			backgroundExecutor.execute(new ExportTask(this, wrapper, new File(props.getExportPath())));
+			backgroundExecutor.execute(new ExportTask(this, wrapper, new File(props.getExportPath()), props.isAsArchive()));
 		});
 		dialog.setVisible(true);
 	}
@@ -99,6 +99,11 @@ private JPanel makeContentPane() {
 			skipSources.setEnabled(!enableGradle);
 		});
 
+		JCheckBox saveAsArchive = new JCheckBox(NLS.str("export_dialog.save_as_archive"));
+		saveAsArchive.addItemListener(e -> {
+			exportProjectProperties.setAsArchive(e.getStateChange() == ItemEvent.SELECTED);
+		});
+
 		JPanel pathPanel = new JPanel();
 		pathPanel.setLayout(new BoxLayout(pathPanel, BoxLayout.LINE_AXIS));
 		pathPanel.setAlignmentX(LEFT_ALIGNMENT);
@@ -124,6 +129,7 @@ private JPanel makeContentPane() {
 		exportOptionsPanel.add(typePanel);
 		exportOptionsPanel.add(resourceDecode);
 		exportOptionsPanel.add(skipSources);
+		exportOptionsPanel.add(saveAsArchive);
 
 		JPanel mainPanel = new JPanel();
 		mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.PAGE_AXIS));
@@ -184,7 +190,10 @@ private JButton makeEditorBrowseButton(final JTextField textField) {
 
 	private void exportProject() {
 		String exportPathStr = exportProjectProperties.getExportPath();
-		if (!validateAndMakeDir(exportPathStr)) {
+		boolean valid = exportProjectProperties.isAsArchive()
+				? validateArchivePath(exportPathStr)
+				: validateAndMakeDir(exportPathStr);
+		if (!valid) {
 			JOptionPane.showMessageDialog(this, NLS.str("message.enter_valid_path"),
 					NLS.str("message.errorTitle"), JOptionPane.WARNING_MESSAGE);
 			return;
@@ -195,6 +204,24 @@ private void exportProject() {
 		dispose();
 	}
 
+	private static boolean validateArchivePath(String exportPath) {
+		if (exportPath == null || exportPath.isBlank()) {
+			return false;
+		}
+		try {
+			Path path = Path.of(exportPath);
+			if (Files.isDirectory(path)) {
+				// file exists as a dir
+				return false;
+			}
+			FileUtils.makeDirsForFile(path);
+			return true;
+		} catch (Exception e) {
+			LOG.warn("Export archive path validate error, path string:{}", exportPath, e);
+			return false;
+		}
+	}
+
 	private static boolean validateAndMakeDir(String exportPath) {
 		if (exportPath == null || exportPath.isBlank()) {
 			return false;
@@ -8,6 +8,7 @@ public class ExportProjectProperties {
 	private boolean skipSources;
 	private boolean skipResources;
 	private boolean asGradleMode;
+	private boolean asArchive;
 	private @Nullable ExportGradleType exportGradleType;
 	private String exportPath;
 
@@ -35,6 +36,14 @@ public void setAsGradleMode(boolean asGradleMode) {
 		this.asGradleMode = asGradleMode;
 	}
 
+	public boolean isAsArchive() {
+		return asArchive;
+	}
+
+	public void setAsArchive(boolean asArchive) {
+		this.asArchive = asArchive;
+	}
+
 	public @Nullable ExportGradleType getExportGradleType() {
 		return exportGradleType;
 	}
@@ -56,6 +65,7 @@ public String toString() {
 		return "ExportProjectProperties{exportPath='" + exportPath + '\''
 				+ ", asGradleMode=" + asGradleMode
 				+ ", exportGradleType=" + exportGradleType
+				+ ", asArchive=" + asArchive
 				+ ", skipSources=" + skipSources
 				+ ", skipResources=" + skipResources
 				+ '}';
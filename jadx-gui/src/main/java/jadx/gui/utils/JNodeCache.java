@@ -70,8 +70,8 @@ public JClass makeFrom(JavaClass javaCls) {
 		return jCls;
 	}
 
-	public JPackage newJPackage(JavaPackage javaPkg, boolean synthetic, boolean pkgEnabled, List<JClass> classes) {
-		JPackage jPackage = new JPackage(javaPkg, pkgEnabled, classes, new ArrayList<>(), synthetic);
+	public JPackage newJPackage(JavaPackage javaPkg, boolean synthetic, boolean pkgEnabled, List<JavaClass> classes) {
+		JPackage jPackage = new JPackage(javaPkg, pkgEnabled, classes, new ArrayList<>(), synthetic, this);
 		put(javaPkg, jPackage);
 		return jPackage;
 	}
@@ -9,22 +9,22 @@
 import java.util.Map;
 import java.util.Set;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.api.JavaClass;
 import jadx.api.JavaPackage;
 import jadx.core.dex.info.PackageInfo;
 import jadx.core.utils.ListUtils;
 import jadx.core.utils.Utils;
 import jadx.gui.JadxWrapper;
-import jadx.gui.treemodel.JClass;
 import jadx.gui.treemodel.JPackage;
 import jadx.gui.utils.JNodeCache;
 
 public class PackageHelper {
 	private static final Logger LOG = LoggerFactory.getLogger(PackageHelper.class);
 
-	private static final Comparator<JClass> CLASS_COMPARATOR = Comparator.comparing(JClass::getName, String.CASE_INSENSITIVE_ORDER);
 	private static final Comparator<JPackage> PKG_COMPARATOR = Comparator.comparing(JPackage::getName, String.CASE_INSENSITIVE_ORDER);
 
 	private final JadxWrapper wrapper;
@@ -32,6 +32,7 @@ public class PackageHelper {
 	private List<String> excludedPackages;
 
 	private final Map<PackageInfo, JPackage> pkgInfoMap = new HashMap<>();
+	private List<JPackage> roots = Collections.emptyList();
 
 	public PackageHelper(JadxWrapper wrapper, JNodeCache jNodeCache) {
 		this.wrapper = wrapper;
@@ -41,17 +42,27 @@ public PackageHelper(JadxWrapper wrapper, JNodeCache jNodeCache) {
 	public List<JPackage> getRoots(boolean flatPackages) {
 		excludedPackages = wrapper.getExcludedPackages();
 		pkgInfoMap.clear();
+		// cached class nodes still attached to previous tree
+		roots.forEach(JPackage::unload);
 		if (flatPackages) {
-			return prepareFlatPackages();
+			roots = prepareFlatPackages();
+			return roots;
 		}
 		long start = System.currentTimeMillis();
-		List<JPackage> roots = prepareHierarchyPackages();
+		roots = prepareHierarchyPackages();
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Prepare hierarchy packages in {} ms", System.currentTimeMillis() - start);
 		}
 		return roots;
 	}
 
+	/**
+	 * Package node from last built tree which contains classes from provided package
+	 */
+	public @Nullable JPackage getJPackage(JavaPackage javaPkg) {
+		return pkgInfoMap.get(javaPkg.getPkgNode().getAliasPkgInfo());
+	}
+
 	public List<JRenamePackage> getRenameNodes(JPackage pkg) {
 		List<JRenamePackage> list = new ArrayList<>();
 		PackageInfo pkgInfo = pkg.getPkg().getPkgNode().getAliasPkgInfo();
@@ -155,7 +166,7 @@ private static void traverseMiddlePackages(JPackage pkg, List<JPackage> toMerge)
 
 	private static JPackage mergeMiddlePackages(JPackage jPkg, List<JPackage> merged) {
 		List<JPackage> subPackages = jPkg.getSubPackages();
-		if (subPackages.size() == 1 && jPkg.getClasses().isEmpty()) {
+		if (subPackages.size() == 1 && !jPkg.hasClasses()) {
 			merged.add(jPkg);
 			JPackage endPkg = mergeMiddlePackages(subPackages.get(0), merged);
 			merged.clear();
@@ -170,13 +181,8 @@ private static JPackage mergeMiddlePackages(JPackage jPkg, List<JPackage> merged
 
 	private JPackage buildJPackage(JavaPackage javaPkg, boolean synthetic) {
 		boolean pkgEnabled = isPkgEnabled(javaPkg.getRawFullName(), excludedPackages);
-		List<JClass> classes;
-		if (synthetic) {
-			classes = Collections.emptyList();
-		} else {
-			classes = Utils.collectionMap(javaPkg.getClassesNoDup(), nodeCache::makeFrom);
-			classes.sort(CLASS_COMPARATOR);
-		}
+		// class nodes created on package expand
+		List<JavaClass> classes = synthetic ? Collections.emptyList() : javaPkg.getClassesNoDup();
 		return nodeCache.newJPackage(javaPkg, synthetic, pkgEnabled, classes);
 	}
 
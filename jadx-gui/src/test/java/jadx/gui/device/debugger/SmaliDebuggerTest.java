@@ -0,0 +1,318 @@
+package jadx.gui.device.debugger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import jadx.gui.device.debugger.SmaliDebugger.RuntimeRegister;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Check values cache and batched register reads with fake VM on local socket
+ */
+@Timeout(value = 30, unit = TimeUnit.SECONDS)
+class SmaliDebuggerTest {
+	private static final long THREAD_ID = 1;
+	private static final long FRAME_ID = 2;
+
+	private FakeVm vm;
+	private SmaliDebugger debugger;
+
+	@BeforeEach
+	public void start() throws Exception {
+		vm = new FakeVm();
+		debugger = SmaliDebugger.attach("localhost", vm.getPort(), info -> {
+		});
+	}
+
+	@AfterEach
+	public void stop() throws IOException {
+		vm.close();
+	}
+
+	@Test
+	public void testCacheClearedOnResume() throws Exception {
+		RuntimeRegister reg = readRegister(1);
+		assertThat(readRegister(1)).isSameAs(reg);
+		assertThat(vm.getValuesRequests()).hasSize(1);
+
+		debugger.resume();
+		assertThat(readRegister(1)).isNotSameAs(reg);
+		assertThat(vm.getValuesRequests()).hasSize(2);
+	}
+
+	@Test
+	public void testCacheClearedOnSuspend() throws Exception {
+		RuntimeRegister reg = readRegister(1);
+		debugger.suspend();
+		assertThat(readRegister(1)).isNotSameAs(reg);
+		assertThat(vm.getValuesRequests()).hasSize(2);
+	}
+
+	@Test
+	public void testCacheClearedOnSet() throws Exception {
+		RuntimeRegister reg = readRegister(1);
+		debugger.setValueSync(2, RuntimeType.INT, 5, THREAD_ID, FRAME_ID);
+		assertThat(readRegister(1)).isNotSameAs(reg);
+		assertThat(vm.getValuesRequests()).hasSize(2);
+	}
+
+	@Test
+	public void testBatchRead() throws Exception {
+		RuntimeRegister[] regs = readRegisters(1, 2, 3);
+		checkRegisters(regs, 1, 2, 3);
+		assertThat(vm.getValuesRequests()).containsExactly(List.of(1, 2, 3));
+
+		// all values from cache
+		RuntimeRegister[] cached = readRegisters(3, 1);
+		assertThat(cached[0]).isSameAs(regs[2]);
+		assertThat(cached[1]).isSameAs(regs[0]);
+		assertThat(vm.getValuesRequests()).hasSize(1);
+
+		// only not cached registers requested
+		readRegisters(1, 4);
+		assertThat(vm.getValuesRequests()).containsExactly(List.of(1, 2, 3), List.of(4));
+	}
+
+	@Test
+	public void testBatchFallback() throws Exception {
+		vm.setBadSlots(Set.of(2));
+		vm.setReversedRepliesBatch(3);
+		RuntimeRegister[] regs = readRegisters(1, 2, 3);
+		assertThat(vm.getValuesRequests()).containsExactly(List.of(1, 2, 3), List.of(1), List.of(2), List.of(3));
+		checkRegisters(regs, 1, -1, 3);
+
+		// failed register not cached
+		readRegisters(1, 2, 3);
+		assertThat(vm.getValuesRequests()).hasSize(5);
+		assertThat(vm.getValuesRequests().get(4)).containsExactly(2);
+	}
+
+	@Test
+	public void testBatchConnectionLost() {
+		vm.setBadSlots(Set.of(2));
+		vm.setCloseAfterSingles(3);
+		assertThatThrownBy(() -> readRegisters(1, 2, 3))
+				.isInstanceOf(SmaliDebuggerException.class);
+	}
+
+	private RuntimeRegister readRegister(int regNum) throws SmaliDebuggerException {
+		return debugger.getRegisterSync(THREAD_ID, FRAME_ID, regNum, RuntimeType.INT);
+	}
+
+	private RuntimeRegister[] readRegisters(int... regNums) throws SmaliDebuggerException {
+		RuntimeType[] types = new RuntimeType[regNums.length];
+		for (int i = 0; i < regNums.length; i++) {
+			types[i] = RuntimeType.INT;
+		}
+		return debugger.getRegistersSync(THREAD_ID, FRAME_ID, regNums, types);
+	}
+
+	/**
+	 * @param expected register numbers, -1 for failed reads
+	 */
+	private static void checkRegisters(RuntimeRegister[] regs, int... expected) {
+		assertThat(regs).hasSize(expected.length);
+		for (int i = 0; i < expected.length; i++) {
+			if (expected[i] == -1) {
+				assertThat(regs[i]).isNull();
+			} else {
+				assertThat(regs[i]).isNotNull();
+				assertThat(regs[i].getRegNum()).isEqualTo(expected[i]);
+				assertThat(regs[i].getType()).isEqualTo(RuntimeType.INT);
+			}
+		}
+	}
+
+	/**
+	 * Minimal JDWP server: answers commands used on attach, resume/suspend and stack frame values get/set.
+	 * All ids are 8 bytes.
+	 */
+	private static final class FakeVm implements AutoCloseable {
+		private static final byte[] HANDSHAKE = "JDWP-Handshake".getBytes(StandardCharsets.US_ASCII);
+		private static final int HEADER_SIZE = 11;
+		private static final int REPLY_FLAG = 0x80;
+		private static final int ERR_TYPE_MISMATCH = 34;
+		private static final int ERR_NOT_IMPLEMENTED = 99;
+
+		private final ServerSocket server;
+		private final List<List<Integer>> valuesRequests = Collections.synchronizedList(new ArrayList<>());
+		private final List<byte[]> heldReplies = new ArrayList<>();
+
+		private volatile Set<Integer> badSlots = Set.of();
+		private volatile int reversedRepliesBatch;
+		private volatile int closeAfterSingles;
+		private int singles;
+		private volatile Socket socket;
+
+		FakeVm() throws IOException {
+			server = new ServerSocket(0);
+			Thread thread = new Thread(this::run, "fake-vm");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		int getPort() {
+			return server.getLocalPort();
+		}
+
+		List<List<Integer>> getValuesRequests() {
+			synchronized (valuesRequests) {
+				return new ArrayList<>(valuesRequests);
+			}
+		}
+
+		void setBadSlots(Set<Integer> badSlots) {
+			this.badSlots = badSlots;
+		}
+
+		/**
+		 * Hold replies for single slot requests until batch collected, then send in reversed order
+		 */
+		void setReversedRepliesBatch(int count) {
+			this.reversedRepliesBatch = count;
+		}
+
+		/**
+		 * Drop connection without replies after receiving this count of single slot requests
+		 */
+		void setCloseAfterSingles(int count) {
+			this.closeAfterSingles = count;
+		}
+
+		private void run() {
+			try (Socket socket = server.accept()) {
+				this.socket = socket;
+				DataInputStream in = new DataInputStream(socket.getInputStream());
+				DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+				in.readFully(new byte[HANDSHAKE.length]);
+				out.write(HANDSHAKE);
+				while (true) {
+					int len = in.readInt();
+					int id = in.readInt();
+					in.readByte(); // flags
+					int cmdSet = in.readUnsignedByte();
+					int cmd = in.readUnsignedByte();
+					byte[] data = new byte[len - HEADER_SIZE];
+					in.readFully(data);
+					if (!handle(out, id, cmdSet, cmd, ByteBuffer.wrap(data))) {
+						return;
+					}
+					out.flush();
+				}
+			} catch (IOException e) {
+				// connection closed
+			}
+		}
+
+		private boolean handle(DataOutputStream out, int id, int cmdSet, int cmd, ByteBuffer data) throws IOException {
+			if (cmdSet == 1 && cmd == 7) { // VirtualMachine.IDSizes
+				ByteArrayOutputStream sizes = new ByteArrayOutputStream();
+				DataOutputStream sizesOut = new DataOutputStream(sizes);
+				for (int i = 0; i < 5; i++) {
+					sizesOut.writeInt(8);
+				}
+				reply(out, id, 0, sizes.toByteArray());
+				return true;
+			}
+			if (cmdSet == 1 && (cmd == 8 || cmd == 9)) { // VirtualMachine.Suspend, VirtualMachine.Resume
+				reply(out, id, 0, new byte[0]);
+				return true;
+			}
+			if (cmdSet == 15 && cmd == 1) { // EventRequest.Set
+				reply(out, id, 0, ByteBuffer.allocate(4).putInt(id).array());
+				return true;
+			}
+			if (cmdSet == 16 && cmd == 1) { // StackFrame.GetValues
+				return getValues(out, id, data);
+			}
+			if (cmdSet == 16 && cmd == 2) { // StackFrame.SetValues
+				reply(out, id, 0, new byte[0]);
+				return true;
+			}
+			reply(out, id, ERR_NOT_IMPLEMENTED, new byte[0]);
+			return true;
+		}
+
+		private boolean getValues(DataOutputStream out, int id, ByteBuffer data) throws IOException {
+			data.getLong(); // thread id
+			data.getLong(); // frame id
+			int count = data.getInt();
+			List<Integer> slots = new ArrayList<>(count);
+			ByteBuffer values = ByteBuffer.allocate(4 + count * 5);
+			values.putInt(count);
+			boolean error = false;
+			for (int i = 0; i < count; i++) {
+				int slot = data.getInt();
+				byte tag = data.get();
+				slots.add(slot);
+				values.put(tag).putInt(slot * 10);
+				error |= badSlots.contains(slot);
+			}
+			valuesRequests.add(slots);
+			byte[] replyPacket = makeReply(id, error ? ERR_TYPE_MISMATCH : 0, error ? new byte[0] : values.array());
+			if (count != 1) {
+				out.write(replyPacket);
+				return true;
+			}
+			singles++;
+			if (singles == closeAfterSingles) {
+				return false;
+			}
+			if (reversedRepliesBatch == 0) {
+				out.write(replyPacket);
+				return true;
+			}
+			heldReplies.add(replyPacket);
+			if (heldReplies.size() == reversedRepliesBatch) {
+				Collections.reverse(heldReplies);
+				for (byte[] held : heldReplies) {
+					out.write(held);
+				}
+				heldReplies.clear();
+				reversedRepliesBatch = 0;
+			}
+			return true;
+		}
+
+		private static void reply(DataOutputStream out, int id, int errorCode, byte[] data) throws IOException {
+			out.write(makeReply(id, errorCode, data));
+		}
+
+		private static byte[] makeReply(int id, int errorCode, byte[] data) {
+			return ByteBuffer.allocate(HEADER_SIZE + data.length)
+					.putInt(HEADER_SIZE + data.length)
+					.putInt(id)
+					.put((byte) REPLY_FLAG)
+					.putShort((short) errorCode)
+					.put(data)
+					.array();
+		}
+
+		@Override
+		public void close() throws IOException {
+			server.close();
+			Socket s = socket;
+			if (s != null) {
+				s.close();
+			}
+		}
+	}
+}
@@ -1,7 +1,14 @@
 package jadx.gui.utils.cache.code;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -11,8 +18,10 @@
 import jadx.api.ICodeInfo;
 import jadx.api.impl.NoOpCodeCache;
 import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
 import jadx.gui.cache.code.disk.DiskCodeCache;
 import jadx.tests.api.IntegrationTest;
+import jadx.tests.api.compiler.TestCompiler;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -44,4 +53,107 @@ public void test() throws IOException {
 
 		cache.close();
 	}
+
+	@Test
+	public void testReopen() throws IOException {
+		disableCompilation();
+		getArgs().setCodeCache(NoOpCodeCache.INSTANCE);
+		ClassNode clsNode = getClassNode(DiskCodeCacheTest.class);
+		ICodeInfo codeInfo = clsNode.getCode();
+		String clsKey = clsNode.getFullName();
+
+		DiskCodeCache cache = new DiskCodeCache(clsNode.root(), tempDir);
+		cache.add(clsKey, codeInfo);
+		cache.close();
+
+		// same input, code should be reused
+		DiskCodeCache reopened = new DiskCodeCache(clsNode.root(), tempDir);
+		assertThat(reopened.contains(clsKey)).isTrue();
+		assertThat(reopened.getCode(clsKey)).isEqualTo(codeInfo.getCodeStr());
+		reopened.close();
+	}
+
+	@Test
+	public void testInputChanges() throws IOException {
+		disableCompilation();
+		getArgs().setCodeCache(NoOpCodeCache.INSTANCE);
+		Path cacheDir = tempDir.resolve("cache");
+		String clsA = "class A { public static int get() { return 1; } }";
+		String clsB = "class B { public int use() { return A.get() + 1; } }";
+		String clsC = "class C { public String str() { return \"c\"; } }";
+		String clsD = "class D { public int run() { return new B().use(); } }";
+
+		List<ClassNode> classes = decompileSources("v1", clsA, clsB, clsC, clsD);
+		DiskCodeCache cache = new DiskCodeCache(root(classes), cacheDir);
+		for (ClassNode cls : classes) {
+			cache.add(cls.getFullName(), cls.getCode());
+		}
+		cache.close();
+		assertThat(countCachedFiles(cacheDir)).isEqualTo(4);
+
+		// changed class and classes depend on it (directly or transitively) removed, unchanged class kept
+		String changedClsA = "class A { public static int get() { return 2; } }";
+		classes = decompileSources("v2", changedClsA, clsB, clsC, clsD);
+		DiskCodeCache changedCache = new DiskCodeCache(root(classes), cacheDir);
+		assertThat(changedCache.contains("test.A")).isFalse();
+		assertThat(changedCache.contains("test.B")).isFalse();
+		assertThat(changedCache.contains("test.C")).isTrue();
+		assertThat(changedCache.contains("test.D")).isFalse();
+		changedCache.close();
+		assertThat(countCachedFiles(cacheDir)).isEqualTo(1);
+
+		// deleted class removed from disk
+		classes = decompileSources("v3", changedClsA, clsB, clsD);
+		DiskCodeCache deletedCache = new DiskCodeCache(root(classes), cacheDir);
+		assertThat(countCachedFiles(cacheDir)).isEqualTo(0);
+		deletedCache.close();
+	}
+
+	@Test
+	public void testResourcesChange() throws IOException {
+		disableCompilation();
+		getArgs().setCodeCache(NoOpCodeCache.INSTANCE);
+		ClassNode clsNode = getClassNode(DiskCodeCacheTest.class);
+		String clsKey = clsNode.getFullName();
+		RootNode root = clsNode.root();
+
+		DiskCodeCache cache = new DiskCodeCache(root, tempDir);
+		cache.add(clsKey, clsNode.getCode());
+		cache.close();
+
+		// resources names used for constants replacement in code
+		root.getConstValues().setResourcesNames(Map.of(0x7f010001, "string/app_name"));
+		DiskCodeCache changedCache = new DiskCodeCache(root, tempDir);
+		assertThat(changedCache.contains(clsKey)).isFalse();
+		changedCache.close();
+	}
+
+	private List<ClassNode> decompileSources(String dirName, String... sources) throws IOException {
+		Path srcDir = tempDir.resolve(dirName).resolve("test");
+		Files.createDirectories(srcDir);
+		List<File> srcFiles = new ArrayList<>();
+		for (String src : sources) {
+			String clsName = src.substring("class ".length(), src.indexOf(' ', "class ".length()));
+			Path srcFile = srcDir.resolve(clsName + ".java");
+			Files.write(srcFile, ("package test;\n\npublic " + src + '\n').getBytes(StandardCharsets.UTF_8));
+			srcFiles.add(srcFile.toFile());
+		}
+		if (jadxDecompiler != null) {
+			jadxDecompiler.close();
+		}
+		try (TestCompiler compiler = new TestCompiler(getCompilerOptions())) {
+			Path outDir = Files.createDirectories(tempDir.resolve(dirName + "-classes"));
+			return decompileFiles(compiler.compileFiles(srcFiles, outDir));
+		}
+	}
+
+	private static RootNode root(List<ClassNode> classes) {
+		return classes.get(0).root();
+	}
+
+	private static long countCachedFiles(Path cacheDir) throws IOException {
+		try (Stream<Path> files = Files.walk(cacheDir.resolve("code").resolve("sources"))) {
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
 }
@@ -5,6 +5,7 @@
 import org.jetbrains.annotations.Nullable;
 
 import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+import jadx.api.plugins.input.data.impl.ClassChecksum;
 
 public interface IClassData {
 	IClassData copy();
@@ -27,4 +28,16 @@ public interface IClassData {
 	List<IJadxAttribute> getAttributes();
 
 	String getDisassembledCode();
+
+	/**
+	 * Class content checksum for compare with same class from other input load (i.e. after input rebuild).
+	 * Should not depend on other classes (like indexes in shared pools or file offsets),
+	 * so unchanged class will have same checksum.
+	 * <br>
+	 * Default implementation calculated from class data with resolved references,
+	 * see {@link ClassChecksum}.
+	 */
+	default String getContentChecksum() {
+		return ClassChecksum.calc(this);
+	}
 }
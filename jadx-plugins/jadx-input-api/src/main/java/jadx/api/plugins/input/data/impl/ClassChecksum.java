@@ -0,0 +1,232 @@
+package jadx.api.plugins.input.data.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.plugins.input.data.ICallSite;
+import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IFieldData;
+import jadx.api.plugins.input.data.IFieldRef;
+import jadx.api.plugins.input.data.IMethodData;
+import jadx.api.plugins.input.data.IMethodProto;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+import jadx.api.plugins.input.insns.InsnData;
+import jadx.api.plugins.input.insns.Opcode;
+import jadx.api.plugins.input.insns.custom.IArrayPayload;
+import jadx.api.plugins.input.insns.custom.ICustomPayload;
+import jadx.api.plugins.input.insns.custom.ISwitchPayload;
+
+/**
+ * Class content checksum calculated from input data model.
+ * <br>
+ * All references resolved to names, so indexes in shared pools don't change checksum.
+ * Attributes added using {@code toString()} representation.
+ */
+public class ClassChecksum {
+	private final MessageDigest md;
+
+	public static String calc(IClassData cls) {
+		ClassChecksum checksum = new ClassChecksum();
+		checksum.addClass(cls.copy());
+		return checksum.getHex();
+	}
+
+	public static String md5(byte[] data) {
+		ClassChecksum checksum = new ClassChecksum();
+		checksum.md.update(data);
+		return checksum.getHex();
+	}
+
+	private ClassChecksum() {
+		try {
+			md = MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("MD5 digest not available", e);
+		}
+	}
+
+	private void addClass(IClassData cls) {
+		add(cls.getType());
+		add(cls.getAccessFlags());
+		add(cls.getSuperType());
+		addList(cls.getInterfacesTypes());
+		addAttributes(cls.getAttributes());
+		cls.visitFieldsAndMethods(this::addField, this::addMethod);
+	}
+
+	private void addField(IFieldData fld) {
+		addFieldRef(fld);
+		add(fld.getAccessFlags());
+		addAttributes(fld.getAttributes());
+	}
+
+	private void addMethod(IMethodData mth) {
+		IMethodRef mthRef = mth.getMethodRef();
+		addMethodRef(mthRef);
+		add(mth.getAccessFlags());
+		addAttributes(mth.getAttributes());
+		ICodeReader codeReader = mth.getCodeReader();
+		if (codeReader == null) {
+			add(-1);
+			return;
+		}
+		add(codeReader.getRegistersCount());
+		add(codeReader.getArgsStartReg());
+		add(codeReader.getUnitsCount());
+		add(String.valueOf(codeReader.getTries()));
+		add(String.valueOf(codeReader.getDebugInfo()));
+		codeReader.visitInstructions(this::addInsn);
+	}
+
+	private void addInsn(InsnData insn) {
+		Opcode opcode = insn.getOpcode();
+		add(opcode.name());
+		add(insn.getOffset());
+		if (opcode == Opcode.UNKNOWN) {
+			add(insn.getRawOpcodeUnit());
+			return;
+		}
+		insn.decode();
+		int regsCount = insn.getRegsCount();
+		add(regsCount);
+		for (int i = 0; i < regsCount; i++) {
+			add(insn.getReg(i));
+		}
+		add(insn.getResultReg());
+		add(insn.getLiteral());
+		add(insn.getTarget());
+		switch (insn.getIndexType()) {
+			case TYPE_REF:
+				add(insn.getIndexAsType());
+				break;
+			case STRING_REF:
+				add(insn.getIndexAsString());
+				break;
+			case FIELD_REF:
+				addFieldRef(insn.getIndexAsField());
+				break;
+			case METHOD_REF:
+				addMethodRef(insn.getIndexAsMethod());
+				break;
+			case CALL_SITE:
+				ICallSite callSite = insn.getIndexAsCallSite();
+				callSite.load();
+				add(String.valueOf(callSite.getValues()));
+				break;
+			default:
+				break;
+		}
+		switch (opcode) {
+			case INVOKE_POLYMORPHIC:
+			case INVOKE_POLYMORPHIC_RANGE:
+				addProto(insn.getIndexAsProto(insn.getTarget()));
+				break;
+			case CONST_METHOD_TYPE:
+				addProto(insn.getIndexAsProto(insn.getIndex()));
+				break;
+			case CONST_METHOD_HANDLE:
+				add(String.valueOf(insn.getIndexAsMethodHandle()));
+				break;
+			default:
+				break;
+		}
+		addPayload(insn.getPayload());
+	}
+
+	private void addPayload(@Nullable ICustomPayload payload) {
+		if (payload instanceof ISwitchPayload) {
+			ISwitchPayload switchPayload = (ISwitchPayload) payload;
+			add(Arrays.toString(switchPayload.getKeys()));
+			add(Arrays.toString(switchPayload.getTargets()));
+		} else if (payload instanceof IArrayPayload) {
+			IArrayPayload arrayPayload = (IArrayPayload) payload;
+			add(arrayPayload.getSize());
+			add(arrayPayload.getElementSize());
+			add(arrayToString(arrayPayload.getData()));
+		} else if (payload != null) {
+			add(payload.toString());
+		}
+	}
+
+	private static String arrayToString(Object data) {
+		if (data instanceof byte[]) {
+			return Arrays.toString((byte[]) data);
+		}
+		if (data instanceof short[]) {
+			return Arrays.toString((short[]) data);
+		}
+		if (data instanceof int[]) {
+			return Arrays.toString((int[]) data);
+		}
+		if (data instanceof long[]) {
+			return Arrays.toString((long[]) data);
+		}
+		return String.valueOf(data);
+	}
+
+	private void addFieldRef(IFieldRef fldRef) {
+		add(fldRef.getParentClassType());
+		add(fldRef.getName());
+		add(fldRef.getType());
+	}
+
+	private void addMethodRef(IMethodRef mthRef) {
+		mthRef.load();
+		add(mthRef.getParentClassType());
+		add(mthRef.getName());
+		addProto(mthRef);
+	}
+
+	private void addProto(IMethodProto proto) {
+		add(proto.getReturnType());
+		addList(proto.getArgTypes());
+	}
+
+	private void addAttributes(List<IJadxAttribute> attributes) {
+		add(attributes.size());
+		for (IJadxAttribute attr : attributes) {
+			add(attr.getAttrType().toString());
+			add(attr.toString());
+		}
+	}
+
+	private void addList(List<String> list) {
+		add(list.size());
+		for (String str : list) {
+			add(str);
+		}
+	}
+
+	private void add(@Nullable String str) {
+		if (str == null) {
+			add(-1);
+			return;
+		}
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		add(bytes.length);
+		md.update(bytes);
+	}
+
+	private void add(long value) {
+		for (int i = 0; i < 8; i++) {
+			md.update((byte) (value >>> (i * 8)));
+		}
+	}
+
+	private String getHex() {
+		byte[] digest = md.digest();
+		StringBuilder sb = new StringBuilder(digest.length * 2);
+		for (byte b : digest) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,184 @@
+package jadx.plugins.input.javaconvert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Store converted dex files in plugin cache directory.
+ * Key is a hash of jar content and options affecting conversion result.
+ * <br>
+ * Total cache size limited by option, least recently used entries removed on save.
+ * Entry directory modification time updated on each load and used as last access time.
+ */
+public class ConvertCache {
+	private static final Logger LOG = LoggerFactory.getLogger(ConvertCache.class);
+
+	/**
+	 * Increment on changes in conversion process to invalidate old entries
+	 */
+	private static final int CACHE_VERSION = 1;
+
+	private final Path cacheDir;
+	private final JavaConvertOptions options;
+	private final long sizeLimit;
+
+	public ConvertCache(Path cacheDir, JavaConvertOptions options) {
+		this(cacheDir, options, options.getCacheSizeLimit() * 1024L * 1024L);
+	}
+
+	ConvertCache(Path cacheDir, JavaConvertOptions options, long sizeLimit) {
+		this.cacheDir = cacheDir;
+		this.options = options;
+		this.sizeLimit = sizeLimit;
+	}
+
+	public String buildKey(Path jarPath) throws Exception {
+		MessageDigest md = MessageDigest.getInstance("SHA-256");
+		String optionsStr = CACHE_VERSION + ":" + options.getMode() + ":" + options.isD8Desugar() + ':';
+		md.update(optionsStr.getBytes());
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = Files.newInputStream(jarPath)) {
+			while (true) {
+				int len = in.read(buffer);
+				if (len == -1) {
+					break;
+				}
+				md.update(buffer, 0, len);
+			}
+		}
+		return FileUtils.bytesToHex(md.digest());
+	}
+
+	public @Nullable List<byte[]> get(String key) {
+		Path entryDir = cacheDir.resolve(key);
+		if (!Files.isDirectory(entryDir)) {
+			return null;
+		}
+		try {
+			List<byte[]> dexFiles = new ArrayList<>();
+			for (Path dexFile : listDexFiles(entryDir)) {
+				dexFiles.add(Files.readAllBytes(dexFile));
+			}
+			if (dexFiles.isEmpty()) {
+				return null;
+			}
+			Files.setLastModifiedTime(entryDir, FileTime.fromMillis(System.currentTimeMillis()));
+			return dexFiles;
+		} catch (Exception e) {
+			LOG.warn("Failed to load converted files from cache: {}", entryDir, e);
+			return null;
+		}
+	}
+
+	public void put(String key, List<byte[]> dexFiles) {
+		if (dexFiles.isEmpty()) {
+			return;
+		}
+		Path entryDir = cacheDir.resolve(key);
+		Path tmpDir = null;
+		try {
+			// write into temp dir and move to allow concurrent usage from several processes
+			tmpDir = Files.createTempDirectory(cacheDir, key + '-');
+			for (int i = 0; i < dexFiles.size(); i++) {
+				Files.write(tmpDir.resolve(String.format("%04d.dex", i)), dexFiles.get(i));
+			}
+			Files.move(tmpDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+			tmpDir = null;
+			evictEntries();
+		} catch (Exception e) {
+			LOG.debug("Failed to save converted files into cache: {}", entryDir, e);
+		} finally {
+			if (tmpDir != null) {
+				try {
+					ConvertResult.delete(tmpDir);
+				} catch (Exception e) {
+					LOG.debug("Failed to delete temp dir: {}", tmpDir, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove least recently used entries until total size fits into limit
+	 */
+	synchronized void evictEntries() {
+		if (sizeLimit <= 0) {
+			return;
+		}
+		try {
+			List<Path> dirs;
+			try (Stream<Path> pathStream = Files.list(cacheDir)) {
+				dirs = pathStream
+						.filter(Files::isDirectory)
+						.filter(p -> p.getFileName().toString().indexOf('-') == -1) // skip temp dirs, key is a hex string
+						.collect(Collectors.toList());
+			}
+			List<CacheEntry> entries = new ArrayList<>(dirs.size());
+			long totalSize = 0;
+			for (Path dir : dirs) {
+				CacheEntry entry = new CacheEntry(dir, Files.getLastModifiedTime(dir).toMillis(), dirSize(dir));
+				entries.add(entry);
+				totalSize += entry.size;
+			}
+			if (totalSize <= sizeLimit) {
+				return;
+			}
+			entries.sort(Comparator.comparingLong(e -> e.lastAccess));
+			for (CacheEntry entry : entries) {
+				if (totalSize <= sizeLimit) {
+					break;
+				}
+				LOG.debug("Remove cache entry: {}", entry.dir);
+				ConvertResult.delete(entry.dir);
+				totalSize -= entry.size;
+			}
+		} catch (Exception e) {
+			LOG.warn("Failed to clean up converted files cache: {}", cacheDir, e);
+		}
+	}
+
+	private static long dirSize(Path dir) throws IOException {
+		long size = 0;
+		for (Path file : listDexFiles(dir)) {
+			size += Files.size(file);
+		}
+		return size;
+	}
+
+	private static final class CacheEntry {
+		private final Path dir;
+		private final long lastAccess;
+		private final long size;
+
+		private CacheEntry(Path dir, long lastAccess, long size) {
+			this.dir = dir;
+			this.lastAccess = lastAccess;
+			this.size = size;
+		}
+	}
+
+	private static List<Path> listDexFiles(Path dir) throws IOException {
+		try (Stream<Path> pathStream = Files.list(dir)) {
+			return pathStream
+					.filter(p -> p.getFileName().toString().endsWith(".dex"))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+}
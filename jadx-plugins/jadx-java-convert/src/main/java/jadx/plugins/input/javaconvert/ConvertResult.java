@@ -13,30 +13,36 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.plugins.input.dex.utils.IDexData;
+
+/**
+ * Converted dex files and temp paths created during conversion.
+ * Thread safe, can be filled from several conversion tasks.
+ */
 public class ConvertResult implements Closeable {
 	private static final Logger LOG = LoggerFactory.getLogger(ConvertResult.class);
 
-	private final List<Path> converted = new ArrayList<>();
+	private final List<IDexData> converted = new ArrayList<>();
 	private final List<Path> tmpPaths = new ArrayList<>();
 
-	public List<Path> getConverted() {
-		return converted;
+	public synchronized List<IDexData> getConverted() {
+		return new ArrayList<>(converted);
 	}
 
-	public void addConvertedFiles(List<Path> paths) {
-		converted.addAll(paths);
+	public synchronized void addConverted(List<IDexData> dexData) {
+		converted.addAll(dexData);
 	}
 
-	public void addTempPath(Path path) {
+	public synchronized void addTempPath(Path path) {
 		tmpPaths.add(path);
 	}
 
-	public boolean isEmpty() {
+	public synchronized boolean isEmpty() {
 		return converted.isEmpty();
 	}
 
 	@Override
-	public void close() {
+	public synchronized void close() {
 		for (Path tmpPath : tmpPaths) {
 			try {
 				delete(tmpPath);
@@ -44,10 +50,11 @@ public void close() {
 				LOG.warn("Failed to delete temp path: {}", tmpPath, e);
 			}
 		}
+		tmpPaths.clear();
 	}
 
 	@SuppressWarnings("ResultOfMethodCallIgnored")
-	private static void delete(Path path) throws IOException {
+	static void delete(Path path) throws IOException {
 		if (Files.isRegularFile(path)) {
 			Files.delete(path);
 			return;
@@ -63,7 +70,7 @@ private static void delete(Path path) throws IOException {
 	}
 
 	@Override
-	public String toString() {
+	public synchronized String toString() {
 		return "ConvertResult{converted=" + converted + ", tmpPaths=" + tmpPaths + '}';
 	}
 }
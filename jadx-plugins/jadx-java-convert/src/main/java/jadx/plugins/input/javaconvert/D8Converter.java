@@ -1,25 +1,37 @@
 package jadx.plugins.input.javaconvert;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.android.tools.r8.ByteDataView;
 import com.android.tools.r8.CompilationFailedException;
 import com.android.tools.r8.CompilationMode;
 import com.android.tools.r8.D8;
 import com.android.tools.r8.D8Command;
+import com.android.tools.r8.DexIndexedConsumer;
 import com.android.tools.r8.Diagnostic;
 import com.android.tools.r8.DiagnosticsHandler;
-import com.android.tools.r8.OutputMode;
 
 public class D8Converter {
 	private static final Logger LOG = LoggerFactory.getLogger(D8Converter.class);
 
-	public static void run(Path path, Path tempDirectory, JavaConvertOptions options) throws CompilationFailedException {
+	/**
+	 * Convert jar to dex files in memory
+	 *
+	 * @return dex files content in output order
+	 */
+	public static List<byte[]> run(Path path, JavaConvertOptions options, int threads) throws CompilationFailedException {
+		DexInMemoryConsumer dexConsumer = new DexInMemoryConsumer();
 		D8Command d8Command = D8Command.builder(new LogHandler())
 				.addProgramFiles(path)
-				.setOutput(tempDirectory, OutputMode.DexIndexed)
+				.setProgramConsumer(dexConsumer)
 				.setMode(CompilationMode.DEBUG)
 				.setMinApiLevel(30)
 				.setIntermediate(true)
@@ -27,8 +39,28 @@ public static void run(Path path, Path tempDirectory, JavaConvertOptions options
 				.setEnableVerboseSyntheticNames(true)
 				.setOptimizeMultidexForLinearAlloc(false)
 				.setIncludeClassesChecksum(false)
+				.setThreadCount(threads)
 				.build();
 		D8.run(d8Command);
+		return dexConsumer.getDexFiles();
+	}
+
+	private static class DexInMemoryConsumer implements DexIndexedConsumer {
+		private final Map<Integer, byte[]> dexFiles = new TreeMap<>();
+
+		@Override
+		public synchronized void accept(int fileIndex, ByteDataView data, Set<String> descriptors, DiagnosticsHandler handler) {
+			dexFiles.put(fileIndex, data.copyByteData());
+		}
+
+		@Override
+		public void finished(DiagnosticsHandler handler) {
+			// nothing to do
+		}
+
+		public synchronized List<byte[]> getDexFiles() {
+			return new ArrayList<>(dexFiles.values());
+		}
 	}
 
 	private static class LogHandler implements DiagnosticsHandler {
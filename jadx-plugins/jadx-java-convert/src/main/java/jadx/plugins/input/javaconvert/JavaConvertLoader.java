@@ -7,19 +7,28 @@
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.api.plugins.JadxPluginContext;
 import jadx.api.plugins.utils.CommonFileUtils;
 import jadx.api.security.IJadxSecurity;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.plugins.input.dex.utils.IDexData;
+import jadx.plugins.input.dex.utils.SimpleDexData;
 import jadx.zip.ZipReader;
 
 public class JavaConvertLoader {
@@ -28,35 +37,106 @@ public class JavaConvertLoader {
 	private final JavaConvertOptions options;
 	private final ZipReader zipReader;
 	private final IJadxSecurity security;
+	private final @Nullable ConvertCache cache;
 
 	public JavaConvertLoader(JavaConvertOptions options, JadxPluginContext context) {
 		this.options = options;
 		this.zipReader = context.getZipReader();
 		this.security = context.getArgs().getSecurity();
+		this.cache = options.isUseCache() ? new ConvertCache(context.files().getPluginCacheDir(), options) : null;
 	}
 
 	public ConvertResult process(List<Path> input) {
 		ConvertResult result = new ConvertResult();
-		processJars(input, result);
-		processAars(input, result);
-		processClassFiles(input, result);
+		List<ConvertJob> jobs = new ArrayList<>();
+		collectJars(input, jobs);
+		collectAars(input, result, jobs);
+		collectClassFiles(input, result, jobs);
+		runJobs(jobs, result);
 		return result;
 	}
 
-	private void processJars(List<Path> input, ConvertResult result) {
+	/**
+	 * Single jar conversion task
+	 */
+	private static final class ConvertJob {
+		private final Path jar;
+		private final String label;
+		private List<IDexData> dexData = Collections.emptyList();
+		/**
+		 * Some parts of jar not converted, result is incomplete and should not be cached
+		 */
+		private boolean failed;
+
+		private ConvertJob(Path jar, String label) {
+			this.jar = jar;
+			this.label = label;
+		}
+	}
+
+	private void runJobs(List<ConvertJob> jobs, ConvertResult result) {
+		if (jobs.isEmpty()) {
+			return;
+		}
+		int totalThreads = Math.max(1, options.getThreads());
+		int threads = Math.min(totalThreads, jobs.size());
+		LOG.debug("Converting jars: {}, threads: {}", jobs.size(), threads);
+		long start = System.currentTimeMillis();
+		if (threads == 1) {
+			for (ConvertJob job : jobs) {
+				runJob(job, result, totalThreads);
+			}
+		} else {
+			// split threads between parallel jobs and D8 internal processing
+			int d8Threads = Math.max(1, totalThreads / threads);
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				for (ConvertJob job : jobs) {
+					executor.execute(() -> runJob(job, result, d8Threads));
+				}
+				executor.shutdown();
+				if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+					executor.shutdownNow();
+					throw new JadxRuntimeException("Jars conversion not finished in time");
+				}
+			} catch (InterruptedException e) {
+				LOG.error("Jars conversion interrupted", e);
+				executor.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+		}
+		// add in jobs order to keep result stable
+		for (ConvertJob job : jobs) {
+			result.addConverted(job.dexData);
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Jars conversion done in: {}ms", System.currentTimeMillis() - start);
+		}
+	}
+
+	private void runJob(ConvertJob job, ConvertResult result, int threads) {
+		try {
+			List<byte[]> dexFiles = convertJarWithCache(job, result, threads);
+			List<IDexData> dexData = new ArrayList<>(dexFiles.size());
+			for (int i = 0; i < dexFiles.size(); i++) {
+				String dexName = i == 0 ? "classes.dex" : "classes" + (i + 1) + ".dex";
+				dexData.add(new SimpleDexData(job.label + ':' + dexName, dexFiles.get(i)));
+			}
+			LOG.debug("Converted {} to {} dex", job.label, dexData.size());
+			job.dexData = dexData;
+		} catch (Exception e) {
+			LOG.error("Failed to convert file: {}", job.label, e);
+		}
+	}
+
+	private void collectJars(List<Path> input, List<ConvertJob> jobs) {
 		PathMatcher jarMatcher = FileSystems.getDefault().getPathMatcher("glob:**.jar");
 		input.stream()
 				.filter(jarMatcher::matches)
-				.forEach(path -> {
-					try {
-						convertJar(result, path);
-					} catch (Exception e) {
-						LOG.error("Failed to convert file: {}", path.toAbsolutePath(), e);
-					}
-				});
+				.forEach(path -> jobs.add(new ConvertJob(path, path.getFileName().toString())));
 	}
 
-	private void processClassFiles(List<Path> input, ConvertResult result) {
+	private void collectClassFiles(List<Path> input, ConvertResult result, List<ConvertJob> jobs) {
 		PathMatcher jarMatcher = FileSystems.getDefault().getPathMatcher("glob:**.class");
 		List<Path> clsFiles = input.stream()
 				.filter(jarMatcher::matches)
@@ -65,8 +145,9 @@ private void processClassFiles(List<Path> input, ConvertResult result) {
 			return;
 		}
 		try {
-			LOG.debug("Converting class files ...");
+			LOG.debug("Packing class files ...");
 			Path jarFile = Files.createTempFile("jadx-", ".jar");
+			result.addTempPath(jarFile);
 			try (JarOutputStream jo = new JarOutputStream(Files.newOutputStream(jarFile))) {
 				for (Path file : clsFiles) {
 					String clsName = AsmUtils.getNameFromClassFile(file);
@@ -80,15 +161,14 @@ private void processClassFiles(List<Path> input, ConvertResult result) {
 					addFileToJar(jo, file, clsName + ".class");
 				}
 			}
-			result.addTempPath(jarFile);
 			LOG.debug("Packed {} class files into jar: {}", clsFiles.size(), jarFile);
-			convertJar(result, jarFile);
+			jobs.add(new ConvertJob(jarFile, "classes.jar"));
 		} catch (Exception e) {
 			LOG.error("Error process class files", e);
 		}
 	}
 
-	private void processAars(List<Path> input, ConvertResult result) {
+	private void collectAars(List<Path> input, ConvertResult result, List<ConvertJob> jobs) {
 		PathMatcher aarMatcher = FileSystems.getDefault().getPathMatcher("glob:**.aar");
 		input.stream()
 				.filter(aarMatcher::matches)
@@ -98,8 +178,7 @@ private void processAars(List<Path> input, ConvertResult result) {
 						if (entryName.endsWith(".jar")) {
 							Path tempJar = CommonFileUtils.saveToTempFile(in, ".jar");
 							result.addTempPath(tempJar);
-							LOG.debug("Loading jar: {} ...", entryName);
-							convertJar(result, tempJar);
+							jobs.add(new ConvertJob(tempJar, path.getFileName() + ":" + entryName));
 						}
 					} catch (Exception e) {
 						LOG.error("Failed to process zip entry: {}", entry, e);
@@ -107,14 +186,36 @@ private void processAars(List<Path> input, ConvertResult result) {
 				}));
 	}
 
-	private void convertJar(ConvertResult result, Path path) throws Exception {
-		if (repackAndConvertJar(result, path)) {
-			return;
+	private List<byte[]> convertJarWithCache(ConvertJob job, ConvertResult result, int threads) throws Exception {
+		Path path = job.jar;
+		if (cache == null) {
+			return convertJar(job, result, path, threads);
+		}
+		String cacheKey = cache.buildKey(path);
+		List<byte[]> cached = cache.get(cacheKey);
+		if (cached != null) {
+			LOG.debug("Converted dex files for {} loaded from cache", path);
+			return cached;
+		}
+		List<byte[]> dexFiles = convertJar(job, result, path, threads);
+		if (job.failed) {
+			LOG.debug("Conversion of {} not complete, skip cache save", path);
+		} else {
+			cache.put(cacheKey, dexFiles);
+		}
+		return dexFiles;
+	}
+
+	private List<byte[]> convertJar(ConvertJob job, ConvertResult result, Path path, int threads) throws Exception {
+		List<byte[]> dexFiles = new ArrayList<>();
+		if (!repackAndConvertJar(job, result, path, dexFiles, threads)) {
+			dexFiles.addAll(convert(job, result, path, threads));
 		}
-		convertSimpleJar(result, path);
+		return dexFiles;
 	}
 
-	private boolean repackAndConvertJar(ConvertResult result, Path path) throws Exception {
+	private boolean repackAndConvertJar(ConvertJob job, ConvertResult result, Path path,
+			List<byte[]> dexFiles, int threads) throws Exception {
 		// check if jar needs a full repackaging
 		Boolean repackNeeded = zipReader.visitEntries(path.toFile(), zipEntry -> {
 			String entryName = zipEntry.getName();
@@ -163,33 +264,25 @@ private boolean repackAndConvertJar(ConvertResult result, Path path) throws Exce
 					} else if (entryName.endsWith(".jar")) {
 						Path tempJar = CommonFileUtils.saveToTempFile(in, ".jar");
 						result.addTempPath(tempJar);
-						convertJar(result, tempJar);
+						dexFiles.addAll(convertJar(job, result, tempJar, threads));
 					}
 				} catch (Exception e) {
 					LOG.error("Failed to process jar entry: {} in {}", entry, path, e);
+					job.failed = true;
 				}
 			});
 		}
-		convertSimpleJar(result, jarFile);
+		dexFiles.addAll(convert(job, result, jarFile, threads));
 		return true;
 	}
 
-	private void convertSimpleJar(ConvertResult result, Path path) throws Exception {
-		Path tempDirectory = Files.createTempDirectory("jadx-");
-		result.addTempPath(tempDirectory);
-		LOG.debug("Converting to dex ...");
-		convert(path, tempDirectory);
-		List<Path> dexFiles = collectFilesInDir(tempDirectory);
-		LOG.debug("Converted {} to {} dex", path.toAbsolutePath(), dexFiles.size());
-		result.addConvertedFiles(dexFiles);
-	}
-
-	private void convert(Path path, Path tempDirectory) {
+	private List<byte[]> convert(ConvertJob job, ConvertResult result, Path path, int threads) throws IOException {
 		JavaConvertOptions.Mode mode = options.getMode();
+		LOG.debug("Converting to dex: {} ...", path.toAbsolutePath());
 		switch (mode) {
 			case DX:
 				try {
-					DxConverter.run(path, tempDirectory);
+					return runDx(result, path);
 				} catch (Throwable e) {
 					LOG.error("DX convert failed, path: {}", path, e);
 				}
@@ -197,7 +290,7 @@ private void convert(Path path, Path tempDirectory) {
 
 			case D8:
 				try {
-					D8Converter.run(path, tempDirectory, options);
+					return D8Converter.run(path, options, threads);
 				} catch (Throwable e) {
 					LOG.error("D8 convert failed, path: {}", path, e);
 				}
@@ -205,17 +298,33 @@ private void convert(Path path, Path tempDirectory) {
 
 			case BOTH:
 				try {
-					DxConverter.run(path, tempDirectory);
+					return runDx(result, path);
 				} catch (Throwable e) {
 					LOG.warn("DX convert failed, trying D8, path: {}", path);
 					try {
-						D8Converter.run(path, tempDirectory, options);
+						return D8Converter.run(path, options, threads);
 					} catch (Throwable ex) {
 						LOG.error("D8 convert failed: {}", ex.getMessage());
 					}
 				}
 				break;
 		}
+		job.failed = true;
+		return Collections.emptyList();
+	}
+
+	/**
+	 * DX can't write into memory, so use temp directory and load results
+	 */
+	private static List<byte[]> runDx(ConvertResult result, Path path) throws IOException {
+		Path tempDirectory = Files.createTempDirectory("jadx-");
+		result.addTempPath(tempDirectory);
+		DxConverter.run(path, tempDirectory);
+		List<byte[]> dexFiles = new ArrayList<>();
+		for (Path dexFile : collectFilesInDir(tempDirectory)) {
+			dexFiles.add(Files.readAllBytes(dexFile));
+		}
+		return dexFiles;
 	}
 
 	private static List<Path> collectFilesInDir(Path tempDirectory) throws IOException {
@@ -224,6 +333,7 @@ private static List<Path> collectFilesInDir(Path tempDirectory) throws IOExcepti
 			return pathStream
 					.filter(p -> Files.isRegularFile(p, LinkOption.NOFOLLOW_LINKS))
 					.filter(dexMatcher::matches)
+					.sorted()
 					.collect(Collectors.toList());
 		}
 	}
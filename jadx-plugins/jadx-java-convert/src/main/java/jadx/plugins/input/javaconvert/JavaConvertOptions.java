@@ -12,6 +12,9 @@ public enum Mode {
 
 	private Mode mode;
 	private boolean d8Desugar;
+	private boolean useCache;
+	private int cacheSizeLimit;
+	private int threads; // use jadx global threads count option
 
 	@Override
 	public void registerOptions() {
@@ -24,6 +27,16 @@ public void registerOptions() {
 				.description("use desugar in d8")
 				.defaultValue(false)
 				.setter(v -> d8Desugar = v);
+
+		boolOption(PLUGIN_ID + ".use-cache")
+				.description("cache converted dex files (by jar content hash)")
+				.defaultValue(true)
+				.setter(v -> useCache = v);
+
+		intOption(PLUGIN_ID + ".cache-size-limit")
+				.description("max size of converted files cache in MB, least recently used entries removed, 0 - no limit")
+				.defaultValue(512)
+				.setter(v -> cacheSizeLimit = v);
 	}
 
 	public Mode getMode() {
@@ -33,4 +46,20 @@ public Mode getMode() {
 	public boolean isD8Desugar() {
 		return d8Desugar;
 	}
+
+	public boolean isUseCache() {
+		return useCache;
+	}
+
+	public int getCacheSizeLimit() {
+		return cacheSizeLimit;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
 }
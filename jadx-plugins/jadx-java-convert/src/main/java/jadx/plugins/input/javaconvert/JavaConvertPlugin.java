@@ -7,7 +7,6 @@
 import jadx.api.plugins.JadxPluginContext;
 import jadx.api.plugins.JadxPluginInfo;
 import jadx.api.plugins.JadxPluginInfoBuilder;
-import jadx.api.plugins.data.JadxPluginRuntimeData;
 import jadx.api.plugins.input.ICodeLoader;
 import jadx.api.plugins.input.JadxCodeInput;
 import jadx.api.plugins.input.data.impl.EmptyCodeLoader;
@@ -18,7 +17,7 @@ public class JavaConvertPlugin implements JadxPlugin, JadxCodeInput {
 
 	private final JavaConvertOptions options = new JavaConvertOptions();
 
-	private JadxPluginRuntimeData dexInput;
+	private DexInputPlugin dexInput;
 	private JavaConvertLoader loader;
 
 	@Override
@@ -33,18 +32,20 @@ public JadxPluginInfo getPluginInfo() {
 	@Override
 	public void init(JadxPluginContext context) {
 		context.registerOptions(options);
-		dexInput = context.plugins().getById(DexInputPlugin.PLUGIN_ID);
+		options.setThreads(context.getArgs().getThreadsCount());
+		dexInput = context.plugins().getInstance(DexInputPlugin.class);
 		loader = new JavaConvertLoader(options, context);
 		context.addCodeInput(this);
 	}
 
 	@Override
 	public ICodeLoader loadFiles(List<Path> input) {
-		ConvertResult result = loader.process(input);
-		if (result.isEmpty()) {
-			result.close();
-			return EmptyCodeLoader.INSTANCE;
+		// converted dex files stored in memory, so temp files can be removed right away
+		try (ConvertResult result = loader.process(input)) {
+			if (result.isEmpty()) {
+				return EmptyCodeLoader.INSTANCE;
+			}
+			return dexInput.loadDexData(result.getConverted());
 		}
-		return dexInput.loadCodeFiles(result.getConverted(), result);
 	}
 }
@@ -0,0 +1,59 @@
+package jadx.plugins.input.javaconvert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConvertCacheTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testPutAndGet() throws Exception {
+		ConvertCache cache = new ConvertCache(tempDir, new JavaConvertOptions(), 0);
+		Path jar = tempDir.resolve("a.jar");
+		Files.write(jar, new byte[] { 1, 2, 3 });
+		String key = cache.buildKey(jar);
+		assertThat(cache.get(key)).isNull();
+
+		cache.put(key, Arrays.asList(new byte[] { 4 }, new byte[] { 5, 6 }));
+		List<byte[]> dexFiles = cache.get(key);
+		assertThat(dexFiles).hasSize(2);
+		assertThat(dexFiles.get(0)).containsExactly(4);
+		assertThat(dexFiles.get(1)).containsExactly(5, 6);
+
+		// empty result not saved
+		cache.put("empty", Collections.emptyList());
+		assertThat(cache.get("empty")).isNull();
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed() throws IOException {
+		ConvertCache cache = new ConvertCache(tempDir, new JavaConvertOptions(), 250);
+		cache.put("a", Collections.singletonList(new byte[100]));
+		cache.put("b", Collections.singletonList(new byte[100]));
+		setAccessTime("a", 1000);
+		setAccessTime("b", 2000);
+		// access updates entry time, so 'b' become the oldest
+		assertThat(cache.get("a")).isNotNull();
+
+		cache.put("c", Collections.singletonList(new byte[100]));
+		assertThat(cache.get("a")).isNotNull();
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("c")).isNotNull();
+	}
+
+	private void setAccessTime(String key, long time) throws IOException {
+		Files.setLastModifiedTime(tempDir.resolve(key), FileTime.fromMillis(time));
+	}
+}
@@ -2,20 +2,21 @@
 
 public class ClassOffsets {
 
+	private final DataReader data;
 	private final int[] constPoolOffsets;
 	private final int constPoolEnd;
 	private final int interfacesEnd;
-	private final int attributesOffset;
+	/**
+	 * Class attributes placed after all fields and methods, so calculate offset only on first request
+	 */
+	private int attributesOffset = -1;
 
 	public ClassOffsets(DataReader data) {
+		this.data = data;
 		this.constPoolOffsets = readConstPool(data);
 		this.constPoolEnd = data.getOffset();
 		int interfacesCount = data.absPos(constPoolEnd + 6).readU2();
-		data.skip(interfacesCount * 2);
-		this.interfacesEnd = data.getOffset();
-		skipFields(data);
-		skipMethods(data);
-		this.attributesOffset = data.getOffset();
+		this.interfacesEnd = constPoolEnd + 8 + interfacesCount * 2;
 	}
 
 	private static int[] readConstPool(DataReader data) {
@@ -69,6 +70,10 @@ private void skipAttributes(DataReader data) {
 		}
 	}
 
+	public int getConstPoolSize() {
+		return constPoolOffsets.length;
+	}
+
 	public int getOffsetOfConstEntry(int num) {
 		return constPoolOffsets[num];
 	}
@@ -94,6 +99,14 @@ public int getFieldsOffset() {
 	}
 
 	public int getAttributesOffset() {
-		return attributesOffset;
+		int offset = attributesOffset;
+		if (offset == -1) {
+			DataReader reader = data.copy().absPos(interfacesEnd);
+			skipFields(reader);
+			skipMethods(reader);
+			offset = reader.getOffset();
+			attributesOffset = offset;
+		}
+		return offset;
 	}
 }
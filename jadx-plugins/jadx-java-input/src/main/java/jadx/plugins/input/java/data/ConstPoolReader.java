@@ -30,6 +30,13 @@ public class ConstPoolReader {
 	private final DataReader data;
 	private final ClassOffsets offsets;
 
+	/**
+	 * Decoded utf8 and class constants, indexed by constant pool entry number.
+	 * Each entry has only one type, so one array used for both.
+	 * Array allocated and filled on first access, strings are immutable, so racy initialization is fine.
+	 */
+	private String @Nullable [] cache;
+
 	public ConstPoolReader(JavaClassReader clsReader, JavaClassData javaClassData, DataReader data, ClassOffsets offsets) {
 		this.clsReader = clsReader;
 		this.clsData = javaClassData;
@@ -37,11 +44,26 @@ public ConstPoolReader(JavaClassReader clsReader, JavaClassData javaClassData, D
 		this.offsets = offsets;
 	}
 
+	private String[] getCache() {
+		String[] arr = cache;
+		if (arr == null) {
+			arr = new String[offsets.getConstPoolSize()];
+			cache = arr;
+		}
+		return arr;
+	}
+
 	@Nullable
 	public String getClass(int idx) {
-		jumpToData(idx);
-		int nameIdx = data.readU2();
-		return fixType(getUtf8(nameIdx));
+		String[] arr = getCache();
+		String cls = arr[idx];
+		if (cls == null) {
+			jumpToData(idx);
+			int nameIdx = data.readU2();
+			cls = fixType(getUtf8(nameIdx));
+			arr[idx] = cls;
+		}
+		return cls;
 	}
 
 	public IFieldRef getFieldRef(int idx) {
@@ -159,8 +181,14 @@ public String getUtf8(int idx) {
 		if (idx == 0) {
 			return null;
 		}
-		jumpToData(idx);
-		return readString();
+		String[] arr = getCache();
+		String str = arr[idx];
+		if (str == null) {
+			jumpToData(idx);
+			str = readString();
+			arr[idx] = str;
+		}
+		return str;
 	}
 
 	public ConstantType jumpToConst(int idx) {
@@ -12,6 +12,7 @@
 import jadx.api.plugins.input.data.IMethodData;
 import jadx.api.plugins.input.data.ISeqConsumer;
 import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+import jadx.api.plugins.input.data.impl.ClassChecksum;
 import jadx.api.plugins.utils.Utils;
 import jadx.plugins.input.java.JavaClassReader;
 import jadx.plugins.input.java.data.attributes.AttributesReader;
@@ -168,6 +169,12 @@ public String getDisassembledCode() {
 		return DisasmUtils.get(data.getBytes());
 	}
 
+	@Override
+	public String getContentChecksum() {
+		// class file is self-contained
+		return ClassChecksum.md5(data.getBytes());
+	}
+
 	public JavaClassReader getClsReader() {
 		return clsReader;
 	}
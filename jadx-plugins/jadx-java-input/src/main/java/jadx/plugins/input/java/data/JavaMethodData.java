@@ -23,6 +23,11 @@ public class JavaMethodData implements IMethodData {
 	private final JavaClassData clsData;
 	private final JavaMethodRef methodRef;
 	private int accessFlags;
+	/**
+	 * Only offset of code attribute saved on class load,
+	 * code and code attributes (exceptions table, debug info, stack map) parsed in {@link JavaCodeReader}
+	 */
+	private int codeOffset;
 	private JavaAttrStorage attributes;
 
 	public JavaMethodData(JavaClassData clsData, JavaMethodRef methodRef) {
@@ -32,6 +37,8 @@ public JavaMethodData(JavaClassData clsData, JavaMethodRef methodRef) {
 
 	public void setData(int accessFlags, JavaAttrStorage attributes) {
 		this.accessFlags = accessFlags;
+		CodeAttr codeAttr = attributes.get(JavaAttrType.CODE);
+		this.codeOffset = codeAttr != null ? codeAttr.getOffset() : -1;
 		this.attributes = attributes;
 	}
 
@@ -47,11 +54,10 @@ public int getAccessFlags() {
 
 	@Override
 	public @Nullable ICodeReader getCodeReader() {
-		CodeAttr codeAttr = attributes.get(JavaAttrType.CODE);
-		if (codeAttr == null) {
+		if (codeOffset == -1) {
 			return null;
 		}
-		return new JavaCodeReader(clsData, codeAttr.getOffset());
+		return new JavaCodeReader(clsData, codeOffset);
 	}
 
 	@Override
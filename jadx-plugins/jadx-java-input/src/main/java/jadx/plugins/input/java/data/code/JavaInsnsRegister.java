@@ -410,6 +410,10 @@ private static void register(JavaInsnInfo[] arr, int opcode, String name, int pa
 
 	@Nullable
 	public static JavaInsnInfo get(int opcode) {
+		if (opcode >= INSN_INFO.length) {
+			// reserved or unused opcode
+			return null;
+		}
 		return INSN_INFO[opcode];
 	}
 }
@@ -0,0 +1,105 @@
+package jadx.plugins.input.java.data;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.plugins.input.ICodeLoader;
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IMethodData;
+import jadx.api.plugins.input.data.attributes.IJadxAttribute;
+import jadx.api.plugins.input.data.attributes.JadxAttrType;
+import jadx.api.plugins.input.data.attributes.types.SourceFileAttr;
+import jadx.plugins.input.java.JavaInputPlugin;
+import jadx.plugins.input.java.utils.JavaClassParseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JavaClassDataTest {
+	private static final int UNKNOWN_OPCODE = 0xCA; // reserved 'breakpoint' opcode
+
+	@Test
+	void testMembersAndAttributes() throws Exception {
+		Path sample = Paths.get(ClassLoader.getSystemResource("samples/HelloWorld.class").toURI());
+		List<String> methods = new ArrayList<>();
+		List<Integer> codeSizes = new ArrayList<>();
+		List<String> sourceFiles = new ArrayList<>();
+		try (ICodeLoader loader = JavaInputPlugin.loadSingleClass(Files.readAllBytes(sample), "HelloWorld.class")) {
+			loader.visitClasses(cls -> {
+				cls.visitFieldsAndMethods(field -> {
+				}, mth -> {
+					mth.getMethodRef().load();
+					String name = mth.getMethodRef().getName();
+					methods.add(name);
+					if (name.equals("<init>")) {
+						assertThat(mth.getAccessFlags() & AccessFlags.CONSTRUCTOR).isNotEqualTo(0);
+					}
+					codeSizes.add(getCodeSize(mth));
+					assertThat(mth.getAttributes()).isEmpty();
+				});
+				// class attributes placed after methods
+				sourceFiles.add(getSourceFile(cls));
+			});
+		}
+		assertThat(methods).containsExactly("<init>", "main");
+		assertThat(codeSizes.get(0)).isGreaterThan(0);
+		assertThat(codeSizes.get(1)).isGreaterThan(0);
+		assertThat(sourceFiles).containsExactly("HelloWorld.java");
+	}
+
+	@Test
+	void testCodeParsedOnlyOnRequest() throws Exception {
+		Path sample = Paths.get(ClassLoader.getSystemResource("samples/HelloWorld.class").toURI());
+		byte[] bytes = Files.readAllBytes(sample);
+		List<Integer> codeOffsets = new ArrayList<>();
+		try (ICodeLoader loader = JavaInputPlugin.loadSingleClass(bytes, "HelloWorld.class")) {
+			loader.visitClasses(cls -> cls.visitFieldsAndMethods(field -> {
+			}, mth -> codeOffsets.add(mth.getCodeReader().getCodeOffset())));
+		}
+		// put unknown opcode at start of 'main' method code
+		int mainCodeOffset = codeOffsets.get(1);
+		bytes[mainCodeOffset + 8] = (byte) UNKNOWN_OPCODE;
+
+		List<String> methods = new ArrayList<>();
+		try (ICodeLoader loader = JavaInputPlugin.loadSingleClass(bytes, "HelloWorld.class")) {
+			loader.visitClasses(cls -> {
+				cls.visitFieldsAndMethods(field -> {
+				}, mth -> {
+					mth.getMethodRef().load();
+					methods.add(mth.getMethodRef().getName());
+					assertThat(mth.getAttributes()).isEmpty();
+					ICodeReader codeReader = mth.getCodeReader();
+					assertThat(codeReader).isNotNull();
+					assertThat(codeReader.getUnitsCount()).isGreaterThan(0);
+					if (mth.getMethodRef().getName().equals("main")) {
+						assertThatThrownBy(() -> codeReader.visitInstructions(insn -> {
+						})).isInstanceOf(JavaClassParseException.class);
+					}
+				});
+				assertThat(getSourceFile(cls)).isEqualTo("HelloWorld.java");
+			});
+		}
+		assertThat(methods).containsExactly("<init>", "main");
+	}
+
+	private static int getCodeSize(IMethodData mth) {
+		ICodeReader codeReader = mth.getCodeReader();
+		return codeReader == null ? 0 : codeReader.getUnitsCount();
+	}
+
+	private static String getSourceFile(IClassData cls) {
+		for (IJadxAttribute attr : cls.getAttributes()) {
+			if (attr.getAttrType() == JadxAttrType.SOURCE_FILE) {
+				return ((SourceFileAttr) attr).getFileName();
+			}
+		}
+		return null;
+	}
+}